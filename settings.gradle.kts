@@ -2,3 +2,4 @@ rootProject.name = "Advanced-Architecture"
 include(":src:API-Gateway")
 include(":src:edge-mqtt")
 include(":src:Orchestrator")
+include(":src:Production-Simulator")
@@ -2,6 +2,17 @@ plugins {
     java
     id("org.springframework.boot") version "3.2.0"
     id("io.spring.dependency-management") version "1.1.4"
+    id("org.graalvm.buildtools.native") version "0.9.28" apply false
+}
+
+// Fast-start mode: processAot generates the bean definitions at build time and bootJar ships them;
+// they are only used when the JVM runs with -Dspring.aot.enabled=true (see Dockerfile.faststart).
+// Conditions such as gateway.spool.enabled are evaluated at build time in that mode.
+apply(plugin = "org.springframework.boot.aot")
+
+// Optional native image (GraalVM 17+): ./gradlew nativeCompile -Pnative
+if (providers.gradleProperty("native").isPresent) {
+    apply(plugin = "org.graalvm.buildtools.native")
 }
 
 group = "org.advanced_architecture.gateway"
@@ -19,7 +30,15 @@ extra["springCloudVersion"] = "2023.0.0"
 
 dependencies {
     implementation("org.springframework.cloud:spring-cloud-starter-gateway")
+    implementation("org.springframework.cloud:spring-cloud-starter-loadbalancer")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("io.micrometer:micrometer-registry-prometheus")
+    implementation("org.hdrhistogram:HdrHistogram:2.1.12")
+
+    // W3C trace-context propagation and OTLP span export; stage spans via Reactor's Micrometer tap
+    implementation("io.micrometer:micrometer-tracing-bridge-otel")
+    implementation("io.opentelemetry:opentelemetry-exporter-otlp")
+    implementation("io.projectreactor:reactor-core-micrometer")
 
     implementation("org.springframework.cloud:spring-cloud-starter-circuitbreaker-reactor-resilience4j")
     implementation("org.springframework.boot:spring-boot-starter-data-redis-reactive")
@@ -0,0 +1,17 @@
+package org.advanced_architecture.gateway.config;
+
+import org.advanced_architecture.gateway.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the latency-aware load balancer for every lb:// route.
+ *
+ * Responsibilities:
+ * - Applies {@link LatencyAwareLoadBalancerConfiguration} as the default load balancer configuration
+ * - Instances per service are listed under gateway.loadbalancer.instances in application.yml
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
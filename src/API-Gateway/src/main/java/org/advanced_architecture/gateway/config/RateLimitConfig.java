@@ -1,7 +1,10 @@
 package org.advanced_architecture.gateway.config;
 
+import io.micrometer.observation.ObservationRegistry;
 import org.advanced_architecture.gateway.support.ClientIpExtractor;
+import org.advanced_architecture.gateway.tracing.ObservedRateLimiter;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
 import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
@@ -16,6 +19,7 @@ import reactor.core.publisher.Mono;
  * Responsibilities:
  * - Defines IP-based key resolver for identifying clients (delegates to {@link ClientIpExtractor})
  * - Configures Redis rate limiter with 10 requests/second and burst capacity of 20
+ * - Traces every rate limit check (gateway.rate-limit span) through {@link ObservedRateLimiter}
  * - Provides test route for validating rate limiting behavior
  *
  * Usage:
@@ -42,6 +46,16 @@ public class RateLimitConfig {
         return new RedisRateLimiter(10, 20);
     }
 
+    /**
+     * The rate limiter used by RequestRateLimiter filters without an explicit rate-limiter argument.
+     */
+    @Bean
+    @Primary
+    public RateLimiter<RedisRateLimiter.Config> observedRateLimiter(RedisRateLimiter redisRateLimiter,
+                                                                    ObservationRegistry observationRegistry) {
+        return new ObservedRateLimiter<>(redisRateLimiter, observationRegistry);
+    }
+
     @Bean
     public RouteLocator customRouteLocator(RouteLocatorBuilder builder, RedisRateLimiter rateLimiter) {
         return builder.routes()
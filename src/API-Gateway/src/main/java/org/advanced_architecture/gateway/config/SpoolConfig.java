@@ -0,0 +1,68 @@
+package org.advanced_architecture.gateway.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.advanced_architecture.gateway.filter.SpoolCaptureFilter;
+import org.advanced_architecture.gateway.spool.MappedSpoolLog;
+import org.advanced_architecture.gateway.spool.RequestSpool;
+import org.advanced_architecture.gateway.spool.SpoolDrainer;
+import org.advanced_architecture.gateway.spool.SpoolProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Configures the store-and-forward spool for order submissions.
+ *
+ * Responsibilities:
+ * - Binds {@link SpoolProperties} (gateway.spool in application.yml)
+ * - Opens the {@link MappedSpoolLog} and publishes its depth as gateway.spool.depth
+ * - Registers the body capture filter, the fallback-side {@link RequestSpool} and the {@link SpoolDrainer},
+ *   which replays through the load-balanced orchestrator-service instances
+ */
+@Configuration
+@EnableConfigurationProperties(SpoolProperties.class)
+@ConditionalOnProperty(prefix = "gateway.spool", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SpoolConfig {
+
+    @Bean(destroyMethod = "close")
+    public MappedSpoolLog mappedSpoolLog(SpoolProperties properties, MeterRegistry meterRegistry) throws IOException {
+        MappedSpoolLog spoolLog = new MappedSpoolLog(Path.of(properties.getDirectory()),
+                properties.getSegmentBytes(), properties.getMaxSegments(), properties.getFsyncInterval());
+        Gauge.builder("gateway.spool.depth", spoolLog, MappedSpoolLog::depth)
+                .description("Spooled requests awaiting replay")
+                .register(meterRegistry);
+        return spoolLog;
+    }
+
+    @Bean
+    public SpoolCaptureFilter spoolCaptureFilter(SpoolProperties properties) {
+        return new SpoolCaptureFilter(properties);
+    }
+
+    @Bean
+    public RequestSpool requestSpool(MappedSpoolLog spoolLog, MeterRegistry meterRegistry) {
+        return new RequestSpool(spoolLog, meterRegistry);
+    }
+
+    @Bean
+    public SpoolDrainer spoolDrainer(MappedSpoolLog spoolLog,
+                                     SpoolProperties properties,
+                                     ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                     ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistryProvider,
+                                     MeterRegistry meterRegistry) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl(properties.getTargetUri())
+                .filter(loadBalancerFunction)
+                .build();
+        return new SpoolDrainer(spoolLog, properties, webClient, circuitBreakerRegistryProvider, meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package org.advanced_architecture.gateway.config;
+
+import org.advanced_architecture.gateway.upstream.RoutePoolNettyRoutingFilter;
+import org.advanced_architecture.gateway.upstream.UpstreamHttpClients;
+import org.advanced_architecture.gateway.upstream.UpstreamPoolProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * Configures bounded, per-route upstream connection pools.
+ *
+ * Responsibilities:
+ * - Binds {@link UpstreamPoolProperties} (gateway.upstream in application.yml)
+ * - Registers {@link RoutePoolNettyRoutingFilter} in place of the default Netty routing filter
+ */
+@Configuration
+@EnableConfigurationProperties(UpstreamPoolProperties.class)
+public class UpstreamPoolConfig {
+
+    @Bean
+    public RoutePoolNettyRoutingFilter routePoolNettyRoutingFilter(HttpClient httpClient,
+                                                                   ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                                   HttpClientProperties properties,
+                                                                   UpstreamHttpClients upstreamHttpClients) {
+        return new RoutePoolNettyRoutingFilter(httpClient, headersFilters, properties, upstreamHttpClients);
+    }
+}
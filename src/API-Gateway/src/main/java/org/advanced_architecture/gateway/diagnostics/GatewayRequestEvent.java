@@ -0,0 +1,52 @@
+package org.advanced_architecture.gateway.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one request through the gateway, from {@link org.advanced_architecture.gateway.filter.LoggingFilter}
+ * until the response is complete. Begins and ends on different event-loop threads; the thread
+ * recorded is the one that completed the request.
+ */
+@Name("org.advanced_architecture.GatewayRequest")
+@Label("Gateway Request")
+@Description("Request handled by the API Gateway filter chain")
+@Category({"Advanced Architecture", "API Gateway"})
+@StackTrace(false)
+public class GatewayRequestEvent extends Event {
+
+    @Label("Route")
+    String routeId;
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+
+    @Label("Outcome")
+    @Description("onComplete, onError or cancel")
+    String outcome;
+
+    @Label("Trace Id")
+    String traceId;
+
+    public void end(String routeId, String method, String path, int status, String outcome, String traceId) {
+        if (shouldCommit()) {
+            this.routeId = routeId;
+            this.method = method;
+            this.path = path;
+            this.status = status;
+            this.outcome = outcome;
+            this.traceId = traceId;
+            commit();
+        }
+    }
+}
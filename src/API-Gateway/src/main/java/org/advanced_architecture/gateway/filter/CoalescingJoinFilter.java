@@ -0,0 +1,37 @@
+package org.advanced_architecture.gateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Second half of {@link RequestCoalescingFilter}: decides leader and followers of a coalesced GET.
+ *
+ * Runs after the route filters (rate limiter, circuit breaker) and before load balancing, so followers
+ * are rate-limited like any other request and only the leader picks an upstream instance.
+ */
+@Component
+public class CoalescingJoinFilter implements GlobalFilter, Ordered {
+
+    public static final int COALESCING_JOIN_FILTER_ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 10;
+
+    private final RequestCoalescingFilter coalescingFilter;
+
+    public CoalescingJoinFilter(RequestCoalescingFilter coalescingFilter) {
+        this.coalescingFilter = coalescingFilter;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return coalescingFilter.join(exchange, chain);
+    }
+
+    @Override
+    public int getOrder() {
+        return COALESCING_JOIN_FILTER_ORDER;
+    }
+}
@@ -0,0 +1,429 @@
+package org.advanced_architecture.gateway.filter;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.advanced_architecture.gateway.loadbalancer.HedgeBudget;
+import org.advanced_architecture.gateway.loadbalancer.InstanceStatsRegistry;
+import org.advanced_architecture.gateway.loadbalancer.LatencyAwareLoadBalancer;
+import org.advanced_architecture.gateway.upstream.UpstreamHttpClients;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Global filter that hedges idempotent GETs to a second upstream replica.
+ *
+ * Responsibilities:
+ * - Lets the request go to the instance chosen by the load balancer through the normal routing filter
+ * - If no response has arrived after the service's p95 latency, sends the same request to a second instance
+ * - Returns whichever response arrives first and cancels the other call
+ *
+ * Hedging guard rails:
+ * - Only GET requests on the configured routes are hedged
+ * - No hedging until enough latency samples exist to estimate the p95
+ * - Hedges are drawn from {@link HedgeBudget}, which caps them at a fraction of primary traffic
+ * - The budget is shared with the route's Resilience4j circuit breaker (orchestratorCircuitBreaker):
+ *   primaries earn fewer hedge tokens as the breaker's failure rate approaches its threshold and none at
+ *   or above it, hedges need a breaker permission, and their outcome is recorded in the breaker's window
+ * - No hedging unless the breaker is CLOSED, so hedges never add load while it is half-open or open
+ *
+ * Racing:
+ * - The primary is streamed to the client as usual; it wins as soon as its response status arrives, which
+ *   cancels a pending or running hedge
+ * - Only the hedge is buffered: it wins if its whole body (at most max-body-bytes) arrives before the
+ *   primary's status, and is then written here while the primary is cancelled; a larger or failed hedge
+ *   is dropped and the primary keeps going
+ * - The hedge uses the route's response-timeout metadata like the routing filter, else the global one
+ *
+ * Runs after the load balancer has picked the primary instance and before the Netty routing filter.
+ */
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgingFilter.class);
+
+    public static final int HEDGING_FILTER_ORDER = InstanceStatsFilter.INSTANCE_STATS_FILTER_ORDER - 5;
+
+    private static final int UNDECIDED = 0;
+    private static final int PRIMARY = 1;
+    private static final int HEDGE = 2;
+
+    private final InstanceStatsRegistry statsRegistry;
+    private final HedgeBudget hedgeBudget;
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+    private final UpstreamHttpClients upstreamHttpClients;
+    private final Duration responseTimeout;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+    private final ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistryProvider;
+
+    private final boolean enabled;
+    private final Set<String> routeIds;
+    private final String circuitBreakerName;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final int maxBodyBytes;
+
+    public HedgingFilter(InstanceStatsRegistry statsRegistry,
+                         HedgeBudget hedgeBudget,
+                         LoadBalancerClientFactory loadBalancerClientFactory,
+                         UpstreamHttpClients upstreamHttpClients,
+                         HttpClientProperties httpClientProperties,
+                         ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                         ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistryProvider,
+                         @Value("${gateway.hedging.enabled:true}") boolean enabled,
+                         @Value("${gateway.hedging.routes:orchestrator-service}") Set<String> routeIds,
+                         @Value("${gateway.hedging.circuit-breaker:orchestratorCircuitBreaker}") String circuitBreakerName,
+                         @Value("${gateway.hedging.min-delay:10ms}") Duration minDelay,
+                         @Value("${gateway.hedging.max-delay:2s}") Duration maxDelay,
+                         @Value("${gateway.hedging.max-body-bytes:1048576}") int maxBodyBytes) {
+        this.statsRegistry = statsRegistry;
+        this.hedgeBudget = hedgeBudget;
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+        this.upstreamHttpClients = upstreamHttpClients;
+        this.responseTimeout = httpClientProperties.getResponseTimeout();
+        this.headersFiltersProvider = headersFiltersProvider;
+        this.circuitBreakerRegistryProvider = circuitBreakerRegistryProvider;
+        this.enabled = enabled;
+        this.routeIds = routeIds;
+        this.circuitBreakerName = circuitBreakerName;
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (!isEligible(exchange, lbResponse, requestUrl)) {
+            return chain.filter(exchange);
+        }
+
+        ServiceInstance primary = lbResponse.getServer();
+        CircuitBreaker circuitBreaker = findCircuitBreaker();
+        hedgeBudget.onPrimary(budgetWeight(circuitBreaker));
+        long quantileNanos = statsRegistry.hedgeQuantileNanos(primary.getServiceId());
+        if (quantileNanos < 0) {
+            return chain.filter(exchange);
+        }
+        Duration hedgeDelay = clamp(Duration.ofNanos(quantileNanos));
+
+        List<HttpHeadersFilter> headersFilters = headersFiltersProvider.getIfAvailable(List::of);
+        HttpHeaders requestHeaders = HttpHeadersFilter.filterRequest(headersFilters, exchange);
+        requestHeaders.remove(HttpHeaders.HOST);
+
+        Route route = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        AtomicInteger winner = new AtomicInteger(UNDECIDED);
+        Sinks.One<Boolean> primaryWon = Sinks.one();
+        Sinks.One<Boolean> hedgeWon = Sinks.one();
+        ServerWebExchange primaryExchange = exchange.mutate()
+                .response(new PrimaryResponse(exchange.getResponse(), winner, primaryWon))
+                .build();
+
+        Mono<Boolean> primaryCall = chain.filter(primaryExchange)
+                .thenReturn(true)
+                .takeUntilOther(hedgeWon.asMono());
+        Mono<Boolean> hedgedCall = Mono.delay(hedgeDelay)
+                .filter(tick -> winner.get() == UNDECIDED)
+                .flatMap(tick -> chooseSecondary(primary))
+                .filter(secondary -> acquireHedge(circuitBreaker))
+                .flatMap(secondary -> {
+                    logger.debug("Hedging GET {} to {} after {}", requestUrl.getPath(), secondary.getHost(), hedgeDelay);
+                    Mono<UpstreamResponse> hedge = call(clientFor(route), secondary,
+                            LoadBalancerUriTools.reconstructURI(secondary, requestUrl), requestHeaders);
+                    return circuitBreaker != null ? recordIn(circuitBreaker, hedge) : hedge;
+                })
+                .takeUntilOther(primaryWon.asMono())
+                .onErrorResume(error -> {
+                    logger.debug("Hedged GET {} dropped: {}", requestUrl.getPath(), error.toString());
+                    return Mono.empty();
+                })
+                .filter(response -> winner.compareAndSet(UNDECIDED, HEDGE))
+                .doOnNext(response -> hedgeWon.tryEmitValue(true))
+                .flatMap(response -> write(exchange, headersFilters, response))
+                .thenReturn(true);
+
+        // Each side emits a value only when it has served the response. The loser completes empty (the primary
+        // is cancelled as soon as the hedge claims the response), so a dropped hedge never cuts the primary short
+        return Mono.firstWithValue(primaryCall, hedgedCall)
+                .onErrorMap(error -> error.getSuppressed().length > 0 ? error.getSuppressed()[0] : error)
+                .then();
+    }
+
+    private boolean isEligible(ServerWebExchange exchange, Response<ServiceInstance> lbResponse, URI requestUrl) {
+        if (!enabled || exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return false;
+        }
+        if (lbResponse == null || !lbResponse.hasServer() || requestUrl == null
+                || ServerWebExchangeUtils.isAlreadyRouted(exchange)) {
+            return false;
+        }
+        String scheme = requestUrl.getScheme();
+        if (!"http".equals(scheme) && !"https".equals(scheme)) {
+            return false;
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null && routeIds.contains(route.getId());
+    }
+
+    private HttpClient clientFor(Route route) {
+        HttpClient client = upstreamHttpClients.clientFor(route.getId());
+        Duration timeout = responseTimeout(route);
+        return timeout != null ? client.responseTimeout(timeout) : client;
+    }
+
+    /**
+     * Same precedence as the routing filter: the route's response-timeout metadata (milliseconds, negative
+     * for none), else spring.cloud.gateway.httpclient.response-timeout.
+     */
+    private Duration responseTimeout(Route route) {
+        Object value = route.getMetadata().get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR);
+        if (value == null) {
+            return responseTimeout;
+        }
+        long millis = value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+        return millis < 0 ? null : Duration.ofMillis(millis);
+    }
+
+    private CircuitBreaker findCircuitBreaker() {
+        CircuitBreakerRegistry registry = circuitBreakerRegistryProvider.getIfAvailable();
+        if (registry == null) {
+            return null;
+        }
+        return registry.find(circuitBreakerName).orElse(null);
+    }
+
+    /**
+     * 1 while the breaker sees no failures (or has too few calls to tell), falling linearly to 0 at its
+     * failure-rate threshold.
+     */
+    private static double budgetWeight(CircuitBreaker circuitBreaker) {
+        if (circuitBreaker == null) {
+            return 1.0;
+        }
+        if (circuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+            return 0.0;
+        }
+        float failureRate = circuitBreaker.getMetrics().getFailureRate();
+        if (failureRate < 0) {
+            return 1.0;
+        }
+        float threshold = circuitBreaker.getCircuitBreakerConfig().getFailureRateThreshold();
+        return Math.max(0.0, 1.0 - failureRate / threshold);
+    }
+
+    private boolean acquireHedge(CircuitBreaker circuitBreaker) {
+        if (circuitBreaker != null && circuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+            return false;
+        }
+        if (!hedgeBudget.tryAcquire()) {
+            return false;
+        }
+        return circuitBreaker == null || circuitBreaker.tryAcquirePermission();
+    }
+
+    /**
+     * Reports a hedge to the circuit breaker like the route's CircuitBreaker filter reports primaries;
+     * a hedge cancelled because the primary won gives its permission back without a result.
+     */
+    private static Mono<UpstreamResponse> recordIn(CircuitBreaker circuitBreaker, Mono<UpstreamResponse> hedge) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return hedge
+                    .doOnSuccess(response -> circuitBreaker.onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(error -> circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, error))
+                    .doOnCancel(circuitBreaker::releasePermission);
+        });
+    }
+
+    private Mono<ServiceInstance> chooseSecondary(ServiceInstance primary) {
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = loadBalancerClientFactory.getInstance(primary.getServiceId());
+        if (!(loadBalancer instanceof LatencyAwareLoadBalancer latencyAware)) {
+            return Mono.empty();
+        }
+        return latencyAware.chooseExcluding(new DefaultRequest<>(), primary)
+                .filter(Response::hasServer)
+                .map(Response::getServer);
+    }
+
+    private Mono<UpstreamResponse> call(HttpClient httpClient, ServiceInstance instance, URI uri, HttpHeaders headers) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            statsRegistry.onStart(instance);
+            return httpClient
+                    .headers(nettyHeaders -> headers.forEach(nettyHeaders::set))
+                    .request(io.netty.handler.codec.http.HttpMethod.GET)
+                    .uri(uri)
+                    .response((response, body) -> {
+                        long declaredLength = response.responseHeaders().getInt(HttpHeaders.CONTENT_LENGTH, -1);
+                        if (declaredLength > maxBodyBytes) {
+                            return Mono.<UpstreamResponse>error(bodyTooLarge(uri));
+                        }
+                        return body.asByteArray()
+                                .collect(ByteArrayOutputStream::new, (buffer, chunk) -> {
+                                    if (buffer.size() + chunk.length > maxBodyBytes) {
+                                        throw bodyTooLarge(uri);
+                                    }
+                                    buffer.write(chunk, 0, chunk.length);
+                                })
+                                .map(buffer -> new UpstreamResponse(
+                                        HttpStatusCode.valueOf(response.status().code()),
+                                        toHttpHeaders(response.responseHeaders()),
+                                        buffer.toByteArray()));
+                    })
+                    .next()
+                    .doFinally(signal -> {
+                        long elapsed = System.nanoTime() - start;
+                        if (signal == SignalType.CANCEL) {
+                            statsRegistry.onCancel(instance);
+                        } else if (signal == SignalType.ON_ERROR) {
+                            statsRegistry.onFailure(instance, elapsed);
+                        } else {
+                            statsRegistry.onComplete(instance, elapsed);
+                        }
+                    });
+        });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, List<HttpHeadersFilter> headersFilters, UpstreamResponse upstream) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders filtered = HttpHeadersFilter.filter(headersFilters, upstream.headers(), exchange, HttpHeadersFilter.Type.RESPONSE);
+        filtered.remove(HttpHeaders.TRANSFER_ENCODING);
+        response.setStatusCode(upstream.status());
+        response.getHeaders().putAll(filtered);
+        response.getHeaders().setContentLength(upstream.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(upstream.body())));
+    }
+
+    private DataBufferLimitException bodyTooLarge(URI uri) {
+        return new DataBufferLimitException("Response of " + uri.getPath() + " exceeds " + maxBodyBytes + " bytes");
+    }
+
+    private static HttpHeaders toHttpHeaders(io.netty.handler.codec.http.HttpHeaders nettyHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        for (Map.Entry<String, String> entry : nettyHeaders) {
+            headers.add(entry.getKey(), entry.getValue());
+        }
+        return headers;
+    }
+
+    private Duration clamp(Duration delay) {
+        if (delay.compareTo(minDelay) < 0) {
+            return minDelay;
+        }
+        return delay.compareTo(maxDelay) > 0 ? maxDelay : delay;
+    }
+
+    @Override
+    public int getOrder() {
+        return HEDGING_FILTER_ORDER;
+    }
+
+    private record UpstreamResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {}
+
+    /**
+     * Response of the primary call: the routing filter sets the upstream status before anything else, so
+     * that is where the primary claims the response. If the hedge has claimed it already, the primary fails
+     * with {@link HedgeWonException}; normally it has been cancelled before that.
+     */
+    private static final class PrimaryResponse extends ServerHttpResponseDecorator {
+
+        private final AtomicInteger winner;
+        private final Sinks.One<Boolean> primaryWon;
+
+        PrimaryResponse(ServerHttpResponse delegate, AtomicInteger winner, Sinks.One<Boolean> primaryWon) {
+            super(delegate);
+            this.winner = winner;
+            this.primaryWon = primaryWon;
+        }
+
+        @Override
+        public boolean setStatusCode(HttpStatusCode status) {
+            claim();
+            return super.setStatusCode(status);
+        }
+
+        @Override
+        @Deprecated
+        public boolean setRawStatusCode(Integer value) {
+            claim();
+            return super.setRawStatusCode(value);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return Mono.defer(() -> {
+                claim();
+                return super.writeWith(body);
+            });
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return Mono.defer(() -> {
+                claim();
+                return super.writeAndFlushWith(body);
+            });
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return Mono.defer(() -> {
+                claim();
+                return super.setComplete();
+            });
+        }
+
+        private void claim() {
+            if (winner.compareAndSet(UNDECIDED, PRIMARY)) {
+                primaryWon.tryEmitValue(true);
+            } else if (winner.get() != PRIMARY) {
+                throw new HedgeWonException();
+            }
+        }
+    }
+
+    private static final class HedgeWonException extends IllegalStateException {
+        HedgeWonException() {
+            super("Hedged call answered first");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.advanced_architecture.gateway.filter;
+
+import org.advanced_architecture.gateway.loadbalancer.InstanceStatsRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Set;
+
+/**
+ * Global filter that feeds upstream call outcomes back into {@link InstanceStatsRegistry}.
+ *
+ * Responsibilities:
+ * - Increments the outstanding-request count of the instance chosen by the load balancer
+ * - Records the upstream latency when the routing filter completes (failures are penalised)
+ *
+ * Behavior:
+ * - Only GETs on the hedged routes (gateway.hedging.routes) are latency samples, so the per-instance EWMA
+ *   and the service's hedge quantile describe comparable calls; other requests (e.g. bulk import uploads
+ *   that stream for minutes) only hold an outstanding slot, and a failure costs the error penalty
+ *
+ * Runs right after the load balancer has picked an instance and before the Netty routing filter.
+ * The primary call of a hedged GET passes through here; the hedge itself is recorded by {@link HedgingFilter}.
+ */
+@Component
+public class InstanceStatsFilter implements GlobalFilter, Ordered {
+
+    public static final int INSTANCE_STATS_FILTER_ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 10;
+
+    private final InstanceStatsRegistry statsRegistry;
+    private final Set<String> sampledRouteIds;
+
+    public InstanceStatsFilter(InstanceStatsRegistry statsRegistry,
+                               @Value("${gateway.hedging.routes:orchestrator-service}") Set<String> sampledRouteIds) {
+        this.statsRegistry = statsRegistry;
+        this.sampledRouteIds = sampledRouteIds;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return chain.filter(exchange);
+        }
+
+        ServiceInstance instance = lbResponse.getServer();
+        boolean sampled = isSampled(exchange);
+        long start = System.nanoTime();
+        statsRegistry.onStart(instance);
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        statsRegistry.onCancel(instance);
+                    } else if (signal == SignalType.ON_ERROR) {
+                        statsRegistry.onFailure(instance, sampled ? System.nanoTime() - start : 0);
+                    } else if (sampled) {
+                        statsRegistry.onComplete(instance, System.nanoTime() - start);
+                    } else {
+                        statsRegistry.onCancel(instance);
+                    }
+                });
+    }
+
+    private boolean isSampled(ServerWebExchange exchange) {
+        if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+            return false;
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null && sampledRouteIds.contains(route.getId());
+    }
+
+    @Override
+    public int getOrder() {
+        return INSTANCE_STATS_FILTER_ORDER;
+    }
+}
@@ -0,0 +1,56 @@
+package org.advanced_architecture.gateway.filter;
+
+import org.advanced_architecture.gateway.metrics.RouteLatencyRecorder;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Global filter that records per-route latency histograms, split into gateway and upstream time.
+ *
+ * Responsibilities:
+ * - Runs first in the filter chain and measures the full request duration
+ * - Reads the upstream duration measured by {@link UpstreamTimingFilter}
+ * - Hands both to {@link RouteLatencyRecorder}, keyed by route id and response status class
+ *
+ * Complements {@link LoggingFilter}, which only logs method, path and status.
+ */
+@Component
+public class LatencyHistogramFilter implements GlobalFilter, Ordered {
+
+    private final RouteLatencyRecorder latencyRecorder;
+
+    public LatencyHistogramFilter(RouteLatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                    if (route == null) {
+                        return;
+                    }
+                    long total = System.nanoTime() - start;
+                    Long upstream = exchange.getAttribute(UpstreamTimingFilter.UPSTREAM_NANOS_ATTR);
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    latencyRecorder.record(route.getId(),
+                            status != null ? status.value() : 0,
+                            total,
+                            upstream != null ? upstream : -1L);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
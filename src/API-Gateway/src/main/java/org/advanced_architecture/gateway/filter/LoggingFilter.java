@@ -1,8 +1,12 @@
 package org.advanced_architecture.gateway.filter;
 
+import org.advanced_architecture.gateway.diagnostics.GatewayRequestEvent;
 import org.advanced_architecture.gateway.support.ResponseLogger;
+import org.advanced_architecture.gateway.tracing.TraceIds;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
@@ -16,6 +20,10 @@ import reactor.core.publisher.Mono;
  * - Logs HTTP method and path for every incoming request
  * - Logs response status code after request processing
  * - Logs errors without modifying the response
+ * - Returns the request's W3C trace id in the X-Trace-Id response header, so a slow response can be
+ *   looked up in the exported traces (log lines carry it as well)
+ * - Emits a {@link GatewayRequestEvent} JFR event per request (route, status, trace id), recorded only
+ *   while a Flight Recorder recording enables it
  * - Executes early in the filter chain (order: -1) to capture all traffic
  *
  * Uses {@link ResponseLogger} to handle the actual logging logic while
@@ -24,6 +32,8 @@ import reactor.core.publisher.Mono;
 @Component
 public class LoggingFilter implements GlobalFilter, Ordered {
 
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
     private final ResponseLogger responseLogger;
 
     public LoggingFilter(ResponseLogger responseLogger) {
@@ -36,16 +46,32 @@ public class LoggingFilter implements GlobalFilter, Ordered {
         exchange.getRequest().getMethod();
         String method = exchange.getRequest().getMethod().toString();
 
-        // Log before proceeding in the chain
-        responseLogger.logRequest(method, path);
+        return Mono.deferContextual(context -> {
+            String traceId = TraceIds.current(context);
+            if (traceId != null) {
+                exchange.getResponse().getHeaders().set(TRACE_ID_HEADER, traceId);
+            }
+
+            GatewayRequestEvent requestEvent = new GatewayRequestEvent();
+            requestEvent.begin();
+
+            // Log before proceeding in the chain
+            responseLogger.logRequest(method, path);
 
-        return chain
-                .filter(exchange)
-                .doOnError(error -> responseLogger.logError(method, path, error))
-                .then(Mono.fromRunnable(() -> {
-                    HttpStatusCode status = exchange.getResponse().getStatusCode();
-                    responseLogger.logResponse(method, path, status);
-                }));
+            return chain
+                    .filter(exchange)
+                    .doOnError(error -> responseLogger.logError(method, path, error))
+                    .then(Mono.fromRunnable(() -> {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        responseLogger.logResponse(method, path, status);
+                    }))
+                    .doFinally(signal -> {
+                        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        requestEvent.end(route != null ? route.getId() : null, method, path,
+                                status != null ? status.value() : 0, signal.toString(), traceId);
+                    });
+        });
     }
 
     @Override
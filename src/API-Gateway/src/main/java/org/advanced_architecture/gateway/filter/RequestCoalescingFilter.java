@@ -0,0 +1,279 @@
+package org.advanced_architecture.gateway.filter;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Global filter that collapses concurrent identical GET requests onto a single upstream call.
+ *
+ * Responsibilities:
+ * - Builds a coalescing key from route id, path, query and the configured request headers
+ * - Lets the first request for a key (the leader) proceed to the upstream
+ * - Parks concurrent requests for the same key (followers) until the leader's response is available
+ * - Replays the leader's buffered status, headers and body to every follower
+ *
+ * Behavior:
+ * - Only GET requests on the configured routes are coalesced
+ * - Only completed 2xx responses up to maxBodyBytes are shared; anything else (errors, cancelled or
+ *   oversized responses) releases followers to go upstream themselves
+ * - Followers waiting longer than maxWait fall through to a normal upstream call
+ * - Leader and followers are decided by {@link CoalescingJoinFilter}, after the route filters, so every
+ *   request is charged by the rate limiter and passes the circuit breaker
+ *
+ * Ordering:
+ * - Runs just before {@link NettyWriteResponseFilter} so the decorated response captures the upstream body
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescingFilter.class);
+
+    private static final String KEY_ATTR = RequestCoalescingFilter.class.getName() + ".key";
+    private static final String CAPTURE_ATTR = RequestCoalescingFilter.class.getName() + ".capture";
+    private static final String LEADER_SINK_ATTR = RequestCoalescingFilter.class.getName() + ".leaderSink";
+
+    private final ConcurrentHashMap<String, Sinks.One<CoalescedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+    private final Set<String> routeIds;
+    private final List<String> keyHeaders;
+    private final int maxBodyBytes;
+    private final Duration maxWait;
+
+    public RequestCoalescingFilter(
+            @Value("${gateway.coalescing.enabled:true}") boolean enabled,
+            @Value("${gateway.coalescing.routes:orchestrator-service}") Set<String> routeIds,
+            @Value("${gateway.coalescing.key-headers:Accept,Accept-Encoding,Authorization}") List<String> keyHeaders,
+            @Value("${gateway.coalescing.max-body-bytes:262144}") int maxBodyBytes,
+            @Value("${gateway.coalescing.max-wait:2s}") Duration maxWait) {
+        this.enabled = enabled;
+        this.routeIds = routeIds;
+        this.keyHeaders = keyHeaders;
+        this.maxBodyBytes = maxBodyBytes;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String key = coalescingKey(exchange);
+        if (key == null) {
+            return chain.filter(exchange);
+        }
+
+        CapturingResponse capturing = new CapturingResponse(exchange.getResponse(), maxBodyBytes);
+        ServerWebExchange decorated = exchange.mutate().response(capturing).build();
+        decorated.getAttributes().put(KEY_ATTR, key);
+        decorated.getAttributes().put(CAPTURE_ATTR, capturing);
+
+        // Completes after NettyWriteResponseFilter has written the body
+        return chain.filter(decorated)
+                .doFinally(signal -> {
+                    Sinks.One<CoalescedResponse> sink = decorated.getAttribute(LEADER_SINK_ATTR);
+                    if (sink == null) {
+                        return;
+                    }
+                    inFlight.remove(key, sink);
+                    CoalescedResponse response = signal == SignalType.ON_COMPLETE ? capturing.toCoalescedResponse() : null;
+                    if (response != null) {
+                        sink.tryEmitValue(response);
+                    } else {
+                        sink.tryEmitEmpty();
+                    }
+                });
+    }
+
+    /**
+     * Called by {@link CoalescingJoinFilter} once the route filters have let the request through:
+     * the first request for its key becomes the leader, later ones wait for it.
+     */
+    Mono<Void> join(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String key = exchange.getAttribute(KEY_ATTR);
+        CapturingResponse capturing = exchange.getAttribute(CAPTURE_ATTR);
+        if (key == null || capturing == null) {
+            return chain.filter(exchange);
+        }
+
+        Sinks.One<CoalescedResponse> sink = Sinks.one();
+        Sinks.One<CoalescedResponse> existing = inFlight.putIfAbsent(key, sink);
+        if (existing != null) {
+            return follow(exchange, chain, existing);
+        }
+        capturing.startCapture();
+        exchange.getAttributes().put(LEADER_SINK_ATTR, sink);
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain,
+                              Sinks.One<CoalescedResponse> leader) {
+        return leader.asMono()
+                .timeout(maxWait)
+                .onErrorResume(error -> Mono.empty())
+                .flatMap(response -> replay(exchange, response).thenReturn(Boolean.TRUE))
+                .switchIfEmpty(Mono.defer(() -> chain.filter(exchange).thenReturn(Boolean.FALSE)))
+                .then();
+    }
+
+    private Mono<Void> replay(ServerWebExchange exchange, CoalescedResponse response) {
+        ServerHttpResponse target = exchange.getResponse();
+        target.setStatusCode(response.status());
+        target.getHeaders().putAll(response.headers());
+        target.getHeaders().set("X-Gateway-Coalesced", "true");
+        return target.writeWith(Mono.fromSupplier(() -> target.bufferFactory().wrap(response.body())));
+    }
+
+    private String coalescingKey(ServerWebExchange exchange) {
+        if (!enabled) {
+            return null;
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET) {
+            return null;
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !routeIds.contains(route.getId())) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder(128)
+                .append(route.getId())
+                .append(' ')
+                .append(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        HttpHeaders headers = request.getHeaders();
+        for (String header : keyHeaders) {
+            key.append('\n').append(header).append('=');
+            List<String> values = headers.get(header);
+            if (values != null) {
+                key.append(String.join(",", values));
+            }
+        }
+        return key.toString();
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    /**
+     * Snapshot of an upstream response that can be replayed to followers.
+     */
+    record CoalescedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {}
+
+    /**
+     * Response decorator that streams the body through unchanged while keeping a bounded copy of it.
+     */
+    private static final class CapturingResponse extends ServerHttpResponseDecorator {
+
+        private final int maxBodyBytes;
+        private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        private volatile boolean capturing;
+        private volatile boolean cacheable = true;
+        private volatile boolean completed;
+
+        CapturingResponse(ServerHttpResponse delegate, int maxBodyBytes) {
+            super(delegate);
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        void startCapture() {
+            capturing = true;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!capturing) {
+                return super.writeWith(body);
+            }
+            Flux<? extends DataBuffer> copying = Flux.from(body)
+                    .doOnNext(this::capture)
+                    .doOnComplete(() -> completed = true)
+                    .doOnError(error -> cacheable = false)
+                    .doOnCancel(() -> cacheable = false);
+            return super.writeWith(copying);
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            // Bodyless response
+            if (capturing) {
+                completed = true;
+            }
+            return super.setComplete();
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            // Streaming responses are never shared
+            cacheable = false;
+            return super.writeAndFlushWith(body);
+        }
+
+        private void capture(DataBuffer buffer) {
+            if (!cacheable) {
+                return;
+            }
+            int length = buffer.readableByteCount();
+            byte[] chunk = new byte[length];
+            int position = buffer.readPosition();
+            buffer.read(chunk);
+            buffer.readPosition(position);
+            synchronized (captured) {
+                if (captured.size() + length > maxBodyBytes) {
+                    cacheable = false;
+                    captured.reset();
+                    return;
+                }
+                captured.write(chunk, 0, length);
+            }
+        }
+
+        CoalescedResponse toCoalescedResponse() {
+            HttpStatusCode status = getStatusCode();
+            // A leader cancelled after its status was set has no complete body to share
+            if (!capturing || !cacheable || !completed || status == null || !status.is2xxSuccessful()) {
+                return null;
+            }
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(getHeaders());
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            byte[] body;
+            synchronized (captured) {
+                body = captured.toByteArray();
+            }
+            headers.setContentLength(body.length);
+            logger.debug("Sharing coalesced response with status {} and {} bytes", status.value(), body.length);
+            return new CoalescedResponse(status, headers, body);
+        }
+    }
+}
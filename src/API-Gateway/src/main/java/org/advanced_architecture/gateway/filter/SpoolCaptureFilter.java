@@ -0,0 +1,141 @@
+package org.advanced_architecture.gateway.filter;
+
+import org.advanced_architecture.gateway.spool.SpoolProperties;
+import org.advanced_architecture.gateway.spool.SpooledRequest;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Global filter that buffers spoolable request bodies so the circuit breaker fallback can spool them.
+ *
+ * Responsibilities:
+ * - Matches POST requests on the configured route and path (gateway.spool.route-id / gateway.spool.path)
+ * - Reads the body once, up to gateway.spool.max-body-bytes, and stores it with the request headers as a
+ *   {@link SpooledRequest} exchange attribute
+ * - Replaces the request body with the buffered copy, so the upstream call is unaffected
+ *
+ * Behavior:
+ * - Larger bodies are not captured and are proxied as they arrive, as before the spool existed; such a
+ *   request cannot be spooled, so the fallback answers it with 503
+ * - Hop-by-hop and length headers are not kept, the replay sets its own
+ * - Registered by SpoolConfig only when the spool is enabled
+ */
+public class SpoolCaptureFilter implements GlobalFilter, Ordered {
+
+    public static final String SPOOLED_REQUEST_ATTR = SpoolCaptureFilter.class.getName() + ".spooledRequest";
+
+    private static final Set<String> UNSPOOLED_HEADERS = Set.of(
+            "host", "content-length", "transfer-encoding", "connection", "keep-alive", "proxy-connection",
+            "te", "trailer", "upgrade", "expect", "x-spool-id");
+
+    private final SpoolProperties properties;
+
+    public SpoolCaptureFilter(SpoolProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (request.getMethod() != HttpMethod.POST
+                || route == null
+                || !properties.getRouteId().equals(route.getId())
+                || !properties.getPath().equals(request.getURI().getRawPath())
+                || request.getHeaders().getContentLength() > properties.getMaxBodyBytes()) {
+            return chain.filter(exchange);
+        }
+
+        // Groups the body into one list once it is complete or as soon as it exceeds the limit
+        int maxBodyBytes = properties.getMaxBodyBytes();
+        long[] seen = new long[1];
+        return request.getBody()
+                .bufferUntil(buffer -> (seen[0] += buffer.readableByteCount()) > maxBodyBytes)
+                .switchOnFirst((first, lists) -> {
+                    if (first.hasError()) {
+                        return Mono.<Void>error(first.getThrowable());
+                    }
+                    if (!first.hasValue()) {
+                        return captured(exchange, chain, new byte[0]);
+                    }
+                    List<DataBuffer> head = first.get();
+                    if (seen[0] <= maxBodyBytes) {
+                        return captured(exchange, chain, toBytes(head));
+                    }
+                    ServerHttpRequest streaming = new ServerHttpRequestDecorator(request) {
+                        @Override
+                        public Flux<DataBuffer> getBody() {
+                            return lists.flatMapIterable(buffers -> buffers);
+                        }
+                    };
+                    return chain.filter(exchange.mutate().request(streaming).build());
+                })
+                .then();
+    }
+
+    private Mono<Void> captured(ServerWebExchange exchange, GatewayFilterChain chain, byte[] body) {
+        ServerHttpRequest request = exchange.getRequest();
+        exchange.getAttributes().put(SPOOLED_REQUEST_ATTR, toSpooledRequest(request, body));
+        ServerHttpRequest buffered = new ServerHttpRequestDecorator(request) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> Flux.just(exchange.getResponse().bufferFactory().wrap(body)));
+            }
+        };
+        return chain.filter(exchange.mutate().request(buffered).build());
+    }
+
+    private static byte[] toBytes(List<DataBuffer> buffers) {
+        int size = 0;
+        for (DataBuffer buffer : buffers) {
+            size += buffer.readableByteCount();
+        }
+        byte[] bytes = new byte[size];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            try {
+                int length = buffer.readableByteCount();
+                buffer.read(bytes, offset, length);
+                offset += length;
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+        return bytes;
+    }
+
+    private static SpooledRequest toSpooledRequest(ServerHttpRequest request, byte[] body) {
+        String path = request.getURI().getRawPath();
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            path = path + "?" + query;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        request.getHeaders().forEach((name, values) -> {
+            if (!UNSPOOLED_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
+        return new SpooledRequest(path, headers, body, 0L);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
@@ -0,0 +1,56 @@
+package org.advanced_architecture.gateway.filter;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.advanced_architecture.gateway.tracing.TraceIds;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Global filter that traces the upstream call as a "gateway.upstream" span.
+ *
+ * Wraps {@link UpstreamTimingFilter}, so the span covers the section it measures. Everything between the
+ * rate limit span and this one is circuit breaker and load balancer time; a request short-circuited by
+ * the circuit breaker has no upstream span.
+ *
+ * Behavior:
+ * - Only requests whose trace is sampled get the span; the rest skip the observation entirely, as its
+ *   span would be dropped anyway
+ */
+@Component
+public class UpstreamSpanFilter implements GlobalFilter, Ordered {
+
+    private final ObservationRegistry observationRegistry;
+
+    public UpstreamSpanFilter(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (observationRegistry.isNoop()) {
+            return chain.filter(exchange);
+        }
+        return Mono.deferContextual(context -> {
+            if (!TraceIds.isSampled(context)) {
+                return chain.filter(exchange);
+            }
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            return chain.filter(exchange)
+                    .name("gateway.upstream")
+                    .tag("route", route != null ? route.getId() : "none")
+                    .tap(Micrometer.observation(observationRegistry));
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return UpstreamTimingFilter.UPSTREAM_TIMING_FILTER_ORDER - 1;
+    }
+}
@@ -0,0 +1,36 @@
+package org.advanced_architecture.gateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Global filter that measures how long the upstream call takes.
+ *
+ * Sits directly in front of {@link HedgingFilter} and the Netty routing filter, so the measured span covers
+ * connection acquisition, the request and waiting for the upstream response headers (or, for hedged
+ * requests, the complete response). The duration is stored in the {@link #UPSTREAM_NANOS_ATTR}
+ * exchange attribute for {@link LatencyHistogramFilter}; {@link UpstreamSpanFilter} traces the same
+ * section as a span.
+ */
+@Component
+public class UpstreamTimingFilter implements GlobalFilter, Ordered {
+
+    public static final String UPSTREAM_NANOS_ATTR = UpstreamTimingFilter.class.getName() + ".upstreamNanos";
+    public static final int UPSTREAM_TIMING_FILTER_ORDER = HedgingFilter.HEDGING_FILTER_ORDER - 1;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> exchange.getAttributes().put(UPSTREAM_NANOS_ATTR, System.nanoTime() - start));
+    }
+
+    @Override
+    public int getOrder() {
+        return UPSTREAM_TIMING_FILTER_ORDER;
+    }
+}
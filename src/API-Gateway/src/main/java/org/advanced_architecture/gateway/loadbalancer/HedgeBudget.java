@@ -0,0 +1,41 @@
+package org.advanced_architecture.gateway.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token-bucket budget that caps hedged requests at a fraction of primary traffic.
+ *
+ * Every primary request deposits {@code ratio} tokens (up to {@code maxTokens}), scaled by a weight
+ * the caller derives from the upstream's health; every hedge withdraws one whole token. With ratio 0.1
+ * at most ~10% extra load reaches the upstream, even when latency degrades across the board, and
+ * less while the upstream is failing.
+ */
+@Component
+public class HedgeBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public HedgeBudget(@Value("${gateway.hedging.budget-ratio:0.1}") double ratio,
+                       @Value("${gateway.hedging.budget-max-tokens:20}") double maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+    }
+
+    /**
+     * @param weight 1 for a healthy upstream, down to 0 when hedges should no longer be earned
+     */
+    public synchronized void onPrimary(double weight) {
+        tokens = Math.min(maxTokens, tokens + ratio * weight);
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+}
@@ -0,0 +1,74 @@
+package org.advanced_architecture.gateway.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live load and latency figures for a single upstream instance.
+ *
+ * Tracks:
+ * - Outstanding requests currently in flight to the instance
+ * - A peak-sensitive, time-decayed EWMA of response latency
+ *
+ * The EWMA decays with the time since the previous sample (not the sample count),
+ * so an instance that has been idle for a while converges back towards fresh samples quickly,
+ * and any sample slower than the current average replaces it immediately.
+ */
+public class InstanceStats {
+
+    private final String key;
+    private final double decayNanos;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private double ewmaNanos;
+    private long lastUpdateNanos;
+
+    InstanceStats(String key, long decayNanos, long initialLatencyNanos) {
+        this.key = key;
+        this.decayNanos = decayNanos;
+        this.ewmaNanos = initialLatencyNanos;
+        this.lastUpdateNanos = System.nanoTime();
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    public synchronized double ewmaNanos() {
+        return ewmaNanos;
+    }
+
+    void onStart() {
+        outstanding.incrementAndGet();
+    }
+
+    void onComplete(long latencyNanos) {
+        outstanding.decrementAndGet();
+        record(latencyNanos);
+    }
+
+    void onCancel() {
+        outstanding.decrementAndGet();
+    }
+
+    private synchronized void record(long latencyNanos) {
+        long now = System.nanoTime();
+        if (latencyNanos > ewmaNanos) {
+            ewmaNanos = latencyNanos;
+        } else {
+            double weight = Math.exp(-(now - lastUpdateNanos) / decayNanos);
+            ewmaNanos = ewmaNanos * weight + latencyNanos * (1.0 - weight);
+        }
+        lastUpdateNanos = now;
+    }
+
+    /**
+     * Load score used by power-of-two-choices: lower is better.
+     */
+    double cost() {
+        return ewmaNanos() * (outstanding.get() + 1);
+    }
+}
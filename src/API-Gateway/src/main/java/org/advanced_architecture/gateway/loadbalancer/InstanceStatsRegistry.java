@@ -0,0 +1,88 @@
+package org.advanced_architecture.gateway.loadbalancer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared registry of per-instance load statistics and per-service latency quantiles.
+ *
+ * Responsibilities:
+ * - Hands out {@link InstanceStats} for every upstream instance the gateway talks to
+ * - Records start/completion of upstream calls (outstanding count + latency EWMA)
+ * - Maintains a per-service p95 latency estimate used to derive the hedging delay
+ *
+ * Used by {@link LatencyAwareLoadBalancer} for instance selection and by the gateway filters
+ * that observe upstream calls.
+ */
+@Component
+public class InstanceStatsRegistry {
+
+    private final ConcurrentHashMap<String, InstanceStats> instances = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyQuantileEstimator> services = new ConcurrentHashMap<>();
+
+    private final long decayNanos;
+    private final long initialLatencyNanos;
+    private final long errorPenaltyNanos;
+    private final int quantileWindow;
+    private final double hedgeQuantile;
+
+    public InstanceStatsRegistry(
+            @Value("${gateway.loadbalancer.ewma-decay:10s}") Duration decay,
+            @Value("${gateway.loadbalancer.initial-latency:50ms}") Duration initialLatency,
+            @Value("${gateway.loadbalancer.error-penalty:1s}") Duration errorPenalty,
+            @Value("${gateway.hedging.quantile-window:1024}") int quantileWindow,
+            @Value("${gateway.hedging.quantile:0.95}") double hedgeQuantile) {
+        this.decayNanos = decay.toNanos();
+        this.initialLatencyNanos = initialLatency.toNanos();
+        this.errorPenaltyNanos = errorPenalty.toNanos();
+        this.quantileWindow = quantileWindow;
+        this.hedgeQuantile = hedgeQuantile;
+    }
+
+    public InstanceStats statsFor(ServiceInstance instance) {
+        String key = keyOf(instance);
+        return instances.computeIfAbsent(key, k -> new InstanceStats(k, decayNanos, initialLatencyNanos));
+    }
+
+    public void onStart(ServiceInstance instance) {
+        statsFor(instance).onStart();
+    }
+
+    public void onComplete(ServiceInstance instance, long latencyNanos) {
+        statsFor(instance).onComplete(latencyNanos);
+        services.computeIfAbsent(instance.getServiceId(), id -> new LatencyQuantileEstimator(quantileWindow, hedgeQuantile))
+                .record(latencyNanos);
+    }
+
+    /**
+     * Records a failed call. Fast failures (e.g. connection refused) are charged at least the
+     * configured error penalty so a broken instance never looks like the fastest one.
+     */
+    public void onFailure(ServiceInstance instance, long latencyNanos) {
+        statsFor(instance).onComplete(Math.max(latencyNanos, errorPenaltyNanos));
+    }
+
+    /**
+     * Releases the outstanding slot of a call that was cancelled (e.g. the losing side of a hedge) or is
+     * not a latency sample, without feeding its latency into the statistics.
+     */
+    public void onCancel(ServiceInstance instance) {
+        statsFor(instance).onCancel();
+    }
+
+    /**
+     * @return the latency quantile used for hedging, or -1 if the service has too few samples yet
+     */
+    public long hedgeQuantileNanos(String serviceId) {
+        LatencyQuantileEstimator estimator = services.get(serviceId);
+        return estimator == null ? -1 : estimator.estimateNanos();
+    }
+
+    static String keyOf(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+}
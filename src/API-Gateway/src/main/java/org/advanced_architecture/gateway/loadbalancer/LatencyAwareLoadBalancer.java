@@ -0,0 +1,97 @@
+package org.advanced_architecture.gateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices load balancer driven by live latency and load figures.
+ *
+ * Behavior:
+ * - Samples two distinct instances at random from the current instance list
+ * - Picks the one with the lower cost, where cost = latency EWMA * (outstanding requests + 1)
+ * - Falls back to the only instance when the list has a single entry
+ *
+ * Randomised sampling keeps the gateway from herding onto the single "best" instance,
+ * while the cost comparison steers traffic away from slow or overloaded replicas.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final InstanceStatsRegistry statsRegistry;
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                    String serviceId,
+                                    InstanceStatsRegistry statsRegistry) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.statsRegistry = statsRegistry;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        return instances(request).map(list -> toResponse(choose(list, null)));
+    }
+
+    /**
+     * Picks an instance other than {@code excluded}, used to send hedged requests to a second replica.
+     */
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> chooseExcluding(Request request, ServiceInstance excluded) {
+        return instances(request).map(list -> toResponse(choose(list, excluded)));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Mono<List<ServiceInstance>> instances(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next();
+    }
+
+    ServiceInstance choose(List<ServiceInstance> instances, ServiceInstance excluded) {
+        List<ServiceInstance> candidates = instances;
+        if (excluded != null) {
+            String excludedKey = InstanceStatsRegistry.keyOf(excluded);
+            candidates = instances.stream()
+                    .filter(instance -> !InstanceStatsRegistry.keyOf(instance).equals(excludedKey))
+                    .toList();
+        }
+
+        int size = candidates.size();
+        if (size == 0) {
+            return null;
+        }
+        if (size == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return statsRegistry.statsFor(a).cost() <= statsRegistry.statsFor(b).cost() ? a : b;
+    }
+
+    private Response<ServiceInstance> toResponse(ServiceInstance instance) {
+        return instance == null ? new EmptyResponse() : new DefaultResponse(instance);
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+}
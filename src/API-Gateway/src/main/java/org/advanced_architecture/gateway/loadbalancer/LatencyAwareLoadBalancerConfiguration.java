@@ -0,0 +1,53 @@
+package org.advanced_architecture.gateway.loadbalancer;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-service load balancer configuration, instantiated in each load balancer child context.
+ *
+ * Deliberately not annotated with @Configuration: it is registered through
+ * {@code @LoadBalancerClients(defaultConfiguration = ...)} and must stay out of component scanning.
+ *
+ * Provides:
+ * - {@link StaticServiceInstanceListSupplier} fed from gateway.loadbalancer.instances.&lt;serviceId&gt;
+ * - {@link LatencyAwareLoadBalancer} as the instance selection strategy
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier staticServiceInstanceListSupplier(Environment environment) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        String configured = environment.getProperty("gateway.loadbalancer.instances." + serviceId, "");
+        List<URI> uris = Arrays.stream(configured.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .map(URI::create)
+                .toList();
+        boolean resolveDns = environment.getProperty("gateway.loadbalancer.resolve-dns", Boolean.class, true);
+        Duration refresh = DurationStyle.detectAndParse(
+                environment.getProperty("gateway.loadbalancer.refresh-interval", "10s"));
+        return new StaticServiceInstanceListSupplier(serviceId, uris, resolveDns, refresh);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                         InstanceStatsRegistry statsRegistry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId,
+                statsRegistry);
+    }
+}
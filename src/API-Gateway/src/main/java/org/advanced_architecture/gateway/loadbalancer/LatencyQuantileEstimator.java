@@ -0,0 +1,45 @@
+package org.advanced_architecture.gateway.loadbalancer;
+
+import java.util.Arrays;
+
+/**
+ * Sliding-window latency quantile estimate for one upstream service.
+ *
+ * Keeps the most recent samples in a fixed ring buffer and recomputes the configured quantile
+ * every {@code RECOMPUTE_EVERY} samples, so reads are a single volatile load and writes are O(1)
+ * apart from the occasional sort of a small array.
+ */
+class LatencyQuantileEstimator {
+
+    private static final int RECOMPUTE_EVERY = 64;
+
+    private final long[] window;
+    private final double quantile;
+    private int next;
+    private long samples;
+    private volatile long estimateNanos = -1;
+
+    LatencyQuantileEstimator(int windowSize, double quantile) {
+        this.window = new long[windowSize];
+        this.quantile = quantile;
+    }
+
+    synchronized void record(long latencyNanos) {
+        window[next] = latencyNanos;
+        next = (next + 1) % window.length;
+        samples++;
+        if (samples % RECOMPUTE_EVERY == 0) {
+            int size = (int) Math.min(samples, window.length);
+            long[] sorted = Arrays.copyOf(window, size);
+            Arrays.sort(sorted);
+            estimateNanos = sorted[Math.min(size - 1, (int) Math.ceil(quantile * size) - 1)];
+        }
+    }
+
+    /**
+     * @return the current estimate, or -1 while fewer than {@code RECOMPUTE_EVERY} samples were seen
+     */
+    long estimateNanos() {
+        return estimateNanos;
+    }
+}
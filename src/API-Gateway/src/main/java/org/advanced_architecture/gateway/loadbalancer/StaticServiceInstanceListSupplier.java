@@ -0,0 +1,91 @@
+package org.advanced_architecture.gateway.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instance list built from a static list of base URIs, optionally expanded through local DNS.
+ *
+ * Behavior:
+ * - Every configured URI becomes one instance when DNS expansion is off
+ * - With DNS expansion on, every A/AAAA record of a URI's host becomes its own instance,
+ *   so `docker compose --scale orchestrator=N` replicas behind one service name are all balanced
+ * - Resolved lists are cached for the refresh interval; on lookup failure the last good list is kept
+ */
+public class StaticServiceInstanceListSupplier implements ServiceInstanceListSupplier {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticServiceInstanceListSupplier.class);
+
+    private final String serviceId;
+    private final List<URI> uris;
+    private final boolean resolveDns;
+    private final long refreshNanos;
+
+    private volatile List<ServiceInstance> cached = List.of();
+    private volatile long resolvedAtNanos;
+
+    public StaticServiceInstanceListSupplier(String serviceId, List<URI> uris, boolean resolveDns, Duration refreshInterval) {
+        this.serviceId = serviceId;
+        this.uris = uris;
+        this.resolveDns = resolveDns;
+        this.refreshNanos = refreshInterval.toNanos();
+    }
+
+    @Override
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return Flux.defer(() -> Flux.just(currentInstances()));
+    }
+
+    private List<ServiceInstance> currentInstances() {
+        long now = System.nanoTime();
+        if (!cached.isEmpty() && now - resolvedAtNanos < refreshNanos) {
+            return cached;
+        }
+        List<ServiceInstance> resolved = resolve();
+        if (!resolved.isEmpty() || cached.isEmpty()) {
+            cached = resolved;
+        }
+        resolvedAtNanos = now;
+        return cached;
+    }
+
+    private List<ServiceInstance> resolve() {
+        List<ServiceInstance> instances = new ArrayList<>();
+        for (URI uri : uris) {
+            boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+            int port = uri.getPort() != -1 ? uri.getPort() : (secure ? 443 : 80);
+            if (!resolveDns) {
+                instances.add(instance(uri.getHost(), port, secure));
+                continue;
+            }
+            try {
+                for (InetAddress address : InetAddress.getAllByName(uri.getHost())) {
+                    instances.add(instance(address.getHostAddress(), port, secure));
+                }
+            } catch (UnknownHostException e) {
+                logger.warn("Could not resolve {} for service {}: {}", uri.getHost(), serviceId, e.getMessage());
+            }
+        }
+        return instances;
+    }
+
+    private ServiceInstance instance(String host, int port, boolean secure) {
+        return new DefaultServiceInstance(serviceId + "-" + host + "-" + port, serviceId, host, port, secure);
+    }
+}
@@ -0,0 +1,14 @@
+package org.advanced_architecture.gateway.metrics;
+
+/**
+ * The parts a gateway request's latency is split into.
+ *
+ * - TOTAL: from the first gateway filter until the response is complete
+ * - UPSTREAM: time spent waiting on the routed service (routing/hedging filter until the upstream response)
+ * - GATEWAY: TOTAL minus UPSTREAM, i.e. rate limiting, circuit breaker, load balancing and other filters
+ */
+public enum LatencyPhase {
+    TOTAL,
+    UPSTREAM,
+    GATEWAY
+}
@@ -0,0 +1,193 @@
+package org.advanced_architecture.gateway.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * HdrHistogram-based latency recording per route id, status class and {@link LatencyPhase}.
+ *
+ * Responsibilities:
+ * - Records latencies on the request path with wait-free HdrHistogram {@link Recorder}s
+ * - Swaps each recorder's interval histogram on a fixed schedule and keeps the last interval's percentiles
+ * - Publishes p50/p90/p99/p999 and the interval request count as Micrometer gauges
+ *   (gateway.route.latency / gateway.route.requests), which actuator exposes to Prometheus
+ *
+ * Hot path cost:
+ * - One ConcurrentHashMap lookup per request (route id), then array indexing and three recordValue calls
+ * - Recorders for a (route, status class) pair are allocated once, on first use
+ */
+@Component
+public class RouteLatencyRecorder implements DisposableBean {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] STATUS_CLASSES = {"unknown", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicReferenceArray<PhaseRecorders>> routes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService swapper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "route-latency-swapper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RouteLatencyRecorder(MeterRegistry meterRegistry,
+                                @Value("${gateway.latency.interval:10s}") Duration interval) {
+        this.meterRegistry = meterRegistry;
+        long intervalMillis = interval.toMillis();
+        swapper.scheduleAtFixedRate(this::swapIntervals, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records one request. Latencies are in nanoseconds; upstreamNanos is negative when the request never
+     * reached an upstream (e.g. rate limited or short-circuited by the circuit breaker).
+     */
+    public void record(String routeId, int statusCode, long totalNanos, long upstreamNanos) {
+        int statusClass = statusCode >= 100 && statusCode < 600 ? statusCode / 100 : 0;
+        PhaseRecorders recorders = recordersFor(routeId, statusClass);
+
+        long totalMicros = toMicros(totalNanos);
+        recorders.phase(LatencyPhase.TOTAL).recordValue(totalMicros);
+        if (upstreamNanos >= 0) {
+            long upstreamMicros = Math.min(toMicros(upstreamNanos), totalMicros);
+            recorders.phase(LatencyPhase.UPSTREAM).recordValue(upstreamMicros);
+            recorders.phase(LatencyPhase.GATEWAY).recordValue(totalMicros - upstreamMicros);
+        } else {
+            recorders.phase(LatencyPhase.GATEWAY).recordValue(totalMicros);
+        }
+    }
+
+    private PhaseRecorders recordersFor(String routeId, int statusClass) {
+        AtomicReferenceArray<PhaseRecorders> byStatus =
+                routes.computeIfAbsent(routeId, id -> new AtomicReferenceArray<>(STATUS_CLASSES.length));
+        PhaseRecorders recorders = byStatus.get(statusClass);
+        if (recorders == null) {
+            PhaseRecorders created = new PhaseRecorders(routeId, STATUS_CLASSES[statusClass]);
+            if (byStatus.compareAndSet(statusClass, null, created)) {
+                created.registerGauges(meterRegistry);
+                recorders = created;
+            } else {
+                recorders = byStatus.get(statusClass);
+            }
+        }
+        return recorders;
+    }
+
+    private void swapIntervals() {
+        for (AtomicReferenceArray<PhaseRecorders> byStatus : routes.values()) {
+            for (int i = 0; i < byStatus.length(); i++) {
+                PhaseRecorders recorders = byStatus.get(i);
+                if (recorders != null) {
+                    recorders.swap();
+                }
+            }
+        }
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.max(0, Math.min(nanos / 1_000, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    @Override
+    public void destroy() {
+        swapper.shutdownNow();
+    }
+
+    /**
+     * Recorders and last-interval snapshots for one (route, status class) pair.
+     */
+    private static final class PhaseRecorders {
+
+        private final String routeId;
+        private final String statusClass;
+        private final Recorder[] recorders = new Recorder[LatencyPhase.values().length];
+        private final Histogram[] recycled = new Histogram[LatencyPhase.values().length];
+        private final IntervalSnapshot[] snapshots = new IntervalSnapshot[LatencyPhase.values().length];
+
+        PhaseRecorders(String routeId, String statusClass) {
+            this.routeId = routeId;
+            this.statusClass = statusClass;
+            for (int i = 0; i < recorders.length; i++) {
+                recorders[i] = new Recorder(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+                snapshots[i] = new IntervalSnapshot();
+            }
+        }
+
+        Recorder phase(LatencyPhase phase) {
+            return recorders[phase.ordinal()];
+        }
+
+        void swap() {
+            for (int i = 0; i < recorders.length; i++) {
+                Histogram interval = recorders[i].getIntervalHistogram(recycled[i]);
+                snapshots[i].update(interval);
+                recycled[i] = interval;
+            }
+        }
+
+        void registerGauges(MeterRegistry registry) {
+            for (LatencyPhase phase : LatencyPhase.values()) {
+                IntervalSnapshot snapshot = snapshots[phase.ordinal()];
+                String phaseTag = phase.name().toLowerCase();
+                for (int q = 0; q < QUANTILES.length; q++) {
+                    int index = q;
+                    Gauge.builder("gateway.route.latency", snapshot, s -> s.quantileSeconds(index))
+                            .description("Gateway latency percentile over the last interval")
+                            .baseUnit("seconds")
+                            .tag("route", routeId)
+                            .tag("status", statusClass)
+                            .tag("phase", phaseTag)
+                            .tag("quantile", String.valueOf(QUANTILES[q]))
+                            .register(registry);
+                }
+                if (phase == LatencyPhase.TOTAL) {
+                    Gauge.builder("gateway.route.requests", snapshot, IntervalSnapshot::count)
+                            .description("Requests recorded over the last interval")
+                            .tag("route", routeId)
+                            .tag("status", statusClass)
+                            .register(registry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Percentiles of the most recently completed interval, read by the gauges.
+     */
+    private static final class IntervalSnapshot {
+
+        private volatile double[] quantileSeconds = new double[QUANTILES.length];
+        private volatile long count;
+
+        void update(Histogram interval) {
+            double[] values = new double[QUANTILES.length];
+            for (int i = 0; i < QUANTILES.length; i++) {
+                values[i] = interval.getValueAtPercentile(QUANTILES[i] * 100.0) / 1_000_000.0;
+            }
+            quantileSeconds = values;
+            count = interval.getTotalCount();
+        }
+
+        double quantileSeconds(int index) {
+            return quantileSeconds[index];
+        }
+
+        double count() {
+            return count;
+        }
+    }
+}
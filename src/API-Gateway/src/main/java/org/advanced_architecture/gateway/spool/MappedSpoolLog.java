@@ -0,0 +1,580 @@
+package org.advanced_architecture.gateway.spool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable, memory-mapped append log backing the store-and-forward spool.
+ *
+ * Layout:
+ * - The log is a sequence of fixed-size segment files (spool-&lt;base sequence&gt;.log), each mapped into memory
+ * - Records are [length:int][crc32c:int][sequence:long][payload], written back to back; a zero length ends a segment
+ * - The top bit of the length marks a tombstone: a record whose fsync failed, which must never be replayed
+ * - spool.checkpoint holds the last sequence the drainer acknowledged and where the next record starts
+ * - spool.id holds the log's random id; together with the sequence it forms the public spool id, which
+ *   stays unique across gateway instances and spool directories
+ *
+ * Behavior:
+ * - Appends are a copy into the mapped segment under a short lock; a full segment rolls over to a new file
+ * - A flusher thread forces dirty segments every fsync interval, so concurrent appends share one fsync (group commit);
+ *   the future returned by {@link #append} completes only once the record is on disk
+ * - When an fsync fails, the appends it covered fail and their records are tombstoned, so a request whose
+ *   client was told it failed is not replayed once a later fsync succeeds
+ * - Only durable records are handed to the drainer; segments are deleted once every record in them is acknowledged
+ * - On startup segments are scanned and verified by CRC and sequence, and a torn tail from a crash is cut off
+ *
+ * Threading:
+ * - Any thread may append; {@link #peek}, {@link #acknowledge} and {@link #checkpoint} belong to the single drainer
+ */
+public class MappedSpoolLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedSpoolLog.class);
+
+    private static final int HEADER_BYTES = 16;
+    private static final int CHECKPOINT_BYTES = 24;
+    private static final String SEGMENT_PREFIX = "spool-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "spool.checkpoint";
+    private static final String ID_FILE = "spool.id";
+    private static final int TOMBSTONE = 0x8000_0000;
+    private static final int LENGTH_MASK = 0x7FFF_FFFF;
+
+    private final Path directory;
+    private final String logId;
+    private final int segmentBytes;
+    private final int maxSegments;
+
+    private final Object appendLock = new Object();
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final Queue<PendingAppend> pending = new ArrayDeque<>();
+    private Segment active;
+    private long lastSequence;
+    private boolean closed;
+
+    private volatile long appendedSequence;
+    private volatile long durableSequence;
+    private volatile long acknowledgedSequence;
+
+    private final FileChannel checkpointChannel;
+    private long cursorSegment;
+    private int cursorPosition;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "spool-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MappedSpoolLog(Path directory, int segmentBytes, int maxSegments, Duration fsyncInterval) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+
+        Files.createDirectories(directory);
+        this.logId = readOrCreateLogId(directory.resolve(ID_FILE));
+        this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        readCheckpoint();
+        recoverSegments();
+
+        long intervalMicros = Math.max(1, fsyncInterval.toNanos() / 1_000);
+        flusher.scheduleWithFixedDelay(this::flush, intervalMicros, intervalMicros, TimeUnit.MICROSECONDS);
+        logger.info("Spool opened at {} with {} segment(s), {} request(s) awaiting replay",
+                directory, segments.size(), depth());
+    }
+
+    /**
+     * Appends a request. The returned future completes with the request's sequence number once it has been fsynced.
+     *
+     * @throws SpoolFullException if the request does not fit into the spool
+     */
+    public CompletableFuture<Long> append(SpooledRequest request) {
+        byte[] payload = encode(request);
+        int checksum = checksum(payload);
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentBytes) {
+            throw new SpoolFullException("Request of " + payload.length + " bytes exceeds the spool segment size");
+        }
+
+        CompletableFuture<Long> durable = new CompletableFuture<>();
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IllegalStateException("Spool is closed");
+            }
+            if (active.remaining() < recordBytes) {
+                roll();
+            }
+            long sequence = lastSequence + 1;
+            int position = active.writePosition;
+            active.write(sequence, checksum, payload);
+            lastSequence = sequence;
+            appendedSequence = sequence;
+            pending.add(new PendingAppend(sequence, durable, active, position));
+        }
+        return durable;
+    }
+
+    /**
+     * Public id of a spooled request, sent to the client and with every replay as X-Spool-Id.
+     */
+    public String spoolId(long sequence) {
+        return logId + "-" + sequence;
+    }
+
+    /**
+     * Returns up to max durable, unacknowledged entries starting at the drain cursor, without moving the cursor
+     * (except over tombstones at the cursor, which are acknowledged right away).
+     */
+    public List<SpoolEntry> peek(int max) {
+        List<SpoolEntry> entries = new ArrayList<>();
+        Segment segment = segments.get(cursorSegment);
+        int position = cursorPosition;
+        if (segment == null) {
+            Map.Entry<Long, Segment> first = segments.ceilingEntry(cursorSegment);
+            if (first == null) {
+                return entries;
+            }
+            segment = first.getValue();
+            position = 0;
+        }
+
+        while (entries.size() < max) {
+            if (position >= segment.durablePosition) {
+                int sealedAt = segment.sealedAt;
+                Map.Entry<Long, Segment> next = segments.higherEntry(segment.baseSequence);
+                if (sealedAt < 0 || position < sealedAt || next == null) {
+                    break;
+                }
+                segment = next.getValue();
+                position = 0;
+                continue;
+            }
+            int header = segment.buffer.getInt(position);
+            int length = header & LENGTH_MASK;
+            long sequence = segment.buffer.getLong(position + 8);
+            int recordStart = position;
+            position += HEADER_BYTES + length;
+            if (sequence <= acknowledgedSequence) {
+                continue;
+            }
+            if ((header & TOMBSTONE) != 0) {
+                if (entries.isEmpty()) {
+                    acknowledge(new SpoolEntry(sequence, null, segment.baseSequence, position));
+                }
+                continue;
+            }
+            byte[] payload = new byte[length];
+            segment.buffer.get(recordStart + HEADER_BYTES, payload);
+            entries.add(new SpoolEntry(sequence, decode(payload), segment.baseSequence, position));
+        }
+        return entries;
+    }
+
+    /**
+     * Marks an entry as replayed. Takes effect on disk with the next {@link #checkpoint()}.
+     */
+    public void acknowledge(SpoolEntry entry) {
+        cursorSegment = entry.segmentBase();
+        cursorPosition = entry.nextPosition();
+        acknowledgedSequence = entry.sequence();
+    }
+
+    /**
+     * Persists the drain cursor and deletes segments whose requests have all been replayed.
+     */
+    public synchronized void checkpoint() {
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_BYTES);
+        buffer.putLong(acknowledgedSequence).putLong(cursorSegment).putInt(cursorPosition);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, CHECKPOINT_BYTES - 4);
+        buffer.putInt((int) crc.getValue()).flip();
+        try {
+            checkpointChannel.write(buffer, 0);
+            checkpointChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write spool checkpoint", e);
+        }
+        releaseAcknowledgedSegments();
+    }
+
+    /**
+     * Number of spooled requests that have not been replayed yet.
+     */
+    public long depth() {
+        return Math.max(0, appendedSequence - acknowledgedSequence);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (appendLock) {
+            closed = true;
+        }
+        flush();
+        checkpoint();
+        for (Segment segment : segments.values()) {
+            segment.channel.close();
+        }
+        checkpointChannel.close();
+    }
+
+    private void flush() {
+        List<Segment> dirty = new ArrayList<>(2);
+        List<Integer> positions = new ArrayList<>(2);
+        long target;
+        synchronized (appendLock) {
+            target = lastSequence;
+            for (Segment segment : segments.values()) {
+                if (segment.dirty) {
+                    segment.dirty = false;
+                    dirty.add(segment);
+                    positions.add(segment.writePosition);
+                }
+            }
+        }
+        if (dirty.isEmpty() && target == durableSequence) {
+            return;
+        }
+
+        RuntimeException failure = null;
+        try {
+            for (Segment segment : dirty) {
+                segment.buffer.force();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to fsync spool segments", e);
+            failure = e;
+        }
+
+        List<PendingAppend> completed = new ArrayList<>();
+        synchronized (appendLock) {
+            while (!pending.isEmpty() && pending.peek().sequence() <= target) {
+                completed.add(pending.poll());
+            }
+            if (failure != null) {
+                dirty.forEach(segment -> segment.dirty = true);
+                // Their clients are told the request failed; the data may still reach the disk with a later fsync
+                completed.forEach(append -> append.segment().tombstone(append.position()));
+            }
+        }
+        if (failure == null) {
+            for (int i = 0; i < dirty.size(); i++) {
+                dirty.get(i).durablePosition = positions.get(i);
+            }
+            durableSequence = target;
+            completed.forEach(append -> append.future().complete(append.sequence()));
+        } else {
+            RuntimeException cause = failure;
+            completed.forEach(append -> append.future().completeExceptionally(cause));
+        }
+    }
+
+    private void roll() {
+        if (segments.size() >= maxSegments) {
+            throw new SpoolFullException("Spool is full: " + maxSegments + " segments awaiting replay");
+        }
+        long base = lastSequence + 1;
+        try {
+            Segment next = Segment.open(segmentPath(base), base, segmentBytes);
+            active.sealedAt = active.writePosition;
+            segments.put(base, next);
+            active = next;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create spool segment", e);
+        }
+    }
+
+    private void releaseAcknowledgedSegments() {
+        synchronized (appendLock) {
+            Iterator<Segment> iterator = segments.values().iterator();
+            while (iterator.hasNext()) {
+                Segment segment = iterator.next();
+                if (segment == active || segment.lastSequence > acknowledgedSequence) {
+                    break;
+                }
+                iterator.remove();
+                try {
+                    segment.channel.close();
+                    Files.deleteIfExists(segment.path);
+                } catch (IOException e) {
+                    logger.warn("Failed to delete replayed spool segment {}", segment.path, e);
+                }
+            }
+        }
+    }
+
+    private void readCheckpoint() throws IOException {
+        if (checkpointChannel.size() < CHECKPOINT_BYTES) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_BYTES);
+        checkpointChannel.read(buffer, 0);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, CHECKPOINT_BYTES - 4);
+        buffer.flip();
+        long sequence = buffer.getLong();
+        long segment = buffer.getLong();
+        int position = buffer.getInt();
+        if (buffer.getInt() != (int) crc.getValue()) {
+            logger.warn("Ignoring corrupt spool checkpoint; replay restarts from the oldest segment");
+            return;
+        }
+        acknowledgedSequence = sequence;
+        cursorSegment = segment;
+        cursorPosition = position;
+    }
+
+    private void recoverSegments() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(MappedSpoolLog::isSegmentFile)
+                    .sorted(Comparator.comparingLong(MappedSpoolLog::baseSequenceOf))
+                    .toList();
+        }
+
+        long last = acknowledgedSequence;
+        for (Path file : files) {
+            int capacity = (int) Math.max(segmentBytes, Files.size(file));
+            Segment segment = Segment.open(file, baseSequenceOf(file), capacity);
+            segment.recover();
+            segment.sealedAt = segment.writePosition;
+            segments.put(segment.baseSequence, segment);
+            last = Math.max(last, segment.lastSequence);
+        }
+
+        synchronized (appendLock) {
+            lastSequence = last;
+            appendedSequence = last;
+            durableSequence = last;
+            if (segments.isEmpty()) {
+                long base = last + 1;
+                Segment segment = Segment.open(segmentPath(base), base, segmentBytes);
+                segments.put(base, segment);
+            }
+            active = segments.lastEntry().getValue();
+            active.sealedAt = -1;
+            active.clearTail();
+        }
+        releaseAcknowledgedSegments();
+    }
+
+    private static String readOrCreateLogId(Path file) throws IOException {
+        if (Files.exists(file)) {
+            String id = Files.readString(file, StandardCharsets.UTF_8).trim();
+            if (!id.isEmpty()) {
+                return id;
+            }
+        }
+        String id = UUID.randomUUID().toString();
+        Path temporary = file.resolveSibling(ID_FILE + ".tmp");
+        Files.writeString(temporary, id, StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        return id;
+    }
+
+    private Path segmentPath(long baseSequence) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, baseSequence, SEGMENT_SUFFIX));
+    }
+
+    private static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long baseSequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * [spooledAt:long][path][header count:int]([name][value])*[body], each string and the body
+     * prefixed by its length.
+     */
+    private static byte[] encode(SpooledRequest request) {
+        byte[] path = request.path().getBytes(StandardCharsets.UTF_8);
+        List<byte[]> headerFields = new ArrayList<>();
+        request.headers().forEach((name, values) -> {
+            for (String value : values) {
+                headerFields.add(name.getBytes(StandardCharsets.UTF_8));
+                headerFields.add(value.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        byte[] body = request.body();
+
+        int size = 8 + 4 + path.length + 4 + 4 + body.length;
+        for (byte[] field : headerFields) {
+            size += 4 + field.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(request.spooledAt())
+                .putInt(path.length).put(path)
+                .putInt(headerFields.size() / 2);
+        for (byte[] field : headerFields) {
+            buffer.putInt(field.length).put(field);
+        }
+        buffer.putInt(body.length).put(body);
+        return buffer.array();
+    }
+
+    private static SpooledRequest decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        HttpHeaders headers = new HttpHeaders();
+        long spooledAt = buffer.getLong();
+        String path = readString(buffer);
+        int headerCount = buffer.getInt();
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(readString(buffer), readString(buffer));
+        }
+        byte[] body = new byte[buffer.getInt()];
+        buffer.get(body);
+        return new SpooledRequest(path, headers, body, spooledAt);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record PendingAppend(long sequence, CompletableFuture<Long> future, Segment segment, int position) {}
+
+    /**
+     * One memory-mapped segment file. writePosition, lastSequence and dirty are guarded by the append lock;
+     * durablePosition and sealedAt are read by the drainer without it.
+     */
+    private static final class Segment {
+
+        private static final byte[] ZEROS = new byte[64 * 1024];
+
+        final Path path;
+        final long baseSequence;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final int capacity;
+
+        int writePosition;
+        long lastSequence;
+        boolean dirty;
+        volatile int durablePosition;
+        volatile int sealedAt = -1;
+
+        private Segment(Path path, long baseSequence, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.baseSequence = baseSequence;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity();
+            this.lastSequence = baseSequence - 1;
+        }
+
+        static Segment open(Path path, long baseSequence, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            return new Segment(path, baseSequence, channel, buffer);
+        }
+
+        int remaining() {
+            return capacity - writePosition;
+        }
+
+        /**
+         * Marks the record at position as never to be replayed; guarded by the append lock like write().
+         */
+        void tombstone(int position) {
+            buffer.putInt(position, buffer.getInt(position) | TOMBSTONE);
+            dirty = true;
+        }
+
+        void write(long sequence, int checksum, byte[] payload) {
+            int position = writePosition;
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.putLong(position + 8, sequence);
+            buffer.putInt(position + 4, checksum);
+            buffer.putInt(position, payload.length);
+            writePosition = position + HEADER_BYTES + payload.length;
+            lastSequence = sequence;
+            dirty = true;
+        }
+
+        /**
+         * Scans the segment and stops at the first record that is missing, out of sequence or fails its CRC.
+         */
+        void recover() {
+            int position = 0;
+            long expected = baseSequence;
+            while (position + HEADER_BYTES <= capacity) {
+                int length = buffer.getInt(position) & LENGTH_MASK;
+                if (length == 0 || length > capacity - position - HEADER_BYTES) {
+                    break;
+                }
+                long sequence = buffer.getLong(position + 8);
+                byte[] payload = new byte[length];
+                buffer.get(position + HEADER_BYTES, payload);
+                if (sequence != expected || buffer.getInt(position + 4) != checksum(payload)) {
+                    logger.warn("Spool segment {} ends with a torn record at offset {}", path.getFileName(), position);
+                    break;
+                }
+                lastSequence = sequence;
+                expected++;
+                position += HEADER_BYTES + length;
+            }
+            writePosition = position;
+            durablePosition = position;
+        }
+
+        /**
+         * Zeroes everything after the last valid record, so stale records past a torn tail can never be
+         * mistaken for new ones.
+         */
+        void clearTail() {
+            for (int position = writePosition; position < capacity; position += ZEROS.length) {
+                buffer.put(position, ZEROS, 0, Math.min(ZEROS.length, capacity - position));
+            }
+            buffer.force();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.advanced_architecture.gateway.spool;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.advanced_architecture.gateway.filter.SpoolCaptureFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+
+/**
+ * Decides whether a failed request can be spooled and appends it to the {@link MappedSpoolLog}.
+ *
+ * Behavior:
+ * - Only requests captured by {@link SpoolCaptureFilter} are spooled
+ * - Only failures that guarantee the request never reached the upstream qualify: an open circuit,
+ *   a refused or timed-out connect, or no upstream instance at all. Response timeouts do not, because the
+ *   Orchestrator may already have created the order.
+ * - Completes with the spool id ({@link MappedSpoolLog#spoolId}) once the request is durable; completes empty
+ *   when it cannot be spooled
+ */
+public class RequestSpool {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestSpool.class);
+
+    private final MappedSpoolLog spoolLog;
+    private final Counter spooled;
+    private final Counter rejected;
+
+    public RequestSpool(MappedSpoolLog spoolLog, MeterRegistry meterRegistry) {
+        this.spoolLog = spoolLog;
+        this.spooled = Counter.builder("gateway.spool.appended")
+                .description("Requests accepted into the spool")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("gateway.spool.full")
+                .description("Requests that could not be spooled because the spool was full")
+                .register(meterRegistry);
+    }
+
+    public Mono<String> spool(ServerWebExchange exchange) {
+        SpooledRequest captured = exchange.getAttribute(SpoolCaptureFilter.SPOOLED_REQUEST_ATTR);
+        Throwable failure = exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        if (captured == null || !upstreamNeverReached(failure)) {
+            return Mono.empty();
+        }
+
+        SpooledRequest request = new SpooledRequest(captured.path(), captured.headers(), captured.body(),
+                System.currentTimeMillis());
+        return Mono.defer(() -> Mono.fromFuture(spoolLog.append(request)))
+                .map(spoolLog::spoolId)
+                .doOnNext(spoolId -> {
+                    spooled.increment();
+                    logger.info("Spooled {} as {} while the upstream is unavailable", request.path(), spoolId);
+                })
+                .onErrorResume(error -> {
+                    if (error instanceof SpoolFullException) {
+                        rejected.increment();
+                    }
+                    logger.warn("Could not spool {}: {}", request.path(), error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static boolean upstreamNeverReached(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CallNotPermittedException
+                    || cause instanceof ConnectException
+                    || cause instanceof NotFoundException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,222 @@
+package org.advanced_architecture.gateway.spool;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays spooled requests to the upstream once its circuit breaker lets calls through again.
+ *
+ * Behavior:
+ * - Runs on a single background thread, in spool order, at no more than drainRate requests per second
+ * - Every replay needs a permission of the circuit breaker and reports its outcome to it, like a routed call.
+ *   While the breaker is OPEN nothing is replayed; once its wait duration has passed the drainer's own
+ *   permission request moves it to HALF_OPEN, so replays act as its probes even without client traffic
+ * - Replays the spooled headers and body; 2xx acknowledges the entry; other 4xx responses (except 408/429)
+ *   are logged and dropped, since retrying cannot make them succeed; anything else stops the batch and
+ *   retries it after an exponential backoff
+ * - The drain cursor is checkpointed after every batch. A crash between replay and checkpoint replays those
+ *   requests again (at-least-once); each replay carries its X-Spool-Id, which the Orchestrator uses to
+ *   create the order only once.
+ */
+public class SpoolDrainer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpoolDrainer.class);
+
+    private final MappedSpoolLog spoolLog;
+    private final SpoolProperties properties;
+    private final WebClient webClient;
+    private final ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistryProvider;
+    private final Counter delivered;
+    private final Counter dropped;
+    private final long nanosPerRequest;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public SpoolDrainer(MappedSpoolLog spoolLog,
+                        SpoolProperties properties,
+                        WebClient webClient,
+                        ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistryProvider,
+                        MeterRegistry meterRegistry) {
+        this.spoolLog = spoolLog;
+        this.properties = properties;
+        this.webClient = webClient;
+        this.circuitBreakerRegistryProvider = circuitBreakerRegistryProvider;
+        this.delivered = Counter.builder("gateway.spool.replayed")
+                .description("Spooled requests replayed to the upstream")
+                .tag("outcome", "delivered")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("gateway.spool.replayed")
+                .description("Spooled requests replayed to the upstream")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+        this.nanosPerRequest = TimeUnit.SECONDS.toNanos(1) / Math.max(1, properties.getDrainRate());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "spool-drainer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            LockSupport.unpark(current);
+            try {
+                current.join(properties.getReplayTimeout().toMillis() + 1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drainLoop() {
+        long backoffNanos = 0;
+        long nextSlot = System.nanoTime();
+        while (running) {
+            if (backoffNanos > 0) {
+                LockSupport.parkNanos(backoffNanos);
+            }
+            List<SpoolEntry> batch = spoolLog.peek(properties.getDrainBatch());
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(properties.getIdleInterval().toNanos());
+                continue;
+            }
+
+            CircuitBreaker circuitBreaker = findCircuitBreaker();
+            boolean failed = false;
+            boolean blocked = false;
+            for (SpoolEntry entry : batch) {
+                if (!running) {
+                    break;
+                }
+                long now = System.nanoTime();
+                if (nextSlot > now) {
+                    LockSupport.parkNanos(nextSlot - now);
+                }
+                if (circuitBreaker != null && !circuitBreaker.tryAcquirePermission()) {
+                    blocked = true;
+                    break;
+                }
+                nextSlot = Math.max(now, nextSlot) + nanosPerRequest;
+
+                long started = System.nanoTime();
+                Outcome outcome = replay(entry);
+                if (circuitBreaker != null) {
+                    long elapsed = System.nanoTime() - started;
+                    if (outcome == Outcome.RETRY) {
+                        circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, new ReplayFailedException(entry.sequence()));
+                    } else {
+                        circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+                    }
+                }
+                if (outcome == Outcome.RETRY) {
+                    failed = true;
+                    break;
+                }
+                spoolLog.acknowledge(entry);
+            }
+            checkpoint();
+            if (blocked) {
+                LockSupport.parkNanos(properties.getIdleInterval().toNanos());
+            }
+            backoffNanos = failed ? nextBackoff(backoffNanos) : 0;
+        }
+        checkpoint();
+    }
+
+    private Outcome replay(SpoolEntry entry) {
+        SpooledRequest request = entry.request();
+        try {
+            HttpStatusCode status = webClient.post()
+                    .uri(request.path())
+                    .headers(headers -> {
+                        headers.addAll(request.headers());
+                        headers.set("X-Spool-Id", spoolLog.spoolId(entry.sequence()));
+                    })
+                    .bodyValue(request.body())
+                    .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode()))
+                    .block(properties.getReplayTimeout());
+            if (status == null) {
+                return Outcome.RETRY;
+            }
+            if (status.is2xxSuccessful()) {
+                delivered.increment();
+                return Outcome.DELIVERED;
+            }
+            if (status.is4xxClientError() && status.value() != 408 && status.value() != 429) {
+                dropped.increment();
+                logger.warn("Dropping spooled request {} ({}): upstream answered {}",
+                        entry.sequence(), request.path(), status.value());
+                return Outcome.REJECTED;
+            }
+            logger.debug("Replay of spooled request {} returned {}, retrying later", entry.sequence(), status.value());
+            return Outcome.RETRY;
+        } catch (RuntimeException e) {
+            logger.debug("Replay of spooled request {} failed: {}", entry.sequence(), e.getMessage());
+            return Outcome.RETRY;
+        }
+    }
+
+    private CircuitBreaker findCircuitBreaker() {
+        CircuitBreakerRegistry registry = circuitBreakerRegistryProvider.getIfAvailable();
+        if (registry == null) {
+            return null;
+        }
+        return registry.find(properties.getCircuitBreaker()).orElse(null);
+    }
+
+    private long nextBackoff(long previousNanos) {
+        long initial = properties.getIdleInterval().toNanos();
+        long doubled = previousNanos == 0 ? initial : previousNanos * 2;
+        return Math.min(doubled, properties.getMaxBackoff().toNanos());
+    }
+
+    private void checkpoint() {
+        try {
+            spoolLog.checkpoint();
+        } catch (RuntimeException e) {
+            logger.error("Failed to checkpoint the spool", e);
+        }
+    }
+
+    /**
+     * DELIVERED and REJECTED are done with (and count as upstream successes), RETRY is replayed later.
+     */
+    private enum Outcome {
+        DELIVERED,
+        REJECTED,
+        RETRY
+    }
+
+    /**
+     * Recorded in the circuit breaker for a replay that has to be retried.
+     */
+    static class ReplayFailedException extends RuntimeException {
+        ReplayFailedException(long sequence) {
+            super("Replay of spooled request " + sequence + " failed", null, false, false);
+        }
+    }
+}
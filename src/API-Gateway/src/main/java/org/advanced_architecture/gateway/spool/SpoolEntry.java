@@ -0,0 +1,12 @@
+package org.advanced_architecture.gateway.spool;
+
+/**
+ * A spooled request together with its position in the append log.
+ *
+ * @param sequence      spool sequence number, also used as the public spool id
+ * @param request       the spooled request
+ * @param segmentBase   base sequence of the segment holding the record
+ * @param nextPosition  offset of the next record in that segment
+ */
+public record SpoolEntry(long sequence, SpooledRequest request, long segmentBase, int nextPosition) {
+}
@@ -0,0 +1,12 @@
+package org.advanced_architecture.gateway.spool;
+
+/**
+ * Thrown when a request does not fit into the spool, either because every segment holds
+ * unreplayed requests or because the request is larger than a segment.
+ */
+public class SpoolFullException extends RuntimeException {
+
+    public SpoolFullException(String message) {
+        super(message);
+    }
+}
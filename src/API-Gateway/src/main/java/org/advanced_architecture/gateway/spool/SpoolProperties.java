@@ -0,0 +1,71 @@
+package org.advanced_architecture.gateway.spool;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Store-and-forward spool settings, bound from gateway.spool in application.yml.
+ *
+ * Structure:
+ * - where and how the append log is stored (directory, segment size and count, group fsync interval)
+ * - which requests may be spooled (route id, path, body size)
+ * - how the drainer replays them (target URI, circuit breaker, rate, batch size, backoff)
+ */
+@ConfigurationProperties(prefix = "gateway.spool")
+public class SpoolProperties {
+
+    private boolean enabled = true;
+    private String directory = "./data/spool";
+    /** Size of each memory-mapped segment file. */
+    private int segmentBytes = 16 * 1024 * 1024;
+    /** Segments kept at most; the spool reports full when all of them hold unreplayed requests. */
+    private int maxSegments = 16;
+    /** Appends arriving within one interval share a single fsync. */
+    private Duration fsyncInterval = Duration.ofMillis(5);
+
+    private String routeId = "orchestrator-service";
+    private String path = "/api/v1/orchestrator/orders";
+    private int maxBodyBytes = 64 * 1024;
+
+    /** Base URI the drainer replays against; resolved through the gateway load balancer. */
+    private String targetUri = "http://orchestrator-service";
+    private String circuitBreaker = "orchestratorCircuitBreaker";
+    /** Replayed requests per second. */
+    private int drainRate = 20;
+    private int drainBatch = 100;
+    private Duration replayTimeout = Duration.ofSeconds(5);
+    private Duration idleInterval = Duration.ofMillis(500);
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+    public int getSegmentBytes() { return segmentBytes; }
+    public void setSegmentBytes(int segmentBytes) { this.segmentBytes = segmentBytes; }
+    public int getMaxSegments() { return maxSegments; }
+    public void setMaxSegments(int maxSegments) { this.maxSegments = maxSegments; }
+    public Duration getFsyncInterval() { return fsyncInterval; }
+    public void setFsyncInterval(Duration fsyncInterval) { this.fsyncInterval = fsyncInterval; }
+    public String getRouteId() { return routeId; }
+    public void setRouteId(String routeId) { this.routeId = routeId; }
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+    public int getMaxBodyBytes() { return maxBodyBytes; }
+    public void setMaxBodyBytes(int maxBodyBytes) { this.maxBodyBytes = maxBodyBytes; }
+    public String getTargetUri() { return targetUri; }
+    public void setTargetUri(String targetUri) { this.targetUri = targetUri; }
+    public String getCircuitBreaker() { return circuitBreaker; }
+    public void setCircuitBreaker(String circuitBreaker) { this.circuitBreaker = circuitBreaker; }
+    public int getDrainRate() { return drainRate; }
+    public void setDrainRate(int drainRate) { this.drainRate = drainRate; }
+    public int getDrainBatch() { return drainBatch; }
+    public void setDrainBatch(int drainBatch) { this.drainBatch = drainBatch; }
+    public Duration getReplayTimeout() { return replayTimeout; }
+    public void setReplayTimeout(Duration replayTimeout) { this.replayTimeout = replayTimeout; }
+    public Duration getIdleInterval() { return idleInterval; }
+    public void setIdleInterval(Duration idleInterval) { this.idleInterval = idleInterval; }
+    public Duration getMaxBackoff() { return maxBackoff; }
+    public void setMaxBackoff(Duration maxBackoff) { this.maxBackoff = maxBackoff; }
+}
@@ -0,0 +1,14 @@
+package org.advanced_architecture.gateway.spool;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A request accepted by the gateway while its upstream was unavailable.
+ *
+ * @param path        raw upstream path including the query string
+ * @param headers     request headers to replay, without hop-by-hop and length headers
+ * @param body        request body as received
+ * @param spooledAt   epoch millis at which the request was spooled
+ */
+public record SpooledRequest(String path, HttpHeaders headers, byte[] body, long spooledAt) {
+}
@@ -0,0 +1,49 @@
+package org.advanced_architecture.gateway.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * {@link RateLimiter} decorator that records every rate limit check as a "gateway.rate-limit" span.
+ *
+ * The span covers the Redis round trip of the token bucket script; Lettuce's own command spans
+ * appear as its children. Per-route configuration stays with the delegate, which keeps receiving
+ * the route filter arguments as a bean of its own.
+ */
+public class ObservedRateLimiter<C> implements RateLimiter<C> {
+
+    private final RateLimiter<C> delegate;
+    private final ObservationRegistry observationRegistry;
+
+    public ObservedRateLimiter(RateLimiter<C> delegate, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        return delegate.isAllowed(routeId, id)
+                .name("gateway.rate-limit")
+                .tag("route", routeId)
+                .tap(Micrometer.observation(observationRegistry));
+    }
+
+    @Override
+    public Map<String, C> getConfig() {
+        return delegate.getConfig();
+    }
+
+    @Override
+    public Class<C> getConfigClass() {
+        return delegate.getConfigClass();
+    }
+
+    @Override
+    public C newConfig() {
+        return delegate.newConfig();
+    }
+}
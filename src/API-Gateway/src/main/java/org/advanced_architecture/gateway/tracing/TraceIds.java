@@ -0,0 +1,44 @@
+package org.advanced_architecture.gateway.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.handler.TracingObservationHandler;
+import reactor.util.context.ContextView;
+
+/**
+ * Reads the trace of the request being handled from the Reactor context.
+ */
+public final class TraceIds {
+
+    private TraceIds() {
+        // utility class
+    }
+
+    /**
+     * @return the trace id of the current observation, or null when tracing is off or nothing is observed
+     */
+    public static String current(ContextView context) {
+        Span span = currentSpan(context);
+        return span != null ? span.context().traceId() : null;
+    }
+
+    /**
+     * @return true if the current observation's span is recorded; false when tracing is off, nothing is
+     *         observed or the trace was not sampled, so child spans would be dropped anyway
+     */
+    public static boolean isSampled(ContextView context) {
+        Span span = currentSpan(context);
+        return span != null && Boolean.TRUE.equals(span.context().sampled());
+    }
+
+    private static Span currentSpan(ContextView context) {
+        Observation observation = context.getOrDefault(ObservationThreadLocalAccessor.KEY, null);
+        if (observation == null || observation.isNoop()) {
+            return null;
+        }
+        TracingObservationHandler.TracingContext tracing =
+                observation.getContextView().get(TracingObservationHandler.TracingContext.class);
+        return tracing != null ? tracing.getSpan() : null;
+    }
+}
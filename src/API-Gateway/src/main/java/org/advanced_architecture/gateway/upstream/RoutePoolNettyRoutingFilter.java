@@ -0,0 +1,36 @@
+package org.advanced_architecture.gateway.upstream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * Netty routing filter that sends each route through its own upstream pool.
+ *
+ * Replaces the default NettyRoutingFilter (disabled via
+ * spring.cloud.gateway.global-filter.netty-routing.enabled=false) and only changes which
+ * HttpClient is used; header handling, timeouts and response writing are inherited unchanged.
+ */
+public class RoutePoolNettyRoutingFilter extends NettyRoutingFilter {
+
+    private final UpstreamHttpClients upstreamHttpClients;
+
+    public RoutePoolNettyRoutingFilter(HttpClient httpClient,
+                                       ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                       HttpClientProperties properties,
+                                       UpstreamHttpClients upstreamHttpClients) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.upstreamHttpClients = upstreamHttpClients;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        return upstreamHttpClients.clientFor(route.getId());
+    }
+}
@@ -0,0 +1,132 @@
+package org.advanced_architecture.gateway.upstream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.Http2AllocationStrategy;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out the upstream HttpClient to use for a given route.
+ *
+ * Responsibilities:
+ * - Returns the shared gateway HttpClient for routes in ELASTIC mode
+ * - Lazily builds one bounded ConnectionProvider + HttpClient per route for HTTP1_FIXED and H2C modes,
+ *   through the gateway's own {@link HttpClientFactory}, so every spring.cloud.gateway.httpclient setting
+ *   (connect timeout, SSL, proxy, wiretap, compression) and every {@link HttpClientCustomizer} applies to
+ *   the dedicated clients as well; only the connection pool and the protocol differ
+ * - Enables reactor-netty pool metrics (reactor.netty.connection.provider.*) on every dedicated pool,
+ *   tagged with the pool name "gateway-upstream-&lt;routeId&gt;"
+ * - Disposes the dedicated pools on shutdown
+ *
+ * Exported pool metrics include total/active/idle connections, pending acquires, acquire wait time
+ * (pending.connections.time) and, for H2C, active/pending streams per pool.
+ */
+@Component
+public class UpstreamHttpClients implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamHttpClients.class);
+
+    private final HttpClient sharedClient;
+    private final HttpClientProperties gatewayProperties;
+    private final ServerProperties serverProperties;
+    private final HttpClientSslConfigurer sslConfigurer;
+    private final ObjectProvider<HttpClientCustomizer> customizers;
+    private final UpstreamPoolProperties poolProperties;
+    private final Map<String, PooledClient> clients = new ConcurrentHashMap<>();
+
+    public UpstreamHttpClients(HttpClient sharedClient,
+                               HttpClientProperties gatewayProperties,
+                               ServerProperties serverProperties,
+                               HttpClientSslConfigurer sslConfigurer,
+                               ObjectProvider<HttpClientCustomizer> customizers,
+                               UpstreamPoolProperties poolProperties) {
+        this.sharedClient = sharedClient;
+        this.gatewayProperties = gatewayProperties;
+        this.serverProperties = serverProperties;
+        this.sslConfigurer = sslConfigurer;
+        this.customizers = customizers;
+        this.poolProperties = poolProperties;
+    }
+
+    public HttpClient clientFor(String routeId) {
+        UpstreamPoolProperties.Pool pool = poolProperties.poolFor(routeId);
+        if (pool.getMode() == UpstreamPoolProperties.Mode.ELASTIC) {
+            return sharedClient;
+        }
+        return clients.computeIfAbsent(routeId, id -> create(id, pool)).client();
+    }
+
+    private PooledClient create(String routeId, UpstreamPoolProperties.Pool pool) {
+        boolean h2c = pool.getMode() == UpstreamPoolProperties.Mode.H2C;
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("gateway-upstream-" + routeId)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .metrics(true);
+        if (h2c) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .minConnections(1)
+                    .maxConnections(pool.getMaxConnections())
+                    .maxConcurrentStreams(pool.getMaxConcurrentStreams())
+                    .build());
+        }
+        ConnectionProvider provider = builder.build();
+
+        HttpClient client = new RouteHttpClientFactory(provider).build()
+                .protocol(h2c ? HttpProtocol.H2C : HttpProtocol.HTTP11);
+
+        logger.info("Created {} upstream pool for route {} (maxConnections={}, pendingAcquireMaxCount={})",
+                pool.getMode(), routeId, pool.getMaxConnections(), pool.getPendingAcquireMaxCount());
+        return new PooledClient(client, provider);
+    }
+
+    @Override
+    public void destroy() {
+        clients.values().forEach(pooled -> pooled.provider().dispose());
+        clients.clear();
+    }
+
+    /**
+     * The gateway's HttpClient factory with the route's pool in place of the shared one.
+     */
+    private class RouteHttpClientFactory extends HttpClientFactory {
+
+        private final ConnectionProvider provider;
+
+        RouteHttpClientFactory(ConnectionProvider provider) {
+            super(gatewayProperties, serverProperties, sslConfigurer, customizers.orderedStream().toList());
+            this.provider = provider;
+        }
+
+        @Override
+        protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+            return provider;
+        }
+
+        HttpClient build() {
+            try {
+                return createInstance();
+            } catch (Exception e) {
+                provider.dispose();
+                throw new IllegalStateException("Could not create upstream HttpClient", e);
+            }
+        }
+    }
+
+    private record PooledClient(HttpClient client, ConnectionProvider provider) {}
+}
@@ -0,0 +1,67 @@
+package org.advanced_architecture.gateway.upstream;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Upstream connection pool settings, bound from gateway.upstream in application.yml.
+ *
+ * Structure:
+ * - defaults: pool used by every route without its own entry
+ * - routes: per-route-id pool overrides
+ *
+ * Each pool selects a {@link Mode}:
+ * - ELASTIC: the shared gateway HttpClient configured by spring.cloud.gateway.httpclient (previous behaviour,
+ *   and the default for routes without their own entry)
+ * - HTTP1_FIXED: a dedicated, fixed-size HTTP/1.1 pool for the route
+ * - H2C: a dedicated pool of multiplexed HTTP/2 cleartext connections (prior knowledge)
+ */
+@ConfigurationProperties(prefix = "gateway.upstream")
+public class UpstreamPoolProperties {
+
+    public enum Mode {
+        ELASTIC,
+        HTTP1_FIXED,
+        H2C
+    }
+
+    private Pool defaults = new Pool();
+    private Map<String, Pool> routes = new HashMap<>();
+
+    public Pool getDefaults() { return defaults; }
+    public void setDefaults(Pool defaults) { this.defaults = defaults; }
+    public Map<String, Pool> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Pool> routes) { this.routes = routes; }
+
+    public Pool poolFor(String routeId) {
+        return routes.getOrDefault(routeId, defaults);
+    }
+
+    public static class Pool {
+        private Mode mode = Mode.ELASTIC;
+        /** Maximum connections to each upstream host (HTTP/1.1) or HTTP/2 connections (H2C). */
+        private int maxConnections = 50;
+        /** Requests allowed to queue for a connection before being rejected. */
+        private int pendingAcquireMaxCount = 500;
+        private Duration pendingAcquireTimeout = Duration.ofMillis(500);
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+        /** Upper bound on concurrent streams per HTTP/2 connection (H2C only). */
+        private int maxConcurrentStreams = 100;
+
+        public Mode getMode() { return mode; }
+        public void setMode(Mode mode) { this.mode = mode; }
+        public int getMaxConnections() { return maxConnections; }
+        public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+        public int getPendingAcquireMaxCount() { return pendingAcquireMaxCount; }
+        public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) { this.pendingAcquireMaxCount = pendingAcquireMaxCount; }
+        public Duration getPendingAcquireTimeout() { return pendingAcquireTimeout; }
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) { this.pendingAcquireTimeout = pendingAcquireTimeout; }
+        public Duration getMaxIdleTime() { return maxIdleTime; }
+        public void setMaxIdleTime(Duration maxIdleTime) { this.maxIdleTime = maxIdleTime; }
+        public int getMaxConcurrentStreams() { return maxConcurrentStreams; }
+        public void setMaxConcurrentStreams(int maxConcurrentStreams) { this.maxConcurrentStreams = maxConcurrentStreams; }
+    }
+}
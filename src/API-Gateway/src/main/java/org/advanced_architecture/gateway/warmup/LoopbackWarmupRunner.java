@@ -0,0 +1,87 @@
+package org.advanced_architecture.gateway.warmup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JIT warm-up of the gateway's HTTP stack, run before the readiness probe reports ACCEPTING_TRAFFIC.
+ *
+ * Responsibilities:
+ * - Sends the configured number of loopback requests to the configured local paths
+ *   with bounded concurrency, exercising Netty, the WebFlux dispatcher and the JSON codecs
+ * - The default routed path (/__warmup/route/...) goes through the gateway-warmup route: route predicates,
+ *   the rate limiter and circuit breaker filters, the global filters and the proxy with its upstream pool,
+ *   answered by {@link WarmupStubController}
+ *
+ * Behavior:
+ * - Runs after the web server has started and before ApplicationReadyEvent, so readiness only flips
+ *   once warm-up has finished
+ * - Default paths never leave the gateway; pointing a path at a real proxied route would send real
+ *   traffic to the upstream and is therefore left to the operator
+ * - Any response status counts as a completed request; errors and max-duration only end warm-up early
+ */
+@Component
+public class LoopbackWarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoopbackWarmupRunner.class);
+
+    private final Environment environment;
+    private final boolean enabled;
+    private final List<String> paths;
+    private final int requests;
+    private final int concurrency;
+    private final Duration maxDuration;
+
+    public LoopbackWarmupRunner(
+            Environment environment,
+            @Value("${gateway.warmup.enabled:true}") boolean enabled,
+            @Value("${gateway.warmup.paths:/__warmup/route/orders/1,/actuator/health/liveness}") List<String> paths,
+            @Value("${gateway.warmup.requests:5000}") int requests,
+            @Value("${gateway.warmup.concurrency:16}") int concurrency,
+            @Value("${gateway.warmup.max-duration:10s}") Duration maxDuration) {
+        this.environment = environment;
+        this.enabled = enabled;
+        this.paths = paths;
+        this.requests = requests;
+        this.concurrency = concurrency;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (!enabled || requests <= 0 || paths.isEmpty() || port == null) {
+            return;
+        }
+
+        WebClient client = WebClient.create("http://127.0.0.1:" + port);
+        AtomicLong completed = new AtomicLong();
+        long started = System.nanoTime();
+
+        Flux.range(0, requests)
+                .flatMap(i -> client.get()
+                        // Distinct query per request, so coalescing makes every one a leader that goes upstream
+                        .uri(builder -> builder.path(paths.get(i % paths.size())).queryParam("warmup", i).build())
+                        .exchangeToMono(response -> response.releaseBody())
+                        .doOnSuccess(ignored -> completed.incrementAndGet())
+                        .onErrorResume(error -> Mono.empty()), concurrency)
+                .then()
+                .timeout(maxDuration, Mono.empty())
+                .block();
+
+        logger.info("Loopback warm-up completed {} of {} requests in {} ms",
+                completed.get(), requests, (System.nanoTime() - started) / 1_000_000);
+    }
+}
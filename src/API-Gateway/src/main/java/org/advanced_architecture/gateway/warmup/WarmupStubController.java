@@ -0,0 +1,46 @@
+package org.advanced_architecture.gateway.warmup;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.InetSocketAddress;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Stub upstream of the gateway-warmup route.
+ *
+ * Responsibilities:
+ * - Answers the proxied warm-up requests of {@link LoopbackWarmupRunner} with an order-sized JSON body,
+ *   so the route filters, the upstream pool and the response write path run without touching the Orchestrator
+ *
+ * Behavior:
+ * - Like the gateway-warmup route, answers loopback clients only; anyone else gets 404, as if the path
+ *   did not exist on the gateway port
+ */
+@RestController
+@RequestMapping(path = "/__warmup/stub", produces = MediaType.APPLICATION_JSON_VALUE)
+public class WarmupStubController {
+
+    @GetMapping("/orders/{orderId}")
+    public Map<String, Object> order(@PathVariable String orderId, ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null || !remoteAddress.getAddress().isLoopbackAddress()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
+        return Map.of(
+                "orderId", orderId,
+                "title", "Warm-up",
+                "author", "API Gateway",
+                "quantity", 1,
+                "state", "PENDING",
+                "createdAt", Instant.now().toString()
+        );
+    }
+}
@@ -1,5 +1,7 @@
 package org.advanced_architecture.gateway.web;
 
+import org.advanced_architecture.gateway.spool.RequestSpool;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -7,6 +9,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
 
 import java.time.Instant;
 import java.util.Map;
@@ -20,6 +24,8 @@ import java.util.Map;
  *
  * Behavior:
  * - Produces 503 Service-Unavailable responses with Metadata.
+ * - Order submissions that never reached the Orchestrator are spooled instead and answered with
+ *   202 Accepted and a spoolId; the spool replays them once the Orchestrator is reachable again (see {@link RequestSpool}).
  * - Ensures to keep structure consistent for clients.
  *
  */
@@ -27,8 +33,34 @@ import java.util.Map;
 @RequestMapping(path = "/fallback", produces = MediaType.APPLICATION_JSON_VALUE)
 public class FallbackController {
 
+    private final ObjectProvider<RequestSpool> requestSpoolProvider;
+
+    public FallbackController(ObjectProvider<RequestSpool> requestSpoolProvider) {
+        this.requestSpoolProvider = requestSpoolProvider;
+    }
+
     @RequestMapping(path = "/orchestrator", method = {RequestMethod.GET, RequestMethod.POST, RequestMethod.PUT, RequestMethod.DELETE})
-    public ResponseEntity<Map<String, Object>> orchestratorFallback(ServerHttpRequest request) {
+    public Mono<ResponseEntity<Map<String, Object>>> orchestratorFallback(ServerWebExchange exchange) {
+        RequestSpool requestSpool = requestSpoolProvider.getIfAvailable();
+        Mono<String> spooled = requestSpool != null ? requestSpool.spool(exchange) : Mono.empty();
+        return spooled
+                .map(spoolId -> orchestratorSpooled(exchange.getRequest(), spoolId))
+                .switchIfEmpty(Mono.fromSupplier(() -> orchestratorUnavailable(exchange.getRequest())));
+    }
+
+    private ResponseEntity<Map<String, Object>> orchestratorSpooled(ServerHttpRequest request, String spoolId) {
+        Map<String, Object> body = Map.of(
+                "service", "orchestrator",
+                "status", "spooled",
+                "spoolId", spoolId,
+                "message", "The Orchestrator service is temporarily unavailable. The order has been accepted and will be submitted automatically.",
+                "path", request.getPath().value(),
+                "timestamp", Instant.now().toString()
+        );
+        return new ResponseEntity<>(body, HttpStatus.ACCEPTED);
+    }
+
+    private ResponseEntity<Map<String, Object>> orchestratorUnavailable(ServerHttpRequest request) {
         Map<String, Object> body = Map.of(
                 "service", "orchestrator",
                 "status", "unavailable",
@@ -0,0 +1,93 @@
+package org.advanced_architecture.gateway.spool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recovery of the spool after a crash: what is replayed from a segment with a tombstone and a torn tail.
+ */
+class MappedSpoolLogTest {
+
+    private static final int SEGMENT_BYTES = 64 * 1024;
+    private static final int HEADER_BYTES = 16;
+    private static final int TOMBSTONE = 0x8000_0000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysIntactRecordsAndSkipsTombstonesAndTornTail() throws IOException {
+        try (MappedSpoolLog log = open()) {
+            for (int i = 1; i <= 3; i++) {
+                assertThat(log.append(request("order-" + i)).join()).isEqualTo(i);
+            }
+        }
+
+        Path segment = onlySegment();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int second = HEADER_BYTES + readInt(channel, 0);
+            int third = second + HEADER_BYTES + (readInt(channel, second) & ~TOMBSTONE);
+            channel.write(ByteBuffer.allocate(4).putInt(0, readInt(channel, second) | TOMBSTONE), second);
+            // Crash while the third record was being written: only half of its payload reached the disk
+            channel.truncate(third + HEADER_BYTES + readInt(channel, third) / 2);
+        }
+
+        try (MappedSpoolLog log = open()) {
+            List<SpoolEntry> replayed = log.peek(10);
+            assertThat(replayed).extracting(SpoolEntry::sequence).containsExactly(1L);
+            assertThat(body(replayed.get(0))).isEqualTo("order-1");
+            assertThat(replayed.get(0).request().headers().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+
+            // The torn record's sequence is reused, and nothing of it survives behind the new record
+            assertThat(log.append(request("order-4")).join()).isEqualTo(3);
+            log.acknowledge(replayed.get(0));
+            List<SpoolEntry> next = log.peek(10);
+            assertThat(next).extracting(SpoolEntry::sequence).containsExactly(3L);
+            assertThat(body(next.get(0))).isEqualTo("order-4");
+        }
+    }
+
+    private MappedSpoolLog open() throws IOException {
+        return new MappedSpoolLog(directory, SEGMENT_BYTES, 4, Duration.ofMillis(1));
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.filter(file -> file.getFileName().toString().endsWith(".log")).toList();
+            assertThat(segments).hasSize(1);
+            return segments.get(0);
+        }
+    }
+
+    private static int readInt(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        channel.read(buffer, position);
+        return buffer.getInt(0);
+    }
+
+    private static SpooledRequest request(String title) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = title.getBytes(StandardCharsets.UTF_8);
+        return new SpooledRequest("/api/v1/orchestrator/orders", headers, body, System.currentTimeMillis());
+    }
+
+    private static String body(SpoolEntry entry) {
+        return new String(entry.request().body(), StandardCharsets.UTF_8);
+    }
+}
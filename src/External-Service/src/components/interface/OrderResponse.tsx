@@ -1,5 +1,6 @@
 interface OrderResponse {
-    orderId: number;
+    // 64-bit snowflake id, sent as a string to keep full precision
+    orderId: string;
     state: string;
     createdAt: string;
 }
@@ -1,7 +1,23 @@
+import com.google.protobuf.gradle.id
+
 plugins {
     java
     id("org.springframework.boot") version "3.2.0"
     id("io.spring.dependency-management") version "1.1.4"
+    id("org.graalvm.buildtools.native") version "0.9.28" apply false
+    id("com.google.protobuf") version "0.9.4"
+}
+
+val grpcVersion = "1.60.1"
+val protobufVersion = "3.25.1"
+
+// Fast-start mode: processAot generates the bean definitions at build time and bootJar ships them;
+// they are only used when the JVM runs with -Dspring.aot.enabled=true (see Dockerfile.faststart).
+apply(plugin = "org.springframework.boot.aot")
+
+// Optional native image (GraalVM 17+): ./gradlew nativeCompile -Pnative
+if (providers.gradleProperty("native").isPresent) {
+    apply(plugin = "org.graalvm.buildtools.native")
 }
 
 group = "org.advanced_architecture"
@@ -20,11 +36,27 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("io.micrometer:micrometer-registry-prometheus")
+    // W3C trace-context propagation (HTTP, Kafka headers) and OTLP span export
+    implementation("io.micrometer:micrometer-tracing-bridge-otel")
+    implementation("io.opentelemetry:opentelemetry-exporter-otlp")
 
     // Spring Kafka
     implementation("org.springframework.kafka:spring-kafka")
     implementation("org.apache.kafka:kafka-clients:3.5.1")
 
+    // Primitive collections for the pending-ack tracker
+    implementation("org.agrona:agrona:1.21.1")
+
+    // gRPC ingestion endpoint (src/main/proto), served next to REST
+    implementation("io.grpc:grpc-netty-shaded:$grpcVersion")
+    implementation("io.grpc:grpc-protobuf:$grpcVersion")
+    implementation("io.grpc:grpc-stub:$grpcVersion")
+    implementation("com.google.protobuf:protobuf-java:$protobufVersion")
+    // @javax.annotation.Generated on the generated stubs
+    compileOnly("org.apache.tomcat:annotations-api:6.0.53")
+
     // Jakarta EE APIs (explicit to satisfy environments that don't transitively include them)
     implementation("jakarta.persistence:jakarta.persistence-api:3.1.0")
 
@@ -46,6 +78,24 @@ dependencies {
     testImplementation("org.springframework.kafka:spring-kafka-test")
 }
 
+protobuf {
+    protoc {
+        artifact = "com.google.protobuf:protoc:$protobufVersion"
+    }
+    plugins {
+        id("grpc") {
+            artifact = "io.grpc:protoc-gen-grpc-java:$grpcVersion"
+        }
+    }
+    generateProtoTasks {
+        all().forEach { task ->
+            task.plugins {
+                id("grpc")
+            }
+        }
+    }
+}
+
 tasks.withType<Test> {
     useJUnitPlatform()
 }
@@ -1,10 +1,21 @@
 package org.advanced_architecture.api;
 
 import org.advanced_architecture.api.dto.CreateOrderRequest;
+import org.advanced_architecture.api.dto.ImportJobResponse;
 import org.advanced_architecture.api.dto.OrderResponse;
+import org.advanced_architecture.api.dto.OrderSearchResponse;
+import org.advanced_architecture.api.dto.OrderStatsResponse;
+import org.advanced_architecture.application.imports.ImportJob;
+import org.advanced_architecture.application.stats.DurationSketch;
+import org.advanced_architecture.application.stats.OrderStatistics;
 import org.advanced_architecture.domain.BookDetails;
 import org.advanced_architecture.domain.ProductionOrder;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Mapper for API layer conversions between DTOs and domain models.
  * Pure mapping: no business logic, no framework dependencies beyond DTO/domain types.
@@ -33,4 +44,63 @@ public final class ApiOrderMapper {
                 order.getCreatedAt().toString()
         );
     }
+
+    public static OrderSearchResponse toSearchResponse(String query, List<ProductionOrder> orders, boolean more) {
+        List<OrderSearchResponse.Hit> hits = orders.stream()
+                .map(order -> new OrderSearchResponse.Hit(
+                        order.getId(),
+                        order.getBookDetails().getTitle(),
+                        order.getBookDetails().getAuthor(),
+                        order.getState().toString(),
+                        order.getCreatedAt().toString()))
+                .toList();
+        return new OrderSearchResponse(query, hits, more);
+    }
+
+    public static OrderStatsResponse toStatsResponse(OrderStatistics.Snapshot snapshot) {
+        Map<String, Long> states = new LinkedHashMap<>();
+        snapshot.stateCounts().forEach((state, count) -> states.put(state.toString(), count));
+
+        Map<String, OrderStatsResponse.DurationStats> durations = new LinkedHashMap<>();
+        snapshot.durations().forEach((interval, summary) -> durations.put(
+                interval.name().toLowerCase(Locale.ROOT),
+                toDurationStats(summary)
+        ));
+
+        return new OrderStatsResponse(
+                snapshot.totalOrders(),
+                states,
+                durations,
+                snapshot.rebuiltAt() != null ? snapshot.rebuiltAt().toString() : null
+        );
+    }
+
+    public static ImportJobResponse toImportJobResponse(ImportJob job) {
+        return new ImportJobResponse(
+                job.getId(),
+                job.getFormat(),
+                job.getStatus().toString(),
+                job.getRowsRead(),
+                job.getRowsImported(),
+                job.getRowsRejected(),
+                Math.round(job.getRowsPerSecond() * 10) / 10.0,
+                job.getStartedAt().toString(),
+                job.getFinishedAt() != null ? job.getFinishedAt().toString() : null,
+                job.getFailure(),
+                job.getRejections().stream()
+                        .map(rejection -> new ImportJobResponse.Rejection(rejection.line(), rejection.reason()))
+                        .toList()
+        );
+    }
+
+    private static OrderStatsResponse.DurationStats toDurationStats(DurationSketch.Summary summary) {
+        return new OrderStatsResponse.DurationStats(
+                summary.count(),
+                summary.mean(),
+                summary.p50(),
+                summary.p90(),
+                summary.p99(),
+                summary.max()
+        );
+    }
 }
@@ -0,0 +1,104 @@
+package org.advanced_architecture.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.advanced_architecture.api.dto.CreateOrderRequest;
+import org.advanced_architecture.application.mapper.OrderEventPayloadMapper;
+import org.advanced_architecture.application.stats.OrderStatistics;
+import org.advanced_architecture.domain.ProductionOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * JIT warm-up of the order ingest path, run before the readiness probe reports ACCEPTING_TRAFFIC.
+ *
+ * Responsibilities:
+ * - Repeats the CPU-bound part of POST /orders in-process: JSON binding, bean validation,
+ *   domain mapping and state transition, OrderCreated payload and response serialization
+ * - Periodically renders the order statistics response
+ *
+ * Behavior:
+ * - Touches neither the database nor Kafka, so warm-up never creates orders or events
+ * - Stops after the configured number of iterations or max-duration, whichever comes first
+ * - Spring Boot publishes ReadinessState.ACCEPTING_TRAFFIC only after all ApplicationRunners
+ *   have returned, so a replica is not put in rotation until warm-up has finished
+ */
+@Component
+public class IngestWarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestWarmupRunner.class);
+
+    private static final String[] COVER_TYPES = {"HARDCOVER", "SOFTCOVER"};
+    private static final String[] PAGE_TYPES = {"GLOSSY", "MATTE"};
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final OrderStatistics orderStatistics;
+    private final boolean enabled;
+    private final int iterations;
+    private final Duration maxDuration;
+
+    public IngestWarmupRunner(ObjectMapper objectMapper,
+                              Validator validator,
+                              OrderStatistics orderStatistics,
+                              @Value("${orchestrator.warmup.enabled:true}") boolean enabled,
+                              @Value("${orchestrator.warmup.iterations:20000}") int iterations,
+                              @Value("${orchestrator.warmup.max-duration:10s}") Duration maxDuration) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.orderStatistics = orderStatistics;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || iterations <= 0) {
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + maxDuration.toNanos();
+        int completed = 0;
+        long checksum = 0;
+        try {
+            for (; completed < iterations && System.nanoTime() < deadline; completed++) {
+                checksum += exerciseIngest(completed);
+                if (completed % 100 == 0) {
+                    checksum += objectMapper.writeValueAsBytes(
+                            ApiOrderMapper.toStatsResponse(orderStatistics.snapshot())).length;
+                }
+            }
+        } catch (Exception ex) {
+            logger.warn("Ingest warm-up stopped after {} iterations. Cause: {}", completed, ex.toString());
+            return;
+        }
+        logger.info("Ingest warm-up ran {} iterations in {} ms ({} bytes serialized)",
+                completed, (System.nanoTime() - started) / 1_000_000, checksum);
+    }
+
+    private long exerciseIngest(int i) throws Exception {
+        byte[] body = ("{\"title\":\"Warm-up " + i + "\",\"author\":\"Orchestrator\",\"pages\":" + (50 + i % 500)
+                + ",\"coverType\":\"" + COVER_TYPES[i & 1] + "\",\"pageType\":\"" + PAGE_TYPES[(i >> 1) & 1]
+                + "\",\"quantity\":" + (1 + i % 100) + "}").getBytes(StandardCharsets.UTF_8);
+
+        CreateOrderRequest request = objectMapper.readValue(body, CreateOrderRequest.class);
+        if (!validator.validate(request).isEmpty()) {
+            throw new IllegalStateException("Warm-up request failed validation: " + request);
+        }
+
+        ProductionOrder order = ProductionOrder.createOrder((long) i, ApiOrderMapper.toDomain(request));
+        order.markAsOrchestrated();
+
+        byte[] event = objectMapper.writeValueAsBytes(OrderEventPayloadMapper.buildOrderCreatedEvent(order));
+        byte[] response = objectMapper.writeValueAsBytes(ApiOrderMapper.toResponse(order));
+        return event.length + response.length;
+    }
+}
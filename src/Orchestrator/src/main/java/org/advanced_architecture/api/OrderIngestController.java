@@ -1,13 +1,20 @@
 package org.advanced_architecture.api;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.validation.Valid;
 import org.advanced_architecture.api.dto.CreateOrderRequest;
 import org.advanced_architecture.api.dto.OrderResponse;
+import org.advanced_architecture.api.dto.OrderSearchResponse;
+import org.advanced_architecture.api.dto.OrderStatsResponse;
 import org.advanced_architecture.application.OrderOrchestrationService;
+import org.advanced_architecture.application.search.OrderSearchIndex;
+import org.advanced_architecture.application.stats.OrderStatistics;
 import org.advanced_architecture.domain.BookDetails;
 import org.advanced_architecture.domain.ProductionOrder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -15,19 +22,29 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 /**
  * REST controller for order ingestion.
  *
  * Responsibilities:
- * - Accepts order creation requests via POST /api/v1/orchestrator/orders
+ * - Accepts order creation requests via POST /api/v1/orchestrator/orders; requests replayed by the gateway
+ *   spool carry X-Spool-Id and create their order only once, however often they are replayed (the gateway
+ *   strips the header from client requests, only its spool drainer sets it)
  * - Retrieves orders by ID via GET /api/v1/orchestrator/orders/{orderId}
+ * - Serves in-memory order statistics via GET /api/v1/orchestrator/orders/stats; every replica polls the
+ *   database for the transitions of all replicas, so the counts trail it by a few seconds
+ * - Searches orders by title/author tokens and prefixes via GET /api/v1/orchestrator/orders/search?q=...&limit=...
+ *   (newest first, served from {@link OrderSearchIndex})
  * - Validates incoming requests and handles exceptions
  * - Returns structured JSON responses with appropriate HTTP status codes
+ * - Traces order creation, including its transaction commit, as an "orders.create" span inside the
+ *   request's server span (which continues the gateway's trace)
  *
  * Exception handling:
  * - Validation errors return 400 Bad Request
  * - Order not found returns 404 Not Found
+ * - Search with the index disabled returns 503 Service Unavailable
  * - Server errors return 500 Internal Server Error
  */
 @RestController
@@ -37,18 +54,32 @@ public class OrderIngestController {
     private static final Logger logger = LoggerFactory.getLogger(OrderIngestController.class);
 
     private final OrderOrchestrationService orchestrationService;
-
-    public OrderIngestController(OrderOrchestrationService orchestrationService) {
+    private final OrderStatistics orderStatistics;
+    private final OrderSearchIndex searchIndex;
+    private final ObservationRegistry observationRegistry;
+    private final int maxSearchResults;
+
+    public OrderIngestController(OrderOrchestrationService orchestrationService,
+                                 OrderStatistics orderStatistics,
+                                 OrderSearchIndex searchIndex,
+                                 ObservationRegistry observationRegistry,
+                                 @Value("${orchestrator.search.max-results:100}") int maxSearchResults) {
         this.orchestrationService = orchestrationService;
+        this.orderStatistics = orderStatistics;
+        this.searchIndex = searchIndex;
+        this.observationRegistry = observationRegistry;
+        this.maxSearchResults = maxSearchResults;
     }
 
     @PostMapping("/orders")
-    public ResponseEntity<OrderResponse> ingestOrder(@Valid @RequestBody CreateOrderRequest request) {
+    public ResponseEntity<OrderResponse> ingestOrder(@Valid @RequestBody CreateOrderRequest request,
+                                                     @RequestHeader(value = "X-Spool-Id", required = false) String spoolId) {
         logger.info("Received order request for book: {} with quantity: {}", request.title(), request.quantity());
 
         try {
             BookDetails bookDetails = ApiOrderMapper.toDomain(request);
-            ProductionOrder order = orchestrationService.createOrder(bookDetails);
+            ProductionOrder order = Observation.createNotStarted("orders.create", observationRegistry)
+                    .observe(() -> orchestrationService.createOrder(bookDetails, spoolId));
 
             OrderResponse response = ApiOrderMapper.toResponse(order);
             logger.info("Order created successfully with ID: {}", order.getId());
@@ -63,6 +94,31 @@ public class OrderIngestController {
         }
     }
 
+    @GetMapping("/orders/stats")
+    public ResponseEntity<OrderStatsResponse> getOrderStats() {
+        return ResponseEntity.ok(ApiOrderMapper.toStatsResponse(orderStatistics.snapshot()));
+    }
+
+    @GetMapping("/orders/search")
+    public ResponseEntity<OrderSearchResponse> searchOrders(@RequestParam("q") String query,
+                                                            @RequestParam(defaultValue = "20") int limit) {
+        if (!searchIndex.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (query.isBlank()) {
+            throw new IllegalArgumentException("q is required");
+        }
+        if (limit < 1 || limit > maxSearchResults) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxSearchResults);
+        }
+
+        // One extra id tells whether there are more matches
+        List<Long> orderIds = searchIndex.search(query, limit + 1);
+        boolean more = orderIds.size() > limit;
+        List<ProductionOrder> orders = orchestrationService.getOrders(more ? orderIds.subList(0, limit) : orderIds);
+        return ResponseEntity.ok(ApiOrderMapper.toSearchResponse(query, orders, more));
+    }
+
     @GetMapping("/orders/{orderId}")
     public ResponseEntity<OrderResponse> getOrder(@PathVariable Long orderId) {
         logger.info("Fetching order with ID: {}", orderId);
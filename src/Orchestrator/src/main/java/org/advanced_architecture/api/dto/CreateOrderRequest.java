@@ -3,6 +3,7 @@ package org.advanced_architecture.api.dto;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.advanced_architecture.domain.CoverType;
 import org.advanced_architecture.domain.PageType;
 
@@ -10,7 +11,7 @@ import org.advanced_architecture.domain.PageType;
  * API request DTO for creating a production order.
  * 
  * Validation rules:
- * - title and author cannot be blank
+ * - title and author cannot be blank and have at most 255 characters (the column length)
  * - pages and quantity must be at least 1
  * - coverType and pageType are required enums
  * 
@@ -25,8 +26,10 @@ import org.advanced_architecture.domain.PageType;
  * }
  */
 public record CreateOrderRequest(
-        @NotBlank(message = "title is required") String title,
-        @NotBlank(message = "author is required") String author,
+        @NotBlank(message = "title is required")
+        @Size(max = 255, message = "title must be at most 255 characters") String title,
+        @NotBlank(message = "author is required")
+        @Size(max = 255, message = "author must be at most 255 characters") String author,
         @NotNull(message = "pages is required") @Min(value = 1, message = "pages must be >= 1") Integer pages,
         @NotNull(message = "coverType is required") CoverType coverType,
         @NotNull(message = "pageType is required") PageType pageType,
@@ -0,0 +1,31 @@
+package org.advanced_architecture.api.dto;
+
+import java.util.List;
+
+/**
+ * API response DTO for a bulk order import.
+ *
+ * Contains:
+ * - jobId, format ("csv" | "ndjson") and status (RUNNING, COMPLETED, FAILED)
+ * - rowsRead, rowsImported, rowsRejected: progress so far
+ * - rowsPerSecond: imported rows per second since the upload started
+ * - startedAt / finishedAt: ISO-8601 timestamps (finishedAt is null while running)
+ * - failure: why the import failed, or null
+ * - rejections: the first rejected rows with their line number and reason
+ */
+public record ImportJobResponse(
+        String jobId,
+        String format,
+        String status,
+        long rowsRead,
+        long rowsImported,
+        long rowsRejected,
+        double rowsPerSecond,
+        String startedAt,
+        String finishedAt,
+        String failure,
+        List<Rejection> rejections
+) {
+
+    public record Rejection(long line, String reason) {}
+}
@@ -1,15 +1,18 @@
 package org.advanced_architecture.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+
 /**
  * API response DTO returned after order creation or retrieval.
  * 
  * Contains:
- * - orderId: Unique identifier of the production order
+ * - orderId: Unique identifier of the production order, serialized as a JSON string because
+ *   64-bit ids exceed the integer precision of JavaScript numbers
  * - state: Current order state (PENDING, ORCHESTRATED, etc.)
  * - createdAt: ISO-8601 timestamp of order creation
  */
 public record OrderResponse(
-        Long orderId,
+        @JsonFormat(shape = JsonFormat.Shape.STRING) Long orderId,
         String state,
         String createdAt
 ) {}
@@ -0,0 +1,30 @@
+package org.advanced_architecture.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.util.List;
+
+/**
+ * API response DTO for an order search.
+ *
+ * Contains:
+ * - query: The query as received
+ * - orders: Matching orders, newest first
+ * - more: Whether more orders match than were returned
+ *
+ * Order ids are serialized as strings, like in {@link OrderResponse}.
+ */
+public record OrderSearchResponse(
+        String query,
+        List<Hit> orders,
+        boolean more
+) {
+
+    public record Hit(
+            @JsonFormat(shape = JsonFormat.Shape.STRING) Long orderId,
+            String title,
+            String author,
+            String state,
+            String createdAt
+    ) {}
+}
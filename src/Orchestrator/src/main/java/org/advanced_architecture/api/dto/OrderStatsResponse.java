@@ -0,0 +1,32 @@
+package org.advanced_architecture.api.dto;
+
+import java.util.Map;
+
+/**
+ * API response DTO for order statistics.
+ *
+ * The figures are those of the replica that answered: the orders in the database when it started plus
+ * the transitions it made itself since then.
+ *
+ * Contains:
+ * - totalOrders: Number of orders known to this replica
+ * - states: Order count per state (PENDING, ORCHESTRATED, etc.)
+ * - durations: Quantiles per lifecycle interval (e.g. "created_to_orchestrated"), in milliseconds
+ * - rebuiltAt: ISO-8601 timestamp of the startup rebuild, or null if it did not succeed
+ */
+public record OrderStatsResponse(
+        long totalOrders,
+        Map<String, Long> states,
+        Map<String, DurationStats> durations,
+        String rebuiltAt
+) {
+
+    public record DurationStats(
+            long count,
+            double meanMillis,
+            long p50Millis,
+            long p90Millis,
+            long p99Millis,
+            long maxMillis
+    ) {}
+}
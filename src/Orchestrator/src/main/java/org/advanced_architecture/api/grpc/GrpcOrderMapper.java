@@ -0,0 +1,92 @@
+package org.advanced_architecture.api.grpc;
+
+import org.advanced_architecture.api.grpc.v1.CreateOrderRequest;
+import org.advanced_architecture.api.grpc.v1.OrderReply;
+import org.advanced_architecture.domain.BookDetails;
+import org.advanced_architecture.domain.CoverType;
+import org.advanced_architecture.domain.PageType;
+import org.advanced_architecture.domain.ProductionOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mapper between the gRPC messages (order_ingest.proto) and domain models.
+ *
+ * Validates with the same rules and messages as {@link org.advanced_architecture.api.dto.CreateOrderRequest},
+ * checked directly on the message instead of through Bean Validation.
+ */
+public final class GrpcOrderMapper {
+
+    private GrpcOrderMapper() {
+        // utility class
+    }
+
+    /**
+     * @throws IllegalArgumentException listing every violated rule, sorted like the import rejections
+     */
+    public static BookDetails toDomain(CreateOrderRequest request) {
+        List<String> violations = new ArrayList<>(2);
+        if (request.getTitle().isBlank()) {
+            violations.add("title is required");
+        } else if (request.getTitle().length() > 255) {
+            violations.add("title must be at most 255 characters");
+        }
+        if (request.getAuthor().isBlank()) {
+            violations.add("author is required");
+        } else if (request.getAuthor().length() > 255) {
+            violations.add("author must be at most 255 characters");
+        }
+        if (request.getPages() < 1) {
+            violations.add("pages must be >= 1");
+        }
+        CoverType coverType = toDomain(request.getCoverType());
+        if (coverType == null) {
+            violations.add("coverType is required");
+        }
+        PageType pageType = toDomain(request.getPageType());
+        if (pageType == null) {
+            violations.add("pageType is required");
+        }
+        if (request.getQuantity() < 1) {
+            violations.add("quantity must be >= 1");
+        }
+        if (!violations.isEmpty()) {
+            violations.sort(null);
+            throw new IllegalArgumentException(String.join(", ", violations));
+        }
+
+        return new BookDetails(
+                request.getTitle(),
+                request.getAuthor(),
+                request.getPages(),
+                coverType,
+                pageType,
+                request.getQuantity()
+        );
+    }
+
+    public static OrderReply toReply(ProductionOrder order) {
+        return OrderReply.newBuilder()
+                .setOrderId(order.getId())
+                .setState(order.getState().toString())
+                .setCreatedAt(order.getCreatedAt().toString())
+                .build();
+    }
+
+    private static CoverType toDomain(org.advanced_architecture.api.grpc.v1.CoverType coverType) {
+        return switch (coverType) {
+            case HARDCOVER -> CoverType.HARDCOVER;
+            case SOFTCOVER -> CoverType.SOFTCOVER;
+            default -> null;
+        };
+    }
+
+    private static PageType toDomain(org.advanced_architecture.api.grpc.v1.PageType pageType) {
+        return switch (pageType) {
+            case GLOSSY -> PageType.GLOSSY;
+            case MATTE -> PageType.MATTE;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,196 @@
+package org.advanced_architecture.api.grpc;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.advanced_architecture.api.grpc.v1.CreateOrderRequest;
+import org.advanced_architecture.api.grpc.v1.CreateOrdersReply;
+import org.advanced_architecture.api.grpc.v1.GetOrderRequest;
+import org.advanced_architecture.api.grpc.v1.OrderIngestServiceGrpc;
+import org.advanced_architecture.api.grpc.v1.OrderReply;
+import org.advanced_architecture.application.OrderOrchestrationService;
+import org.advanced_architecture.domain.BookDetails;
+import org.advanced_architecture.domain.ProductionOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * gRPC counterpart of {@link org.advanced_architecture.api.OrderIngestController} for internal clients.
+ *
+ * Responsibilities:
+ * - CreateOrder / GetOrder: same behavior as POST /orders and GET /orders/{orderId}
+ * - CreateOrders: streaming bulk creation through {@link OrderOrchestrationService#createOrders(List)}, with
+ *   a progress reply per persisted chunk
+ *
+ * Behavior:
+ * - CreateOrders asks the client for stream-chunk-size messages at a time and only asks for more once
+ *   those are persisted (one transaction per chunk); until then HTTP/2 flow control holds the client back
+ * - Invalid stream messages are counted and reported with their index; the stream continues
+ * - Every persisted chunk is answered with the running received/created/rejected counts; a client that
+ *   loses the call resumes from the received count of the last reply it got
+ * - Messages of a chunk that was not persisted yet are dropped when the client cancels the call; they are
+ *   past that received count, so the resuming client sends them again
+ *
+ * Exception handling:
+ * - Validation errors return INVALID_ARGUMENT with the violated rules
+ * - Order not found returns NOT_FOUND
+ * - Server errors return INTERNAL; for CreateOrders, earlier chunks stay created
+ */
+@Component
+public class OrderIngestGrpcService extends OrderIngestServiceGrpc.OrderIngestServiceImplBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIngestGrpcService.class);
+
+    private final OrderOrchestrationService orchestrationService;
+    private final int streamChunkSize;
+    private final int maxRejections;
+
+    public OrderIngestGrpcService(OrderOrchestrationService orchestrationService,
+                                  @Value("${orchestrator.grpc.stream-chunk-size:500}") int streamChunkSize,
+                                  @Value("${orchestrator.grpc.max-rejections:100}") int maxRejections) {
+        this.orchestrationService = orchestrationService;
+        this.streamChunkSize = streamChunkSize;
+        this.maxRejections = maxRejections;
+    }
+
+    @Override
+    public void createOrder(CreateOrderRequest request, StreamObserver<OrderReply> responseObserver) {
+        try {
+            BookDetails bookDetails = GrpcOrderMapper.toDomain(request);
+            ProductionOrder order = orchestrationService.createOrder(bookDetails);
+            responseObserver.onNext(GrpcOrderMapper.toReply(order));
+            responseObserver.onCompleted();
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid order request: {}", e.getMessage());
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+        } catch (Exception e) {
+            logger.error("Failed to create order: {}", e.getMessage(), e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Failed to create order").asRuntimeException());
+        }
+    }
+
+    @Override
+    public void getOrder(GetOrderRequest request, StreamObserver<OrderReply> responseObserver) {
+        try {
+            ProductionOrder order = orchestrationService.getOrder(request.getOrderId());
+            responseObserver.onNext(GrpcOrderMapper.toReply(order));
+            responseObserver.onCompleted();
+        } catch (OrderOrchestrationService.OrderNotFoundException e) {
+            responseObserver.onError(Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException());
+        } catch (Exception e) {
+            logger.error("Failed to fetch order {}: {}", request.getOrderId(), e.getMessage(), e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Failed to fetch order").asRuntimeException());
+        }
+    }
+
+    @Override
+    public StreamObserver<CreateOrderRequest> createOrders(StreamObserver<CreateOrdersReply> responseObserver) {
+        ServerCallStreamObserver<CreateOrdersReply> call = (ServerCallStreamObserver<CreateOrdersReply>) responseObserver;
+        call.disableAutoRequest();
+        OrderStream stream = new OrderStream(call);
+        call.request(streamChunkSize);
+        return stream;
+    }
+
+    /**
+     * State of one CreateOrders call. gRPC delivers the callbacks of a call one at a time, so no locking.
+     */
+    private final class OrderStream implements StreamObserver<CreateOrderRequest> {
+
+        private final ServerCallStreamObserver<CreateOrdersReply> call;
+        private final CreateOrdersReply.Builder reply = CreateOrdersReply.newBuilder();
+        private List<BookDetails> chunk = new ArrayList<>(streamChunkSize);
+        private int outstanding = streamChunkSize;
+        private long received;
+        private long created;
+        private long rejected;
+        private int reportedRejections;
+        private boolean failed;
+
+        OrderStream(ServerCallStreamObserver<CreateOrdersReply> call) {
+            this.call = call;
+        }
+
+        @Override
+        public void onNext(CreateOrderRequest request) {
+            if (failed) {
+                return;
+            }
+            long index = received++;
+            try {
+                chunk.add(GrpcOrderMapper.toDomain(request));
+            } catch (IllegalArgumentException e) {
+                rejected++;
+                if (reportedRejections < maxRejections) {
+                    reportedRejections++;
+                    reply.addRejections(CreateOrdersReply.Rejection.newBuilder()
+                            .setIndex(index)
+                            .setReason(e.getMessage()));
+                }
+            }
+
+            if (--outstanding == 0) {
+                flush(false);
+                if (!failed) {
+                    outstanding = streamChunkSize;
+                    call.request(streamChunkSize);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            logger.warn("CreateOrders stream ended by the client after {} messages ({} created, {} not persisted,"
+                    + " to be resent after the last reported chunk): {}",
+                    received, created, chunk.size(), Status.fromThrowable(t));
+        }
+
+        @Override
+        public void onCompleted() {
+            flush(true);
+            if (failed) {
+                return;
+            }
+            call.onCompleted();
+            logger.info("CreateOrders stream completed: {} received, {} created, {} rejected", received, created, rejected);
+        }
+
+        /**
+         * Persists the pending chunk and reports the counts so far; the reply's received count is the
+         * position a client resumes from.
+         */
+        private void flush(boolean completed) {
+            if (failed) {
+                return;
+            }
+            if (!chunk.isEmpty()) {
+                try {
+                    created += orchestrationService.createOrders(chunk);
+                    chunk = new ArrayList<>(streamChunkSize);
+                } catch (RuntimeException e) {
+                    failed = true;
+                    logger.error("CreateOrders stream failed after {} created orders: {}", created, e.getMessage(), e);
+                    call.onError(Status.INTERNAL
+                            .withDescription("Failed to create orders after " + created + " were created")
+                            .asRuntimeException());
+                    return;
+                }
+            }
+            if (call.isCancelled()) {
+                return;
+            }
+            call.onNext(reply
+                    .setReceived(received)
+                    .setCreated(created)
+                    .setRejected(rejected)
+                    .setCompleted(completed)
+                    .build());
+            reply.clearRejections();
+        }
+    }
+}
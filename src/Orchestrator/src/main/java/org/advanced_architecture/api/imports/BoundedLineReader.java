@@ -0,0 +1,81 @@
+package org.advanced_architecture.api.imports;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Line reader with a hard cap on line length, so a file without line breaks cannot exhaust memory.
+ *
+ * Behavior:
+ * - Accepts \n, \r\n and \r line endings
+ * - Characters beyond maxLineLength are skipped up to the next line ending; {@link #truncated()}
+ *   reports whether the last returned line was cut
+ * - Line numbers are 1-based and count every physical line, blank ones included
+ */
+final class BoundedLineReader {
+
+    private final Reader in;
+    private final int maxLineLength;
+    private final StringBuilder line;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private long lineNumber;
+    private boolean truncated;
+    private boolean skipLineFeed;
+
+    BoundedLineReader(Reader in, int maxLineLength) {
+        this.in = in;
+        this.maxLineLength = maxLineLength;
+        this.line = new StringBuilder(Math.min(maxLineLength, 1024));
+    }
+
+    /**
+     * @return the next line without its line ending, or null at the end of the input
+     */
+    String readLine() throws IOException {
+        line.setLength(0);
+        truncated = false;
+        boolean any = false;
+        while (true) {
+            if (position == limit) {
+                limit = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    if (!any) {
+                        return null;
+                    }
+                    lineNumber++;
+                    return line.toString();
+                }
+            }
+            char c = buffer[position++];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (c == '\n') {
+                    continue;
+                }
+            }
+            if (c == '\n' || c == '\r') {
+                skipLineFeed = c == '\r';
+                lineNumber++;
+                return line.toString();
+            }
+            any = true;
+            if (line.length() < maxLineLength) {
+                line.append(c);
+            } else {
+                truncated = true;
+            }
+        }
+    }
+
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    boolean truncated() {
+        return truncated;
+    }
+}
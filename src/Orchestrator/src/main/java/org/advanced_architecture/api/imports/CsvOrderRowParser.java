@@ -0,0 +1,183 @@
+package org.advanced_architecture.api.imports;
+
+import org.advanced_architecture.api.dto.CreateOrderRequest;
+import org.advanced_architecture.domain.CoverType;
+import org.advanced_architecture.domain.PageType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV rows for bulk imports.
+ *
+ * Format:
+ * - The first non-blank line is a header naming the columns title, author, pages, coverType,
+ *   pageType and quantity, in any order and case (cover_type / page_type also work); other columns are ignored
+ * - Fields are comma separated; a field may be quoted with "..." and contain "" for a quote
+ * - Quoted fields cannot span lines, and blank lines are skipped
+ *
+ * Behavior:
+ * - A header without one of the required columns fails the whole import
+ * - Rows with missing fields, unparseable numbers or unknown enum values are reported as malformed;
+ *   empty fields are passed on as null and left to bean validation
+ */
+final class CsvOrderRowParser implements OrderRowParser {
+
+    private static final List<String> COLUMNS = List.of("title", "author", "pages", "covertype", "pagetype", "quantity");
+
+    private final int maxLineLength;
+
+    CsvOrderRowParser(int maxLineLength) {
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public void parse(Reader reader, RowHandler handler) throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(reader, maxLineLength);
+        int[] columns = null;
+        List<String> fields = new ArrayList<>();
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            long lineNumber = lines.lineNumber();
+            if (columns == null) {
+                if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (lines.truncated() || !split(line, fields)) {
+                    throw new IllegalArgumentException("CSV header on line " + lineNumber + " cannot be read");
+                }
+                columns = headerColumns(fields);
+                continue;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (lines.truncated()) {
+                handler.malformed(lineNumber, "line longer than " + maxLineLength + " characters");
+                continue;
+            }
+            if (!split(line, fields)) {
+                handler.malformed(lineNumber, "unterminated quoted field");
+                continue;
+            }
+            try {
+                handler.row(lineNumber, toRequest(fields, columns));
+            } catch (MalformedRowException e) {
+                handler.malformed(lineNumber, e.getMessage());
+            }
+        }
+    }
+
+    private static int[] headerColumns(List<String> header) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "").replace("-", "");
+            positions.putIfAbsent(name, i);
+        }
+        int[] columns = new int[COLUMNS.size()];
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < COLUMNS.size(); i++) {
+            Integer position = positions.get(COLUMNS.get(i));
+            if (position == null) {
+                missing.add(COLUMNS.get(i));
+            } else {
+                columns[i] = position;
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing column(s): " + missing);
+        }
+        return columns;
+    }
+
+    private static CreateOrderRequest toRequest(List<String> fields, int[] columns) {
+        String[] values = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] >= fields.size()) {
+                throw new MalformedRowException("expected at least " + (columns[i] + 1) + " fields, got " + fields.size());
+            }
+            String value = fields.get(columns[i]).trim();
+            values[i] = value.isEmpty() ? null : value;
+        }
+        return new CreateOrderRequest(
+                values[0],
+                values[1],
+                toInteger("pages", values[2]),
+                toEnum("coverType", values[3], CoverType.class),
+                toEnum("pageType", values[4], PageType.class),
+                toInteger("quantity", values[5])
+        );
+    }
+
+    private static Integer toInteger(String field, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new MalformedRowException(field + " is not a whole number: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E toEnum(String field, String value, Class<E> type) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new MalformedRowException(field + " must be one of " + Arrays.toString(type.getEnumConstants()));
+        }
+    }
+
+    /**
+     * Splits one line into {@code fields}.
+     *
+     * @return false if a quoted field is not closed on this line
+     */
+    private static boolean split(String line, List<String> fields) {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return !quoted;
+    }
+
+    private static final class MalformedRowException extends RuntimeException {
+        MalformedRowException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
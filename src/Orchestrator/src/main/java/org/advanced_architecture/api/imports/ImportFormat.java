@@ -0,0 +1,43 @@
+package org.advanced_architecture.api.imports;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Upload formats accepted by POST /orders/import.
+ *
+ * - CSV: text/csv, a header row naming the CreateOrderRequest fields, then one order per row
+ * - NDJSON: application/x-ndjson, one CreateOrderRequest JSON object per line
+ */
+enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    /**
+     * Picks the format from the {@code format} query parameter, falling back to the Content-Type.
+     *
+     * @throws IllegalArgumentException if neither names a supported format
+     */
+    static ImportFormat resolve(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            return switch (format.trim().toLowerCase(Locale.ROOT)) {
+                case "csv" -> CSV;
+                case "ndjson", "jsonl" -> NDJSON;
+                default -> throw new IllegalArgumentException("Unsupported import format: " + format);
+            };
+        }
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            String subtype = mediaType.getSubtype().toLowerCase(Locale.ROOT);
+            if (subtype.equals("csv")) {
+                return CSV;
+            }
+            if (subtype.equals("x-ndjson") || subtype.equals("ndjson") || subtype.equals("jsonl")) {
+                return NDJSON;
+            }
+        }
+        throw new IllegalArgumentException(
+                "Cannot tell the import format from Content-Type " + contentType + "; use text/csv or application/x-ndjson");
+    }
+}
@@ -0,0 +1,56 @@
+package org.advanced_architecture.api.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.advanced_architecture.api.dto.CreateOrderRequest;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * NDJSON rows for bulk imports: one CreateOrderRequest JSON object per line, blank lines skipped.
+ *
+ * Behavior:
+ * - Each line is bound on its own, so a broken line is reported as malformed and the next line
+ *   is read normally
+ * - Binding uses the application ObjectMapper, i.e. the same rules as POST /orders
+ */
+final class NdjsonOrderRowParser implements OrderRowParser {
+
+    private final ObjectReader requestReader;
+    private final int maxLineLength;
+
+    NdjsonOrderRowParser(ObjectReader requestReader, int maxLineLength) {
+        this.requestReader = requestReader;
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public void parse(Reader reader, RowHandler handler) throws IOException {
+        BoundedLineReader lines = new BoundedLineReader(reader, maxLineLength);
+
+        String line;
+        while ((line = lines.readLine()) != null) {
+            long lineNumber = lines.lineNumber();
+            if (line.isBlank()) {
+                continue;
+            }
+            if (lines.truncated()) {
+                handler.malformed(lineNumber, "line longer than " + maxLineLength + " characters");
+                continue;
+            }
+            CreateOrderRequest request;
+            try {
+                request = requestReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                handler.malformed(lineNumber, e.getOriginalMessage());
+                continue;
+            }
+            if (request == null) {
+                handler.malformed(lineNumber, "expected a JSON object");
+                continue;
+            }
+            handler.row(lineNumber, request);
+        }
+    }
+}
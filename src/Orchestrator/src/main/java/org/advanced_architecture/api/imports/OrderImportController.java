@@ -0,0 +1,157 @@
+package org.advanced_architecture.api.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.advanced_architecture.api.ApiOrderMapper;
+import org.advanced_architecture.api.dto.CreateOrderRequest;
+import org.advanced_architecture.api.dto.ImportJobResponse;
+import org.advanced_architecture.application.imports.ImportJob;
+import org.advanced_architecture.application.imports.ImportSession;
+import org.advanced_architecture.application.imports.OrderImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * REST controller for bulk order imports.
+ *
+ * Responsibilities:
+ * - Accepts CSV or NDJSON uploads via POST /api/v1/orchestrator/orders/import
+ *   (raw request body, e.g. curl --data-binary @orders.csv -H 'Content-Type: text/csv')
+ * - Reports import progress via GET /api/v1/orchestrator/imports/{jobId}
+ *
+ * Behavior:
+ * - The body is parsed line by line straight from the request stream and never held as a whole;
+ *   each row is validated with the same rules as POST /orders
+ * - Valid rows are persisted in chunks by {@link OrderImportService}; reading pauses while
+ *   persisting lags behind, which slows the upload down through TCP flow control
+ * - Responds 202 Accepted with the job once the upload has been read; the last chunks may still
+ *   be persisting, so the job can still be RUNNING
+ *
+ * Exception handling:
+ * - Unknown format or an unusable CSV header returns 400 Bad Request
+ * - Too many concurrent imports returns 429 Too Many Requests
+ * - An import that failed while uploading returns 500 with the failed job
+ */
+@RestController
+@RequestMapping("/api/v1/orchestrator")
+public class OrderImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderImportController.class);
+
+    private final OrderImportService importService;
+    private final Validator validator;
+    private final OrderRowParser csvParser;
+    private final OrderRowParser ndjsonParser;
+
+    public OrderImportController(OrderImportService importService,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 @Value("${orchestrator.imports.max-line-length:8192}") int maxLineLength) {
+        this.importService = importService;
+        this.validator = validator;
+        this.csvParser = new CsvOrderRowParser(maxLineLength);
+        this.ndjsonParser = new NdjsonOrderRowParser(objectMapper.readerFor(CreateOrderRequest.class), maxLineLength);
+    }
+
+    @PostMapping("/orders/import")
+    public ResponseEntity<ImportJobResponse> importOrders(HttpServletRequest request,
+                                                          @RequestParam(required = false) String format) throws IOException {
+        ImportFormat importFormat = ImportFormat.resolve(format, request.getContentType());
+        OrderRowParser parser = importFormat == ImportFormat.CSV ? csvParser : ndjsonParser;
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+
+        ImportSession session = importService.open(importFormat.name().toLowerCase(Locale.ROOT));
+        ImportJob job = session.job();
+        try (Reader reader = new InputStreamReader(request.getInputStream(), charset)) {
+            parser.parse(reader, new ValidatingRowHandler(session));
+            session.finish();
+        } catch (ImportSession.ImportAbortedException e) {
+            logger.warn("Import {} stopped reading the upload: {}", job.getId(), e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            session.abort(e instanceof IllegalArgumentException ? e.getMessage() : "Upload failed: " + e.getMessage());
+            throw e;
+        }
+
+        HttpStatus status = job.getStatus() == ImportJob.Status.FAILED ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status)
+                .location(URI.create("/api/v1/orchestrator/imports/" + job.getId()))
+                .body(ApiOrderMapper.toImportJobResponse(job));
+    }
+
+    @GetMapping("/imports/{jobId}")
+    public ResponseEntity<ImportJobResponse> getImport(@PathVariable String jobId) {
+        return importService.findJob(jobId)
+                .map(job -> ResponseEntity.ok(ApiOrderMapper.toImportJobResponse(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException ex) {
+        logger.warn("Invalid import request: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of(
+                "error", "Invalid Import",
+                "message", ex.getMessage(),
+                "timestamp", Instant.now().toString()
+        ));
+    }
+
+    @ExceptionHandler(OrderImportService.ImportCapacityExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleCapacity(OrderImportService.ImportCapacityExceededException ex) {
+        logger.warn("Import refused: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of(
+                "error", "Too Many Imports",
+                "message", ex.getMessage(),
+                "timestamp", Instant.now().toString()
+        ));
+    }
+
+    /**
+     * Validates parsed rows and feeds them to the import session.
+     */
+    private final class ValidatingRowHandler implements OrderRowParser.RowHandler {
+
+        private final ImportSession session;
+
+        ValidatingRowHandler(ImportSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public void row(long line, CreateOrderRequest request) {
+            Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+            if (violations.isEmpty()) {
+                session.accept(ApiOrderMapper.toDomain(request));
+                return;
+            }
+            session.reject(line, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+
+        @Override
+        public void malformed(long line, String reason) {
+            session.reject(line, reason);
+        }
+    }
+}
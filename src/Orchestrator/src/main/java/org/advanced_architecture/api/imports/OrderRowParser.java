@@ -0,0 +1,24 @@
+package org.advanced_architecture.api.imports;
+
+import org.advanced_architecture.api.dto.CreateOrderRequest;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Incremental parser for one bulk import format.
+ * Rows are handed to the {@link RowHandler} as they are read; nothing beyond the current line is kept.
+ */
+interface OrderRowParser {
+
+    void parse(Reader reader, RowHandler handler) throws IOException;
+
+    interface RowHandler {
+
+        /** A row that could be read; it has not been validated yet. */
+        void row(long line, CreateOrderRequest request);
+
+        /** A row that could not be read at all. */
+        void malformed(long line, String reason);
+    }
+}
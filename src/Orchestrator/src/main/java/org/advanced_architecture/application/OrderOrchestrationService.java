@@ -1,28 +1,62 @@
 package org.advanced_architecture.application;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.advanced_architecture.application.ack.PendingAckTracker;
+import org.advanced_architecture.application.diagnostics.OrderPersistEvent;
+import org.advanced_architecture.application.diagnostics.OrderPublishEvent;
+import org.advanced_architecture.application.diagnostics.OrderTransitionEvent;
 import org.advanced_architecture.application.mapper.OrderEventPayloadMapper;
 import org.advanced_architecture.application.port.EventPublisher;
+import org.advanced_architecture.application.port.OrderIdGenerator;
 import org.advanced_architecture.application.port.OrderRepository;
+import org.advanced_architecture.application.port.SubmissionKeyStore;
+import org.advanced_architecture.application.search.OrderSearchIndex;
 import org.advanced_architecture.domain.BookDetails;
+import org.advanced_architecture.domain.OrderState;
 import org.advanced_architecture.domain.ProductionOrder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 /**
  * Core service for orchestrating production orders.
  *
  * Responsibilities:
- * - Creates and persists production orders
- * - Publishes OrderCreated events to Kafka topic "orders.created"
- * - Manages order state transitions (PENDING → ORCHESTRATED)
+ * - Creates and persists production orders with ids from {@link OrderIdGenerator}
+ * - Creates one order per submission key ({@link SubmissionKeyStore}), so redelivered submissions are not duplicated
+ * - Creates bulk orders chunk by chunk (one transaction and one JDBC batch per chunk); used by imports,
+ *   the gRPC CreateOrders stream and the orders.incoming intake
+ * - Publishes OrderCreated events to Kafka topic "orders.created" and tracks them until acknowledged
+ * - Moves acknowledged orders to SCHEDULED
+ * - Manages order state transitions (PENDING → ORCHESTRATED → SCHEDULED)
+ * - Adds new orders to the {@link OrderSearchIndex} and loads search results
  * - Provides order retrieval by ID
+ * - Traces the stages of order creation (orders.persist, orders.mark-orchestrated, orders.commit,
+ *   orders.publish) as spans of the current trace
+ * - Emits JFR events for persisting, publishing and state transitions ({@link OrderPersistEvent},
+ *   {@link OrderPublishEvent}, {@link OrderTransitionEvent}); they cost nothing unless a recording enables them
  *
  * Transaction behavior:
  * - All operations are transactional to ensure data consistency
+ * - getOrder() runs read-only (served by a replica when configured) unless
+ *   {@link OrderReadConsistency} requires the primary; stale replica results are re-read from the primary
+ * - OrderCreated events are published once the transaction has committed, so consumers (and their acks)
+ *   never see an order that is not in the database yet, and a rolled-back order publishes nothing
  * - Kafka publish failures are logged but do not rollback the transaction
+ * - An ack only ends ack tracking once the SCHEDULED transition has committed
  */
 @Service
 public class OrderOrchestrationService {
@@ -32,39 +66,124 @@ public class OrderOrchestrationService {
 
     private final OrderRepository orderRepository;
     private final EventPublisher eventPublisher;
+    private final OrderIdGenerator orderIdGenerator;
+    private final SubmissionKeyStore submissionKeys;
+    private final OrderReadConsistency readConsistency;
+    private final PendingAckTracker pendingAckTracker;
+    private final OrderSearchIndex searchIndex;
+    private final TransactionTemplate replicaReads;
+    private final TransactionTemplate primaryReads;
+    private final ObservationRegistry observationRegistry;
 
     public OrderOrchestrationService(OrderRepository orderRepository,
-                                     EventPublisher eventPublisher) {
+                                     EventPublisher eventPublisher,
+                                     OrderIdGenerator orderIdGenerator,
+                                     SubmissionKeyStore submissionKeys,
+                                     OrderReadConsistency readConsistency,
+                                     PendingAckTracker pendingAckTracker,
+                                     OrderSearchIndex searchIndex,
+                                     PlatformTransactionManager transactionManager,
+                                     ObservationRegistry observationRegistry) {
         this.orderRepository = orderRepository;
         this.eventPublisher = eventPublisher;
+        this.orderIdGenerator = orderIdGenerator;
+        this.submissionKeys = submissionKeys;
+        this.readConsistency = readConsistency;
+        this.pendingAckTracker = pendingAckTracker;
+        this.searchIndex = searchIndex;
+        this.replicaReads = new TransactionTemplate(transactionManager);
+        this.replicaReads.setReadOnly(true);
+        // Not read-only, so the routing data source hands out a primary connection
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.observationRegistry = observationRegistry;
     }
 
     @Transactional
     public ProductionOrder createOrder(BookDetails bookDetails) {
+        return createOrder(bookDetails, null);
+    }
+
+    /**
+     * Creates an order for a submission that may be delivered more than once. With a submission key,
+     * every delivery after the first returns the order the first one created.
+     *
+     * @param submissionKey client-chosen key of the submission, or null
+     */
+    @Transactional
+    public ProductionOrder createOrder(BookDetails bookDetails, String submissionKey) {
         logger.info("Creating order for book: {} with quantity: {}", bookDetails.getTitle(), bookDetails.getQuantity());
+        long orderId = orderIdGenerator.nextId();
+        if (submissionKey != null && !submissionKeys.claim(submissionKey, orderId)) {
+            ProductionOrder existing = submissionKeys.find(submissionKey)
+                    .flatMap(orderRepository::findById)
+                    .orElseThrow(() -> new OrderNotFoundException("Order of submission " + submissionKey + " is not found"));
+            logger.info("Submission {} already created order {}", submissionKey, existing.getId());
+            return existing;
+        }
+        observeCommit();
 
-        ProductionOrder order = ProductionOrder.createOrder(bookDetails);
+        ProductionOrder order = ProductionOrder.createOrder(orderId, bookDetails);
 
-        ProductionOrder savedOrder = orderRepository.save(order);
+        OrderPersistEvent persistEvent = new OrderPersistEvent();
+        persistEvent.begin();
+        ProductionOrder savedOrder = observe("orders.persist", () -> orderRepository.save(order));
+        persistEvent.end(savedOrder.getId(), 1);
         logger.info("Order persisted with ID: {}", savedOrder.getId());
+        searchIndex.add(savedOrder);
 
         Map<String, Object> orderCreatedEvent = OrderEventPayloadMapper.buildOrderCreatedEvent(savedOrder);
 
-        String eventKey = String.valueOf(savedOrder.getId());
-        try {
-            eventPublisher.publish(ORDER_CREATED_TOPIC, eventKey, orderCreatedEvent);
-            logger.info("OrderCreated event published for order ID: {}", savedOrder.getId());
-        } catch (Exception ex) {
-            logger.warn("Kafka not available or publish failed. Continuing without event publication. Cause: {}", ex.toString());
-        }
+        pendingAckTracker.track(savedOrder.getId());
+        afterCommit(() -> Observation.createNotStarted("orders.publish", observationRegistry)
+                .observe(() -> publishOrderCreated(savedOrder.getId(), orderCreatedEvent)));
 
-        savedOrder.markAsOrchestrated();
-        orderRepository.save(savedOrder);
+        OrderTransitionEvent transitionEvent = new OrderTransitionEvent();
+        transitionEvent.begin();
+        observe("orders.mark-orchestrated", () -> {
+            savedOrder.markAsOrchestrated();
+            return orderRepository.save(savedOrder);
+        });
+        transitionEvent.end(savedOrder.getId(), OrderState.PENDING, savedOrder.getState());
+        readConsistency.recordWrite(savedOrder);
         logger.info("Order {} marked as ORCHESTRATED", savedOrder.getId());
 
         return savedOrder;
     }
 
+    /**
+     * Creates a chunk of orders in one transaction, used by bulk imports, the gRPC stream and the Kafka intake.
+     * Same lifecycle as {@link #createOrder(BookDetails)}, but each order is inserted once, already
+     * ORCHESTRATED, so the chunk flushes as batched INSERTs without a follow-up UPDATE per row.
+     * The OrderCreated events are published once the surrounding transaction has committed, so a
+     * rolled-back chunk publishes nothing.
+     *
+     * @return number of orders created
+     */
+    @Transactional
+    public int createOrders(List<BookDetails> chunk) {
+        observeCommit();
+        OrderPersistEvent persistEvent = new OrderPersistEvent();
+        persistEvent.begin();
+        Map<Long, Map<String, Object>> orderCreatedEvents = new LinkedHashMap<>();
+        List<ProductionOrder> orders = new ArrayList<>(chunk.size());
+        for (BookDetails bookDetails : chunk) {
+            ProductionOrder order = ProductionOrder.createOrder(orderIdGenerator.nextId(), bookDetails);
+            orderCreatedEvents.put(order.getId(), OrderEventPayloadMapper.buildOrderCreatedEvent(order));
+            pendingAckTracker.track(order.getId());
+
+            order.markAsOrchestrated();
+            orderRepository.save(order);
+            orders.add(order);
+        }
+        searchIndex.addAll(orders);
+        persistEvent.end(orderCreatedEvents.isEmpty() ? 0 : orderCreatedEvents.keySet().iterator().next(), chunk.size());
+        // No readConsistency.recordWrite(): new orders are sent to the primary by their id timestamp
+        // already, and remembering every imported id would grow with the size of the import
+        afterCommit(() -> orderCreatedEvents.forEach(this::publishOrderCreated));
+        logger.debug("Created {} orders in one batch", chunk.size());
+        return chunk.size();
+    }
+
     @Transactional
     @Deprecated
     public ProductionOrder orchestrateOrder(BookDetails bookDetails) {
@@ -72,10 +191,149 @@ public class OrderOrchestrationService {
         return createOrder(bookDetails);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Moves an existing order forward in its lifecycle.
+     *
+     * @throws OrderNotFoundException if the order does not exist
+     * @throws IllegalStateException if the order cannot move to {@code target} from its current state
+     */
+    @Transactional
+    public ProductionOrder transitionOrder(Long orderId, OrderState target) {
+        ProductionOrder order = getOrder(orderId);
+        OrderState previous = order.getState();
+        OrderTransitionEvent transitionEvent = new OrderTransitionEvent();
+        transitionEvent.begin();
+
+        switch (target) {
+            case SCHEDULED -> order.markAsScheduled();
+            default -> throw new IllegalArgumentException("Unsupported target state: " + target);
+        }
+
+        ProductionOrder savedOrder = orderRepository.save(order);
+        transitionEvent.end(orderId, previous, target);
+        readConsistency.recordWrite(savedOrder);
+        logger.info("Order {} moved from {} to {}", orderId, previous, target);
+        return savedOrder;
+    }
+
+    /**
+     * Handles an acknowledgement from orders.acks: moves the order to SCHEDULED and stops redelivery once
+     * that has committed. Duplicate or late acks for orders that already left ORCHESTRATED only stop redelivery.
+     * If the order is not found or the transition fails, the order stays tracked and is redelivered.
+     *
+     * @throws OrderNotFoundException if the order does not exist
+     */
+    @Transactional
+    public void acknowledgeOrder(Long orderId) {
+        ProductionOrder order = getOrder(orderId);
+        if (order.getState() != OrderState.ORCHESTRATED) {
+            logger.debug("Ignoring ack for order {} in state {}", orderId, order.getState());
+            pendingAckTracker.acknowledge(orderId);
+            return;
+        }
+        transitionOrder(orderId, OrderState.SCHEDULED);
+        afterCommit(() -> pendingAckTracker.acknowledge(orderId));
+    }
+
+    private void publishOrderCreated(Long orderId, Map<String, Object> orderCreatedEvent) {
+        OrderPublishEvent publishEvent = new OrderPublishEvent();
+        publishEvent.begin();
+        try {
+            eventPublisher.publish(ORDER_CREATED_TOPIC, String.valueOf(orderId), orderCreatedEvent);
+            publishEvent.end(orderId, ORDER_CREATED_TOPIC, false);
+            logger.debug("OrderCreated event published for order ID: {}", orderId);
+        } catch (Exception ex) {
+            publishEvent.end(orderId, ORDER_CREATED_TOPIC, true);
+            // Still tracked as pending, so the ack tracker redelivers it
+            logger.warn("Kafka not available or publish failed for order {}. Cause: {}", orderId, ex.toString());
+        }
+    }
+
+    private <T> T observe(String name, Supplier<T> action) {
+        return Observation.createNotStarted(name, observationRegistry).observe(action);
+    }
+
+    /**
+     * Traces the commit of the current transaction as an "orders.commit" span. The INSERTs and UPDATEs
+     * of the saves above are only flushed here, so this is where most of the database time shows up.
+     */
+    private void observeCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Observation commit = Observation.createNotStarted("orders.commit", observationRegistry);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean started;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commit.start();
+                started = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (started) {
+                    commit.lowCardinalityKeyValue("outcome", status == STATUS_COMMITTED ? "committed" : "rolled-back");
+                    commit.stop();
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
     public ProductionOrder getOrder(Long orderId) {
-        return orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException("Order is not found: " + orderId));
+        ProductionOrder order = null;
+        if (!readConsistency.requiresPrimary(orderId)) {
+            order = replicaReads.execute(status -> orderRepository.findById(orderId).orElse(null));
+            if (order != null && readConsistency.isStale(order)) {
+                logger.debug("Replica returned version {} of order {}; re-reading from primary", order.getVersion(), orderId);
+                order = null;
+            }
+        }
+        if (order == null) {
+            order = primaryReads.execute(status -> orderRepository.findById(orderId).orElse(null));
+        }
+        if (order == null) {
+            throw new OrderNotFoundException("Order is not found: " + orderId);
+        }
+        return order;
+    }
+
+    /**
+     * Loads orders by id, e.g. the results of an {@link OrderSearchIndex} query. Reads from a replica like
+     * {@link #getOrder(Long)} and re-reads missing or stale orders from the primary.
+     *
+     * @return the orders that exist, in the order of {@code orderIds}
+     */
+    public List<ProductionOrder> getOrders(List<Long> orderIds) {
+        Map<Long, ProductionOrder> found = new HashMap<>();
+        List<Long> replicaIds = orderIds.stream().filter(id -> !readConsistency.requiresPrimary(id)).toList();
+        if (!replicaIds.isEmpty()) {
+            replicaReads.execute(status -> orderRepository.findAllById(replicaIds)).forEach(order -> {
+                if (!readConsistency.isStale(order)) {
+                    found.put(order.getId(), order);
+                }
+            });
+        }
+        List<Long> primaryIds = orderIds.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!primaryIds.isEmpty()) {
+            primaryReads.execute(status -> orderRepository.findAllById(primaryIds))
+                    .forEach(order -> found.put(order.getId(), order));
+        }
+        return orderIds.stream().map(found::get).filter(Objects::nonNull).toList();
     }
 
     public static class OrderNotFoundException extends RuntimeException {
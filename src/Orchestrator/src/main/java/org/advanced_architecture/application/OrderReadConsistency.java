@@ -0,0 +1,85 @@
+package org.advanced_architecture.application;
+
+import org.advanced_architecture.application.port.OrderIdGenerator;
+import org.advanced_architecture.domain.ProductionOrder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes guard for order reads that may be served by a lagging replica.
+ *
+ * Responsibilities:
+ * - Remembers the version of every order this replica wrote during the last window
+ * - Tells the service when a read must go to the primary, and when a replica result is stale
+ *
+ * Behavior:
+ * - Orders created within the window are read from the primary; the creation time is taken
+ *   from the order id, so this also holds for orders created by another Orchestrator replica
+ * - Orders updated by this replica within the window are read from the primary
+ * - A replica result older than the last locally written version counts as stale
+ * - Writes are recorded after commit; expired entries are purged as new writes arrive
+ */
+@Component
+public class OrderReadConsistency {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final OrderIdGenerator orderIdGenerator;
+    private final long windowMillis;
+    private final ConcurrentHashMap<Long, RecentWrite> recentWrites = new ConcurrentHashMap<>();
+
+    public OrderReadConsistency(OrderIdGenerator orderIdGenerator,
+                                @Value("${orchestrator.datasource.read-your-writes-window:10s}") Duration window) {
+        this.orderIdGenerator = orderIdGenerator;
+        this.windowMillis = window.toMillis();
+    }
+
+    /**
+     * Records that {@code order} was written in the current transaction.
+     */
+    public void recordWrite(ProductionOrder order) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(order);
+                }
+            });
+        } else {
+            remember(order);
+        }
+    }
+
+    public boolean requiresPrimary(long orderId) {
+        long now = System.currentTimeMillis();
+        if (now - orderIdGenerator.issuedAtMillis(orderId) < windowMillis) {
+            return true;
+        }
+        RecentWrite write = recentWrites.get(orderId);
+        return write != null && now - write.atMillis() < windowMillis;
+    }
+
+    public boolean isStale(ProductionOrder replicaRead) {
+        RecentWrite write = recentWrites.get(replicaRead.getId());
+        return write != null && replicaRead.getVersion() != null && replicaRead.getVersion() < write.version();
+    }
+
+    private void remember(ProductionOrder order) {
+        if (order.getId() == null || order.getVersion() == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        recentWrites.merge(order.getId(), new RecentWrite(order.getVersion(), now),
+                (previous, latest) -> latest.version() >= previous.version() ? latest : previous);
+        if (recentWrites.size() > PURGE_THRESHOLD) {
+            recentWrites.values().removeIf(write -> now - write.atMillis() >= windowMillis);
+        }
+    }
+
+    private record RecentWrite(long version, long atMillis) {}
+}
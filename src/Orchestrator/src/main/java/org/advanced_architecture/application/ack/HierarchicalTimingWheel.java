@@ -0,0 +1,177 @@
+package org.advanced_architecture.application.ack;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel over primitive arrays (Varghese and Lauck, scheme 7).
+ *
+ * Timers are (key, tag) pairs with a deadline. Level 0 has wheelSize slots of one tick each,
+ * every higher level has wheelSize slots of wheelSize times the span of the level below.
+ * A timer is placed on the lowest level whose range covers its deadline and is cascaded
+ * one level down each time the wheel reaches its slot, so every timer is touched at most
+ * once per level regardless of how many timers are pending.
+ *
+ * Behavior:
+ * - Timers cannot be cancelled; callers keep the authoritative state and ignore stale
+ *   expiries (the tag is meant for that, e.g. an attempt number)
+ * - Deadlines beyond the top level are parked in its furthest slot and re-placed when it cascades
+ * - Deadlines in the past fire on the next tick
+ * - Not thread-safe; callers serialize access
+ */
+public final class HierarchicalTimingWheel {
+
+    /**
+     * Receives expired timers from {@link #advance(long, ExpiryHandler)}.
+     */
+    @FunctionalInterface
+    public interface ExpiryHandler {
+        void onExpiry(long key, int tag);
+    }
+
+    private static final int TICK_BITS = 40;
+    private static final long TICK_MASK = (1L << TICK_BITS) - 1;
+    private static final int MAX_TAG = (1 << (63 - TICK_BITS)) - 1;
+
+    private final long startMillis;
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final int levels;
+    private final Bucket[][] wheels;
+    private long currentTick;
+    private long size;
+
+    /**
+     * @param startMillis wall-clock time of tick 0
+     * @param tickMillis resolution of level 0
+     * @param wheelSizeBits log2 of the slots per level (e.g. 6 for 64 slots)
+     * @param levels number of levels; the wheel covers tickMillis * 2^(wheelSizeBits * levels)
+     */
+    public HierarchicalTimingWheel(long startMillis, long tickMillis, int wheelSizeBits, int levels) {
+        if (tickMillis <= 0 || wheelSizeBits <= 0 || levels <= 0 || wheelSizeBits * levels > 40) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.startMillis = startMillis;
+        this.tickMillis = tickMillis;
+        this.bits = wheelSizeBits;
+        this.mask = (1 << wheelSizeBits) - 1;
+        this.levels = levels;
+        this.wheels = new Bucket[levels][1 << wheelSizeBits];
+        for (Bucket[] wheel : wheels) {
+            for (int slot = 0; slot < wheel.length; slot++) {
+                wheel[slot] = new Bucket();
+            }
+        }
+    }
+
+    public void schedule(long key, long deadlineMillis, int tag) {
+        if (tag < 0 || tag > MAX_TAG) {
+            throw new IllegalArgumentException("tag out of range: " + tag);
+        }
+        long deadlineTick = Math.max(ceilTicks(deadlineMillis), currentTick + 1);
+        place(key, deadlineTick, tag);
+        size++;
+    }
+
+    /**
+     * Advances the wheel to {@code nowMillis}, handing every timer that expired on the way to {@code handler}.
+     *
+     * @return number of timers that expired
+     */
+    public int advance(long nowMillis, ExpiryHandler handler) {
+        long targetTick = Math.max(0, (nowMillis - startMillis) / tickMillis);
+        int expired = 0;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(wheels[level][(int) (currentTick >>> (bits * level)) & mask]);
+                }
+            }
+            Bucket due = wheels[0][(int) currentTick & mask];
+            int count = due.size;
+            long[] keys = due.keys;
+            long[] meta = due.meta;
+            due.detach();
+            for (int i = 0; i < count; i++) {
+                long deadlineTick = meta[i] & TICK_MASK;
+                int tag = (int) (meta[i] >>> TICK_BITS);
+                if (deadlineTick <= currentTick) {
+                    size--;
+                    expired++;
+                    handler.onExpiry(keys[i], tag);
+                } else {
+                    place(keys[i], deadlineTick, tag);
+                }
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Number of scheduled timers, including ones whose key the caller no longer cares about.
+     */
+    public long size() {
+        return size;
+    }
+
+    private void cascade(Bucket bucket) {
+        int count = bucket.size;
+        long[] keys = bucket.keys;
+        long[] meta = bucket.meta;
+        bucket.detach();
+        for (int i = 0; i < count; i++) {
+            long deadlineTick = meta[i] & TICK_MASK;
+            place(keys[i], Math.max(deadlineTick, currentTick), (int) (meta[i] >>> TICK_BITS));
+        }
+    }
+
+    private void place(long key, long deadlineTick, int tag) {
+        long meta = ((long) tag << TICK_BITS) | (deadlineTick & TICK_MASK);
+        for (int level = 0; level < levels; level++) {
+            int shift = bits * level;
+            // A timer cascaded onto the tick being processed lands in that tick's level-0 slot and fires now
+            if ((deadlineTick >>> shift) - (currentTick >>> shift) <= mask) {
+                wheels[level][(int) (deadlineTick >>> shift) & mask].add(key, meta);
+                return;
+            }
+        }
+        // Beyond the top level: park in its furthest slot and re-place on cascade
+        int top = levels - 1;
+        wheels[top][(int) ((currentTick >>> (bits * top)) + mask) & mask].add(key, meta);
+    }
+
+    private long ceilTicks(long millis) {
+        long relative = millis - startMillis;
+        return relative <= 0 ? 0 : (relative + tickMillis - 1) / tickMillis;
+    }
+
+    /**
+     * Growable pair of primitive arrays; detach() hands the arrays to the caller and starts over.
+     */
+    private static final class Bucket {
+
+        private static final long[] EMPTY = new long[0];
+
+        long[] keys = EMPTY;
+        long[] meta = EMPTY;
+        int size;
+
+        void add(long key, long value) {
+            if (size == keys.length) {
+                int capacity = Math.max(8, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                meta = Arrays.copyOf(meta, capacity);
+            }
+            keys[size] = key;
+            meta[size] = value;
+            size++;
+        }
+
+        void detach() {
+            keys = EMPTY;
+            meta = EMPTY;
+            size = 0;
+        }
+    }
+}
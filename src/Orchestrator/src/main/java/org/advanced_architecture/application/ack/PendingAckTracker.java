@@ -0,0 +1,344 @@
+package org.advanced_architecture.application.ack;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.advanced_architecture.application.mapper.OrderEventPayloadMapper;
+import org.advanced_architecture.application.port.EventPublisher;
+import org.advanced_architecture.application.port.OrderIdGenerator;
+import org.advanced_architecture.application.port.OrderRepository;
+import org.advanced_architecture.domain.OrderState;
+import org.advanced_architecture.domain.OrderTimeline;
+import org.advanced_architecture.domain.ProductionOrder;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.LongArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks OrderCreated events that still wait for an acknowledgement on orders.acks and redelivers them.
+ *
+ * Responsibilities:
+ * - Keeps every unacknowledged order id in a primitive {@link Long2LongHashMap}
+ *   (attempt count and first publish time packed into one long, ~25 bytes per order)
+ * - Checks ack deadlines with a {@link HierarchicalTimingWheel}
+ * - Republishes the OrderCreated event for overdue orders with exponential backoff, up to max-attempts
+ * - Rebuilds the pending set on startup from the ORCHESTRATED orders issued under this replica's node id
+ *
+ * Behavior:
+ * - Tracking starts before the event is published, so an ack can never overtake its tracking entry;
+ *   a rolled-back order is forgotten again
+ * - Expired timers are collected under the lock and redelivered outside it; an order that has left
+ *   ORCHESTRATED in the meantime (acknowledged via another replica) is dropped instead
+ * - After max-attempts the order is dropped from tracking and counted as exhausted; it is picked up
+ *   again by the next startup rebuild
+ * - The rebuild takes only orders whose id carries this replica's node id, so each overdue order is
+ *   redelivered by one replica, not by all of them. A restarted or replacement replica usually leases
+ *   the node id it had before and takes over its orders; orders of a node id no replica holds any
+ *   more wait until one leases it again
+ * - Redelivery is at-least-once: consumers of orders.created must be idempotent on order_id
+ *
+ * Metrics:
+ * - orders.ack.pending: orders waiting for an ack
+ * - orders.ack.latency: first publish to ack
+ * - orders.ack.redelivered, orders.ack.exhausted, orders.ack.unknown (acks for untracked orders)
+ */
+@Component
+public class PendingAckTracker implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PendingAckTracker.class);
+
+    private static final String ORDER_CREATED_TOPIC = "orders.created";
+    private static final long MISSING = -1;
+    private static final int ATTEMPT_SHIFT = 48;
+    private static final long TIME_MASK = (1L << ATTEMPT_SHIFT) - 1;
+    /** 2020-01-01T00:00Z; first publish times are stored relative to this. */
+    private static final long BASE_MILLIS = 1_577_836_800_000L;
+
+    private final OrderRepository orderRepository;
+    private final EventPublisher eventPublisher;
+    private final OrderIdGenerator orderIdGenerator;
+    private final TransactionTemplate primaryReads;
+    private final boolean enabled;
+    private final long timeoutMillis;
+    private final long maxBackoffMillis;
+    private final int maxAttempts;
+    private final long tickMillis;
+
+    private final Long2LongHashMap pending = new Long2LongHashMap(MISSING);
+    private final HierarchicalTimingWheel wheel;
+    private final LongArrayList due = new LongArrayList();
+    private final LongArrayList exhausted = new LongArrayList();
+
+    private final Timer ackLatency;
+    private final Counter redelivered;
+    private final Counter exhaustedCounter;
+    private final Counter unknownAcks;
+
+    private volatile Thread ticker;
+    private volatile boolean running;
+
+    public PendingAckTracker(OrderRepository orderRepository,
+                             EventPublisher eventPublisher,
+                             OrderIdGenerator orderIdGenerator,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${orchestrator.acks.enabled:true}") boolean enabled,
+                             @Value("${orchestrator.acks.timeout:30s}") Duration timeout,
+                             @Value("${orchestrator.acks.max-backoff:10m}") Duration maxBackoff,
+                             @Value("${orchestrator.acks.max-attempts:5}") int maxAttempts,
+                             @Value("${orchestrator.acks.tick:100ms}") Duration tick) {
+        this.orderRepository = orderRepository;
+        this.eventPublisher = eventPublisher;
+        this.orderIdGenerator = orderIdGenerator;
+        this.primaryReads = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.maxAttempts = maxAttempts;
+        this.tickMillis = tick.toMillis();
+        // 64 slots x 4 levels at 100 ms covers ~19 days
+        this.wheel = new HierarchicalTimingWheel(System.currentTimeMillis(), tickMillis, 6, 4);
+
+        Gauge.builder("orders.ack.pending", this, PendingAckTracker::pendingCount)
+                .description("OrderCreated events waiting for an acknowledgement")
+                .register(meterRegistry);
+        this.ackLatency = Timer.builder("orders.ack.latency")
+                .description("Time from first OrderCreated publish to its acknowledgement")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+        this.redelivered = Counter.builder("orders.ack.redelivered")
+                .description("OrderCreated events republished after an ack timeout")
+                .register(meterRegistry);
+        this.exhaustedCounter = Counter.builder("orders.ack.exhausted")
+                .description("Orders dropped from ack tracking after max attempts")
+                .register(meterRegistry);
+        this.unknownAcks = Counter.builder("orders.ack.unknown")
+                .description("Acknowledgements for orders this replica does not track")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts tracking an order whose OrderCreated event is about to be published.
+     * Inside a transaction, the entry is removed again if the transaction does not commit.
+     */
+    public void track(long orderId) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            pending.put(orderId, pack(1, now));
+            wheel.schedule(orderId, now + timeoutMillis, 1);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        forget(orderId);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Records an acknowledgement.
+     *
+     * @return true if the order was pending on this replica
+     */
+    public boolean acknowledge(long orderId) {
+        long value;
+        synchronized (this) {
+            value = pending.remove(orderId);
+        }
+        if (value == MISSING) {
+            unknownAcks.increment();
+            return false;
+        }
+        ackLatency.record(Math.max(0, System.currentTimeMillis() - firstPublishedMillis(value)), TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    public synchronized void forget(long orderId) {
+        pending.remove(orderId);
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        rebuild();
+        running = true;
+        ticker = new Thread(this::runTicker, "order-ack-ticker");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = ticker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Rebuilt before the web server and the ack listener start
+        return 0;
+    }
+
+    private void rebuild() {
+        long now = System.currentTimeMillis();
+        long[] restored = new long[1];
+        try {
+            int nodeId = orderIdGenerator.nodeId();
+            orderRepository.forEachTimeline(OrderState.ORCHESTRATED, timeline -> {
+                if (orderIdGenerator.nodeIdOf(timeline.id()) == nodeId) {
+                    restore(timeline, now);
+                    restored[0]++;
+                }
+            });
+            logger.info("Restored {} orders of node {} awaiting acknowledgement", restored[0], nodeId);
+        } catch (RuntimeException ex) {
+            logger.warn("Could not restore pending acknowledgements after {} orders. Cause: {}",
+                    restored[0], ex.toString());
+        }
+    }
+
+    private void restore(OrderTimeline timeline, long now) {
+        long publishedAt = timeline.orchestratedAt() != null
+                ? timeline.orchestratedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : now;
+        long deadline = publishedAt + timeoutMillis;
+        if (deadline <= now) {
+            // Spread overdue orders over one timeout instead of republishing them all at once
+            deadline = now + ThreadLocalRandom.current().nextLong(timeoutMillis + 1);
+        }
+        synchronized (this) {
+            pending.put(timeline.id(), pack(1, publishedAt));
+            wheel.schedule(timeline.id(), deadline, 1);
+        }
+    }
+
+    private void runTicker() {
+        while (running) {
+            try {
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long now = System.currentTimeMillis();
+            synchronized (this) {
+                wheel.advance(now, (orderId, attempt) -> onDeadline(orderId, attempt, now));
+            }
+            drain();
+        }
+    }
+
+    private void onDeadline(long orderId, int attempt, long now) {
+        long value = pending.get(orderId);
+        if (value == MISSING || attempts(value) != attempt) {
+            return; // acknowledged or rescheduled since
+        }
+        if (attempt >= maxAttempts) {
+            pending.remove(orderId);
+            exhausted.addLong(orderId);
+            return;
+        }
+        int next = attempt + 1;
+        pending.put(orderId, pack(next, firstPublishedMillis(value)));
+        wheel.schedule(orderId, now + backoffMillis(next), next);
+        due.addLong(orderId);
+    }
+
+    private void drain() {
+        long[] redeliver;
+        long[] dropped;
+        synchronized (this) {
+            redeliver = due.toLongArray();
+            dropped = exhausted.toLongArray();
+            due.clear();
+            exhausted.clear();
+        }
+        for (long orderId : dropped) {
+            exhaustedCounter.increment();
+            logger.error("Order {} was not acknowledged after {} attempts; giving up until the next restart",
+                    orderId, maxAttempts);
+        }
+        for (long orderId : redeliver) {
+            try {
+                redeliver(orderId);
+            } catch (RuntimeException ex) {
+                logger.warn("Redelivery of order {} failed; retrying at the next deadline. Cause: {}",
+                        orderId, ex.toString());
+            }
+        }
+    }
+
+    private void redeliver(long orderId) {
+        ProductionOrder order = primaryReads.execute(status -> orderRepository.findById(orderId).orElse(null));
+        if (order == null || order.getState() != OrderState.ORCHESTRATED) {
+            forget(orderId);
+            return;
+        }
+        int attempt;
+        synchronized (this) {
+            long value = pending.get(orderId);
+            if (value == MISSING) {
+                return;
+            }
+            attempt = attempts(value);
+        }
+        Map<String, Object> event = OrderEventPayloadMapper.buildOrderCreatedEvent(order);
+        event.put("delivery_attempt", attempt);
+        eventPublisher.publish(ORDER_CREATED_TOPIC, String.valueOf(orderId), event);
+        redelivered.increment();
+        logger.info("Redelivered OrderCreated for order {} (attempt {}/{})", orderId, attempt, maxAttempts);
+    }
+
+    private long backoffMillis(int attempt) {
+        long backoff = timeoutMillis << Math.min(attempt - 1, 20);
+        return Math.min(backoff, maxBackoffMillis);
+    }
+
+    private static long pack(int attempts, long firstPublishedMillis) {
+        return ((long) attempts << ATTEMPT_SHIFT) | ((firstPublishedMillis - BASE_MILLIS) & TIME_MASK);
+    }
+
+    private static int attempts(long value) {
+        return (int) (value >>> ATTEMPT_SHIFT);
+    }
+
+    private static long firstPublishedMillis(long value) {
+        return (value & TIME_MASK) + BASE_MILLIS;
+    }
+}
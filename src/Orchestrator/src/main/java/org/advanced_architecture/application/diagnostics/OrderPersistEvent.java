@@ -0,0 +1,35 @@
+package org.advanced_architecture.application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for saving new orders (one order, or a bulk chunk). The INSERTs are flushed on commit,
+ * so a slow database shows up in the transaction rather than here.
+ */
+@Name("org.advanced_architecture.OrderPersist")
+@Label("Order Persist")
+@Description("New orders saved by OrderOrchestrationService")
+@Category({"Advanced Architecture", "Orchestrator"})
+@StackTrace(false)
+public class OrderPersistEvent extends Event {
+
+    @Label("Order Id")
+    @Description("Id of the (first) order")
+    long orderId;
+
+    @Label("Orders")
+    int orders;
+
+    public void end(long orderId, int orders) {
+        if (shouldCommit()) {
+            this.orderId = orderId;
+            this.orders = orders;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.advanced_architecture.application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for handing an order's event to the {@link org.advanced_architecture.application.port.EventPublisher}.
+ */
+@Name("org.advanced_architecture.OrderPublish")
+@Label("Order Publish")
+@Category({"Advanced Architecture", "Orchestrator"})
+@StackTrace(false)
+public class OrderPublishEvent extends Event {
+
+    @Label("Order Id")
+    long orderId;
+
+    @Label("Topic")
+    String topic;
+
+    @Label("Failed")
+    boolean failed;
+
+    public void end(long orderId, String topic, boolean failed) {
+        if (shouldCommit()) {
+            this.orderId = orderId;
+            this.topic = topic;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
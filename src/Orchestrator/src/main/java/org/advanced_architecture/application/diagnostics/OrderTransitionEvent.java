@@ -0,0 +1,35 @@
+package org.advanced_architecture.application.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for moving an order to its next state and saving it.
+ */
+@Name("org.advanced_architecture.OrderTransition")
+@Label("Order Transition")
+@Category({"Advanced Architecture", "Orchestrator"})
+@StackTrace(false)
+public class OrderTransitionEvent extends Event {
+
+    @Label("Order Id")
+    long orderId;
+
+    @Label("From State")
+    String fromState;
+
+    @Label("To State")
+    String toState;
+
+    public void end(long orderId, Enum<?> fromState, Enum<?> toState) {
+        if (shouldCommit()) {
+            this.orderId = orderId;
+            this.fromState = fromState != null ? fromState.name() : null;
+            this.toState = toState.name();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.advanced_architecture.application.imports;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Progress of one bulk order import.
+ *
+ * Provides:
+ * - Row counters (read, imported, rejected) updated while the import runs
+ * - Throughput in imported rows per second, up to now or up to the end of the import
+ * - The first rejected rows with line number and reason (bounded, so a bad file stays cheap)
+ *
+ * Behavior:
+ * - Starts RUNNING and ends exactly once, in COMPLETED or FAILED
+ * - Rows of a chunk that failed to persist are neither imported nor rejected
+ */
+public class ImportJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    public record Rejection(long line, String reason) {}
+
+    private final String id;
+    private final String format;
+    private final Instant startedAt = Instant.now();
+    private final long startedNanos = System.nanoTime();
+    private final int maxRejections;
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsRejected = new AtomicLong();
+    private final List<Rejection> rejections = new ArrayList<>();
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.RUNNING);
+
+    private volatile Instant finishedAt;
+    private volatile long finishedNanos;
+    private volatile String failure;
+
+    ImportJob(String id, String format, int maxRejections) {
+        this.id = id;
+        this.format = format;
+        this.maxRejections = maxRejections;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void rowsImported(int count) {
+        rowsImported.addAndGet(count);
+    }
+
+    void rowRejected(long line, String reason) {
+        rowsRejected.incrementAndGet();
+        synchronized (rejections) {
+            if (rejections.size() < maxRejections) {
+                rejections.add(new Rejection(line, reason));
+            }
+        }
+    }
+
+    boolean complete() {
+        return finish(Status.COMPLETED, null);
+    }
+
+    boolean fail(String reason) {
+        return finish(Status.FAILED, reason);
+    }
+
+    private boolean finish(Status outcome, String reason) {
+        if (!status.compareAndSet(Status.RUNNING, outcome)) {
+            return false;
+        }
+        failure = reason;
+        finishedNanos = System.nanoTime();
+        finishedAt = Instant.now();
+        return true;
+    }
+
+    public String getId() { return id; }
+    public String getFormat() { return format; }
+    public Status getStatus() { return status.get(); }
+    public boolean isRunning() { return status.get() == Status.RUNNING; }
+    public long getRowsRead() { return rowsRead.get(); }
+    public long getRowsImported() { return rowsImported.get(); }
+    public long getRowsRejected() { return rowsRejected.get(); }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public String getFailure() { return failure; }
+
+    public List<Rejection> getRejections() {
+        synchronized (rejections) {
+            return List.copyOf(rejections);
+        }
+    }
+
+    public double getRowsPerSecond() {
+        long end = finishedAt != null ? finishedNanos : System.nanoTime();
+        long elapsedNanos = Math.max(1, end - startedNanos);
+        return rowsImported.get() * 1_000_000_000.0 / elapsedNanos;
+    }
+}
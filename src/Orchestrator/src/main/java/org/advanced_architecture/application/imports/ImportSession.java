@@ -0,0 +1,159 @@
+package org.advanced_architecture.application.imports;
+
+import io.micrometer.core.instrument.Counter;
+import org.advanced_architecture.application.OrderOrchestrationService;
+import org.advanced_architecture.domain.BookDetails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hand-off between the thread reading an upload and the worker that persists it.
+ *
+ * Responsibilities:
+ * - Collects accepted rows into chunks of chunk-size orders
+ * - Passes full chunks to the worker through a queue of queue-chunks entries
+ * - Persists each chunk with {@link OrderOrchestrationService#createOrders(List)} on the worker
+ *
+ * Behavior:
+ * - The reader blocks while the queue is full, so an upload is read no faster than it is persisted
+ *   and memory stays at (queue-chunks + 2) x chunk-size rows whatever the file size
+ * - An empty chunk marks the end of the upload
+ * - A failing chunk fails the job; the blocked reader then gets an {@link ImportAbortedException}
+ * - Chunks committed before a failure stay imported
+ */
+public class ImportSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportSession.class);
+
+    private static final long OFFER_POLL_MILLIS = 200;
+
+    private final ImportJob job;
+    private final int chunkSize;
+    private final BlockingQueue<List<BookDetails>> chunks;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+    private List<BookDetails> current;
+
+    ImportSession(ImportJob job, int chunkSize, int queueChunks, Counter importedRows, Counter rejectedRows) {
+        this.job = job;
+        this.chunkSize = chunkSize;
+        this.chunks = new ArrayBlockingQueue<>(queueChunks);
+        this.importedRows = importedRows;
+        this.rejectedRows = rejectedRows;
+        this.current = new ArrayList<>(chunkSize);
+    }
+
+    public ImportJob job() {
+        return job;
+    }
+
+    /**
+     * Adds a valid row; blocks while the worker is {@code queue-chunks} chunks behind.
+     *
+     * @throws ImportAbortedException if the job failed in the meantime
+     */
+    public void accept(BookDetails bookDetails) {
+        job.rowRead();
+        current.add(bookDetails);
+        if (current.size() >= chunkSize) {
+            enqueue(current);
+            current = new ArrayList<>(chunkSize);
+        }
+    }
+
+    /**
+     * Records a row that failed parsing or validation.
+     *
+     * @throws ImportAbortedException if the job failed in the meantime
+     */
+    public void reject(long line, String reason) {
+        if (!job.isRunning()) {
+            throw new ImportAbortedException(job.getFailure());
+        }
+        job.rowRead();
+        job.rowRejected(line, reason);
+        rejectedRows.increment();
+    }
+
+    /**
+     * Marks the end of the upload; the worker completes the job after the last queued chunk.
+     */
+    public ImportJob finish() {
+        if (!current.isEmpty()) {
+            enqueue(current);
+            current = new ArrayList<>(0);
+        }
+        enqueue(List.of());
+        return job;
+    }
+
+    /**
+     * Fails the job because the upload could not be read to the end.
+     */
+    public void abort(String reason) {
+        if (job.fail(reason)) {
+            logger.warn("Import {} aborted: {}", job.getId(), reason);
+        }
+        // Wake the worker if it is waiting for the next chunk
+        chunks.offer(List.of());
+    }
+
+    private void enqueue(List<BookDetails> chunk) {
+        try {
+            while (!chunks.offer(chunk, OFFER_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!job.isRunning()) {
+                    throw new ImportAbortedException(job.getFailure());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort("Import interrupted");
+            throw new ImportAbortedException(job.getFailure());
+        }
+        if (!job.isRunning()) {
+            throw new ImportAbortedException(job.getFailure());
+        }
+    }
+
+    void drain(OrderOrchestrationService orchestrationService) {
+        try {
+            while (true) {
+                List<BookDetails> chunk = chunks.take();
+                if (!job.isRunning()) {
+                    return;
+                }
+                if (chunk.isEmpty()) {
+                    job.complete();
+                    logger.info("Import {} completed: {} imported, {} rejected, {} rows/s",
+                            job.getId(), job.getRowsImported(), job.getRowsRejected(),
+                            Math.round(job.getRowsPerSecond()));
+                    return;
+                }
+                int created = orchestrationService.createOrders(chunk);
+                job.rowsImported(created);
+                importedRows.increment(created);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Import interrupted");
+        } catch (RuntimeException e) {
+            logger.error("Import {} failed after {} rows: {}", job.getId(), job.getRowsImported(), e.getMessage(), e);
+            job.fail("Failed to persist orders: " + e.getMessage());
+        } finally {
+            // Let a blocked reader notice the outcome and free the queued chunks
+            chunks.clear();
+        }
+    }
+
+    public static class ImportAbortedException extends RuntimeException {
+        public ImportAbortedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.advanced_architecture.application.imports;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.advanced_architecture.application.OrderOrchestrationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs bulk order imports and keeps track of their progress.
+ *
+ * Responsibilities:
+ * - Opens an {@link ImportSession} per upload and starts its persisting worker
+ * - Limits the number of concurrent imports to max-concurrent-jobs
+ * - Keeps finished jobs queryable for the retention period
+ *
+ * Behavior:
+ * - A new import beyond max-concurrent-jobs is refused with {@link ImportCapacityExceededException}
+ * - Jobs live in memory on the replica that ran the import; they do not survive a restart
+ *
+ * Metrics:
+ * - orders.import.rows{outcome="imported"|"rejected"}: rows processed by bulk imports
+ * - orders.import.active: imports currently running
+ */
+@Service
+public class OrderImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderImportService.class);
+
+    private final OrderOrchestrationService orchestrationService;
+    private final int chunkSize;
+    private final int queueChunks;
+    private final int maxRejections;
+    private final Duration retention;
+
+    private final ConcurrentHashMap<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor workers;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    public OrderImportService(OrderOrchestrationService orchestrationService,
+                              MeterRegistry meterRegistry,
+                              @Value("${orchestrator.imports.chunk-size:500}") int chunkSize,
+                              @Value("${orchestrator.imports.queue-chunks:4}") int queueChunks,
+                              @Value("${orchestrator.imports.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                              @Value("${orchestrator.imports.max-rejections:100}") int maxRejections,
+                              @Value("${orchestrator.imports.retention:1h}") Duration retention) {
+        this.orchestrationService = orchestrationService;
+        this.chunkSize = chunkSize;
+        this.queueChunks = queueChunks;
+        this.maxRejections = maxRejections;
+        this.retention = retention;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "order-import-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.importedRows = Counter.builder("orders.import.rows")
+                .tag("outcome", "imported")
+                .description("Rows persisted by bulk order imports")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("orders.import.rows")
+                .tag("outcome", "rejected")
+                .description("Rows rejected by bulk order imports")
+                .register(meterRegistry);
+        Gauge.builder("orders.import.active", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Bulk order imports currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a new import; the caller feeds the returned session and calls finish() or abort().
+     *
+     * @throws ImportCapacityExceededException if max-concurrent-jobs imports are already running
+     */
+    public ImportSession open(String format) {
+        purgeExpired();
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), format, maxRejections);
+        ImportSession session = new ImportSession(job, chunkSize, queueChunks, importedRows, rejectedRows);
+        try {
+            workers.execute(() -> session.drain(orchestrationService));
+        } catch (RejectedExecutionException e) {
+            throw new ImportCapacityExceededException(
+                    "Too many imports running (max " + workers.getMaximumPoolSize() + "), try again later");
+        }
+        jobs.put(job.getId(), job);
+        logger.info("Import {} started ({})", job.getId(), format);
+        return session;
+    }
+
+    public Optional<ImportJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public static class ImportCapacityExceededException extends RuntimeException {
+        public ImportCapacityExceededException(String message) {
+            super(message);
+        }
+    }
+}
@@ -36,6 +36,8 @@ public final class OrderEventPayloadMapper {
      * Notes:
      * - book_id is currently not part of our domain; we publish null for now and will populate when available.
      * - status is the lowercase of domain state (e.g., PENDING -> "pending").
+     * - ack_required: consumers acknowledge on "orders.acks"; unacknowledged events are redelivered
+     *   with an extra "delivery_attempt" field (see PendingAckTracker).
      */
     public static Map<String, Object> buildOrderCreatedEvent(ProductionOrder order) {
         Map<String, Object> event = new HashMap<>();
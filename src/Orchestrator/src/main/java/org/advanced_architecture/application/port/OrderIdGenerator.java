@@ -0,0 +1,42 @@
+package org.advanced_architecture.application.port;
+
+/**
+ * Port interface for assigning production order ids.
+ *
+ * Ids are assigned by the application before the order is persisted, so the
+ * order can be inserted in JDBC batches and its Kafka key is known up front.
+ */
+public interface OrderIdGenerator {
+    /**
+     * Returns a new id, unique across all Orchestrator replicas.
+     *
+     * Ids from one generator are strictly increasing.
+     *
+     * @return the next order id
+     * @throws IllegalStateException if no id can be issued safely right now
+     */
+    long nextId();
+
+    /**
+     * Returns when an id was issued, as epoch milliseconds.
+     *
+     * @param id an id returned by {@link #nextId()}
+     * @return the issue time encoded in the id
+     */
+    long issuedAtMillis(long id);
+
+    /**
+     * Returns the node id this generator currently issues ids under.
+     *
+     * @throws IllegalStateException if no node id is held right now
+     */
+    int nodeId();
+
+    /**
+     * Returns the node id of the replica that issued an id.
+     *
+     * @param id an id returned by {@link #nextId()}
+     * @return the node id encoded in the id
+     */
+    int nodeIdOf(long id);
+}
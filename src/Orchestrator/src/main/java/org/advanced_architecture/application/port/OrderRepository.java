@@ -1,8 +1,15 @@
 package org.advanced_architecture.application.port;
 
+import org.advanced_architecture.domain.OrderSearchEntry;
+import org.advanced_architecture.domain.OrderState;
+import org.advanced_architecture.domain.OrderTimeline;
 import org.advanced_architecture.domain.ProductionOrder;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 /**
  * Port interface for production order persistence.
  *
@@ -24,10 +31,53 @@ public interface OrderRepository {
      * @return Optional containing the order if found, empty otherwise
      */
     Optional<ProductionOrder> findById(Long id);
+    /**
+     * Finds the orders with the given IDs, in no particular order.
+     *
+     * @param ids the order IDs
+     * @return the orders that exist
+     */
+    List<ProductionOrder> findAllById(Collection<Long> ids);
     /**
      * Deletes an order by its ID.
      *
      * @param id the order ID
      */
     void deleteById(Long id);
+    /**
+     * Streams the state and lifecycle timestamps of every order.
+     *
+     * @param consumer receives one timeline per order
+     */
+    void forEachTimeline(Consumer<OrderTimeline> consumer);
+    /**
+     * Streams the state and lifecycle timestamps of every order currently in {@code state}.
+     *
+     * @param state the state to filter on
+     * @param consumer receives one timeline per matching order
+     */
+    void forEachTimeline(OrderState state, Consumer<OrderTimeline> consumer);
+    /**
+     * Streams the timeline of every order with a lifecycle timestamp in ({@code after}, {@code until}].
+     *
+     * @param after exclusive lower bound of the timestamps
+     * @param until inclusive upper bound of the timestamps
+     * @param consumer receives one timeline per matching order
+     */
+    void forEachTimelineChanged(LocalDateTime after, LocalDateTime until, Consumer<OrderTimeline> consumer);
+    /**
+     * Streams the id, title and author of every order with an id above {@code afterId}, in id order.
+     *
+     * @param afterId exclusive lower bound; Long.MIN_VALUE for all orders
+     * @param consumer receives one entry per order
+     */
+    void forEachSearchEntry(long afterId, Consumer<OrderSearchEntry> consumer);
+    /**
+     * Finds the lower bound of the newest orders: the id of the {@code count + 1}-th highest order.
+     *
+     * @param count number of newest orders
+     * @return exclusive lower bound for {@link #forEachSearchEntry(long, Consumer)} that covers the newest
+     *         {@code count} orders; Long.MIN_VALUE if there are not more than {@code count} orders
+     */
+    long findIdBelowNewest(int count);
 }
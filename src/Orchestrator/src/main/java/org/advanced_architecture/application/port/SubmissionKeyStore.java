@@ -0,0 +1,24 @@
+package org.advanced_architecture.application.port;
+
+import java.util.Optional;
+
+/**
+ * Port interface for remembering which order a client submission created.
+ *
+ * A submission that is delivered more than once under the same key (e.g. a spooled request that the
+ * gateway replays again after a crash, identified by its X-Spool-Id) then creates only one order.
+ */
+public interface SubmissionKeyStore {
+    /**
+     * Claims the key for a new order within the caller's transaction. Waits for a concurrent
+     * transaction holding the same key to finish.
+     *
+     * @return false if the key already belongs to another order
+     */
+    boolean claim(String key, long orderId);
+
+    /**
+     * @return the id of the order created for the key, if any
+     */
+    Optional<Long> find(String key);
+}
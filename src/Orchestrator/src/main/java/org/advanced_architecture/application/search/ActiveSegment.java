@@ -0,0 +1,115 @@
+package org.advanced_architecture.application.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The segment new orders are added to, until it holds {@code capacity} orders and is sealed.
+ *
+ * One writer at a time (the index lock), any number of lock-free readers: a doc number is added to
+ * its posting lists before the segment size is raised past it, and readers ignore doc numbers at or
+ * above the size they read.
+ */
+final class ActiveSegment implements IndexSegment {
+
+    /** For adding; the sorted map is only used for prefix walks and only touched for new terms. */
+    private final ConcurrentHashMap<String, Postings> termLookup = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+    private final long[] orderIds;
+    private volatile int size;
+
+    ActiveSegment(int capacity) {
+        this.orderIds = new long[capacity];
+    }
+
+    boolean isFull() {
+        return size == orderIds.length;
+    }
+
+    void add(long orderId, Collection<String> tokens) {
+        int doc = size;
+        orderIds[doc] = orderId;
+        for (String token : tokens) {
+            Postings postings = termLookup.get(token);
+            if (postings == null) {
+                postings = new Postings();
+                termLookup.put(token, postings);
+                terms.put(token, postings);
+            }
+            postings.add(doc);
+        }
+        size = doc + 1;
+    }
+
+    SealedSegment seal() {
+        String[] sealedTerms = new String[terms.size()];
+        int[][] sealedPostings = new int[sealedTerms.length][];
+        int i = 0;
+        for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+            sealedTerms[i] = entry.getKey();
+            sealedPostings[i] = entry.getValue().toArray();
+            i++;
+        }
+        return new SealedSegment(sealedTerms, sealedPostings, Arrays.copyOf(orderIds, size));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long orderId(int doc) {
+        return orderIds[doc];
+    }
+
+    @Override
+    public void cursors(String token, boolean prefix, List<PostingUnion.Cursor> cursors) {
+        if (!prefix) {
+            Postings postings = termLookup.get(token);
+            if (postings != null) {
+                cursors.add(postings.cursor());
+            }
+            return;
+        }
+        for (Map.Entry<String, Postings> entry : terms.tailMap(token).entrySet()) {
+            if (!entry.getKey().startsWith(token)) {
+                break;
+            }
+            cursors.add(entry.getValue().cursor());
+        }
+    }
+
+    /**
+     * Growable posting list; the array is replaced (never shrunk) before the size is raised past it.
+     */
+    private static final class Postings {
+
+        private volatile int[] docs = new int[2];
+        private volatile int size;
+
+        void add(int doc) {
+            int count = size;
+            int[] current = docs;
+            if (count == current.length) {
+                current = Arrays.copyOf(current, count * 2);
+                docs = current;
+            }
+            current[count] = doc;
+            size = count + 1;
+        }
+
+        PostingUnion.Cursor cursor() {
+            int count = size;
+            return new PostingUnion.Cursor(docs, count);
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(docs, size);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.advanced_architecture.application.search;
+
+import java.util.List;
+
+/**
+ * A range of indexed orders with their own doc numbers (0..size-1, in the order they were indexed)
+ * and term dictionary.
+ */
+interface IndexSegment {
+
+    /**
+     * Number of orders in the segment; doc numbers at or above it must be ignored.
+     */
+    int size();
+
+    long orderId(int doc);
+
+    /**
+     * Adds a cursor over the posting list of {@code token}, or of every term starting with it if
+     * {@code prefix} is set.
+     */
+    void cursors(String token, boolean prefix, List<PostingUnion.Cursor> cursors);
+}
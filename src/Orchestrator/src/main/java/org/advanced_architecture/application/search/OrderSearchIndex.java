@@ -0,0 +1,347 @@
+package org.advanced_architecture.application.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.advanced_architecture.application.port.OrderRepository;
+import org.advanced_architecture.domain.OrderSearchEntry;
+import org.advanced_architecture.domain.ProductionOrder;
+import org.agrona.collections.LongHashSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory search index over the title and author of production orders.
+ *
+ * Responsibilities:
+ * - Loads the newest max-orders orders (id, title, author) from the database on startup, before the web
+ *   server starts; older orders would be dropped right away, so they are not read at all
+ * - Adds orders created by this replica once their transaction has committed
+ * - Polls for orders created by other replicas every refresh-interval
+ * - Answers queries with the ids of matching orders, newest first
+ *
+ * Structure:
+ * - Orders get consecutive doc numbers in the order they are indexed (id order on startup, so doc
+ *   order follows creation time) and are grouped into segments of segment-size orders
+ * - New orders go to the active segment (skip-list term dictionary, growable posting lists); a full
+ *   segment is sealed into a sorted term array with exactly-sized int posting lists
+ * - Heap use is bounded by max-orders: when exceeded, the oldest sealed segment is dropped, so only the
+ *   most recent max-orders orders (at least max-orders minus segment-size) can be found
+ *
+ * Query semantics:
+ * - The query is tokenized like titles and authors (see {@link SearchTokenizer}); an order matches
+ *   if every query token matches one of its title or author tokens
+ * - Query tokens of {@value #MIN_PREFIX_LENGTH} or more characters match as prefixes ("tolk" finds
+ *   "Tolkien"), shorter ones only as whole tokens
+ * - Segments are searched newest first, each from its highest doc number down, and the search stops
+ *   after {@code limit} matches, so its cost depends on the limit rather than on the number of matches
+ *
+ * Behavior:
+ * - Readers do not lock; writers (request threads after commit, the refresh thread) take the index lock
+ * - Refresh reads orders with ids above the highest id seen two polls ago, so orders committed late on
+ *   another replica (with a lower id) are still picked up; the ids indexed most recently are remembered
+ *   so the overlap is not indexed twice
+ * - A failed load is logged and continued by the next refresh
+ *
+ * Metrics:
+ * - orders.search.indexed: orders currently searchable
+ * - orders.search.latency: index lookup time per query
+ */
+@Component
+public class OrderSearchIndex implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderSearchIndex.class);
+
+    static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_QUERY_TOKENS = 8;
+    /** Ids remembered to skip the refresh overlap; covers a few polls' worth of orders across replicas. */
+    private static final int RECENT_IDS = 1 << 17;
+
+    private final OrderRepository orderRepository;
+    private final boolean enabled;
+    private final int maxOrders;
+    private final int segmentSize;
+    private final int maxSealedSegments;
+    private final long refreshMillis;
+    private final Timer searchLatency;
+
+    private volatile Segments segments;
+    private final long[] recentRing = new long[RECENT_IDS];
+    private final LongHashSet recentIds = new LongHashSet(RECENT_IDS * 2);
+    private int recentNext;
+    private boolean loaded;
+    private long floor = Long.MIN_VALUE;
+    private long nextFloor = Long.MIN_VALUE;
+
+    private volatile Thread refresher;
+    private volatile boolean running;
+
+    public OrderSearchIndex(OrderRepository orderRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${orchestrator.search.enabled:true}") boolean enabled,
+                            @Value("${orchestrator.search.max-orders:5000000}") int maxOrders,
+                            @Value("${orchestrator.search.segment-size:262144}") int segmentSize,
+                            @Value("${orchestrator.search.refresh-interval:5s}") Duration refreshInterval) {
+        this.orderRepository = orderRepository;
+        this.enabled = enabled;
+        this.maxOrders = maxOrders;
+        this.segmentSize = segmentSize;
+        // Plus the active segment, so at most max-orders orders are held
+        this.maxSealedSegments = Math.max(1, maxOrders / segmentSize - 1);
+        this.refreshMillis = refreshInterval.toMillis();
+        this.segments = new Segments(new ActiveSegment(enabled ? segmentSize : 0), List.of());
+
+        Gauge.builder("orders.search.indexed", this, OrderSearchIndex::indexedCount)
+                .description("Orders that can be found by the order search")
+                .register(meterRegistry);
+        this.searchLatency = Timer.builder("orders.search.latency")
+                .description("Order search index lookup time")
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Indexes a new order. Inside a transaction this is deferred until after commit,
+     * so rolled-back orders are never found.
+     */
+    public void add(ProductionOrder order) {
+        addAll(List.of(order));
+    }
+
+    /**
+     * Indexes new orders, like {@link #add(ProductionOrder)}.
+     */
+    public void addAll(List<ProductionOrder> orders) {
+        if (!enabled || orders.isEmpty()) {
+            return;
+        }
+        List<OrderSearchEntry> entries = new ArrayList<>(orders.size());
+        for (ProductionOrder order : orders) {
+            entries.add(new OrderSearchEntry(order.getId(),
+                    order.getBookDetails().getTitle(), order.getBookDetails().getAuthor()));
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexAll(entries);
+                }
+            });
+        } else {
+            indexAll(entries);
+        }
+    }
+
+    /**
+     * @return ids of up to {@code limit} orders matching every token of {@code query}, newest first
+     */
+    public List<Long> search(String query, int limit) {
+        long started = System.nanoTime();
+        List<String> tokens = new ArrayList<>(SearchTokenizer.tokens(query));
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+        }
+        List<Long> orderIds = new ArrayList<>(Math.min(limit, 128));
+        if (!tokens.isEmpty() && limit > 0) {
+            Segments current = segments;
+            search(current.active(), tokens, limit, orderIds);
+            for (int i = current.sealed().size() - 1; i >= 0 && orderIds.size() < limit; i--) {
+                search(current.sealed().get(i), tokens, limit, orderIds);
+            }
+        }
+        searchLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return orderIds;
+    }
+
+    public int indexedCount() {
+        Segments current = segments;
+        int count = current.active().size();
+        for (SealedSegment segment : current.sealed()) {
+            count += segment.size();
+        }
+        return count;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        refresh();
+        running = true;
+        if (refreshMillis > 0) {
+            refresher = new Thread(this::runRefresher, "order-search-refresh");
+            refresher.setDaemon(true);
+            refresher.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = refresher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Loaded before the web server starts
+        return 0;
+    }
+
+    /**
+     * Walks the intersection of one posting union per query token, from the segment's highest doc down.
+     */
+    private static void search(IndexSegment segment, List<String> tokens, int limit, List<Long> orderIds) {
+        int size = segment.size();
+        if (size == 0) {
+            return;
+        }
+        PostingUnion[] unions = new PostingUnion[tokens.size()];
+        for (int i = 0; i < unions.length; i++) {
+            String token = tokens.get(i);
+            List<PostingUnion.Cursor> cursors = new ArrayList<>();
+            segment.cursors(token, token.length() >= MIN_PREFIX_LENGTH, cursors);
+            if (cursors.isEmpty()) {
+                return;
+            }
+            unions[i] = new PostingUnion(cursors);
+        }
+
+        int target = size - 1;
+        while (target >= 0 && orderIds.size() < limit) {
+            boolean matched = true;
+            for (PostingUnion union : unions) {
+                int doc = union.advance(target);
+                if (doc < 0) {
+                    return;
+                }
+                if (doc < target) {
+                    target = doc;
+                    matched = false;
+                    break;
+                }
+            }
+            if (matched) {
+                orderIds.add(segment.orderId(target));
+                target--;
+            }
+        }
+    }
+
+    private synchronized void indexAll(List<OrderSearchEntry> entries) {
+        for (OrderSearchEntry entry : entries) {
+            index(entry);
+        }
+    }
+
+    private synchronized void index(OrderSearchEntry entry) {
+        if (!rememberRecent(entry.id())) {
+            return;
+        }
+        Segments current = segments;
+        current.active().add(entry.id(), SearchTokenizer.tokens(entry.title(), entry.author()));
+        if (current.active().isFull()) {
+            List<SealedSegment> sealed = new ArrayList<>(current.sealed());
+            sealed.add(current.active().seal());
+            if (sealed.size() > maxSealedSegments) {
+                sealed.remove(0);
+            }
+            segments = new Segments(new ActiveSegment(segmentSize), List.copyOf(sealed));
+        }
+    }
+
+    /**
+     * @return false if the id was indexed recently
+     */
+    private boolean rememberRecent(long orderId) {
+        if (!recentIds.add(orderId)) {
+            return false;
+        }
+        long evicted = recentRing[recentNext];
+        if (evicted != 0) {
+            recentIds.remove(evicted);
+        }
+        recentRing[recentNext] = orderId;
+        recentNext = (recentNext + 1) % RECENT_IDS;
+        return true;
+    }
+
+    /**
+     * Reads orders above the floor. Only the refresh thread (or start()) calls this, so floor,
+     * nextFloor and loaded need no lock.
+     */
+    private void refresh() {
+        long started = System.nanoTime();
+        long[] highest = {floor};
+        int[] read = new int[1];
+        try {
+            if (!loaded && floor == Long.MIN_VALUE) {
+                floor = orderRepository.findIdBelowNewest(maxOrders);
+            }
+            orderRepository.forEachSearchEntry(floor, entry -> {
+                index(entry);
+                highest[0] = Math.max(highest[0], entry.id());
+                read[0]++;
+            });
+        } catch (RuntimeException ex) {
+            logger.warn("Could not {} the order search index after {} orders. Cause: {}",
+                    loaded ? "refresh" : "load", read[0], ex.toString());
+            if (!loaded) {
+                // Rows arrive in id order, so the next attempt continues where this one stopped
+                floor = highest[0];
+            }
+            return;
+        }
+        if (!loaded) {
+            loaded = true;
+            floor = highest[0];
+            logger.info("Order search index loaded {} orders in {} ms ({} searchable)",
+                    read[0], (System.nanoTime() - started) / 1_000_000, indexedCount());
+        } else {
+            floor = nextFloor;
+        }
+        nextFloor = highest[0];
+    }
+
+    private void runRefresher() {
+        while (running) {
+            try {
+                Thread.sleep(refreshMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            refresh();
+        }
+    }
+
+    /**
+     * Published as one object, so a query never sees a sealed segment both as active and as sealed.
+     *
+     * @param sealed oldest first
+     */
+    private record Segments(ActiveSegment active, List<SealedSegment> sealed) {
+    }
+}
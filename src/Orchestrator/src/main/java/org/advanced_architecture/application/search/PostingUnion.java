@@ -0,0 +1,80 @@
+package org.advanced_architecture.application.search;
+
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Union of posting lists (ascending doc numbers), walked from the highest doc number downwards,
+ * so the newest matches come first.
+ *
+ * Not thread-safe; one instance per query and segment.
+ */
+final class PostingUnion {
+
+    private final PriorityQueue<Cursor> heap = new PriorityQueue<>(
+            (a, b) -> Integer.compare(b.doc(), a.doc()));
+
+    PostingUnion(List<Cursor> cursors) {
+        for (Cursor cursor : cursors) {
+            if (cursor.doc() >= 0) {
+                heap.add(cursor);
+            }
+        }
+    }
+
+    /**
+     * Moves to the highest doc number at or below {@code target} contained in any of the lists.
+     *
+     * @return that doc number, or -1 if there is none
+     */
+    int advance(int target) {
+        while (!heap.isEmpty() && heap.peek().doc() > target) {
+            Cursor cursor = heap.poll();
+            if (cursor.advance(target) >= 0) {
+                heap.add(cursor);
+            }
+        }
+        return heap.isEmpty() ? -1 : heap.peek().doc();
+    }
+
+    /**
+     * Position in one posting list, moving downwards.
+     */
+    static final class Cursor {
+
+        private final int[] docs;
+        private int index;
+
+        /**
+         * @param docs ascending doc numbers; only the first {@code size} are read
+         */
+        Cursor(int[] docs, int size) {
+            this.docs = docs;
+            this.index = size - 1;
+        }
+
+        int doc() {
+            return index >= 0 ? docs[index] : -1;
+        }
+
+        int advance(int target) {
+            if (index < 0 || docs[index] <= target) {
+                return doc();
+            }
+            int low = 0;
+            int high = index - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (docs[mid] <= target) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            index = found;
+            return doc();
+        }
+    }
+}
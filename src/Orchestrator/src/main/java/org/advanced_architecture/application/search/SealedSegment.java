@@ -0,0 +1,45 @@
+package org.advanced_architecture.application.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable segment: sorted term array with one exactly-sized posting array per term
+ * (about 4 bytes per token occurrence plus the terms themselves).
+ */
+final class SealedSegment implements IndexSegment {
+
+    private final String[] terms;
+    private final int[][] postings;
+    private final long[] orderIds;
+
+    SealedSegment(String[] terms, int[][] postings, long[] orderIds) {
+        this.terms = terms;
+        this.postings = postings;
+        this.orderIds = orderIds;
+    }
+
+    @Override
+    public int size() {
+        return orderIds.length;
+    }
+
+    @Override
+    public long orderId(int doc) {
+        return orderIds[doc];
+    }
+
+    @Override
+    public void cursors(String token, boolean prefix, List<PostingUnion.Cursor> cursors) {
+        int index = Arrays.binarySearch(terms, token);
+        if (!prefix) {
+            if (index >= 0) {
+                cursors.add(new PostingUnion.Cursor(postings[index], postings[index].length));
+            }
+            return;
+        }
+        for (int i = index >= 0 ? index : -index - 1; i < terms.length && terms[i].startsWith(token); i++) {
+            cursors.add(new PostingUnion.Cursor(postings[i], postings[i].length));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.advanced_architecture.application.search;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits titles, authors and queries into search tokens.
+ *
+ * A token is a run of letters and digits, lower-cased, with accents removed ("Márquez" → "marquez")
+ * and cut to {@value #MAX_TOKEN_LENGTH} characters.
+ */
+final class SearchTokenizer {
+
+    static final int MAX_TOKEN_LENGTH = 32;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private SearchTokenizer() {
+        // utility class
+    }
+
+    /**
+     * @return the distinct tokens of all texts, in order of first occurrence
+     */
+    static Set<String> tokens(String... texts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            tokenize(text, tokens);
+        }
+        return tokens;
+    }
+
+    private static void tokenize(String text, Collection<String> tokens) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String normalized = isAscii(text)
+                ? text
+                : MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letterOrDigit = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                tokens.add(normalized.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7f) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
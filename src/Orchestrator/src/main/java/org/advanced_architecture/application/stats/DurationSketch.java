@@ -0,0 +1,124 @@
+package org.advanced_architecture.application.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mergeable, fixed-size quantile sketch for durations in milliseconds.
+ *
+ * Values are counted in logarithmically spaced buckets (bucket k covers
+ * (gamma^(k-1), gamma^k] with gamma = (1 + a) / (1 - a)), so every reported quantile
+ * is within relative error a of a real sample. Bucket boundaries do not depend on the
+ * data, which makes two sketches mergeable by adding their bucket counts.
+ *
+ * Behavior:
+ * - add() is lock-free and safe to call from any thread
+ * - Values below 1 ms land in a dedicated zero bucket
+ * - Values beyond the last bucket (~400 days at 1% accuracy) are clamped into it
+ * - Reading a summary scans a fixed number of buckets, independent of how many values were added
+ */
+public final class DurationSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private static final int BUCKETS = 1_280;
+
+    private final double gamma;
+    private final double logGamma;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS + 1);
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public DurationSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public DurationSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(long millis) {
+        if (millis < 0) {
+            return;
+        }
+        counts.incrementAndGet(bucketOf(millis));
+        sum.addAndGet(millis);
+        max.accumulateAndGet(millis, Math::max);
+    }
+
+    /**
+     * Adds every value of {@code other} to this sketch. Both sketches must use the same accuracy.
+     */
+    public void merge(DurationSketch other) {
+        if (other.gamma != gamma) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        for (int i = 0; i <= BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        sum.addAndGet(other.sum.get());
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    public Summary summary() {
+        long[] snapshot = new long[BUCKETS + 1];
+        long total = 0;
+        for (int i = 0; i <= BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return Summary.EMPTY;
+        }
+        return new Summary(
+                total,
+                (double) sum.get() / total,
+                quantile(snapshot, total, 0.50),
+                quantile(snapshot, total, 0.90),
+                quantile(snapshot, total, 0.99),
+                max.get()
+        );
+    }
+
+    private long quantile(long[] snapshot, long total, double q) {
+        long rank = (long) Math.floor(q * (total - 1));
+        long seen = 0;
+        for (int i = 0; i <= BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen > rank) {
+                return valueOf(i);
+            }
+        }
+        return valueOf(BUCKETS);
+    }
+
+    private int bucketOf(long millis) {
+        if (millis < 1) {
+            return 0;
+        }
+        int key = (int) Math.ceil(Math.log(millis) / logGamma) + 1;
+        return Math.min(key, BUCKETS);
+    }
+
+    private long valueOf(int bucket) {
+        if (bucket == 0) {
+            return 0;
+        }
+        // Midpoint of (gamma^(k-1), gamma^k] in relative terms
+        return Math.round(2 * Math.pow(gamma, bucket - 1) / (gamma + 1));
+    }
+
+    /**
+     * Point-in-time view of a sketch; all durations are in milliseconds.
+     */
+    public record Summary(long count, double mean, long p50, long p90, long p99, long max) {
+        static final Summary EMPTY = new Summary(0, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,242 @@
+package org.advanced_architecture.application.stats;
+
+import org.advanced_architecture.application.port.OrderRepository;
+import org.advanced_architecture.domain.OrderState;
+import org.advanced_architecture.domain.OrderTimeline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Incrementally maintained aggregates over all production orders.
+ *
+ * Responsibilities:
+ * - Keeps a count of orders per {@link OrderState}
+ * - Keeps a {@link DurationSketch} per lifecycle interval (created→orchestrated, orchestrated→scheduled)
+ * - Loads both from the database on startup, before the web server and Kafka start, and polls for
+ *   transitions every refresh-interval, so every replica counts the orders of all replicas
+ *
+ * Behavior:
+ * - Every transition stamps a lifecycle timestamp (createdAt, orchestratedAt, scheduledAt); each poll reads the
+ *   orders with a timestamp in (watermark, now - settle-delay] and applies exactly those transitions, so an order
+ *   is counted in the state it had at the watermark even if it has moved on since
+ * - settle-delay must cover the time between stamping and commit plus replica lag; a transition that only
+ *   becomes visible later than that is missed
+ * - Counts therefore trail the database by settle-delay to settle-delay + refresh-interval
+ * - A poll is applied only once it has read all its rows; a failed poll is logged and retried by the next one
+ * - snapshot() only reads counters and scans fixed-size sketches, so its cost does not grow
+ *   with the number of orders
+ * - The database reads can be switched off (orchestrator.stats.rebuild-on-startup), e.g. for the
+ *   CDS training run which has no database; the aggregates then stay empty
+ */
+@Component
+public class OrderStatistics implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatistics.class);
+
+    private static final OrderState[] STATES = OrderState.values();
+
+    private final OrderRepository orderRepository;
+    private final boolean enabled;
+    private final Duration settleDelay;
+    private final long refreshMillis;
+    private final AtomicLongArray stateCounts = new AtomicLongArray(STATES.length);
+    private final Map<Interval, DurationSketch> durations = new EnumMap<>(Interval.class);
+    private volatile Instant rebuiltAt;
+    private LocalDateTime watermark;
+
+    private volatile Thread refresher;
+    private volatile boolean running;
+
+    public OrderStatistics(OrderRepository orderRepository,
+                           @Value("${orchestrator.stats.rebuild-on-startup:true}") boolean enabled,
+                           @Value("${orchestrator.stats.settle-delay:10s}") Duration settleDelay,
+                           @Value("${orchestrator.stats.refresh-interval:5s}") Duration refreshInterval) {
+        this.orderRepository = orderRepository;
+        this.enabled = enabled;
+        this.settleDelay = settleDelay;
+        this.refreshMillis = refreshInterval.toMillis();
+        for (Interval interval : Interval.values()) {
+            durations.put(interval, new DurationSketch());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            logger.info("Order statistics disabled; no orders are counted");
+            return;
+        }
+        refresh();
+        running = true;
+        if (refreshMillis > 0) {
+            refresher = new Thread(this::runRefresher, "order-stats-refresh");
+            refresher.setDaemon(true);
+            refresher.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = refresher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Loaded before the web server starts
+        return 0;
+    }
+
+    public Snapshot snapshot() {
+        Map<OrderState, Long> counts = new EnumMap<>(OrderState.class);
+        long total = 0;
+        for (OrderState state : STATES) {
+            long count = stateCounts.get(state.ordinal());
+            counts.put(state, count);
+            total += count;
+        }
+        Map<Interval, DurationSketch.Summary> summaries = new EnumMap<>(Interval.class);
+        durations.forEach((interval, sketch) -> summaries.put(interval, sketch.summary()));
+        return new Snapshot(total, counts, summaries, rebuiltAt);
+    }
+
+    /**
+     * Applies the transitions stamped after the watermark. Only the refresh thread (or start()) calls
+     * this, so the watermark needs no lock.
+     */
+    private void refresh() {
+        long started = System.nanoTime();
+        LocalDateTime after = watermark;
+        LocalDateTime until = LocalDateTime.now().minus(settleDelay);
+        Changes changes = new Changes();
+        try {
+            if (after == null) {
+                orderRepository.forEachTimeline(timeline -> changes.add(timeline, null, until));
+            } else {
+                orderRepository.forEachTimelineChanged(after, until, timeline -> changes.add(timeline, after, until));
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Could not {} order statistics after {} orders. Cause: {}",
+                    after == null ? "load" : "refresh", changes.orders, ex.toString());
+            return;
+        }
+        changes.applyTo(this);
+        watermark = until;
+        if (after == null) {
+            rebuiltAt = Instant.now();
+            logger.info("Order statistics loaded from {} orders in {} ms",
+                    changes.orders, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    private void runRefresher() {
+        while (running) {
+            try {
+                Thread.sleep(refreshMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            refresh();
+        }
+    }
+
+    /**
+     * Transitions read by one poll, applied to the aggregates only once the poll has completed.
+     */
+    private static final class Changes {
+
+        private final long[] stateDeltas = new long[STATES.length];
+        private final Map<Interval, DurationSketch> durations = new EnumMap<>(Interval.class);
+        private long orders;
+
+        Changes() {
+            for (Interval interval : Interval.values()) {
+                durations.put(interval, new DurationSketch());
+            }
+        }
+
+        /**
+         * Adds the transitions of the order stamped in (after, until]; after is null for all up to until.
+         */
+        void add(OrderTimeline timeline, LocalDateTime after, LocalDateTime until) {
+            orders++;
+            if (within(timeline.createdAt(), after, until)) {
+                stateDeltas[OrderState.PENDING.ordinal()]++;
+            }
+            if (within(timeline.orchestratedAt(), after, until)) {
+                stateDeltas[OrderState.PENDING.ordinal()]--;
+                stateDeltas[OrderState.ORCHESTRATED.ordinal()]++;
+                addInterval(Interval.CREATED_TO_ORCHESTRATED, timeline);
+            }
+            if (within(timeline.scheduledAt(), after, until)) {
+                stateDeltas[OrderState.ORCHESTRATED.ordinal()]--;
+                stateDeltas[OrderState.SCHEDULED.ordinal()]++;
+                addInterval(Interval.ORCHESTRATED_TO_SCHEDULED, timeline);
+            }
+        }
+
+        void applyTo(OrderStatistics statistics) {
+            for (int i = 0; i < stateDeltas.length; i++) {
+                if (stateDeltas[i] != 0) {
+                    statistics.stateCounts.addAndGet(i, stateDeltas[i]);
+                }
+            }
+            durations.forEach((interval, sketch) -> statistics.durations.get(interval).merge(sketch));
+        }
+
+        private void addInterval(Interval interval, OrderTimeline timeline) {
+            long millis = interval.millis(timeline);
+            if (millis >= 0) {
+                durations.get(interval).add(millis);
+            }
+        }
+
+        private static boolean within(LocalDateTime timestamp, LocalDateTime after, LocalDateTime until) {
+            return timestamp != null && (after == null || timestamp.isAfter(after)) && !timestamp.isAfter(until);
+        }
+    }
+
+    /**
+     * Lifecycle intervals tracked by the statistics.
+     */
+    public enum Interval {
+        CREATED_TO_ORCHESTRATED,
+        ORCHESTRATED_TO_SCHEDULED;
+
+        long millis(OrderTimeline t) {
+            return switch (this) {
+                case CREATED_TO_ORCHESTRATED -> OrderTimeline.millisBetween(t.createdAt(), t.orchestratedAt());
+                case ORCHESTRATED_TO_SCHEDULED -> OrderTimeline.millisBetween(t.orchestratedAt(), t.scheduledAt());
+            };
+        }
+    }
+
+    /**
+     * Point-in-time copy of the aggregates.
+     */
+    public record Snapshot(
+            long totalOrders,
+            Map<OrderState, Long> stateCounts,
+            Map<Interval, DurationSketch.Summary> durations,
+            Instant rebuiltAt
+    ) {}
+}
@@ -0,0 +1,13 @@
+package org.advanced_architecture.domain;
+
+/**
+ * Read-only view of the searchable fields of an order.
+ *
+ * Used to build the in-memory order search index without loading the full entity.
+ */
+public record OrderSearchEntry(
+        Long id,
+        String title,
+        String author
+) {
+}
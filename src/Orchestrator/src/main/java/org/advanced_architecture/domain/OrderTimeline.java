@@ -0,0 +1,29 @@
+package org.advanced_architecture.domain;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of an order's state and lifecycle timestamps.
+ *
+ * Used to feed order statistics without loading the full entity.
+ * Timestamps of stages the order has not reached yet are null.
+ */
+public record OrderTimeline(
+        Long id,
+        OrderState state,
+        LocalDateTime createdAt,
+        LocalDateTime orchestratedAt,
+        LocalDateTime scheduledAt
+) {
+
+    /**
+     * Milliseconds between two lifecycle timestamps, or -1 if either stage has not been reached.
+     */
+    public static long millisBetween(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            return -1;
+        }
+        return Math.max(0, Duration.between(from, to).toMillis());
+    }
+}
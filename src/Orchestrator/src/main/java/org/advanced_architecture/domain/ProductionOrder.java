@@ -15,16 +15,27 @@ import java.time.LocalDateTime;
  *
  * Business rules:
  * - Only PENDING orders can be marked as ORCHESTRATED
+ * - Only ORCHESTRATED orders can be marked as SCHEDULED
+ * - Each transition stamps its own timestamp (orchestratedAt, scheduledAt); the timestamps are indexed,
+ *   so changed orders can be found by time (see OrderStatistics)
  * - createdAt timestamp is set automatically on creation
+ * - id is assigned by the application before the first persist
  * - Uses optimistic locking (version field) for concurrent updates
  */
 
 @Entity
-@Table(name = "production_orders")
+@Table(name = "production_orders", indexes = {
+        @Index(name = "production_orders_created_at_idx", columnList = "created_at"),
+        @Index(name = "production_orders_orchestrated_at_idx", columnList = "orchestrated_at"),
+        @Index(name = "production_orders_scheduled_at_idx", columnList = "scheduled_at")
+})
 public class ProductionOrder {
 
+    /**
+     * Assigned by the application (see OrderIdGenerator) rather than by the database,
+     * so orders can be batch-inserted and their Kafka key is known before the insert.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Embedded
@@ -40,6 +51,9 @@ public class ProductionOrder {
     @Column(name = "orchestrated_at")
     private LocalDateTime orchestratedAt;
 
+    @Column(name = "scheduled_at")
+    private LocalDateTime scheduledAt;
+
     @Version
     private Long version;
 
@@ -49,7 +63,8 @@ public class ProductionOrder {
         // JPA constructor
     }
 
-    public ProductionOrder(BookDetails bookDetails) {
+    public ProductionOrder(Long id, BookDetails bookDetails) {
+        this.id = id;
         this.bookDetails = bookDetails;
         this.state = OrderState.PENDING;
         this.createdAt = LocalDateTime.now();
@@ -65,8 +80,15 @@ public class ProductionOrder {
         }
     }
 
-    public static ProductionOrder createOrder(BookDetails bookDetails) {
-        return new ProductionOrder(bookDetails);
+    public static ProductionOrder createOrder(Long id, BookDetails bookDetails) {
+        return new ProductionOrder(id, bookDetails);
+    }
+
+    /**
+     * True until the order has been persisted; the id is assigned up front, so the version tells.
+     */
+    public boolean isNew() {
+        return version == null;
     }
 
     public void markAsOrchestrated() {
@@ -79,6 +101,16 @@ public class ProductionOrder {
         this.orchestratedAt = LocalDateTime.now();
     }
 
+    public void markAsScheduled() {
+        if (this.state != OrderState.ORCHESTRATED) {
+            throw new IllegalStateException(
+                    "Kan kun schedulere orders i ORCHESTRATED state. Nuværende state: " + this.state
+            );
+        }
+        this.state = OrderState.SCHEDULED;
+        this.scheduledAt = LocalDateTime.now();
+    }
+
     public void reject(String reason) {
         this.state = OrderState.REJECTED;
         this.rejectionReason = reason;
@@ -90,5 +122,7 @@ public class ProductionOrder {
     public OrderState getState() { return state; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getOrchestratedAt() { return orchestratedAt; }
+    public LocalDateTime getScheduledAt() { return scheduledAt; }
     public String getRejectionReason() { return rejectionReason; }
+    public Long getVersion() { return version; }
 }
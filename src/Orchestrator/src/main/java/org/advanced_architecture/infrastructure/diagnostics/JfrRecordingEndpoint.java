@@ -0,0 +1,184 @@
+package org.advanced_architecture.infrastructure.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.advanced_architecture.application.diagnostics.OrderPersistEvent;
+import org.advanced_architecture.application.diagnostics.OrderPublishEvent;
+import org.advanced_architecture.application.diagnostics.OrderTransitionEvent;
+import org.advanced_architecture.infrastructure.kafka.KafkaPublishEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint "jfr": bounded JDK Flight Recorder recordings of the running service, on demand.
+ *
+ * Usage:
+ * - POST /actuator/jfr with {"duration": "60s", "maxSize": "64MB"} (both optional) starts a recording
+ * - GET /actuator/jfr shows the current recording
+ * - DELETE /actuator/jfr stops it (if it is still running) and returns the .jfr file, e.g.
+ *   curl -X DELETE -o orchestrator.jfr http://localhost:8082/actuator/jfr
+ *
+ * Recorded:
+ * - The JDK "profile" settings (method sampling, allocation samples, GC, socket and file I/O)
+ * - {@link OrderPersistEvent}, {@link OrderPublishEvent}, {@link OrderTransitionEvent} and
+ *   {@link KafkaPublishEvent}, every occurrence
+ * - Lock profiling: monitor enter/wait and thread park events longer than orchestrator.jfr.lock-threshold
+ *
+ * Behavior:
+ * - One recording at a time; starting a second one returns 409
+ * - duration and maxSize are capped at orchestrator.jfr.max-duration and max-size; a recording that
+ *   reaches its duration stops by itself and is kept until it is downloaded or the next one starts
+ * - The dump is written to a temporary file that is deleted once the response has been sent
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingEndpoint.class);
+
+    private static final List<Class<? extends Event>> SERVICE_EVENTS = List.of(
+            OrderPersistEvent.class,
+            OrderPublishEvent.class,
+            OrderTransitionEvent.class,
+            KafkaPublishEvent.class);
+
+    private static final List<String> LOCK_EVENTS = List.of(
+            "jdk.JavaMonitorEnter",
+            "jdk.JavaMonitorWait",
+            "jdk.ThreadPark");
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final Duration lockThreshold;
+
+    private Recording recording;
+
+    public JfrRecordingEndpoint(@Value("${orchestrator.jfr.default-duration:60s}") Duration defaultDuration,
+                                @Value("${orchestrator.jfr.max-duration:10m}") Duration maxDuration,
+                                @Value("${orchestrator.jfr.max-size:256MB}") DataSize maxSize,
+                                @Value("${orchestrator.jfr.lock-threshold:1ms}") Duration lockThreshold) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.lockThreshold = lockThreshold;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        return describe(recording);
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration, @Nullable DataSize maxSize) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(describe(recording), HttpStatus.CONFLICT.value());
+        }
+        closeRecording();
+
+        Duration length = min(duration != null ? duration : defaultDuration, maxDuration);
+        DataSize size = maxSize != null && maxSize.compareTo(this.maxSize) < 0 ? maxSize : this.maxSize;
+
+        Recording started = new Recording(settings());
+        started.setName("orchestrator-on-demand");
+        started.setToDisk(true);
+        started.setDuration(length);
+        started.setMaxSize(size.toBytes());
+        for (Class<? extends Event> event : SERVICE_EVENTS) {
+            started.enable(event).withoutThreshold();
+        }
+        started.start();
+        recording = started;
+        logger.info("JFR recording {} started for {} (max {})", started.getId(), length, size);
+        return new WebEndpointResponse<>(describe(started));
+    }
+
+    @DeleteOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            Path file = Files.createTempFile("orchestrator-", ".jfr");
+            recording.dump(file);
+            logger.info("JFR recording {} stopped, {} bytes", recording.getId(), Files.size(file));
+            return new WebEndpointResponse<>(
+                    new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump JFR recording", e);
+        } finally {
+            closeRecording();
+        }
+    }
+
+    private Map<String, String> settings() {
+        Map<String, String> settings;
+        try {
+            settings = new HashMap<>(Configuration.getConfiguration("profile").getSettings());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JDK profile settings not available", e);
+        }
+        String threshold = lockThreshold.toMillis() + " ms";
+        for (String event : LOCK_EVENTS) {
+            settings.put(event + "#enabled", "true");
+            settings.put(event + "#threshold", threshold);
+        }
+        settings.put("jdk.ObjectAllocationSample#enabled", "true");
+        return settings;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("id", recording.getId());
+        status.put("state", recording.getState());
+        status.put("startTime", recording.getStartTime());
+        status.put("duration", recording.getDuration());
+        status.put("maxSize", recording.getMaxSize());
+        status.put("size", recording.getSize());
+        return status;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
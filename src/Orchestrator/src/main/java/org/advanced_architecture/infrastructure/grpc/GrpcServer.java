@@ -0,0 +1,102 @@
+package org.advanced_architecture.infrastructure.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.ServerInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * gRPC server running next to the embedded web server.
+ *
+ * Behavior:
+ * - Calls run on a fixed pool of executor-threads threads; service methods may block on the database,
+ *   so the pool size also bounds how many gRPC calls hold a connection at once
+ * - Stops accepting calls on shutdown and gives running calls shutdown-grace to finish
+ */
+public class GrpcServer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GrpcServer.class);
+
+    private final int port;
+    private final int executorThreads;
+    private final Duration shutdownGrace;
+    private final List<BindableService> services;
+    private final List<ServerInterceptor> interceptors;
+    private ExecutorService executor;
+    private Server server;
+    private volatile boolean running;
+
+    public GrpcServer(int port,
+                      int executorThreads,
+                      Duration shutdownGrace,
+                      List<BindableService> services,
+                      List<ServerInterceptor> interceptors) {
+        this.port = port;
+        this.executorThreads = executorThreads;
+        this.shutdownGrace = shutdownGrace;
+        this.services = services;
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    public void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(executorThreads, runnable -> {
+            Thread thread = new Thread(runnable, "grpc-ingest-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        ServerBuilder<?> builder = Grpc.newServerBuilderForPort(port, InsecureServerCredentials.create())
+                .executor(executor);
+        services.forEach(builder::addService);
+        interceptors.forEach(builder::intercept);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("Could not start gRPC server on port " + port, e);
+        }
+        running = true;
+        logger.info("gRPC server listening on port {} ({} services)", server.getPort(), services.size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(shutdownGrace.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("gRPC calls still running after {}; cancelling them", shutdownGrace);
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,43 @@
+package org.advanced_architecture.infrastructure.grpc;
+
+import io.grpc.BindableService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.grpc.MetricCollectingServerInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Spring configuration for the gRPC endpoint.
+ *
+ * Provides:
+ * - {@link GrpcServer} serving every {@link BindableService} bean (e.g. the OrderIngestService from
+ *   order_ingest.proto) on orchestrator.grpc.port, unless orchestrator.grpc.enabled is false
+ *
+ * Metrics (Micrometer gRPC binder, comparable to http.server.requests of the REST path):
+ * - grpc.server.processing.duration{service,method,statusCode}: call duration
+ * - grpc.server.requests.received / grpc.server.responses.sent{service,method}: stream messages
+ */
+@Configuration
+@ConditionalOnProperty(name = "orchestrator.grpc.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerConfiguration {
+
+    @Value("${orchestrator.grpc.port:9090}")
+    private int port;
+
+    @Value("${orchestrator.grpc.executor-threads:16}")
+    private int executorThreads;
+
+    @Value("${orchestrator.grpc.shutdown-grace:10s}")
+    private Duration shutdownGrace;
+
+    @Bean
+    public GrpcServer grpcServer(List<BindableService> services, MeterRegistry meterRegistry) {
+        return new GrpcServer(port, executorThreads, shutdownGrace, services,
+                List.of(new MetricCollectingServerInterceptor(meterRegistry)));
+    }
+}
@@ -0,0 +1,21 @@
+package org.advanced_architecture.infrastructure.id;
+
+/**
+ * Permission for a generator to issue ids under one node id.
+ *
+ * @param nodeId the node id bits to embed in every id
+ * @param floorMillis ids must use timestamps above this (epoch millis): the highest timestamp a previous
+ *                    holder of the same node id recorded; protects against its clock having run ahead
+ * @param validUntilNanos System.nanoTime() deadline after which the grant may no longer be used
+ * @param expiring false for a statically configured node id that never expires
+ */
+record NodeIdGrant(int nodeId, long floorMillis, long validUntilNanos, boolean expiring) {
+
+    static NodeIdGrant fixed(int nodeId) {
+        return new NodeIdGrant(nodeId, 0, 0, false);
+    }
+
+    boolean isValid(long nowNanos) {
+        return !expiring || nowNanos - validUntilNanos < 0;
+    }
+}
@@ -0,0 +1,208 @@
+package org.advanced_architecture.infrastructure.id;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Leases a node id for {@link SnowflakeOrderIdGenerator} from the orchestrator_node_leases table.
+ *
+ * Responsibilities:
+ * - Claims the lowest node id whose lease is free or expired, so replicas started with identical
+ *   configuration (e.g. docker compose --scale) still get distinct node ids
+ * - Renews the lease every ttl/3 and records the highest timestamp issued so far plus maxClockAhead
+ *   (issued_until_ms), the most the logical clock can run ahead of it until the next renewal
+ * - Releases the lease on shutdown, after the web server has stopped taking requests, recording the
+ *   exact highest timestamp issued
+ *
+ * Behavior:
+ * - The local grant expires ttl minus a safety margin after the renewal was sent, so it always
+ *   ends before the row can be claimed by another replica
+ * - A new holder of a node id starts its ids above the previous holder's issued_until_ms; ids a crashed
+ *   holder issued after its last renewal are older than the new holder's clock, since the row is only
+ *   free once that holder's grant has run out
+ * - issued_until_ms stays close to real issue times, so a new holder's floor is at most about
+ *   maxClockAhead ahead of its clock (the generator waits for the clock rather than failing)
+ * - If a renewal finds the row taken over, a new node id is claimed; until then no ids are issued
+ * - Renewal errors are logged and retried; the grant simply runs out if the database stays unreachable
+ */
+public class NodeIdLease implements SmartLifecycle, Supplier<NodeIdGrant> {
+
+    private static final Logger logger = LoggerFactory.getLogger(NodeIdLease.class);
+
+    private static final int ACQUIRE_ATTEMPTS = 10;
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS orchestrator_node_leases (
+                node_id         integer     PRIMARY KEY,
+                owner           text        NOT NULL,
+                expires_at      timestamptz NOT NULL,
+                issued_until_ms bigint      NOT NULL DEFAULT 0
+            )""";
+
+    private static final String ACQUIRE = """
+            INSERT INTO orchestrator_node_leases (node_id, owner, expires_at)
+            SELECT n, ?, now() + make_interval(secs => ?)
+            FROM generate_series(0, ?) AS n
+            WHERE NOT EXISTS (
+                SELECT 1 FROM orchestrator_node_leases l
+                WHERE l.node_id = n AND l.expires_at > now() AND l.owner <> ?)
+            ORDER BY n
+            LIMIT 1
+            ON CONFLICT (node_id) DO UPDATE
+                SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at
+                WHERE orchestrator_node_leases.expires_at <= now()
+                   OR orchestrator_node_leases.owner = EXCLUDED.owner
+            RETURNING node_id, issued_until_ms""";
+
+    private static final String RENEW = """
+            UPDATE orchestrator_node_leases
+            SET expires_at = now() + make_interval(secs => ?),
+                issued_until_ms = GREATEST(issued_until_ms, ?)
+            WHERE node_id = ? AND owner = ?""";
+
+    private static final String RELEASE = """
+            UPDATE orchestrator_node_leases
+            SET expires_at = now(), issued_until_ms = ?
+            WHERE node_id = ? AND owner = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final long maxClockAheadMillis;
+    private final String owner = UUID.randomUUID().toString();
+    private final ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-id-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile NodeIdGrant grant;
+    private volatile LongSupplier lastIssuedMillis = () -> 0;
+    private volatile boolean running;
+
+    public NodeIdLease(JdbcTemplate jdbcTemplate, Duration ttl, Duration maxClockAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.maxClockAheadMillis = maxClockAhead.toMillis();
+    }
+
+    /**
+     * Source of the generator's highest issued timestamp, written to the lease on renewal and release.
+     */
+    public void trackIssued(LongSupplier lastIssuedMillis) {
+        this.lastIssuedMillis = lastIssuedMillis;
+    }
+
+    @Override
+    public NodeIdGrant get() {
+        return grant;
+    }
+
+    @Override
+    public void start() {
+        jdbcTemplate.execute(CREATE_TABLE);
+        acquire();
+        long period = Math.max(1, ttl.toMillis() / 3);
+        renewer.scheduleWithFixedDelay(this::renewSafely, period, period, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        renewer.shutdownNow();
+        NodeIdGrant current = grant;
+        grant = null;
+        if (current != null) {
+            try {
+                // Nothing is issued any more, so the exact value replaces the renewal's allowance
+                jdbcTemplate.update(RELEASE, Math.max(lastIssuedMillis.getAsLong(), current.floorMillis()),
+                        current.nodeId(), owner);
+                logger.info("Released order id node {}", current.nodeId());
+            } catch (RuntimeException ex) {
+                logger.warn("Could not release order id node {}; it expires in {}. Cause: {}",
+                        current.nodeId(), ttl, ex.toString());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Start before and stop after the web server, the message listeners and the components that
+        // read the node id on startup (PendingAckTracker)
+        return -1;
+    }
+
+    private void acquire() {
+        double ttlSeconds = ttl.toMillis() / 1000.0;
+        for (int attempt = 0; attempt < ACQUIRE_ATTEMPTS; attempt++) {
+            long sentAt = System.nanoTime();
+            List<long[]> rows = jdbcTemplate.query(ACQUIRE,
+                    (rs, rowNum) -> new long[] {rs.getInt("node_id"), rs.getLong("issued_until_ms")},
+                    owner, ttlSeconds, SnowflakeOrderIdGenerator.MAX_NODE_ID, owner);
+            if (!rows.isEmpty()) {
+                int nodeId = (int) rows.get(0)[0];
+                // Publish our own promise before issuing, then hand out the grant
+                grant = renew(nodeId, rows.get(0)[1], sentAt);
+                if (grant == null) {
+                    continue;
+                }
+                logger.info("Acquired order id node {} (lease ttl {})", nodeId, ttl);
+                return;
+            }
+            // Lost a race for the same free node id; the next attempt sees the winner's row
+        }
+        throw new IllegalStateException("No free order id node among " + (SnowflakeOrderIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    private NodeIdGrant renew(int nodeId, long floorMillis, long sentAt) {
+        long lastIssued = lastIssuedMillis.getAsLong();
+        // Until the next renewal the logical clock stays within maxClockAhead of the wall clock, so ids
+        // issued meanwhile are covered either by this value or by the new holder's clock (see class doc)
+        long issuedUntil = lastIssued > 0 ? lastIssued + maxClockAheadMillis : 0;
+        int updated = jdbcTemplate.update(RENEW, ttl.toMillis() / 1000.0, issuedUntil, nodeId, owner);
+        if (updated == 0) {
+            return null;
+        }
+        // The grant ends at least maxClockAhead before sentAt + ttl, so the row is not free before the
+        // wall clock has passed every timestamp issued under it
+        long margin = Math.max(ttl.toNanos() / 10, TimeUnit.MILLISECONDS.toNanos(maxClockAheadMillis));
+        return new NodeIdGrant(nodeId, floorMillis, sentAt + ttl.toNanos() - margin, true);
+    }
+
+    private void renewSafely() {
+        NodeIdGrant current = grant;
+        try {
+            if (current == null) {
+                acquire();
+                return;
+            }
+            NodeIdGrant renewed = renew(current.nodeId(), current.floorMillis(), System.nanoTime());
+            if (renewed == null) {
+                logger.warn("Order id node {} was taken over; claiming a new node id", current.nodeId());
+                grant = null;
+                acquire();
+            } else {
+                grant = renewed;
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Order id lease renewal failed for node {}. Cause: {}",
+                    current != null ? current.nodeId() : null, ex.toString());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.advanced_architecture.infrastructure.id;
+
+import org.advanced_architecture.application.port.OrderIdGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Spring configuration for order id assignment.
+ *
+ * Provides:
+ * - {@link NodeIdLease} when no static node id is configured (orchestrator.ids.node-id < 0)
+ * - {@link SnowflakeOrderIdGenerator} as the {@link OrderIdGenerator}, using either the static
+ *   node id or the leased one
+ */
+@Configuration
+public class OrderIdConfiguration {
+
+    @Value("${orchestrator.ids.node-id:-1}")
+    private int nodeId;
+
+    @Value("${orchestrator.ids.lease-ttl:30s}")
+    private Duration leaseTtl;
+
+    @Value("${orchestrator.ids.max-clock-backward:2s}")
+    private Duration maxClockBackward;
+
+    @Value("${orchestrator.ids.max-clock-wait:5s}")
+    private Duration maxClockWait;
+
+    @Bean
+    @ConditionalOnProperty(name = "orchestrator.ids.node-id", havingValue = "-1", matchIfMissing = true)
+    public NodeIdLease nodeIdLease(JdbcTemplate jdbcTemplate) {
+        return new NodeIdLease(jdbcTemplate, leaseTtl, maxClockBackward);
+    }
+
+    @Bean
+    public OrderIdGenerator orderIdGenerator(ObjectProvider<NodeIdLease> nodeIdLeaseProvider) {
+        if (nodeId > SnowflakeOrderIdGenerator.MAX_NODE_ID) {
+            throw new IllegalArgumentException("orchestrator.ids.node-id must be at most "
+                    + SnowflakeOrderIdGenerator.MAX_NODE_ID + ": " + nodeId);
+        }
+        if (nodeId >= 0) {
+            NodeIdGrant fixed = NodeIdGrant.fixed(nodeId);
+            return new SnowflakeOrderIdGenerator(Clock.systemUTC(), () -> fixed, maxClockBackward, maxClockWait);
+        }
+        NodeIdLease nodeIdLease = nodeIdLeaseProvider.getObject();
+        SnowflakeOrderIdGenerator generator =
+                new SnowflakeOrderIdGenerator(Clock.systemUTC(), nodeIdLease, maxClockBackward, maxClockWait);
+        nodeIdLease.trackIssued(generator::lastIssuedMillis);
+        return generator;
+    }
+}
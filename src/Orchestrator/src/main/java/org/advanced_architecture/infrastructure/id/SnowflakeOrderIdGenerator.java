@@ -0,0 +1,145 @@
+package org.advanced_architecture.infrastructure.id;
+
+import org.advanced_architecture.application.port.OrderIdGenerator;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Snowflake-style implementation of {@link OrderIdGenerator}.
+ *
+ * Id layout (64-bit, sign bit always 0):
+ * - 41 bits: milliseconds since {@link #EPOCH_MILLIS} (2025-01-01T00:00Z), good for ~69 years
+ * - 10 bits: node id of the issuing Orchestrator replica (0..1023)
+ * - 12 bits: per-millisecond sequence (4096 ids per ms per node)
+ *
+ * Behavior:
+ * - Ids are strictly increasing per generator and roughly time-ordered across replicas,
+ *   so inserts stay at the right-hand edge of the primary key B-tree
+ * - When the sequence is exhausted, the next millisecond is borrowed instead of spinning
+ * - If the wall clock moves backwards, or a new grant's floor lies ahead of it, ids keep being issued
+ *   from the last timestamp (a logical clock) as long as it is at most maxClockBackward ahead of the
+ *   wall clock; beyond that nextId() waits until the wall clock has caught up to that distance
+ * - A wait longer than maxClockWait fails instead, so a clock stepped back by minutes does not hang callers
+ * - Refuses to issue ids when the node id grant has expired (see {@link NodeIdLease})
+ */
+public class SnowflakeOrderIdGenerator implements OrderIdGenerator {
+
+    public static final long EPOCH_MILLIS = 1_735_689_600_000L;
+
+    static final int NODE_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE_ID = (1 << NODE_ID_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << 41) - 1;
+
+    private final Clock clock;
+    private final Supplier<NodeIdGrant> grants;
+    private final long maxClockBackwardMillis;
+    private final long maxClockWaitMillis;
+
+    private NodeIdGrant grant;
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    public SnowflakeOrderIdGenerator(Clock clock, Supplier<NodeIdGrant> grants,
+                                     Duration maxClockBackward, Duration maxClockWait) {
+        this.clock = clock;
+        this.grants = grants;
+        this.maxClockBackwardMillis = maxClockBackward.toMillis();
+        this.maxClockWaitMillis = maxClockWait.toMillis();
+    }
+
+    @Override
+    public synchronized long nextId() {
+        NodeIdGrant current = grants.get();
+        if (current == null || !current.isValid(System.nanoTime())) {
+            throw new IllegalStateException("Node id lease is not held; refusing to issue order ids");
+        }
+        if (current != grant) {
+            // New or renewed grant: stay above what a previous holder of the node id may have issued
+            grant = current;
+            long floor = current.floorMillis() - EPOCH_MILLIS;
+            if (floor >= lastTimestamp) {
+                // The floor millisecond may be fully used by the previous holder: continue in the next one
+                lastTimestamp = floor;
+                sequence = SEQUENCE_MASK;
+            }
+        }
+
+        long now = awaitClock(current);
+        if (now > lastTimestamp) {
+            lastTimestamp = now;
+            sequence = 0;
+        } else {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                lastTimestamp++;
+            }
+        }
+        if (lastTimestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("Order id timestamp bits exhausted");
+        }
+        return (lastTimestamp << (NODE_ID_BITS + SEQUENCE_BITS))
+                | ((long) current.nodeId() << SEQUENCE_BITS)
+                | sequence;
+    }
+
+    /**
+     * @return the wall clock (millis since the epoch of the ids), once it is at most maxClockBackward
+     *         behind the last issued timestamp
+     */
+    private long awaitClock(NodeIdGrant current) {
+        long now = clock.millis() - EPOCH_MILLIS;
+        long behind = lastTimestamp - now - maxClockBackwardMillis;
+        if (behind <= 0) {
+            return now;
+        }
+        if (behind > maxClockWaitMillis) {
+            throw new IllegalStateException("Clock is " + (lastTimestamp - now) + " ms behind the last issued order id");
+        }
+        try {
+            // Other callers block on this monitor meanwhile; they would have to wait just as long
+            while (behind > 0) {
+                Thread.sleep(behind);
+                if (!current.isValid(System.nanoTime())) {
+                    throw new IllegalStateException("Node id lease expired while waiting for the clock");
+                }
+                now = clock.millis() - EPOCH_MILLIS;
+                behind = lastTimestamp - now - maxClockBackwardMillis;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the clock to reach the last issued order id", e);
+        }
+        return now;
+    }
+
+    @Override
+    public long issuedAtMillis(long id) {
+        return (id >>> (NODE_ID_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    @Override
+    public int nodeId() {
+        NodeIdGrant current = grants.get();
+        if (current == null) {
+            throw new IllegalStateException("Node id lease is not held");
+        }
+        return current.nodeId();
+    }
+
+    @Override
+    public int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    /**
+     * Highest timestamp (epoch millis) used in an id so far, or 0 if none was issued.
+     */
+    public synchronized long lastIssuedMillis() {
+        return lastTimestamp < 0 ? 0 : lastTimestamp + EPOCH_MILLIS;
+    }
+}
@@ -0,0 +1,114 @@
+package org.advanced_architecture.infrastructure.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Dead-letter topic of the orders.incoming intake.
+ *
+ * Responsibilities:
+ * - Sends rejected records to the dead-letter topic with the reason in the kafka_dlt-exception-message header
+ *   (same headers as Spring's DeadLetterPublishingRecoverer, so existing DLT tooling can read them)
+ * - Recovers records of batches whose retries are exhausted or whose error is not retryable
+ *   (the {@link ConsumerRecordRecoverer} of the intake error handler)
+ *
+ * Behavior:
+ * - A recovered record's next offset is stored in {@link IntakeOffsetStore} in a transaction that only
+ *   commits once the dead letter is acknowledged, so a later rebalance does not seek back to it; while
+ *   the database is down the offset cannot be stored, recovery fails and the batch is delivered again
+ */
+public class IntakeDeadLetters implements ConsumerRecordRecoverer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IntakeDeadLetters.class);
+
+    private static final long SEND_TIMEOUT_SECONDS = 30;
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final IntakeOffsetStore offsetStore;
+    private final TransactionTemplate transactionTemplate;
+    private final String groupId;
+    private final String deadLetterTopic;
+
+    public IntakeDeadLetters(KafkaTemplate<String, String> kafkaTemplate,
+                             IntakeOffsetStore offsetStore,
+                             PlatformTransactionManager transactionManager,
+                             String groupId,
+                             String deadLetterTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.offsetStore = offsetStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.groupId = groupId;
+        this.deadLetterTopic = deadLetterTopic;
+    }
+
+    public CompletableFuture<?> send(ConsumerRecord<String, String> record, String reason) {
+        logger.warn("Dead-lettering {}-{}@{}: {}", record.topic(), record.partition(), record.offset(), reason);
+        ProducerRecord<String, String> deadLetter =
+                new ProducerRecord<>(deadLetterTopic, null, record.key(), record.value(), record.headers());
+        Headers headers = deadLetter.headers();
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, record.topic().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(record.offset()).array());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_CONSUMER_GROUP, groupId.getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, reason.getBytes(StandardCharsets.UTF_8));
+        return kafkaTemplate.send(deadLetter);
+    }
+
+    /**
+     * Dead letters must be stored before the batch's offsets are, otherwise a crash would lose them.
+     *
+     * @throws DeadLetterException if a dead letter was not acknowledged in time
+     */
+    public void await(List<CompletableFuture<?>> deadLetters) {
+        if (deadLetters.isEmpty()) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(deadLetters.toArray(CompletableFuture[]::new))
+                    .get(SEND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DeadLetterException("Interrupted while sending dead letters", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new DeadLetterException("Could not send dead letters to " + deadLetterTopic, e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void accept(ConsumerRecord<?, ?> record, Exception exception) {
+        String reason = "Not created: " + NestedExceptionUtils.getMostSpecificCause(exception);
+        transactionTemplate.executeWithoutResult(status -> {
+            offsetStore.save(groupId, Map.of(new TopicPartition(record.topic(), record.partition()), record.offset() + 1));
+            await(List.of(send((ConsumerRecord<String, String>) record, reason)));
+        });
+    }
+
+    /**
+     * The dead-letter topic did not acknowledge a record; retried like other transient errors.
+     */
+    public static class DeadLetterException extends RuntimeException {
+        public DeadLetterException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
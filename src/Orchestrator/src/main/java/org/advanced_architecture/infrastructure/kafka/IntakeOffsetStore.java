@@ -0,0 +1,73 @@
+package org.advanced_architecture.infrastructure.kafka;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consumed offsets of the orders.incoming intake, stored in the orchestrator_intake_offsets table.
+ *
+ * Written in the same transaction as the orders of a batch, so after a crash between the database
+ * commit and the Kafka offset commit the consumer resumes behind the last persisted record instead
+ * of creating the batch's orders a second time.
+ */
+public class IntakeOffsetStore {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS orchestrator_intake_offsets (
+                group_id    text        NOT NULL,
+                topic       text        NOT NULL,
+                partition   integer     NOT NULL,
+                next_offset bigint      NOT NULL,
+                updated_at  timestamptz NOT NULL DEFAULT now(),
+                PRIMARY KEY (group_id, topic, partition)
+            )""";
+
+    private static final String UPSERT = """
+            INSERT INTO orchestrator_intake_offsets (group_id, topic, partition, next_offset)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (group_id, topic, partition) DO UPDATE
+                SET next_offset = EXCLUDED.next_offset, updated_at = now()""";
+
+    private static final String FIND = """
+            SELECT topic, partition, next_offset FROM orchestrator_intake_offsets WHERE group_id = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IntakeOffsetStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createTable() {
+        jdbcTemplate.execute(CREATE_TABLE);
+    }
+
+    /**
+     * Records the next offset to consume per partition; joins the caller's transaction.
+     */
+    public void save(String groupId, Map<TopicPartition, Long> nextOffsets) {
+        List<Object[]> rows = new ArrayList<>(nextOffsets.size());
+        nextOffsets.forEach((partition, offset) ->
+                rows.add(new Object[]{groupId, partition.topic(), partition.partition(), offset}));
+        jdbcTemplate.batchUpdate(UPSERT, rows);
+    }
+
+    /**
+     * Stored next offsets of the given partitions; partitions without a stored offset are left out.
+     */
+    public Map<TopicPartition, Long> find(String groupId, Collection<TopicPartition> partitions) {
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        jdbcTemplate.query(FIND, row -> {
+            TopicPartition partition = new TopicPartition(row.getString("topic"), row.getInt("partition"));
+            if (partitions.contains(partition)) {
+                offsets.put(partition, row.getLong("next_offset"));
+            }
+        }, groupId);
+        return offsets;
+    }
+}
@@ -26,6 +26,8 @@ import java.util.Map;
  * - acks=all (wait for all replicas)
  * - retries=3
  * - idempotence enabled (exactly-once semantics)
+ * - observation enabled: every send is a producer span, and the W3C traceparent of the current
+ *   trace is written to the record headers
  */
 @Configuration
 public class KafkaConfiguration {
@@ -47,7 +49,9 @@ public class KafkaConfiguration {
 
     @Bean
     public KafkaTemplate<String, String> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+        KafkaTemplate<String, String> template = new KafkaTemplate<>(producerFactory());
+        template.setObservationEnabled(true);
+        return template;
     }
 
     @Bean
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Component;
  * - Serializes event objects to JSON using Jackson ObjectMapper
  * - Publishes events to Kafka topics via KafkaTemplate
  * - Logs successful publishes and serialization errors
+ * - Emits a {@link KafkaPublishEvent} JFR event per publish
  *
  * Error handling:
  * - JSON serialization failures throw RuntimeException
@@ -41,9 +42,12 @@ public class KafkaEventPublisher implements EventPublisher {
      */
     @Override
     public void publish(String topic, String key, Object event) {
+        KafkaPublishEvent publishEvent = new KafkaPublishEvent();
+        publishEvent.begin();
         try {
             String eventJson = objectMapper.writeValueAsString(event);
             kafkaTemplate.send(topic, key, eventJson);
+            publishEvent.end(topic, key, eventJson);
             logger.info("Published event to topic: {} with key: {}", topic, key);
         } catch (JsonProcessingException e) {
             logger.error("Failed to serialize event to JSON", e);
@@ -0,0 +1,43 @@
+package org.advanced_architecture.infrastructure.kafka;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JFR event for {@link KafkaEventPublisher#publish}: JSON serialization plus handing the record to the
+ * producer. The producer sends asynchronously, so a long event means a full buffer or a metadata wait.
+ */
+@Name("org.advanced_architecture.KafkaPublish")
+@Label("Kafka Publish")
+@Description("Event serialized and handed to the Kafka producer")
+@Category({"Advanced Architecture", "Orchestrator"})
+@StackTrace(false)
+public class KafkaPublishEvent extends Event {
+
+    @Label("Topic")
+    String topic;
+
+    @Label("Key")
+    String key;
+
+    @Label("Payload Size")
+    @DataAmount
+    long payloadBytes;
+
+    void end(String topic, String key, String payload) {
+        if (shouldCommit()) {
+            this.topic = topic;
+            this.key = key;
+            // Only measured when recorded
+            this.payloadBytes = payload != null ? payload.getBytes(StandardCharsets.UTF_8).length : 0;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.advanced_architecture.infrastructure.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.advanced_architecture.application.OrderOrchestrationService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Kafka consumer for order acknowledgements.
+ *
+ * Responsibilities:
+ * - Consumes batches from "orders.acks" (consumer group shared by all Orchestrator replicas)
+ * - Hands every acknowledged order id to {@link OrderOrchestrationService#acknowledgeOrder(Long)}
+ *
+ * Ack contract (JSON):
+ * {
+ *   "order_id": string,
+ *   "timestamp": string
+ * }
+ *
+ * Error handling:
+ * - Malformed acks are logged and skipped
+ * - Acks for orders that are not found are logged and skipped; the order stays tracked, so a tracked order
+ *   is redelivered at its deadline and acknowledged again, and an order of another replica is left to it
+ * - A failing ack does not block the rest of the batch; the order stays tracked, is redelivered at its
+ *   deadline and acknowledged again
+ */
+@Component
+public class OrderAckListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderAckListener.class);
+
+    private final OrderOrchestrationService orchestrationService;
+    private final ObjectMapper objectMapper;
+
+    public OrderAckListener(OrderOrchestrationService orchestrationService, ObjectMapper objectMapper) {
+        this.orchestrationService = orchestrationService;
+        this.objectMapper = objectMapper;
+    }
+
+    @KafkaListener(
+            id = "order-acks",
+            topics = "${orchestrator.acks.topic:orders.acks}",
+            groupId = "${orchestrator.acks.group-id:orchestrator-acks}",
+            autoStartup = "${orchestrator.acks.enabled:true}",
+            batch = "true")
+    public void onAcks(List<ConsumerRecord<String, String>> records) {
+        for (ConsumerRecord<String, String> record : records) {
+            Long orderId = parseOrderId(record);
+            if (orderId == null) {
+                continue;
+            }
+            try {
+                orchestrationService.acknowledgeOrder(orderId);
+            } catch (OrderOrchestrationService.OrderNotFoundException ex) {
+                logger.warn("Ack for order {} that is not found; keeping it tracked", orderId);
+            } catch (RuntimeException ex) {
+                logger.warn("Could not process ack for order {}. Cause: {}", orderId, ex.toString());
+            }
+        }
+    }
+
+    private Long parseOrderId(ConsumerRecord<String, String> record) {
+        try {
+            JsonNode ack = objectMapper.readTree(record.value());
+            JsonNode orderId = ack != null ? ack.get("order_id") : null;
+            if (orderId == null || orderId.isNull()) {
+                logger.warn("Ack without order_id at offset {}: {}", record.offset(), record.value());
+                return null;
+            }
+            return orderId.isNumber() ? orderId.asLong() : Long.parseLong(orderId.asText());
+        } catch (Exception ex) {
+            logger.warn("Malformed ack at offset {}: {}", record.offset(), ex.toString());
+            return null;
+        }
+    }
+}
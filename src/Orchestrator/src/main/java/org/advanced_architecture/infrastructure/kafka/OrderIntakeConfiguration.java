@@ -0,0 +1,105 @@
+package org.advanced_architecture.infrastructure.kafka;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Spring configuration for the Kafka order intake (orchestrator.intake.enabled=true).
+ *
+ * Provides:
+ * - The orders.incoming topic with orchestrator.intake.partitions partitions (the upper bound for
+ *   intake consumers across all replicas) and its dead-letter topic
+ * - orderIntakeContainerFactory: batch listener containers that commit offsets after each batch. A batch
+ *   failing with a transient error (database or transaction unavailable, dead-letter topic not acknowledging)
+ *   is retried with exponential backoff for up to retry-max-elapsed; other errors are not retried. Then its
+ *   records go to the dead-letter topic, so one batch cannot block its partition indefinitely
+ * - {@link IntakeOffsetStore} for the offsets persisted together with the orders
+ * - {@link IntakeDeadLetters} for rejected and unrecoverable records
+ */
+@Configuration
+@ConditionalOnProperty(name = "orchestrator.intake.enabled", havingValue = "true")
+public class OrderIntakeConfiguration {
+
+    @Value("${orchestrator.intake.topic:orders.incoming}")
+    private String topic;
+
+    @Value("${orchestrator.intake.dead-letter-topic:orders.incoming.dlt}")
+    private String deadLetterTopic;
+
+    @Value("${orchestrator.intake.group-id:orchestrator-intake}")
+    private String groupId;
+
+    @Value("${orchestrator.intake.partitions:6}")
+    private int partitions;
+
+    @Value("${orchestrator.intake.retry-max-elapsed:15m}")
+    private Duration retryMaxElapsed;
+
+    @Bean
+    public NewTopic orderIntakeTopic() {
+        return TopicBuilder.name(topic).partitions(partitions).build();
+    }
+
+    @Bean
+    public NewTopic orderIntakeDeadLetterTopic() {
+        return TopicBuilder.name(deadLetterTopic).partitions(1).build();
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> orderIntakeContainerFactory(
+            ConsumerFactory<String, String> consumerFactory, IntakeDeadLetters intakeDeadLetters) {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        // Continues the upstream producer's trace where the records carry a traceparent header
+        factory.getContainerProperties().setObservationEnabled(true);
+
+        ExponentialBackOff backOff = new ExponentialBackOff(1_000, 2.0);
+        backOff.setMaxInterval(30_000);
+        backOff.setMaxElapsedTime(retryMaxElapsed.toMillis());
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(intakeDeadLetters, backOff);
+        // Causes are traversed, so the listener's wrapped exceptions are classified by their cause
+        errorHandler.setClassifications(Map.of(
+                TransientDataAccessException.class, true,
+                RecoverableDataAccessException.class, true,
+                DataAccessResourceFailureException.class, true,
+                TransactionException.class, true,
+                IntakeDeadLetters.DeadLetterException.class, true), false);
+        factory.setCommonErrorHandler(errorHandler);
+        return factory;
+    }
+
+    @Bean
+    public IntakeDeadLetters intakeDeadLetters(KafkaTemplate<String, String> kafkaTemplate,
+                                               IntakeOffsetStore intakeOffsetStore,
+                                               PlatformTransactionManager transactionManager) {
+        return new IntakeDeadLetters(kafkaTemplate, intakeOffsetStore, transactionManager, groupId, deadLetterTopic);
+    }
+
+    @Bean
+    public IntakeOffsetStore intakeOffsetStore(JdbcTemplate jdbcTemplate) {
+        IntakeOffsetStore store = new IntakeOffsetStore(jdbcTemplate);
+        store.createTable();
+        return store;
+    }
+}
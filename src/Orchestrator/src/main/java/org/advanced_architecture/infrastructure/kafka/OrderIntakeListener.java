@@ -0,0 +1,222 @@
+package org.advanced_architecture.infrastructure.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.advanced_architecture.api.ApiOrderMapper;
+import org.advanced_architecture.api.dto.CreateOrderRequest;
+import org.advanced_architecture.application.OrderOrchestrationService;
+import org.advanced_architecture.domain.BookDetails;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Kafka consumer for orders submitted by upstream systems on "orders.incoming".
+ *
+ * Responsibilities:
+ * - Consumes poll batches (up to max-batch records) with one consumer per partition, up to
+ *   concurrency consumers per replica
+ * - Validates every record with the rules of POST /orders ({@link CreateOrderRequest})
+ * - Creates the valid orders of a batch in one transaction via {@link OrderOrchestrationService#createOrders(List)},
+ *   together with the batch's offsets in {@link IntakeOffsetStore}
+ * - Sends invalid records, and records the database rejects, to the dead-letter topic ({@link IntakeDeadLetters})
+ *
+ * Record contract: the CreateOrderRequest JSON of the REST API; the key is not used.
+ *
+ * Behavior:
+ * - Order of a batch: dead letters sent, orders and offsets committed, OrderCreated events published,
+ *   Kafka offsets committed by the container
+ * - On partition assignment the consumer seeks to the offsets stored with the orders, so a batch whose
+ *   orders were committed is never created again, even if its Kafka offset commit was lost
+ * - If the batch violates a database constraint, its orders are bisected in rolled-back trial transactions
+ *   until the offending records are found; those are dead-lettered and the rest is created as usual
+ * - Transient failures (e.g. database down) are retried with backoff by the container's error handler,
+ *   up to orchestrator.intake.retry-max-elapsed; other failures are not retried (OrderIntakeConfiguration)
+ *
+ * Metrics:
+ * - orders.intake.records{outcome="created"|"dead_lettered"}
+ */
+@Component
+@ConditionalOnProperty(name = "orchestrator.intake.enabled", havingValue = "true")
+public class OrderIntakeListener implements ConsumerSeekAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderIntakeListener.class);
+
+    private final OrderOrchestrationService orchestrationService;
+    private final IntakeOffsetStore offsetStore;
+    private final IntakeDeadLetters deadLetters;
+    private final Validator validator;
+    private final ObjectReader requestReader;
+    private final TransactionTemplate transactionTemplate;
+    private final String groupId;
+    private final Counter createdRecords;
+    private final Counter deadLetteredRecords;
+
+    public OrderIntakeListener(OrderOrchestrationService orchestrationService,
+                               IntakeOffsetStore offsetStore,
+                               IntakeDeadLetters deadLetters,
+                               Validator validator,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${orchestrator.intake.group-id:orchestrator-intake}") String groupId) {
+        this.orchestrationService = orchestrationService;
+        this.offsetStore = offsetStore;
+        this.deadLetters = deadLetters;
+        this.validator = validator;
+        this.requestReader = objectMapper.readerFor(CreateOrderRequest.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.groupId = groupId;
+        this.createdRecords = Counter.builder("orders.intake.records")
+                .tag("outcome", "created")
+                .description("orders.incoming records created as orders")
+                .register(meterRegistry);
+        this.deadLetteredRecords = Counter.builder("orders.intake.records")
+                .tag("outcome", "dead_lettered")
+                .description("orders.incoming records sent to the dead-letter topic")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            id = "order-intake",
+            topics = "${orchestrator.intake.topic:orders.incoming}",
+            groupId = "${orchestrator.intake.group-id:orchestrator-intake}",
+            containerFactory = "orderIntakeContainerFactory",
+            concurrency = "${orchestrator.intake.concurrency:3}",
+            properties = "max.poll.records=${orchestrator.intake.max-batch:500}",
+            batch = "true")
+    public void onOrders(List<ConsumerRecord<String, String>> records) {
+        List<Intake> intakes = new ArrayList<>(records.size());
+        List<CompletableFuture<?>> rejected = new ArrayList<>();
+        Map<TopicPartition, Long> nextOffsets = new HashMap<>();
+
+        for (ConsumerRecord<String, String> record : records) {
+            nextOffsets.put(new TopicPartition(record.topic(), record.partition()), record.offset() + 1);
+            String rejection = validate(record, intakes);
+            if (rejection != null) {
+                rejected.add(deadLetters.send(record, rejection));
+            }
+        }
+        deadLetters.await(rejected);
+
+        try {
+            create(intakes, nextOffsets);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Intake batch of {} orders violates a database constraint; isolating the offending records: {}",
+                    intakes.size(), e.getMostSpecificCause().getMessage());
+            List<Intake> accepted = new ArrayList<>(intakes.size());
+            List<CompletableFuture<?>> violations = new ArrayList<>();
+            isolate(intakes, accepted, violations);
+            deadLetters.await(violations);
+            create(accepted, nextOffsets);
+            rejected.addAll(violations);
+            intakes = accepted;
+        }
+
+        createdRecords.increment(intakes.size());
+        deadLetteredRecords.increment(rejected.size());
+        logger.debug("Intake batch of {} records: {} orders created, {} dead-lettered",
+                records.size(), intakes.size(), rejected.size());
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        offsetStore.find(groupId, assignments.keySet()).forEach((partition, offset) -> {
+            if (!offset.equals(assignments.get(partition))) {
+                logger.info("Resuming {} at stored offset {} (committed: {})", partition, offset, assignments.get(partition));
+                callback.seek(partition.topic(), partition.partition(), offset);
+            }
+        });
+    }
+
+    /**
+     * Creates the orders and stores the batch's offsets in one transaction.
+     */
+    private void create(List<Intake> intakes, Map<TopicPartition, Long> nextOffsets) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!intakes.isEmpty()) {
+                orchestrationService.createOrders(orders(intakes));
+            }
+            offsetStore.save(groupId, nextOffsets);
+        });
+    }
+
+    /**
+     * Bisects {@code intakes} with trial inserts that are flushed and rolled back: halves the database accepts
+     * go to {@code accepted}, single records it rejects are dead-lettered. Other failures propagate.
+     */
+    private void isolate(List<Intake> intakes, List<Intake> accepted, List<CompletableFuture<?>> violations) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                orchestrationService.createOrders(orders(intakes));
+                status.flush();
+                status.setRollbackOnly();
+            });
+            accepted.addAll(intakes);
+        } catch (DataIntegrityViolationException e) {
+            if (intakes.size() == 1) {
+                violations.add(deadLetters.send(intakes.get(0).record(),
+                        "Rejected by the database: " + e.getMostSpecificCause().getMessage()));
+                return;
+            }
+            int half = intakes.size() / 2;
+            isolate(intakes.subList(0, half), accepted, violations);
+            isolate(intakes.subList(half, intakes.size()), accepted, violations);
+        }
+    }
+
+    private static List<BookDetails> orders(List<Intake> intakes) {
+        return intakes.stream().map(Intake::order).toList();
+    }
+
+    /**
+     * Adds the record's order to {@code intakes} if it is valid.
+     *
+     * @return why the record is invalid, or null
+     */
+    private String validate(ConsumerRecord<String, String> record, List<Intake> intakes) {
+        if (record.value() == null || record.value().isBlank()) {
+            return "Empty record";
+        }
+        CreateOrderRequest request;
+        try {
+            request = requestReader.readValue(record.value());
+        } catch (JsonProcessingException e) {
+            return "Malformed JSON: " + e.getOriginalMessage();
+        }
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        intakes.add(new Intake(record, ApiOrderMapper.toDomain(request)));
+        return null;
+    }
+
+    private record Intake(ConsumerRecord<String, String> record, BookDetails order) {
+    }
+}
@@ -0,0 +1,99 @@
+package org.advanced_architecture.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spring configuration for read/write data source routing.
+ *
+ * Provides:
+ * - One Hikari pool for the primary (spring.datasource, spring.datasource.hikari) named "primary"
+ * - One read-only Hikari pool per configured replica, named "replica-0", "replica-1", ...
+ * - {@link ReadWriteRoutingDataSource} over those pools, exposed as the primary DataSource bean
+ *   behind a LazyConnectionDataSourceProxy so JPA and JdbcTemplate use it transparently
+ * - {@link ReplicaLagMonitor} for the replica staleness guard
+ *
+ * Metrics:
+ * - hikaricp.connections.*{pool}: active, idle, pending and usage/acquire timings for every pool,
+ *   so read load on the replicas can be told apart from ingest load on the primary
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties primaryProperties,
+                                                        DataSourceRoutingProperties routingProperties,
+                                                        Environment environment,
+                                                        MeterRegistry meterRegistry) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<DataSourceRoutingProperties.Replica> configured = routingProperties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            DataSourceRoutingProperties.Replica replica = configured.get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(primaryProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername() != null ? replica.getUsername() : primaryProperties.determineUsername())
+                    .password(replica.getPassword() != null ? replica.getPassword() : primaryProperties.determinePassword())
+                    .build();
+            pool.setPoolName("replica-" + i);
+            pool.setMaximumPoolSize(replica.getMaxPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(pool.getPoolName(), pool);
+        }
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replicas, meterRegistry);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routingDataSource);
+        // Known defaults, so the proxy does not open a connection just to probe them
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadWriteRoutingDataSource routingDataSource,
+                                               DataSourceRoutingProperties routingProperties,
+                                               MeterRegistry meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        routingDataSource.getResolvedDataSources().forEach((key, dataSource) -> {
+            if (!ReadWriteRoutingDataSource.PRIMARY.equals(key)) {
+                replicas.put((String) key, dataSource);
+            }
+        });
+        return new ReplicaLagMonitor(routingDataSource, replicas,
+                routingProperties.getMaxReplicaLag(), routingProperties.getLagCheckInterval(), meterRegistry);
+    }
+}
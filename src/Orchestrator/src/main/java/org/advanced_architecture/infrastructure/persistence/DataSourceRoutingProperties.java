@@ -0,0 +1,49 @@
+package org.advanced_architecture.infrastructure.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica settings (orchestrator.datasource in application.yml).
+ *
+ * The primary keeps using spring.datasource; without replicas all reads stay on the primary.
+ */
+@ConfigurationProperties(prefix = "orchestrator.datasource")
+public class DataSourceRoutingProperties {
+
+    /** Read replicas, e.g. ORCHESTRATOR_DATASOURCE_REPLICAS_0_URL. */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /** Replicas further behind the primary than this get no reads. */
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    /** How often replica lag is measured. */
+    private Duration lagCheckInterval = Duration.ofSeconds(2);
+
+    public List<Replica> getReplicas() { return replicas; }
+    public void setReplicas(List<Replica> replicas) { this.replicas = replicas; }
+    public Duration getMaxReplicaLag() { return maxReplicaLag; }
+    public void setMaxReplicaLag(Duration maxReplicaLag) { this.maxReplicaLag = maxReplicaLag; }
+    public Duration getLagCheckInterval() { return lagCheckInterval; }
+    public void setLagCheckInterval(Duration lagCheckInterval) { this.lagCheckInterval = lagCheckInterval; }
+
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+        private int maxPoolSize = 10;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+        public int getMaxPoolSize() { return maxPoolSize; }
+        public void setMaxPoolSize(int maxPoolSize) { this.maxPoolSize = maxPoolSize; }
+    }
+}
@@ -0,0 +1,56 @@
+package org.advanced_architecture.infrastructure.persistence;
+
+import org.advanced_architecture.application.port.SubmissionKeyStore;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * {@link SubmissionKeyStore} in the orchestrator_submission_keys table.
+ *
+ * Behavior:
+ * - claim() inserts the key with ON CONFLICT DO NOTHING, so a duplicate blocks on the primary key until the
+ *   first transaction ends and then reports the conflict instead of failing
+ * - Keys are only written for submissions that carry one (spool replays), so the table stays small; rows are
+ *   kept, since a replay can arrive any time after the original delivery
+ */
+@Repository
+public class JdbcSubmissionKeyStore implements SubmissionKeyStore, InitializingBean {
+
+    private static final String CREATE_TABLE = """
+            CREATE TABLE IF NOT EXISTS orchestrator_submission_keys (
+                submission_key text        PRIMARY KEY,
+                order_id       bigint      NOT NULL,
+                created_at     timestamptz NOT NULL DEFAULT now()
+            )""";
+
+    private static final String CLAIM = """
+            INSERT INTO orchestrator_submission_keys (submission_key, order_id) VALUES (?, ?)
+            ON CONFLICT (submission_key) DO NOTHING""";
+
+    private static final String FIND = """
+            SELECT order_id FROM orchestrator_submission_keys WHERE submission_key = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSubmissionKeyStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.execute(CREATE_TABLE);
+    }
+
+    @Override
+    public boolean claim(String key, long orderId) {
+        return jdbcTemplate.update(CLAIM, key, orderId) == 1;
+    }
+
+    @Override
+    public Optional<Long> find(String key) {
+        return jdbcTemplate.queryForList(FIND, Long.class, key).stream().findFirst();
+    }
+}
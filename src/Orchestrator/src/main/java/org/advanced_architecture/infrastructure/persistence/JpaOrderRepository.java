@@ -1,13 +1,22 @@
 package org.advanced_architecture.infrastructure.persistence;
 
 import org.advanced_architecture.application.port.OrderRepository;
+import org.advanced_architecture.domain.OrderSearchEntry;
+import org.advanced_architecture.domain.OrderState;
+import org.advanced_architecture.domain.OrderTimeline;
 import org.advanced_architecture.domain.ProductionOrder;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * JPA implementation of {@link OrderRepository}.
@@ -15,9 +24,17 @@ import java.util.Optional;
  * Uses EntityManager directly for fine-grained control over persistence operations.
  *
  * Behavior:
- * - save(): Uses persist() for new entities, merge() for updates
+ * - save(): Uses persist() for new entities, merge() for updates (ids are pre-assigned,
+ *   so newness is decided by the version field)
  * - findById(): Returns Optional to handle missing orders gracefully
+ * - findAllById(): One query by primary key for all ids
  * - deleteById(): Safely removes order if it exists
+ * - forEachTimeline(): Streams a constructor projection (optionally filtered by state) with a JDBC fetch size, so the
+ *   persistence context never holds more than one fetch batch of rows
+ * - forEachTimelineChanged(): Same streaming, over orders with a lifecycle timestamp in a time range (one index
+ *   range scan per timestamp column)
+ * - forEachSearchEntry(): Same streaming, over id, title and author in primary key order
+ * - findIdBelowNewest(): Skips the newest ids in descending primary key order, reading the index only
  *
  * All operations are transactional via class-level @Transactional annotation.
  */
@@ -25,12 +42,22 @@ import java.util.Optional;
 @Transactional
 public class JpaOrderRepository implements OrderRepository {
 
+    private static final int STREAM_FETCH_SIZE = 5_000;
+
+    private static final String TIMELINE_SELECT = "select new org.advanced_architecture.domain.OrderTimeline("
+            + "o.id, o.state, o.createdAt, o.orchestratedAt, o.scheduledAt) "
+            + "from ProductionOrder o";
+
+    private static final String SEARCH_ENTRY_SELECT = "select new org.advanced_architecture.domain.OrderSearchEntry("
+            + "o.id, o.bookDetails.title, o.bookDetails.author) "
+            + "from ProductionOrder o where o.id > :afterId order by o.id";
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public ProductionOrder save(ProductionOrder order) {
-        if (order.getId() == null) {
+        if (order.isNew()) {
             entityManager.persist(order);
             return order;
         } else {
@@ -44,6 +71,16 @@ public class JpaOrderRepository implements OrderRepository {
         return Optional.ofNullable(order);
     }
 
+    @Override
+    public List<ProductionOrder> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery("select o from ProductionOrder o where o.id in :ids", ProductionOrder.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
     @Override
     public void deleteById(Long id) {
         ProductionOrder order = entityManager.find(ProductionOrder.class, id);
@@ -51,4 +88,54 @@ public class JpaOrderRepository implements OrderRepository {
             entityManager.remove(order);
         }
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTimeline(Consumer<OrderTimeline> consumer) {
+        streamRows(entityManager.createQuery(TIMELINE_SELECT, OrderTimeline.class), consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTimeline(OrderState state, Consumer<OrderTimeline> consumer) {
+        streamRows(entityManager.createQuery(TIMELINE_SELECT + " where o.state = :state", OrderTimeline.class)
+                .setParameter("state", state), consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTimelineChanged(LocalDateTime after, LocalDateTime until, Consumer<OrderTimeline> consumer) {
+        streamRows(entityManager.createQuery(TIMELINE_SELECT
+                        + " where (o.createdAt > :after and o.createdAt <= :until)"
+                        + " or (o.orchestratedAt > :after and o.orchestratedAt <= :until)"
+                        + " or (o.scheduledAt > :after and o.scheduledAt <= :until)", OrderTimeline.class)
+                .setParameter("after", after)
+                .setParameter("until", until), consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachSearchEntry(long afterId, Consumer<OrderSearchEntry> consumer) {
+        streamRows(entityManager.createQuery(SEARCH_ENTRY_SELECT, OrderSearchEntry.class)
+                .setParameter("afterId", afterId), consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long findIdBelowNewest(int count) {
+        List<Long> ids = entityManager.createQuery("select o.id from ProductionOrder o order by o.id desc", Long.class)
+                .setFirstResult(count)
+                .setMaxResults(1)
+                .getResultList();
+        return ids.isEmpty() ? Long.MIN_VALUE : ids.get(0);
+    }
+
+    private <T> void streamRows(TypedQuery<T> query, Consumer<T> consumer) {
+        try (Stream<T> rows = query
+                .setHint("org.hibernate.fetchSize", STREAM_FETCH_SIZE)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream()) {
+            rows.forEach(consumer);
+        }
+    }
 }
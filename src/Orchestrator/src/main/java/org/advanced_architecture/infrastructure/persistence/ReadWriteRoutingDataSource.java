@@ -0,0 +1,97 @@
+package org.advanced_architecture.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes connections of read-only transactions to replica pools and everything else to the primary.
+ *
+ * Behavior:
+ * - Read-only transactions get the next available replica in round-robin order
+ * - Falls back to the primary when no replica is configured or all replicas are marked unavailable
+ *   (see {@link ReplicaLagMonitor})
+ * - Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager opens the connection
+ *   before the read-only flag is bound to the thread, the proxy defers that until the first statement
+ *
+ * Metrics:
+ * - orchestrator.datasource.routed{target}: connections handed out per pool
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final Set<String> unavailable = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> routed = new HashMap<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      Map<String, DataSource> replicas,
+                                      MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        for (Object key : targets.keySet()) {
+            routed.put((String) key, Counter.builder("orchestrator.datasource.routed")
+                    .description("Connections handed out per data source pool")
+                    .tag("target", (String) key)
+                    .register(meterRegistry));
+        }
+    }
+
+    List<String> replicaKeys() {
+        return replicaKeys;
+    }
+
+    void setAvailable(String replicaKey, boolean isAvailable) {
+        if (isAvailable) {
+            unavailable.remove(replicaKey);
+        } else {
+            unavailable.add(replicaKey);
+        }
+    }
+
+    /**
+     * Closes the primary and replica pools.
+     */
+    public void close() throws Exception {
+        for (DataSource target : getResolvedDataSources().values()) {
+            if (target instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String key = TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? pickReplica() : PRIMARY;
+        routed.get(key).increment();
+        return key;
+    }
+
+    private String pickReplica() {
+        int count = replicaKeys.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(count, 1));
+        for (int i = 0; i < count; i++) {
+            String candidate = replicaKeys.get((start + i) % count);
+            if (!unavailable.contains(candidate)) {
+                return candidate;
+            }
+        }
+        return PRIMARY;
+    }
+}
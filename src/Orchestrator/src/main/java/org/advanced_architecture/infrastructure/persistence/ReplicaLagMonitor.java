@@ -0,0 +1,120 @@
+package org.advanced_architecture.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Staleness guard for replica reads.
+ *
+ * Responsibilities:
+ * - Periodically measures each replica's replay lag behind the primary
+ * - Marks a replica unavailable in {@link ReadWriteRoutingDataSource} while its lag exceeds
+ *   max-replica-lag or the check fails, so read-only transactions fall back to other replicas or the primary
+ *
+ * Behavior:
+ * - A replica that has replayed everything it received reports zero lag, even if the primary was idle
+ * - A data source that is not in recovery (e.g. the primary itself during development) reports zero lag
+ *
+ * Metrics:
+ * - orchestrator.datasource.replica.lag{replica}: last measured lag in seconds (-1 if the check failed)
+ */
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private final ReadWriteRoutingDataSource routing;
+    private final Map<String, JdbcTemplate> replicas = new ConcurrentHashMap<>();
+    private final Map<String, Double> lagSeconds = new ConcurrentHashMap<>();
+    private final double maxLagSeconds;
+    private final Duration interval;
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    public ReplicaLagMonitor(ReadWriteRoutingDataSource routing,
+                             Map<String, DataSource> replicaDataSources,
+                             Duration maxLag,
+                             Duration interval,
+                             MeterRegistry meterRegistry) {
+        this.routing = routing;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.interval = interval;
+        replicaDataSources.forEach((key, dataSource) -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setQueryTimeout((int) Math.max(1, interval.toSeconds()));
+            replicas.put(key, jdbcTemplate);
+            lagSeconds.put(key, 0.0);
+            Gauge.builder("orchestrator.datasource.replica.lag", lagSeconds, lags -> lags.getOrDefault(key, -1.0))
+                    .description("Replica replay lag behind the primary in seconds")
+                    .baseUnit("seconds")
+                    .tag("replica", key)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    public void start() {
+        if (replicas.isEmpty()) {
+            running = true;
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::checkAll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void checkAll() {
+        replicas.forEach((key, jdbcTemplate) -> {
+            double lag;
+            try {
+                Double measured = jdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+                lag = measured != null ? measured : 0;
+            } catch (RuntimeException ex) {
+                logger.warn("Replica {} lag check failed; routing its reads to other data sources. Cause: {}",
+                        key, ex.toString());
+                lag = -1;
+            }
+            lagSeconds.put(key, lag);
+            boolean usable = lag >= 0 && lag <= maxLagSeconds;
+            routing.setAvailable(key, usable);
+            if (!usable && lag > maxLagSeconds) {
+                logger.warn("Replica {} is {}s behind (max {}s); routing its reads elsewhere", key, lag, maxLagSeconds);
+            }
+        });
+    }
+}
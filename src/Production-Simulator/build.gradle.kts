@@ -0,0 +1,41 @@
+plugins {
+    java
+    application
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+group = "org.advanced_architecture"
+version = "1.0-SNAPSHOT"
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    // Orchestrator domain and API shapes (BookDetails, ProductionOrder, CreateOrderRequest) and
+    // DurationSketch; classes only, none of the Orchestrator's Spring runtime
+    implementation(project(":src:Orchestrator")) {
+        isTransitive = false
+    }
+    // Annotations on the Orchestrator entities and DTOs
+    implementation("jakarta.persistence:jakarta.persistence-api:3.1.0")
+    implementation("jakarta.validation:jakarta.validation-api:3.0.2")
+
+    // NDJSON workloads (same format as POST /orders/import)
+    implementation("com.fasterxml.jackson.core:jackson-databind:2.15.3")
+}
+
+application {
+    mainClass.set("org.advanced_architecture.simulation.PipelineSimulatorApplication")
+    applicationDefaultJvmArgs = listOf("-XX:+UseParallelGC", "-Xms1g")
+}
+
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+}
@@ -0,0 +1,53 @@
+package org.advanced_architecture.simulation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulator speed of a single replication: one simulated hour of the default pipeline per invocation.
+ * Divide the units reported by the run (see PipelineSimulatorApplication) by the time per operation to get units/s.
+ *
+ * Run with: ./gradlew :src:Production-Simulator:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PipelineReplicationBenchmark {
+
+    @Param({"500", "0"})
+    public double dispatchIntervalMillis;
+
+    @Param({"true", "false"})
+    public boolean failures;
+
+    private SimulationConfig config;
+    private Workload workload;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = SimulationConfig.builder()
+                .dispatchIntervalMillis(dispatchIntervalMillis)
+                .failuresEnabled(failures)
+                .warmupMillis(0)
+                .durationMillis(3_600_000)
+                .build();
+        workload = Workload.synthetic(1000, 100, 300, 42);
+    }
+
+    @Benchmark
+    public void simulateOneHour(Blackhole blackhole) {
+        ReplicationResult result = new PipelineReplication(config, workload, seed++).run();
+        blackhole.consume(result.simulatedUnits());
+    }
+}
@@ -0,0 +1,75 @@
+package org.advanced_architecture.simulation;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Random duration in milliseconds.
+ *
+ * Spec format (used on the command line):
+ * - const:MS
+ * - uniform:MIN:MAX (the machine simulators' TICK_MS_MIN / TICK_MS_MAX)
+ * - exp:MEAN
+ * - lognormal:MEDIAN:SIGMA
+ */
+public interface Distribution {
+
+    double sample(SplittableRandom random);
+
+    double mean();
+
+    static Distribution parse(String spec) {
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            return switch (parts[0]) {
+                case "const" -> {
+                    double value = Double.parseDouble(parts[1]);
+                    yield new Distribution() {
+                        public double sample(SplittableRandom random) { return value; }
+                        public double mean() { return value; }
+                        public String toString() { return "const:" + value; }
+                    };
+                }
+                case "uniform" -> {
+                    double min = Double.parseDouble(parts[1]);
+                    double max = Double.parseDouble(parts[2]);
+                    if (max < min) {
+                        throw new IllegalArgumentException("max < min in " + spec);
+                    }
+                    yield new Distribution() {
+                        public double sample(SplittableRandom random) { return min + (max - min) * random.nextDouble(); }
+                        public double mean() { return (min + max) / 2; }
+                        public String toString() { return "uniform:" + min + ":" + max; }
+                    };
+                }
+                case "exp" -> {
+                    double mean = Double.parseDouble(parts[1]);
+                    yield new Distribution() {
+                        public double sample(SplittableRandom random) { return -mean * Math.log(1 - random.nextDouble()); }
+                        public double mean() { return mean; }
+                        public String toString() { return "exp:" + mean; }
+                    };
+                }
+                case "lognormal" -> {
+                    double mu = Math.log(Double.parseDouble(parts[1]));
+                    double sigma = Double.parseDouble(parts[2]);
+                    yield new Distribution() {
+                        public double sample(SplittableRandom random) { return Math.exp(mu + sigma * gaussian(random)); }
+                        public double mean() { return Math.exp(mu + sigma * sigma / 2); }
+                        public String toString() { return "lognormal:" + Math.exp(mu) + ":" + sigma; }
+                    };
+                }
+                default -> throw new IllegalArgumentException("Unknown distribution: " + spec);
+            };
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed distribution: " + spec, e);
+        }
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        // Box-Muller; SplittableRandom has no nextGaussian() on Java 17
+        double u = 1 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+}
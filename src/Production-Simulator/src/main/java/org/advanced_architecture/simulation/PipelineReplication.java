@@ -0,0 +1,474 @@
+package org.advanced_architecture.simulation;
+
+import org.advanced_architecture.application.stats.DurationSketch;
+import org.advanced_architecture.simulation.engine.EventQueue;
+import org.advanced_architecture.simulation.engine.IntQueue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * One independent run of the A∥B → C → D pipeline, simulated event by event.
+ *
+ * Model (after the UnifiedScheduler):
+ * - An order of quantity n releases n units; each unit is queued for A and B at LOW priority
+ * - A unit is queued for C at MEDIUM priority once both A and B are done, and for D (LOW) after C
+ * - Each station has three FIFO queues (HIGH, MEDIUM, LOW); HIGH is served first
+ * - The dispatcher assigns queued units to idle machines every dispatch interval
+ *   (or immediately when the interval is 0)
+ * - A job takes pickup delay + ticks until progress reaches 100 %; the machine reports idle after the ready delay
+ * - A crashed machine loses its unit; the unit is re-queued at HIGH priority after the detection
+ *   delay and the machine comes back after the restart delay
+ *
+ * Behavior:
+ * - Single-threaded and allocation-free in steady state: units, orders, machines and events live in
+ *   primitive arrays; unit and order slots are recycled through free lists
+ * - Statistics are reset at the end of warm-up and cover [warmup, warmup + duration]
+ */
+final class PipelineReplication {
+
+    private static final int STATIONS = 4;
+    private static final int A = 0;
+    private static final int B = 1;
+    private static final int C = 2;
+    private static final int D = 3;
+
+    private static final int HIGH = 0;
+    private static final int MEDIUM = 1;
+    private static final int LOW = 2;
+
+    private static final int EV_ARRIVAL = 0;
+    private static final int EV_FINISH = 1;
+    private static final int EV_READY = 2;
+    private static final int EV_FAIL = 3;
+    private static final int EV_DETECT = 4;
+    private static final int EV_RESTART = 5;
+    private static final int EV_DISPATCH = 6;
+    private static final int EV_WARMUP_END = 7;
+
+    private static final byte IDLE = 0;
+    private static final byte BUSY = 1;
+    private static final byte RESETTING = 2;
+    private static final byte DOWN = 3;
+
+    private static final byte DONE_A = 1;
+    private static final byte DONE_B = 2;
+
+    private final SimulationConfig config;
+    private final Workload workload;
+    private final SplittableRandom random;
+    private final EventQueue events = new EventQueue(1024);
+    private final Distribution[] tickTimes = new Distribution[STATIONS];
+    private final int progressBound;
+
+    private double now;
+
+    // Machines, numbered across all stations
+    private final int[] machineStation;
+    private final byte[] machineState;
+    private final int[] machineUnit;
+    private final int[] machineLostUnit;
+    private final int[] machineEpoch;
+    private final int[][] idleMachines = new int[STATIONS][];
+    private final int[] idleCount = new int[STATIONS];
+    private final int[] occupied = new int[STATIONS];
+    private final int[] down = new int[STATIONS];
+
+    // Queues per station and priority
+    private final IntQueue[][] queues = new IntQueue[STATIONS][3];
+    private final int[] queued = new int[STATIONS];
+
+    // Unit slots
+    private int[] unitOrder = new int[1024];
+    private byte[] unitDone = new byte[1024];
+    private int[] freeUnits = new int[1024];
+    private int freeUnitCount;
+    private int unitSlots;
+
+    // Order slots
+    private double[] orderArrival = new double[256];
+    private int[] orderRemaining = new int[256];
+    private int[] orderPages = new int[256];
+    private int[] freeOrders = new int[256];
+    private int freeOrderCount;
+    private int orderSlots;
+
+    // Statistics
+    private double windowStart;
+    private final double[] queueArea = new double[STATIONS];
+    private final double[] occupiedArea = new double[STATIONS];
+    private final double[] downArea = new double[STATIONS];
+    private final double[] lastChange = new double[STATIONS];
+    private final int[] maxQueue = new int[STATIONS];
+    private DurationSketch unitLeadTime = new DurationSketch();
+    private DurationSketch orderLeadTime = new DurationSketch();
+    private long unitsCompleted;
+    private long ordersCompleted;
+    private long failures;
+    private long requeues;
+    private long simulatedUnits;
+    private long eventCount;
+
+    PipelineReplication(SimulationConfig config, Workload workload, long seed) {
+        this.config = config;
+        this.workload = workload;
+        this.random = new SplittableRandom(seed);
+        this.progressBound = config.progressPerTickMax() - config.progressPerTickMin() + 1;
+
+        int machineCount = 0;
+        for (Station station : Station.values()) {
+            int s = station.ordinal();
+            tickTimes[s] = config.tickTime(station);
+            idleMachines[s] = new int[config.machines(station)];
+            machineCount += config.machines(station);
+            for (int p = 0; p < 3; p++) {
+                queues[s][p] = new IntQueue(256);
+            }
+        }
+        machineStation = new int[machineCount];
+        machineState = new byte[machineCount];
+        machineUnit = new int[machineCount];
+        machineLostUnit = new int[machineCount];
+        machineEpoch = new int[machineCount];
+        Arrays.fill(machineUnit, -1);
+        Arrays.fill(machineLostUnit, -1);
+
+        int m = 0;
+        for (Station station : Station.values()) {
+            int s = station.ordinal();
+            for (int i = 0; i < config.machines(station); i++, m++) {
+                machineStation[m] = s;
+                idleMachines[s][idleCount[s]++] = m;
+            }
+        }
+    }
+
+    ReplicationResult run() {
+        double end = config.warmupMillis() + config.durationMillis();
+
+        if (config.saturated()) {
+            for (int i = 0; i < config.saturatedOrders(); i++) {
+                releaseOrder();
+            }
+        } else {
+            schedule(0, EV_ARRIVAL, 0);
+        }
+        if (config.dispatchIntervalMillis() > 0) {
+            schedule(config.dispatchIntervalMillis(), EV_DISPATCH, 0);
+        }
+        if (config.failuresEnabled()) {
+            for (int m = 0; m < machineStation.length; m++) {
+                schedule(config.uptime().sample(random), EV_FAIL, m);
+            }
+        }
+        if (config.warmupMillis() > 0) {
+            schedule(config.warmupMillis(), EV_WARMUP_END, 0);
+        }
+
+        while (!events.isEmpty() && events.peekTime() <= end) {
+            events.poll();
+            now = events.time();
+            eventCount++;
+            long payload = events.payload();
+            int type = (int) (payload & 0xF);
+            int machine = (int) ((payload >>> 4) & 0xFFFFFFF);
+            int epoch = (int) (payload >>> 32);
+            switch (type) {
+                case EV_ARRIVAL -> onArrival();
+                case EV_FINISH -> onFinish(machine, epoch);
+                case EV_READY -> onReady(machine, epoch);
+                case EV_FAIL -> onFail(machine);
+                case EV_DETECT -> onDetect(machine);
+                case EV_RESTART -> onRestart(machine);
+                case EV_DISPATCH -> onDispatch();
+                case EV_WARMUP_END -> resetStatistics();
+                default -> throw new IllegalStateException("Unknown event type " + type);
+            }
+        }
+
+        now = end;
+        double[] meanQueue = new double[STATIONS];
+        double[] utilization = new double[STATIONS];
+        double[] downtime = new double[STATIONS];
+        double window = end - windowStart;
+        for (int s = 0; s < STATIONS; s++) {
+            accumulate(s);
+            double machineTime = window * idleMachines[s].length;
+            meanQueue[s] = queueArea[s] / window;
+            utilization[s] = occupiedArea[s] / Math.max(machineTime - downArea[s], Double.MIN_VALUE);
+            downtime[s] = downArea[s] / machineTime;
+        }
+        return new ReplicationResult(window, unitsCompleted, ordersCompleted, meanQueue, maxQueue.clone(),
+                utilization, downtime, unitLeadTime, orderLeadTime, failures, requeues, simulatedUnits, eventCount);
+    }
+
+    // ---------- events ----------
+
+    private void onArrival() {
+        releaseOrder();
+        double meanGap = 3_600_000.0 / config.ordersPerHour();
+        schedule(now - meanGap * Math.log(1 - random.nextDouble()), EV_ARRIVAL, 0);
+    }
+
+    private void onFinish(int machine, int epoch) {
+        if (epoch != machineEpoch[machine]) {
+            return;
+        }
+        int station = machineStation[machine];
+        int unit = machineUnit[machine];
+        machineUnit[machine] = -1;
+        machineState[machine] = RESETTING;
+        schedule(now + config.readyDelay().sample(random), EV_READY, machine);
+        completeJob(station, unit);
+    }
+
+    private void onReady(int machine, int epoch) {
+        if (epoch != machineEpoch[machine] || machineState[machine] != RESETTING) {
+            return;
+        }
+        int station = machineStation[machine];
+        setOccupied(station, occupied[station] - 1);
+        machineState[machine] = IDLE;
+        idleMachines[station][idleCount[station]++] = machine;
+        if (config.dispatchIntervalMillis() <= 0) {
+            dispatch(station);
+        }
+    }
+
+    private void onFail(int machine) {
+        int station = machineStation[machine];
+        failures++;
+        switch (machineState[machine]) {
+            case IDLE -> removeIdle(station, machine);
+            case BUSY -> {
+                machineLostUnit[machine] = machineUnit[machine];
+                machineUnit[machine] = -1;
+                setOccupied(station, occupied[station] - 1);
+                schedule(now + config.detectionDelayMillis(), EV_DETECT, machine);
+            }
+            case RESETTING -> setOccupied(station, occupied[station] - 1);
+            default -> throw new IllegalStateException("Machine " + machine + " failed while down");
+        }
+        machineEpoch[machine]++;
+        machineState[machine] = DOWN;
+        setDown(station, down[station] + 1);
+        schedule(now + config.restartDelayMillis(), EV_RESTART, machine);
+    }
+
+    private void onDetect(int machine) {
+        int unit = machineLostUnit[machine];
+        machineLostUnit[machine] = -1;
+        requeues++;
+        enqueue(machineStation[machine], HIGH, unit);
+    }
+
+    private void onRestart(int machine) {
+        int station = machineStation[machine];
+        machineEpoch[machine]++;
+        machineState[machine] = IDLE;
+        setDown(station, down[station] - 1);
+        idleMachines[station][idleCount[station]++] = machine;
+        schedule(now + config.uptime().sample(random), EV_FAIL, machine);
+        if (config.dispatchIntervalMillis() <= 0) {
+            dispatch(station);
+        }
+    }
+
+    private void onDispatch() {
+        dispatchAll();
+        schedule(now + config.dispatchIntervalMillis(), EV_DISPATCH, 0);
+    }
+
+    // ---------- pipeline ----------
+
+    private void releaseOrder() {
+        int template = random.nextInt(workload.size());
+        int quantity = workload.quantity(template);
+        int order = allocateOrder();
+        orderArrival[order] = now;
+        orderRemaining[order] = quantity;
+        orderPages[order] = workload.pages(template);
+        for (int i = 0; i < quantity; i++) {
+            int unit = allocateUnit();
+            unitOrder[unit] = order;
+            unitDone[unit] = 0;
+            enqueue(A, LOW, unit);
+            enqueue(B, LOW, unit);
+        }
+    }
+
+    private void completeJob(int station, int unit) {
+        switch (station) {
+            case A, B -> {
+                unitDone[unit] |= station == A ? DONE_A : DONE_B;
+                if (unitDone[unit] == (DONE_A | DONE_B)) {
+                    enqueue(C, MEDIUM, unit);
+                }
+            }
+            case C -> enqueue(D, LOW, unit);
+            default -> completeUnit(unit);
+        }
+    }
+
+    private void completeUnit(int unit) {
+        int order = unitOrder[unit];
+        freeUnit(unit);
+        simulatedUnits++;
+        unitsCompleted++;
+        unitLeadTime.add(Math.round(now - orderArrival[order]));
+        if (--orderRemaining[order] == 0) {
+            ordersCompleted++;
+            orderLeadTime.add(Math.round(now - orderArrival[order]));
+            freeOrder(order);
+            if (config.saturated()) {
+                releaseOrder();
+            }
+        }
+    }
+
+    private void enqueue(int station, int priority, int unit) {
+        queues[station][priority].add(unit);
+        setQueued(station, queued[station] + 1);
+        if (config.dispatchIntervalMillis() <= 0) {
+            dispatch(station);
+        }
+    }
+
+    private void dispatchAll() {
+        for (int s = 0; s < STATIONS; s++) {
+            dispatch(s);
+        }
+    }
+
+    private void dispatch(int station) {
+        while (idleCount[station] > 0 && queued[station] > 0) {
+            int unit = nextQueued(station);
+            int machine = idleMachines[station][--idleCount[station]];
+            machineState[machine] = BUSY;
+            machineUnit[machine] = unit;
+            setOccupied(station, occupied[station] + 1);
+            double duration = config.pickupDelay().sample(random) + jobTime(station, unit);
+            schedule(now + duration, EV_FINISH, machine);
+        }
+    }
+
+    private int nextQueued(int station) {
+        IntQueue[] byPriority = queues[station];
+        int priority = !byPriority[HIGH].isEmpty() ? HIGH : !byPriority[MEDIUM].isEmpty() ? MEDIUM : LOW;
+        setQueued(station, queued[station] - 1);
+        return byPriority[priority].poll();
+    }
+
+    private double jobTime(int station, int unit) {
+        Distribution tick = tickTimes[station];
+        int min = config.progressPerTickMin();
+        double duration = 0;
+        int progress = 0;
+        while (progress < 100) {
+            duration += tick.sample(random);
+            progress += progressBound == 1 ? min : min + random.nextInt(progressBound);
+        }
+        if (station == A && config.pagesReference() > 0) {
+            duration *= (double) orderPages[unitOrder[unit]] / config.pagesReference();
+        }
+        return duration;
+    }
+
+    private void removeIdle(int station, int machine) {
+        int[] idle = idleMachines[station];
+        for (int i = 0; i < idleCount[station]; i++) {
+            if (idle[i] == machine) {
+                idle[i] = idle[--idleCount[station]];
+                return;
+            }
+        }
+        throw new IllegalStateException("Machine " + machine + " is not idle");
+    }
+
+    private void schedule(double time, int type, int machine) {
+        long epoch = type == EV_FINISH || type == EV_READY ? machineEpoch[machine] : 0;
+        events.schedule(time, (epoch << 32) | ((long) machine << 4) | type);
+    }
+
+    // ---------- slots ----------
+
+    private int allocateUnit() {
+        if (freeUnitCount > 0) {
+            return freeUnits[--freeUnitCount];
+        }
+        if (unitSlots == unitOrder.length) {
+            int capacity = unitSlots * 2;
+            unitOrder = Arrays.copyOf(unitOrder, capacity);
+            unitDone = Arrays.copyOf(unitDone, capacity);
+            freeUnits = Arrays.copyOf(freeUnits, capacity);
+        }
+        return unitSlots++;
+    }
+
+    private void freeUnit(int unit) {
+        freeUnits[freeUnitCount++] = unit;
+    }
+
+    private int allocateOrder() {
+        if (freeOrderCount > 0) {
+            return freeOrders[--freeOrderCount];
+        }
+        if (orderSlots == orderArrival.length) {
+            int capacity = orderSlots * 2;
+            orderArrival = Arrays.copyOf(orderArrival, capacity);
+            orderRemaining = Arrays.copyOf(orderRemaining, capacity);
+            orderPages = Arrays.copyOf(orderPages, capacity);
+            freeOrders = Arrays.copyOf(freeOrders, capacity);
+        }
+        return orderSlots++;
+    }
+
+    private void freeOrder(int order) {
+        freeOrders[freeOrderCount++] = order;
+    }
+
+    // ---------- statistics ----------
+
+    private void setQueued(int station, int value) {
+        accumulate(station);
+        queued[station] = value;
+        if (value > maxQueue[station]) {
+            maxQueue[station] = value;
+        }
+    }
+
+    private void setOccupied(int station, int value) {
+        accumulate(station);
+        occupied[station] = value;
+    }
+
+    private void setDown(int station, int value) {
+        accumulate(station);
+        down[station] = value;
+    }
+
+    private void accumulate(int station) {
+        double elapsed = now - lastChange[station];
+        queueArea[station] += queued[station] * elapsed;
+        occupiedArea[station] += occupied[station] * elapsed;
+        downArea[station] += down[station] * elapsed;
+        lastChange[station] = now;
+    }
+
+    private void resetStatistics() {
+        windowStart = now;
+        for (int s = 0; s < STATIONS; s++) {
+            queueArea[s] = 0;
+            occupiedArea[s] = 0;
+            downArea[s] = 0;
+            lastChange[s] = now;
+            maxQueue[s] = queued[s];
+        }
+        unitLeadTime = new DurationSketch();
+        orderLeadTime = new DurationSketch();
+        unitsCompleted = 0;
+        ordersCompleted = 0;
+        failures = 0;
+        requeues = 0;
+    }
+}
@@ -0,0 +1,198 @@
+package org.advanced_architecture.simulation;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command line entry point of the production pipeline simulator.
+ *
+ * Runs one configuration, or a sweep over one station's machine count, and prints a report per
+ * configuration; --csv additionally writes one row per configuration for the R scripts in uppaal_and_r.
+ *
+ * Example, "how many B machines before binding becomes the bottleneck?":
+ *   ./gradlew :src:Production-Simulator:run --args="--sweep B=1..8 --csv sweep-b.csv"
+ */
+public final class PipelineSimulatorApplication {
+
+    private static final String USAGE = """
+            Usage: pipeline-simulator [options]
+              --machines A=6,B=3,C=3,D=3      machines per station
+              --tick A=uniform:90:100,...      tick time per station (const:MS, uniform:MIN:MAX, exp:MEAN, lognormal:MEDIAN:SIGMA)
+              --progress 19:21                 percent progress per tick
+              --pickup-delay uniform:0:500     assignment to start of work
+              --ready-delay uniform:500:1500   end of work to machine reported idle
+              --dispatch-interval 500ms        JobAssigner interval (0 = assign immediately)
+              --pages-reference 0              scale A time by pages / N (0 = off)
+              --failures true                  simulate machine crashes
+              --uptime uniform:60000:180000    time from (re)start to crash, in ms
+              --detection-delay 3s             crash to unit re-queued
+              --restart-delay 30s              crash to machine back
+              --arrivals saturated:50          saturated:ORDERS_IN_SYSTEM or poisson:ORDERS_PER_HOUR
+              --workload synthetic:1000:100:300  synthetic:ORDERS:MIN_QTY:MAX_QTY, or an NDJSON file of CreateOrderRequests
+              --warmup 10m --duration 8h       simulated time (ms, s, m, h)
+              --replications 32 --threads N --seed 42
+              --sweep B=1..8                   repeat for each machine count of one station
+              --csv results.csv                also write one CSV row per configuration
+            """;
+
+    private PipelineSimulatorApplication() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parseOptions(args);
+        if (options.containsKey("help")) {
+            System.out.print(USAGE);
+            return;
+        }
+
+        SimulationConfig config = toConfig(options);
+        Workload workload = toWorkload(options.getOrDefault("workload", "synthetic:1000:100:300"), config.seed());
+        List<SimulationConfig> configs = sweep(config, options.get("sweep"));
+
+        System.out.printf(Locale.ROOT, "%s%nWorkload: %d orders, mean quantity %.1f%n%n",
+                config, workload.size(), workload.meanQuantity());
+
+        SimulationRunner runner = new SimulationRunner(config.threads());
+        List<SimulationReport> reports = new ArrayList<>();
+        try {
+            for (SimulationConfig each : configs) {
+                SimulationReport report = runner.run(each, workload);
+                reports.add(report);
+                System.out.println(report.toText());
+            }
+        } finally {
+            runner.shutdown();
+        }
+
+        String csv = options.get("csv");
+        if (csv != null) {
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Path.of(csv), StandardCharsets.UTF_8))) {
+                writer.println(SimulationReport.csvHeader());
+                reports.forEach(report -> writer.println(report.toCsvRow()));
+            }
+            System.out.println("Wrote " + reports.size() + " rows to " + csv);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg + "\n" + USAGE);
+            }
+            String name = arg.substring(2);
+            int equals = name.indexOf('=');
+            if (equals > 0) {
+                options.put(name.substring(0, equals), name.substring(equals + 1));
+            } else if (name.equals("help")) {
+                options.put(name, "");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+        }
+        return options;
+    }
+
+    private static SimulationConfig toConfig(Map<String, String> options) {
+        SimulationConfig.Builder builder = SimulationConfig.builder();
+        options.forEach((name, value) -> {
+            switch (name) {
+                case "machines" -> perStation(value).forEach((station, count) -> builder.machines(station, Integer.parseInt(count)));
+                case "tick" -> perStation(value).forEach((station, spec) -> builder.tickTime(station, Distribution.parse(spec)));
+                case "progress" -> {
+                    String[] range = value.split(":");
+                    builder.progressPerTick(Integer.parseInt(range[0]), Integer.parseInt(range[range.length - 1]));
+                }
+                case "pickup-delay" -> builder.pickupDelay(Distribution.parse(value));
+                case "ready-delay" -> builder.readyDelay(Distribution.parse(value));
+                case "dispatch-interval" -> builder.dispatchIntervalMillis(parseMillis(value));
+                case "pages-reference" -> builder.pagesReference(Integer.parseInt(value));
+                case "failures" -> builder.failuresEnabled(Boolean.parseBoolean(value));
+                case "uptime" -> builder.uptime(Distribution.parse(value));
+                case "detection-delay" -> builder.detectionDelayMillis(parseMillis(value));
+                case "restart-delay" -> builder.restartDelayMillis(parseMillis(value));
+                case "arrivals" -> {
+                    String[] parts = value.split(":");
+                    switch (parts[0]) {
+                        case "saturated" -> builder.ordersPerHour(0).saturatedOrders(Integer.parseInt(parts[1]));
+                        case "poisson" -> builder.ordersPerHour(Double.parseDouble(parts[1]));
+                        default -> throw new IllegalArgumentException("Unknown arrivals: " + value);
+                    }
+                }
+                case "warmup" -> builder.warmupMillis(parseMillis(value));
+                case "duration" -> builder.durationMillis(parseMillis(value));
+                case "replications" -> builder.replications(Integer.parseInt(value));
+                case "threads" -> builder.threads(Integer.parseInt(value));
+                case "seed" -> builder.seed(Long.parseLong(value));
+                case "workload", "sweep", "csv" -> {
+                    // handled by main
+                }
+                default -> throw new IllegalArgumentException("Unknown option --" + name + "\n" + USAGE);
+            }
+        });
+        return builder.build();
+    }
+
+    private static Workload toWorkload(String spec, long seed) throws IOException {
+        if (!spec.startsWith("synthetic")) {
+            return Workload.fromNdjson(Path.of(spec));
+        }
+        String[] parts = spec.split(":");
+        int orders = parts.length > 1 ? Integer.parseInt(parts[1]) : 1000;
+        int minQuantity = parts.length > 2 ? Integer.parseInt(parts[2]) : 100;
+        int maxQuantity = parts.length > 3 ? Integer.parseInt(parts[3]) : 300;
+        return Workload.synthetic(orders, minQuantity, maxQuantity, seed);
+    }
+
+    private static List<SimulationConfig> sweep(SimulationConfig config, String spec) {
+        if (spec == null) {
+            return List.of(config);
+        }
+        String[] parts = spec.split("=");
+        String[] range = parts[1].split("\\.\\.");
+        Station station = Station.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+        int from = Integer.parseInt(range[0].trim());
+        int to = Integer.parseInt(range[range.length - 1].trim());
+        List<SimulationConfig> configs = new ArrayList<>();
+        for (int count = from; count <= to; count++) {
+            configs.add(config.withMachines(station, count));
+        }
+        return configs;
+    }
+
+    private static Map<Station, String> perStation(String value) {
+        Map<Station, String> values = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] pair = entry.split("=", 2);
+            values.put(Station.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), pair[1].trim());
+        }
+        return values;
+    }
+
+    static double parseMillis(String value) {
+        String trimmed = value.trim().toLowerCase(Locale.ROOT);
+        int split = 0;
+        while (split < trimmed.length() && (Character.isDigit(trimmed.charAt(split)) || trimmed.charAt(split) == '.')) {
+            split++;
+        }
+        double amount = Double.parseDouble(trimmed.substring(0, split));
+        return switch (trimmed.substring(split)) {
+            case "", "ms" -> amount;
+            case "s" -> amount * 1_000;
+            case "m", "min" -> amount * 60_000;
+            case "h" -> amount * 3_600_000;
+            default -> throw new IllegalArgumentException("Unknown time unit in " + value);
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package org.advanced_architecture.simulation;
+
+import org.advanced_architecture.application.stats.DurationSketch;
+
+/**
+ * Measurements of one replication over its observation window (after warm-up).
+ *
+ * Per-station arrays are indexed by {@link Station#ordinal()}.
+ *
+ * @param unitsCompleted       units packaged (finished on D) in the window
+ * @param ordersCompleted      orders whose last unit was packaged in the window
+ * @param meanQueueLength      time-averaged number of units waiting per station
+ * @param maxQueueLength       longest queue per station
+ * @param utilization          share of available (not crashed) machine time spent on a unit
+ *                             (pick-up, ticks and reset), per station
+ * @param downtime             share of machine time spent crashed, per station
+ * @param unitLeadTime         order arrival to unit packaged, in milliseconds
+ * @param orderLeadTime        order arrival to last unit packaged, in milliseconds
+ * @param failures             machine crashes
+ * @param requeues             units re-queued after a crash
+ * @param simulatedUnits       all units packaged, warm-up included (simulator speed)
+ */
+public record ReplicationResult(
+        double windowMillis,
+        long unitsCompleted,
+        long ordersCompleted,
+        double[] meanQueueLength,
+        int[] maxQueueLength,
+        double[] utilization,
+        double[] downtime,
+        DurationSketch unitLeadTime,
+        DurationSketch orderLeadTime,
+        long failures,
+        long requeues,
+        long simulatedUnits,
+        long events
+) {
+
+    public double unitsPerHour() {
+        return unitsCompleted * 3_600_000.0 / windowMillis;
+    }
+
+    public double ordersPerHour() {
+        return ordersCompleted * 3_600_000.0 / windowMillis;
+    }
+}
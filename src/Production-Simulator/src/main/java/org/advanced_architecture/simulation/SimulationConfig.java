@@ -0,0 +1,196 @@
+package org.advanced_architecture.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Parameters of one simulated pipeline configuration. Times are in milliseconds.
+ *
+ * Defaults mirror src/UnifiedScheduler/docker-compose.yml and the machine simulator
+ * (edge-mqtt/simulator/machine.py):
+ * - 6 A, 3 B, 3 C and 3 D machines; tick times uniform 90-100, 20-30, 50-60 and 15-20 ms
+ * - A job advances 19-21 % per tick and ends at 100 %
+ * - A machine picks up an assignment within 0.5 s (its idle poll) and reports idle again
+ *   0.5-1.5 s after finishing (reset delay plus the next heartbeat)
+ * - The JobAssigner hands out work every 500 ms
+ * - Machines crash 60-180 s after (re)start; the HeartbeatMonitor notices after 3 missed 1 s heartbeats
+ *   and re-queues the unit with HIGH priority; Docker restarts the machine after 30 s
+ *
+ * @param machines         machine count per {@link Station}, indexed by ordinal
+ * @param tickTimes        duration of one progress tick per station
+ * @param progressPerTick  percent progress per tick, uniform in [min, max]
+ * @param pagesReference   when > 0, A (printing) time scales with pages / pagesReference
+ * @param ordersPerHour    Poisson order arrivals; 0 runs saturated instead
+ * @param saturatedOrders  orders kept in the system when saturated (a new one arrives as one completes)
+ * @param warmupMillis     simulated time before statistics are collected
+ * @param durationMillis   simulated time over which statistics are collected
+ */
+public record SimulationConfig(
+        int[] machines,
+        Distribution[] tickTimes,
+        int progressPerTickMin,
+        int progressPerTickMax,
+        Distribution pickupDelay,
+        Distribution readyDelay,
+        double dispatchIntervalMillis,
+        int pagesReference,
+        boolean failuresEnabled,
+        Distribution uptime,
+        double detectionDelayMillis,
+        double restartDelayMillis,
+        double ordersPerHour,
+        int saturatedOrders,
+        double warmupMillis,
+        double durationMillis,
+        int replications,
+        int threads,
+        long seed
+) {
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int machines(Station station) {
+        return machines[station.ordinal()];
+    }
+
+    public Distribution tickTime(Station station) {
+        return tickTimes[station.ordinal()];
+    }
+
+    public boolean saturated() {
+        return ordersPerHour <= 0;
+    }
+
+    public SimulationConfig withMachines(Station station, int count) {
+        return toBuilder().machines(station, count).build();
+    }
+
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.machines = machines.clone();
+        builder.tickTimes = tickTimes.clone();
+        builder.progressPerTickMin = progressPerTickMin;
+        builder.progressPerTickMax = progressPerTickMax;
+        builder.pickupDelay = pickupDelay;
+        builder.readyDelay = readyDelay;
+        builder.dispatchIntervalMillis = dispatchIntervalMillis;
+        builder.pagesReference = pagesReference;
+        builder.failuresEnabled = failuresEnabled;
+        builder.uptime = uptime;
+        builder.detectionDelayMillis = detectionDelayMillis;
+        builder.restartDelayMillis = restartDelayMillis;
+        builder.ordersPerHour = ordersPerHour;
+        builder.saturatedOrders = saturatedOrders;
+        builder.warmupMillis = warmupMillis;
+        builder.durationMillis = durationMillis;
+        builder.replications = replications;
+        builder.threads = threads;
+        builder.seed = seed;
+        return builder;
+    }
+
+    public String describeMachines() {
+        StringBuilder description = new StringBuilder();
+        for (Station station : Station.values()) {
+            if (description.length() > 0) {
+                description.append(' ');
+            }
+            description.append(station).append('=').append(machines[station.ordinal()]);
+        }
+        return description.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationConfig[machines=" + describeMachines()
+                + ", tickTimes=" + Arrays.toString(tickTimes)
+                + ", dispatchInterval=" + dispatchIntervalMillis + "ms"
+                + ", failures=" + failuresEnabled
+                + ", arrivals=" + (saturated() ? "saturated:" + saturatedOrders : ordersPerHour + "/h")
+                + ", warmup=" + warmupMillis + "ms, duration=" + durationMillis + "ms"
+                + ", replications=" + replications + ", seed=" + seed + "]";
+    }
+
+    public static final class Builder {
+
+        private int[] machines = {6, 3, 3, 3};
+        private Distribution[] tickTimes = {
+                Distribution.parse("uniform:90:100"),
+                Distribution.parse("uniform:20:30"),
+                Distribution.parse("uniform:50:60"),
+                Distribution.parse("uniform:15:20")
+        };
+        private int progressPerTickMin = 19;
+        private int progressPerTickMax = 21;
+        private Distribution pickupDelay = Distribution.parse("uniform:0:500");
+        private Distribution readyDelay = Distribution.parse("uniform:500:1500");
+        private double dispatchIntervalMillis = 500;
+        private int pagesReference = 0;
+        private boolean failuresEnabled = true;
+        private Distribution uptime = Distribution.parse("uniform:60000:180000");
+        private double detectionDelayMillis = 3_000;
+        private double restartDelayMillis = 30_000;
+        private double ordersPerHour = 0;
+        private int saturatedOrders = 50;
+        private double warmupMillis = 10 * 60_000.0;
+        private double durationMillis = 8 * 3_600_000.0;
+        private int replications = 32;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private long seed = 42;
+
+        private Builder() {
+        }
+
+        public Builder machines(Station station, int count) {
+            if (count < 1) {
+                throw new IllegalArgumentException("At least one " + station + " machine is required");
+            }
+            machines[station.ordinal()] = count;
+            return this;
+        }
+
+        public Builder tickTime(Station station, Distribution distribution) {
+            tickTimes[station.ordinal()] = distribution;
+            return this;
+        }
+
+        public Builder progressPerTick(int min, int max) {
+            if (min < 1 || max < min) {
+                throw new IllegalArgumentException("Invalid progress per tick: " + min + "-" + max);
+            }
+            this.progressPerTickMin = min;
+            this.progressPerTickMax = max;
+            return this;
+        }
+
+        public Builder pickupDelay(Distribution pickupDelay) { this.pickupDelay = pickupDelay; return this; }
+        public Builder readyDelay(Distribution readyDelay) { this.readyDelay = readyDelay; return this; }
+        public Builder dispatchIntervalMillis(double millis) { this.dispatchIntervalMillis = millis; return this; }
+        public Builder pagesReference(int pages) { this.pagesReference = pages; return this; }
+        public Builder failuresEnabled(boolean enabled) { this.failuresEnabled = enabled; return this; }
+        public Builder uptime(Distribution uptime) { this.uptime = uptime; return this; }
+        public Builder detectionDelayMillis(double millis) { this.detectionDelayMillis = millis; return this; }
+        public Builder restartDelayMillis(double millis) { this.restartDelayMillis = millis; return this; }
+        public Builder ordersPerHour(double rate) { this.ordersPerHour = rate; return this; }
+        public Builder saturatedOrders(int orders) { this.saturatedOrders = orders; return this; }
+        public Builder warmupMillis(double millis) { this.warmupMillis = millis; return this; }
+        public Builder durationMillis(double millis) { this.durationMillis = millis; return this; }
+        public Builder replications(int replications) { this.replications = replications; return this; }
+        public Builder threads(int threads) { this.threads = threads; return this; }
+        public Builder seed(long seed) { this.seed = seed; return this; }
+
+        public SimulationConfig build() {
+            if (durationMillis <= 0 || replications < 1 || threads < 1) {
+                throw new IllegalArgumentException("duration, replications and threads must be positive");
+            }
+            if (ordersPerHour <= 0 && saturatedOrders < 1) {
+                throw new IllegalArgumentException("Either an arrival rate or saturated orders is required");
+            }
+            return new SimulationConfig(machines.clone(), tickTimes.clone(), progressPerTickMin, progressPerTickMax,
+                    pickupDelay, readyDelay, dispatchIntervalMillis, pagesReference, failuresEnabled, uptime,
+                    detectionDelayMillis, restartDelayMillis, ordersPerHour, saturatedOrders, warmupMillis,
+                    durationMillis, replications, threads, seed);
+        }
+    }
+}
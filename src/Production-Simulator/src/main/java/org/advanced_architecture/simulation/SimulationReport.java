@@ -0,0 +1,190 @@
+package org.advanced_architecture.simulation;
+
+import org.advanced_architecture.application.stats.DurationSketch;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Results of all replications of one configuration.
+ *
+ * Contains:
+ * - Throughput (units and orders per hour) as mean and 95 % confidence half-width across replications
+ * - Per station: utilization of available machines, downtime, time-averaged and maximum queue length
+ * - Unit and order lead-time quantiles over all replications (merged sketches)
+ * - The bottleneck: the station whose available machines are busiest
+ * - Simulator speed: simulated units and events per wall-clock second
+ */
+public record SimulationReport(
+        SimulationConfig config,
+        int replications,
+        double unitsPerHour,
+        double unitsPerHourHalfWidth,
+        double ordersPerHour,
+        double ordersPerHourHalfWidth,
+        double[] utilization,
+        double[] downtime,
+        double[] meanQueueLength,
+        int[] maxQueueLength,
+        DurationSketch.Summary unitLeadTime,
+        DurationSketch.Summary orderLeadTime,
+        double failuresPerReplication,
+        double requeuesPerReplication,
+        long simulatedUnits,
+        long events,
+        long wallNanos
+) {
+
+    /** Two-sided 95 % Student t quantiles for 1..30 degrees of freedom. */
+    private static final double[] T_975 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    static SimulationReport of(SimulationConfig config, List<ReplicationResult> results, long wallNanos) {
+        int n = results.size();
+        double[] units = new double[n];
+        double[] orders = new double[n];
+        double[] utilization = new double[Station.values().length];
+        double[] downtime = new double[utilization.length];
+        double[] meanQueue = new double[utilization.length];
+        int[] maxQueue = new int[utilization.length];
+        DurationSketch unitLeadTime = new DurationSketch();
+        DurationSketch orderLeadTime = new DurationSketch();
+        long failures = 0;
+        long requeues = 0;
+        long simulatedUnits = 0;
+        long events = 0;
+
+        for (int i = 0; i < n; i++) {
+            ReplicationResult result = results.get(i);
+            units[i] = result.unitsPerHour();
+            orders[i] = result.ordersPerHour();
+            for (int s = 0; s < utilization.length; s++) {
+                utilization[s] += result.utilization()[s] / n;
+                downtime[s] += result.downtime()[s] / n;
+                meanQueue[s] += result.meanQueueLength()[s] / n;
+                maxQueue[s] = Math.max(maxQueue[s], result.maxQueueLength()[s]);
+            }
+            unitLeadTime.merge(result.unitLeadTime());
+            orderLeadTime.merge(result.orderLeadTime());
+            failures += result.failures();
+            requeues += result.requeues();
+            simulatedUnits += result.simulatedUnits();
+            events += result.events();
+        }
+
+        return new SimulationReport(config, n,
+                mean(units), halfWidth(units), mean(orders), halfWidth(orders),
+                utilization, downtime, meanQueue, maxQueue,
+                unitLeadTime.summary(), orderLeadTime.summary(),
+                (double) failures / n, (double) requeues / n,
+                simulatedUnits, events, wallNanos);
+    }
+
+    public Station bottleneck() {
+        Station bottleneck = Station.A;
+        for (Station station : Station.values()) {
+            if (utilization[station.ordinal()] > utilization[bottleneck.ordinal()]) {
+                bottleneck = station;
+            }
+        }
+        return bottleneck;
+    }
+
+    public double simulatedUnitsPerSecond() {
+        return simulatedUnits / (wallNanos / 1e9);
+    }
+
+    public double eventsPerSecond() {
+        return events / (wallNanos / 1e9);
+    }
+
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format(Locale.ROOT, "Machines %s, %d replications of %s (after %s warm-up)%n",
+                config.describeMachines(), replications,
+                formatMillis(config.durationMillis()), formatMillis(config.warmupMillis())));
+        text.append(String.format(Locale.ROOT, "  throughput   %,.1f ± %,.1f units/h, %,.2f ± %,.2f orders/h%n",
+                unitsPerHour, unitsPerHourHalfWidth, ordersPerHour, ordersPerHourHalfWidth));
+        text.append("  station      utilization   downtime   mean queue   max queue\n");
+        for (Station station : Station.values()) {
+            int s = station.ordinal();
+            text.append(String.format(Locale.ROOT, "  %s %-10s %10.1f %% %8.1f %% %12.1f %11d%s%n",
+                    station, station.description(), utilization[s] * 100, downtime[s] * 100,
+                    meanQueueLength[s], maxQueueLength[s],
+                    station == bottleneck() ? "   <- bottleneck" : ""));
+        }
+        text.append(String.format(Locale.ROOT, "  unit lead    p50 %s  p90 %s  p99 %s  max %s%n",
+                formatMillis(unitLeadTime.p50()), formatMillis(unitLeadTime.p90()),
+                formatMillis(unitLeadTime.p99()), formatMillis(unitLeadTime.max())));
+        text.append(String.format(Locale.ROOT, "  order lead   p50 %s  p90 %s  p99 %s  max %s%n",
+                formatMillis(orderLeadTime.p50()), formatMillis(orderLeadTime.p90()),
+                formatMillis(orderLeadTime.p99()), formatMillis(orderLeadTime.max())));
+        text.append(String.format(Locale.ROOT, "  failures     %.1f crashes, %.1f re-queued units per replication%n",
+                failuresPerReplication, requeuesPerReplication));
+        text.append(String.format(Locale.ROOT, "  simulator    %,d units in %.2f s wall = %,.0f units/s, %,.0f events/s%n",
+                simulatedUnits, wallNanos / 1e9, simulatedUnitsPerSecond(), eventsPerSecond()));
+        return text.toString();
+    }
+
+    public static String csvHeader() {
+        return "machines_a,machines_b,machines_c,machines_d,replications,units_per_hour,units_per_hour_ci95,"
+                + "orders_per_hour,orders_per_hour_ci95,"
+                + "util_a,util_b,util_c,util_d,down_a,down_b,down_c,down_d,queue_a,queue_b,queue_c,queue_d,"
+                + "max_queue_a,max_queue_b,max_queue_c,max_queue_d,"
+                + "unit_lead_p50_ms,unit_lead_p90_ms,unit_lead_p99_ms,order_lead_p50_ms,order_lead_p90_ms,order_lead_p99_ms,"
+                + "failures_per_replication,bottleneck";
+    }
+
+    public String toCsvRow() {
+        int[] machines = config.machines();
+        return String.format(Locale.ROOT,
+                "%d,%d,%d,%d,%d,%.2f,%.2f,%.3f,%.3f,%.4f,%.4f,%.4f,%.4f,%.4f,%.4f,%.4f,%.4f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d,%.2f,%s",
+                machines[0], machines[1], machines[2], machines[3], replications,
+                unitsPerHour, unitsPerHourHalfWidth, ordersPerHour, ordersPerHourHalfWidth,
+                utilization[0], utilization[1], utilization[2], utilization[3],
+                downtime[0], downtime[1], downtime[2], downtime[3],
+                meanQueueLength[0], meanQueueLength[1], meanQueueLength[2], meanQueueLength[3],
+                maxQueueLength[0], maxQueueLength[1], maxQueueLength[2], maxQueueLength[3],
+                unitLeadTime.p50(), unitLeadTime.p90(), unitLeadTime.p99(),
+                orderLeadTime.p50(), orderLeadTime.p90(), orderLeadTime.p99(),
+                failuresPerReplication, bottleneck());
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.length;
+    }
+
+    private static double halfWidth(double[] values) {
+        int n = values.length;
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double mean = mean(values);
+        double squares = 0;
+        for (double value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+        double t = n - 1 <= T_975.length ? T_975[n - 2] : 1.96;
+        return t * Math.sqrt(squares / (n - 1) / n);
+    }
+
+    static String formatMillis(double millis) {
+        if (millis < 1_000) {
+            return String.format(Locale.ROOT, "%.0fms", millis);
+        }
+        if (millis < 120_000) {
+            return String.format(Locale.ROOT, "%.1fs", millis / 1_000);
+        }
+        if (millis < 7_200_000) {
+            return String.format(Locale.ROOT, "%.1fmin", millis / 60_000);
+        }
+        return String.format(Locale.ROOT, "%.1fh", millis / 3_600_000);
+    }
+}
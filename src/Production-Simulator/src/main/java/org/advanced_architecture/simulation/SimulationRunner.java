@@ -0,0 +1,60 @@
+package org.advanced_architecture.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs independent replications of one configuration in parallel.
+ *
+ * Behavior:
+ * - Every replication gets its own seed, split from the configured seed, so results are
+ *   reproducible and do not depend on the number of threads
+ * - Replications share nothing but the read-only config and workload; there is no locking while they run
+ */
+public final class SimulationRunner {
+
+    private final ExecutorService executor;
+
+    public SimulationRunner(int threads) {
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "replication");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SimulationReport run(SimulationConfig config, Workload workload) {
+        long[] seeds = new long[config.replications()];
+        SplittableRandom seedSource = new SplittableRandom(config.seed());
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = seedSource.split().nextLong();
+        }
+
+        long started = System.nanoTime();
+        List<Future<ReplicationResult>> futures = new ArrayList<>(seeds.length);
+        for (long seed : seeds) {
+            futures.add(executor.submit(() -> new PipelineReplication(config, workload, seed).run()));
+        }
+        List<ReplicationResult> results = new ArrayList<>(seeds.length);
+        try {
+            for (Future<ReplicationResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Replication failed", e.getCause());
+        }
+        return SimulationReport.of(config, results, System.nanoTime() - started);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
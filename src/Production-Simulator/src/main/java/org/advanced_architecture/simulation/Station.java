@@ -0,0 +1,24 @@
+package org.advanced_architecture.simulation;
+
+/**
+ * Machine types of the production pipeline, as scheduled by the UnifiedScheduler.
+ *
+ * Every unit (one book of an order) is printed on A and gets its cover on B in parallel;
+ * binding on C starts when both are done, packaging on D after binding.
+ */
+public enum Station {
+    A("printing"),
+    B("cover"),
+    C("binding"),
+    D("packaging");
+
+    private final String description;
+
+    Station(String description) {
+        this.description = description;
+    }
+
+    public String description() {
+        return description;
+    }
+}
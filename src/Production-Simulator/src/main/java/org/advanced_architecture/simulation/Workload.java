@@ -0,0 +1,114 @@
+package org.advanced_architecture.simulation;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.advanced_architecture.api.dto.CreateOrderRequest;
+import org.advanced_architecture.domain.BookDetails;
+import org.advanced_architecture.domain.CoverType;
+import org.advanced_architecture.domain.PageType;
+import org.advanced_architecture.domain.ProductionOrder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Orders the simulation draws its arrivals from.
+ *
+ * Provides:
+ * - Workloads built from Orchestrator {@link ProductionOrder}s, e.g. an NDJSON file in the
+ *   POST /orders/import format, or a synthetic mix
+ * - Quantity and pages of every order as primitive arrays, so arrivals do not touch the entities
+ *
+ * Each arrival picks one of the orders uniformly at random; an order of quantity n becomes n units.
+ */
+public final class Workload {
+
+    private final int[] quantities;
+    private final int[] pages;
+
+    private Workload(int[] quantities, int[] pages) {
+        if (quantities.length == 0) {
+            throw new IllegalArgumentException("Workload has no orders");
+        }
+        this.quantities = quantities;
+        this.pages = pages;
+    }
+
+    public static Workload of(List<ProductionOrder> orders) {
+        int[] quantities = new int[orders.size()];
+        int[] pages = new int[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            BookDetails details = orders.get(i).getBookDetails();
+            quantities[i] = details.getQuantity();
+            pages[i] = details.getPages();
+        }
+        return new Workload(quantities, pages);
+    }
+
+    /**
+     * Orders like UnifiedScheduler/create_orders.sh sends: 200 pages, quantity uniform in [minQuantity, maxQuantity].
+     */
+    public static Workload synthetic(int orders, int minQuantity, int maxQuantity, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<ProductionOrder> generated = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            BookDetails details = new BookDetails(
+                    "Simulated order " + i,
+                    "Simulator",
+                    200,
+                    random.nextBoolean() ? CoverType.HARDCOVER : CoverType.SOFTCOVER,
+                    random.nextBoolean() ? PageType.GLOSSY : PageType.MATTE,
+                    minQuantity + random.nextInt(maxQuantity - minQuantity + 1)
+            );
+            generated.add(ProductionOrder.createOrder((long) i + 1, details));
+        }
+        return of(generated);
+    }
+
+    /**
+     * Reads one CreateOrderRequest JSON object per line.
+     */
+    public static Workload fromNdjson(Path file) throws IOException {
+        List<ProductionOrder> orders = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             MappingIterator<CreateOrderRequest> rows = new ObjectMapper()
+                     .readerFor(CreateOrderRequest.class)
+                     .readValues(reader)) {
+            while (rows.hasNextValue()) {
+                CreateOrderRequest row = rows.nextValue();
+                if (row.quantity() == null || row.quantity() < 1 || row.pages() == null || row.pages() < 1) {
+                    throw new IOException("Order " + (orders.size() + 1) + " in " + file + " needs pages and quantity >= 1");
+                }
+                orders.add(ProductionOrder.createOrder((long) orders.size() + 1, new BookDetails(
+                        row.title(), row.author(), row.pages(), row.coverType(), row.pageType(), row.quantity())));
+            }
+        }
+        return of(orders);
+    }
+
+    int size() {
+        return quantities.length;
+    }
+
+    int quantity(int index) {
+        return quantities[index];
+    }
+
+    int pages(int index) {
+        return pages[index];
+    }
+
+    public double meanQuantity() {
+        long total = 0;
+        for (int quantity : quantities) {
+            total += quantity;
+        }
+        return (double) total / quantities.length;
+    }
+}
@@ -0,0 +1,117 @@
+package org.advanced_architecture.simulation.engine;
+
+import java.util.Arrays;
+
+/**
+ * Future event list of a discrete-event simulation: a binary min-heap on event time.
+ *
+ * Behavior:
+ * - Events are a (time, payload) pair held in two primitive arrays; scheduling allocates nothing
+ *   once the heap has grown to the model's peak size
+ * - Events with equal times are delivered in scheduling order (a sequence number breaks ties),
+ *   so replications are reproducible from their seed
+ * - Not thread-safe; every replication owns its own queue
+ */
+public final class EventQueue {
+
+    private double[] times;
+    private long[] sequences;
+    private long[] payloads;
+    private int size;
+    private long nextSequence;
+
+    private double headTime;
+    private long headPayload;
+
+    public EventQueue(int initialCapacity) {
+        times = new double[initialCapacity];
+        sequences = new long[initialCapacity];
+        payloads = new long[initialCapacity];
+    }
+
+    public void schedule(double time, long payload) {
+        if (size == times.length) {
+            int capacity = size * 2;
+            times = Arrays.copyOf(times, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            payloads = Arrays.copyOf(payloads, capacity);
+        }
+        long sequence = nextSequence++;
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(time, sequence, times[parent], sequences[parent])) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        set(index, time, sequence, payload);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double peekTime() {
+        return times[0];
+    }
+
+    /**
+     * Removes the earliest event; read it with {@link #time()} and {@link #payload()}.
+     */
+    public void poll() {
+        headTime = times[0];
+        headPayload = payloads[0];
+        int last = --size;
+        if (last == 0) {
+            return;
+        }
+        double time = times[last];
+        long sequence = sequences[last];
+        long payload = payloads[last];
+        int index = 0;
+        int half = last >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < last && before(times[right], sequences[right], times[child], sequences[child])) {
+                child = right;
+            }
+            if (!before(times[child], sequences[child], time, sequence)) {
+                break;
+            }
+            move(child, index);
+            index = child;
+        }
+        set(index, time, sequence, payload);
+    }
+
+    public double time() {
+        return headTime;
+    }
+
+    public long payload() {
+        return headPayload;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static boolean before(double time, long sequence, double otherTime, long otherSequence) {
+        return time < otherTime || (time == otherTime && sequence < otherSequence);
+    }
+
+    private void move(int from, int to) {
+        times[to] = times[from];
+        sequences[to] = sequences[from];
+        payloads[to] = payloads[from];
+    }
+
+    private void set(int index, double time, long sequence, long payload) {
+        times[index] = time;
+        sequences[index] = sequence;
+        payloads[index] = payload;
+    }
+}
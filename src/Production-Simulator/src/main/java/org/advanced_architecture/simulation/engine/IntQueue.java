@@ -0,0 +1,50 @@
+package org.advanced_architecture.simulation.engine;
+
+/**
+ * Growable FIFO ring buffer of ints (unit slots waiting for a machine).
+ */
+public final class IntQueue {
+
+    private int[] elements;
+    private int head;
+    private int size;
+
+    public IntQueue(int initialCapacity) {
+        elements = new int[Integer.highestOneBit(Math.max(2, initialCapacity - 1)) << 1];
+    }
+
+    public void add(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    public int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("queue is empty");
+        }
+        int value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void grow() {
+        int[] grown = new int[elements.length * 2];
+        int tail = elements.length - head;
+        System.arraycopy(elements, head, grown, 0, tail);
+        System.arraycopy(elements, 0, grown, tail, head);
+        elements = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Measures telemetry ingest throughput into TimescaleDB for the active ingest path:
+#   connector  - timescale-sink-raw JDBC sink + telemetry_raw triggers (db/init.sql)
+#   java       - edge-telemetry service, batched COPY + set-based upserts (db/java-ingest.sql)
+#
+# Usage: bench/compare_ingest.sh <connector|java> [messages] [devices]
+# Publishes synthetic heartbeats to iot.mqtt.raw and reports rows/s until telemetry_raw has them all.
+# The heartbeats carry device_id, which both paths turn into devices rows. Results are appended as a
+# table to RESULTS (default bench/results/ingest.md); run once per mode to compare them.
+set -euo pipefail
+
+MODE="${1:?usage: $0 <connector|java> [messages] [devices]}"
+MESSAGES="${2:-200000}"
+DEVICES="${3:-2000}"
+PAYLOADS=/tmp/heartbeats.ndjson
+RESULTS="${RESULTS:-$(cd "$(dirname "$0")" && pwd)/results/ingest.md}"
+
+psql_grid() {
+  docker exec -i timescaledb psql -U tsdbuser -d grid -tAq -c "$1"
+}
+
+echo "Generating ${DEVICES} heartbeat payloads..."
+: > "${PAYLOADS}"
+for i in $(seq 1 "${DEVICES}"); do
+  status=$([ $((i % 3)) -eq 0 ] && echo running || echo idle)
+  printf '{"device_id":"A-%06d","machine_type":"A","status":"%s","current_unit_id":null,"progress":null,"timestamp":"%s"}\n' \
+    "${i}" "${status}" "$(date -u +%Y-%m-%dT%H:%M:%S.000000+00:00)" >> "${PAYLOADS}"
+done
+docker cp "${PAYLOADS}" kafka:/tmp/heartbeats.ndjson
+
+before=$(psql_grid "SELECT count(*) FROM telemetry_raw")
+target=$((before + MESSAGES))
+echo "[${MODE}] telemetry_raw has ${before} rows, publishing ${MESSAGES} heartbeats..."
+
+start=$(date +%s.%N)
+docker exec kafka /opt/kafka/bin/kafka-producer-perf-test.sh \
+  --topic iot.mqtt.raw --num-records "${MESSAGES}" --throughput -1 \
+  --payload-file /tmp/heartbeats.ndjson \
+  --producer-props bootstrap.servers=localhost:9092 linger.ms=5 batch.size=65536 >/dev/null
+
+while true; do
+  count=$(psql_grid "SELECT count(*) FROM telemetry_raw")
+  [ "${count}" -ge "${target}" ] && break
+  sleep 0.5
+done
+end=$(date +%s.%N)
+
+elapsed=$(echo "${end} - ${start}" | bc -l)
+rate=$(echo "${MESSAGES} / ${elapsed}" | bc -l)
+devices=$(psql_grid "SELECT count(*) FROM devices")
+printf '[%s] %d rows in %.2fs = %.0f rows/s (devices table: %s rows)\n' "${MODE}" "${MESSAGES}" "${elapsed}" "${rate}" "${devices}"
+
+mkdir -p "$(dirname "${RESULTS}")"
+if [ ! -s "${RESULTS}" ]; then
+  echo "| date | mode | messages | devices | seconds | rows/s | devices rows |" >"${RESULTS}"
+  echo "|---|---|---|---|---|---|---|" >>"${RESULTS}"
+fi
+printf '| %s | %s | %d | %d | %.2f | %.0f | %s |\n' "$(date -u +%F)" "${MODE}" "${MESSAGES}" "${DEVICES}" \
+  "${elapsed}" "${rate}" "${devices}" >>"${RESULTS}"
+echo "Results appended to ${RESULTS}"
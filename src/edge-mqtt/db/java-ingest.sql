@@ -0,0 +1,13 @@
+-- Switches telemetry ingestion from the timescale-sink-raw connector to the Java edge-telemetry service.
+--
+-- The service COPYs raw payloads into telemetry_raw and maintains devices/progress/reroutes itself with one
+-- set-based upsert per batch, so the per-row triggers must go (COPY fires them for every row as well).
+-- Delete the timescale-sink-raw connector before running this, e.g.
+--   curl -X DELETE http://localhost:8083/connectors/timescale-sink-raw
+--
+-- To go back to the connector path, re-run db/init.sql.
+
+DROP TRIGGER IF EXISTS trg_telemetry_raw_to_devices ON telemetry_raw;
+DROP TRIGGER IF EXISTS trg_telemetry_raw_to_progess ON telemetry_raw;
+DROP TRIGGER IF EXISTS trg_telemetry_raw_to_progress ON telemetry_raw;
+DROP TRIGGER IF EXISTS trg_telemetry_raw_to_reroutes ON telemetry_raw;
@@ -0,0 +1,63 @@
+-- Rollup tables written by the edge-telemetry service (TelemetryRollupStage).
+--
+-- One row per device (or machine type) per tumbling window, so utilization and throughput dashboards read
+-- thousands of rows instead of scanning telemetry_raw. Rows are upserted additively while a window is open.
+--   busy_ms / idle_ms / off_ms  time spent per status, from heartbeat gaps
+--   units_completed             units that reached 100% progress
+--   progress_rate               progress percentage points per busy minute
+
+CREATE EXTENSION IF NOT EXISTS timescaledb;
+
+CREATE TABLE IF NOT EXISTS device_rollup_1m (
+  bucket           timestamptz NOT NULL,
+  device_id        text        NOT NULL,
+  machine_type     text,
+  busy_ms          bigint      NOT NULL DEFAULT 0,
+  idle_ms          bigint      NOT NULL DEFAULT 0,
+  off_ms           bigint      NOT NULL DEFAULT 0,
+  units_completed  integer     NOT NULL DEFAULT 0,
+  progress_points  bigint      NOT NULL DEFAULT 0,
+  heartbeats       integer     NOT NULL DEFAULT 0,
+  progress_rate    double precision GENERATED ALWAYS AS
+                     (CASE WHEN busy_ms > 0 THEN progress_points * 60000.0 / busy_ms END) STORED,
+  PRIMARY KEY (device_id, bucket)
+);
+
+CREATE TABLE IF NOT EXISTS device_rollup_1h (LIKE device_rollup_1m INCLUDING ALL);
+
+CREATE TABLE IF NOT EXISTS machine_type_rollup_1m (
+  bucket           timestamptz NOT NULL,
+  machine_type     text        NOT NULL,
+  devices          integer     NOT NULL DEFAULT 0,
+  busy_ms          bigint      NOT NULL DEFAULT 0,
+  idle_ms          bigint      NOT NULL DEFAULT 0,
+  off_ms           bigint      NOT NULL DEFAULT 0,
+  units_completed  integer     NOT NULL DEFAULT 0,
+  progress_points  bigint      NOT NULL DEFAULT 0,
+  heartbeats       integer     NOT NULL DEFAULT 0,
+  progress_rate    double precision GENERATED ALWAYS AS
+                     (CASE WHEN busy_ms > 0 THEN progress_points * 60000.0 / busy_ms END) STORED,
+  PRIMARY KEY (machine_type, bucket)
+);
+
+CREATE TABLE IF NOT EXISTS machine_type_rollup_1h (LIKE machine_type_rollup_1m INCLUDING ALL);
+
+SELECT create_hypertable('device_rollup_1m', 'bucket', chunk_time_interval => INTERVAL '1 day', if_not_exists => TRUE);
+SELECT create_hypertable('device_rollup_1h', 'bucket', chunk_time_interval => INTERVAL '30 days', if_not_exists => TRUE);
+SELECT create_hypertable('machine_type_rollup_1m', 'bucket', chunk_time_interval => INTERVAL '1 day', if_not_exists => TRUE);
+SELECT create_hypertable('machine_type_rollup_1h', 'bucket', chunk_time_interval => INTERVAL '30 days', if_not_exists => TRUE);
+
+-- Minute rollups are for recent dashboards; hourly rollups are kept
+SELECT add_retention_policy('device_rollup_1m', INTERVAL '14 days', if_not_exists => TRUE);
+SELECT add_retention_policy('machine_type_rollup_1m', INTERVAL '14 days', if_not_exists => TRUE);
+
+-- Next offset of iot.mqtt.raw per partition that the rollups above already contain. Written in the same
+-- transaction as the rollup upserts, which add deltas and so must not be applied twice after a crash
+CREATE TABLE IF NOT EXISTS rollup_offsets (
+  group_id     text        NOT NULL,
+  topic        text        NOT NULL,
+  partition    integer     NOT NULL,
+  next_offset  bigint      NOT NULL,
+  updated_at   timestamptz NOT NULL DEFAULT now(),
+  PRIMARY KEY (group_id, topic, partition)
+);
@@ -14,4 +14,8 @@ echo "Running init.sql inside timescaledb..."
 docker exec -i timescaledb \
   psql -U tsdbuser -d grid < db/init.sql
 
+echo "Creating rollup tables..."
+docker exec -i timescaledb \
+  psql -U tsdbuser -d grid < db/rollups.sql
+
 echo "Done."
@@ -0,0 +1,44 @@
+package org.advanced_architecture.edge.command;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST intake for machine commands.
+ *
+ * Endpoints:
+ * - POST /api/v1/edge/commands: queues one command JSON for the {@link CommandDispatcher};
+ *   answers 202 once it (or a newer command for the same device and kind) was published, 400 without a device id
+ */
+@RestController
+@RequestMapping(path = "/api/v1/edge/commands", produces = MediaType.APPLICATION_JSON_VALUE)
+public class CommandController {
+
+    private final CommandDispatcher dispatcher;
+
+    public CommandController(CommandDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> submit(@RequestBody String body) {
+        EdgeCommand command = EdgeCommand.parse(body);
+        if (command == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(Map.of("error", "Bad Request", "message", "Command must be a JSON object with a device_id")));
+        }
+        return dispatcher.submit(command)
+                .thenApply(ignored -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(Map.<String, Object>of("status", "dispatched",
+                                "device_id", command.deviceId(),
+                                "kind", command.kind())));
+    }
+}
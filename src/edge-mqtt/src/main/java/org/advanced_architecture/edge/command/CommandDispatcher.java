@@ -0,0 +1,165 @@
+package org.advanced_architecture.edge.command;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalescing, batched dispatcher for machine commands on iot.mqtt.cmd.
+ *
+ * Responsibilities:
+ * - Collects commands for one window (edge.commands.window)
+ * - Keeps only the latest command per device and kind; a superseded command is counted as coalesced and
+ *   completes together with the command that replaced it
+ * - Publishes the surviving commands at the end of the window, keyed by device id, so the producer batches them
+ *   and every device's commands land on one partition in order
+ *
+ * Ordering:
+ * - A superseding command moves to the end of the window, so per device the relative order of the latest
+ *   commands of each kind is preserved; windows are sent one after another from a single thread
+ *
+ * Metrics:
+ * - edge.commands.received, edge.commands.coalesced, edge.commands.dispatched (counters)
+ * - edge.commands.batch (distribution of commands sent per window)
+ */
+@Component
+public class CommandDispatcher implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandDispatcher.class);
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+
+    private final Object lock = new Object();
+    private Map<CommandKey, PendingCommand> pending = new LinkedHashMap<>();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "command-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter received;
+    private final Counter coalesced;
+    private final Counter dispatched;
+    private final Counter failed;
+    private final DistributionSummary batchSize;
+
+    public CommandDispatcher(KafkaTemplate<String, String> kafkaTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${edge.commands.topic:iot.mqtt.cmd}") String topic,
+                             @Value("${edge.commands.window:50ms}") Duration window) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.received = Counter.builder("edge.commands.received")
+                .description("Commands accepted by the dispatcher")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("edge.commands.coalesced")
+                .description("Commands superseded by a newer command for the same device and kind")
+                .register(meterRegistry);
+        this.dispatched = Counter.builder("edge.commands.dispatched")
+                .description("Commands published to the command topic")
+                .register(meterRegistry);
+        this.failed = Counter.builder("edge.commands.failed")
+                .description("Commands that could not be published")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("edge.commands.batch")
+                .description("Commands published per dispatch window")
+                .register(meterRegistry);
+
+        long windowMicros = Math.max(1, window.toNanos() / 1_000);
+        flusher.scheduleWithFixedDelay(this::dispatchWindow, windowMicros, windowMicros, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Queues a command. The future completes once this command, or the command that superseded it,
+     * has been acknowledged by Kafka.
+     */
+    public CompletableFuture<Void> submit(EdgeCommand command) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CommandKey key = new CommandKey(command.deviceId(), command.kind());
+        synchronized (lock) {
+            PendingCommand previous = pending.remove(key);
+            PendingCommand next = new PendingCommand(command);
+            if (previous != null) {
+                next.waiters.addAll(previous.waiters);
+                coalesced.increment();
+            }
+            next.waiters.add(done);
+            pending.put(key, next);
+        }
+        received.increment();
+        return done;
+    }
+
+    private void dispatchWindow() {
+        Map<CommandKey, PendingCommand> window;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            window = pending;
+            pending = new LinkedHashMap<>();
+        }
+
+        batchSize.record(window.size());
+        for (PendingCommand command : window.values()) {
+            List<CompletableFuture<Void>> waiters = command.waiters;
+            try {
+                kafkaTemplate.send(topic, command.command.deviceId(), command.command.payload())
+                        .whenComplete((result, error) -> {
+                            if (error == null) {
+                                dispatched.increment();
+                                waiters.forEach(waiter -> waiter.complete(null));
+                            } else {
+                                failed.increment();
+                                logger.warn("Failed to dispatch command to {}: {}", command.command.deviceId(), error.getMessage());
+                                waiters.forEach(waiter -> waiter.completeExceptionally(error));
+                            }
+                        });
+            } catch (RuntimeException e) {
+                failed.increment();
+                waiters.forEach(waiter -> waiter.completeExceptionally(e));
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dispatchWindow();
+        kafkaTemplate.flush();
+    }
+
+    private record CommandKey(String deviceId, String kind) {}
+
+    private static final class PendingCommand {
+        final EdgeCommand command;
+        final List<CompletableFuture<Void>> waiters = new ArrayList<>(1);
+
+        PendingCommand(EdgeCommand command) {
+            this.command = command;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.advanced_architecture.edge.command;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feeds commands from the intake topic into the {@link CommandDispatcher}.
+ *
+ * Producers (scheduler, requeue logic) write to edge.commands.intake-topic instead of iot.mqtt.cmd.
+ * A batch is acknowledged only after all of its commands, or the commands that superseded them, were
+ * published, so nothing is lost if the service stops mid-window.
+ */
+@Component
+@ConditionalOnProperty(prefix = "edge.commands", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class CommandIntakeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandIntakeListener.class);
+
+    private final CommandDispatcher dispatcher;
+    private final Duration dispatchTimeout;
+
+    public CommandIntakeListener(CommandDispatcher dispatcher,
+                                 @Value("${edge.commands.dispatch-timeout:30s}") Duration dispatchTimeout) {
+        this.dispatcher = dispatcher;
+        this.dispatchTimeout = dispatchTimeout;
+    }
+
+    @KafkaListener(
+            id = "command-intake",
+            topics = "${edge.commands.intake-topic:iot.mqtt.cmd.intake}",
+            groupId = "${edge.commands.group-id:edge-command-dispatcher}",
+            containerFactory = "commandListenerContainerFactory")
+    public void onBatch(List<ConsumerRecord<String, String>> records) throws Exception {
+        List<CompletableFuture<Void>> dispatched = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            EdgeCommand command = EdgeCommand.parse(record.value());
+            if (command == null) {
+                logger.warn("Skipping command without device id at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            dispatched.add(dispatcher.submit(command));
+        }
+        CompletableFuture.allOf(dispatched.toArray(CompletableFuture[]::new))
+                .get(dispatchTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,64 @@
+package org.advanced_architecture.edge.command;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * A command for one machine, as accepted by the {@link CommandDispatcher}.
+ *
+ * Commands are JSON objects with a device_id (or machine_id) and an optional type. Commands of the same
+ * device and type supersede each other; without a type the command is treated as a work assignment.
+ *
+ * @param deviceId target machine, also the Kafka key on iot.mqtt.cmd
+ * @param kind     coalescing class, e.g. "assignment" or "state"
+ * @param payload  the command JSON, forwarded unchanged
+ */
+public record EdgeCommand(String deviceId, String kind, String payload) {
+
+    public static final String DEFAULT_KIND = "assignment";
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder().build();
+
+    /**
+     * Reads device id and type with a streaming parser; returns null if the payload has no device id.
+     */
+    public static EdgeCommand parse(String payload) {
+        if (payload == null || payload.isBlank()) {
+            return null;
+        }
+        String deviceId = null;
+        String kind = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (token == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (name) {
+                    case "device_id", "deviceId", "machine_id", "machineId" -> deviceId = parser.getText();
+                    case "type", "command" -> kind = parser.getText();
+                    default -> {
+                        // Command body, forwarded as is
+                    }
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        if (deviceId == null || deviceId.isBlank()) {
+            return null;
+        }
+        return new EdgeCommand(deviceId, kind != null ? kind : DEFAULT_KIND, payload);
+    }
+}
@@ -0,0 +1,188 @@
+package org.advanced_architecture.edge.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Spring configuration for the Kafka consumers and producer of the edge module.
+ *
+ * Provides:
+ * - ingestListenerContainerFactory: batch listener for iot.mqtt.raw with raw byte[] values
+ * - commandListenerContainerFactory: batch listener for the command intake topic with String values
+ * - KafkaTemplate for publishing string messages (machine health events, commands)
+ * - Dead-letter topics and recoverers for both listeners (payloads keep their bytes and get the
+ *   kafka_dlt-* headers with the original topic, offset and exception)
+ *
+ * Ingest consumer settings:
+ * - batches are bounded by max.poll.records (size) and fetch.min.bytes / fetch.max.wait.ms (time)
+ * - offsets are committed after each successfully written batch (AckMode.BATCH)
+ * - a failed batch is retried with exponential backoff (1 s up to 30 s) for at most
+ *   edge.ingest.retry-max-elapsed, then its records go to edge.ingest.dead-letter-topic and the partition
+ *   moves on; the listener itself dead-letters payloads that fail on their own (see TelemetryIngestListener)
+ *
+ * Command consumer settings:
+ * - a batch whose commands cannot be dispatched is retried the same way for at most
+ *   edge.commands.retry-max-elapsed, then its records go to edge.commands.dead-letter-topic
+ *
+ * Producer settings:
+ * - acks=all with idempotence, so per-key (per-device) ordering survives retries
+ * - linger.ms / batch.size let a dispatch window of commands go out as a few producer batches
+ */
+@Configuration
+public class EdgeKafkaConfiguration {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Bean
+    public ProducerFactory<String, String> producerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 64 * 1024);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<String, String> producerFactory) {
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    @Bean
+    public ConsumerFactory<String, byte[]> ingestConsumerFactory(
+            @Value("${edge.ingest.max-batch-records:5000}") int maxBatchRecords,
+            @Value("${edge.ingest.min-batch-bytes:65536}") int minBatchBytes,
+            @Value("${edge.ingest.max-batch-wait-ms:250}") int maxBatchWaitMs) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxBatchRecords);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, minBatchBytes);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, maxBatchWaitMs);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    @Bean
+    public ProducerFactory<String, byte[]> deadLetterProducerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> deadLetterKafkaTemplate(ProducerFactory<String, byte[]> deadLetterProducerFactory) {
+        return new KafkaTemplate<>(deadLetterProducerFactory);
+    }
+
+    @Bean
+    public NewTopic ingestDeadLetterTopic(@Value("${edge.ingest.dead-letter-topic:iot.mqtt.raw.dlt}") String topic) {
+        return TopicBuilder.name(topic).partitions(1).build();
+    }
+
+    @Bean
+    public NewTopic commandDeadLetterTopic(
+            @Value("${edge.commands.dead-letter-topic:iot.mqtt.cmd.intake.dlt}") String topic) {
+        return TopicBuilder.name(topic).partitions(1).build();
+    }
+
+    @Bean
+    public DeadLetterPublishingRecoverer ingestDeadLetterRecoverer(
+            KafkaTemplate<String, byte[]> deadLetterKafkaTemplate,
+            @Value("${edge.ingest.dead-letter-topic:iot.mqtt.raw.dlt}") String topic) {
+        return deadLetterRecoverer(deadLetterKafkaTemplate, topic);
+    }
+
+    @Bean
+    public DeadLetterPublishingRecoverer commandDeadLetterRecoverer(
+            KafkaTemplate<String, String> kafkaTemplate,
+            @Value("${edge.commands.dead-letter-topic:iot.mqtt.cmd.intake.dlt}") String topic) {
+        return deadLetterRecoverer(kafkaTemplate, topic);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> ingestListenerContainerFactory(
+            ConsumerFactory<String, byte[]> ingestConsumerFactory,
+            @Qualifier("ingestDeadLetterRecoverer") DeadLetterPublishingRecoverer ingestDeadLetterRecoverer,
+            @Value("${edge.ingest.concurrency:1}") int concurrency,
+            @Value("${edge.ingest.retry-max-elapsed:15m}") Duration retryMaxElapsed) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(ingestConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(ingestDeadLetterRecoverer, retryBackOff(retryMaxElapsed)));
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> commandListenerContainerFactory(
+            @Qualifier("commandDeadLetterRecoverer") DeadLetterPublishingRecoverer commandDeadLetterRecoverer,
+            @Value("${edge.commands.retry-max-elapsed:5m}") Duration retryMaxElapsed) {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 1000);
+
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(commandDeadLetterRecoverer, retryBackOff(retryMaxElapsed)));
+        return factory;
+    }
+
+    /**
+     * Publishes to the single-partition dead-letter topic, letting the producer pick the partition.
+     */
+    private static DeadLetterPublishingRecoverer deadLetterRecoverer(KafkaOperations<?, ?> template, String topic) {
+        return new DeadLetterPublishingRecoverer(template, (record, exception) -> new TopicPartition(topic, -1));
+    }
+
+    private static ExponentialBackOff retryBackOff(Duration maxElapsed) {
+        ExponentialBackOff backOff = new ExponentialBackOff(1_000, 2.0);
+        backOff.setMaxInterval(30_000);
+        backOff.setMaxElapsedTime(maxElapsed.toMillis());
+        return backOff;
+    }
+}
@@ -0,0 +1,269 @@
+package org.advanced_architecture.edge.detector;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.advanced_architecture.edge.telemetry.TelemetryMessage;
+import org.advanced_architecture.edge.telemetry.TelemetryParser;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the {@link PhiAccrualFailureDetector} over the heartbeat stream on a single thread.
+ *
+ * Responsibilities:
+ * - Polls iot.mqtt.raw with its own consumer group and feeds heartbeats to the detector
+ * - Polls the detector's timing wheel after every Kafka poll (at least once per tick)
+ * - Publishes SUSPECTED / RECOVERED events to edge.detector.events-topic, keyed by device id
+ *
+ * Behavior:
+ * - Starts from the latest offset: detector state is in memory and only live heartbeats matter
+ * - One thread owns consumer and detector, so the detector needs no locking
+ * - Heartbeats are timed by their own timestamp (see {@link PhiAccrualFailureDetector}); while a poll comes
+ *   back full the consumer is behind, and deadlines are not checked until it has caught up
+ * - If the consumer fails, it is closed and recreated after a backoff (1 s doubling up to 30 s); no
+ *   deadlines are checked in between, so an outage of the monitor itself does not suspect every machine
+ *
+ * Metrics:
+ * - edge.detector.heartbeats (counter), edge.detector.events (counter, tag type)
+ * - edge.detector.devices and edge.detector.suspected (gauges)
+ * - edge.detector.consumer.failures (counter)
+ */
+@Component
+@ConditionalOnProperty(prefix = "edge.detector", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HeartbeatMonitor implements SmartLifecycle, PhiAccrualFailureDetector.Listener {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeartbeatMonitor.class);
+
+    private static final int MAX_POLL_RECORDS = 10_000;
+    private static final long MIN_BACKOFF_MILLIS = 1_000;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final TelemetryParser parser;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final JsonFactory jsonFactory = JsonFactory.builder().build();
+
+    private final String bootstrapServers;
+    private final String topic;
+    private final String groupId;
+    private final String eventsTopic;
+    private final long tickMillis;
+    private final PhiAccrualFailureDetector detector;
+
+    private final Counter heartbeats;
+    private final Counter suspectedEvents;
+    private final Counter recoveredEvents;
+    private final Counter consumerFailures;
+    private final AtomicInteger monitoredDevices = new AtomicInteger();
+    private final AtomicInteger suspectedDevices = new AtomicInteger();
+
+    private volatile boolean running;
+    private volatile KafkaConsumer<String, byte[]> consumer;
+    private Thread worker;
+
+    public HeartbeatMonitor(TelemetryParser parser,
+                            KafkaTemplate<String, String> kafkaTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+                            @Value("${edge.detector.topic:iot.mqtt.raw}") String topic,
+                            @Value("${edge.detector.group-id:edge-failure-detector}") String groupId,
+                            @Value("${edge.detector.events-topic:iot.machine.health}") String eventsTopic,
+                            @Value("${edge.detector.threshold:8.0}") double threshold,
+                            @Value("${edge.detector.window-size:100}") int windowSize,
+                            @Value("${edge.detector.min-std-dev:100ms}") Duration minStdDev,
+                            @Value("${edge.detector.acceptable-pause:500ms}") Duration acceptablePause,
+                            @Value("${edge.detector.expected-interval:1s}") Duration expectedInterval,
+                            @Value("${edge.detector.tick:64ms}") Duration tick) {
+        this.parser = parser;
+        this.kafkaTemplate = kafkaTemplate;
+        this.bootstrapServers = bootstrapServers;
+        this.topic = topic;
+        this.groupId = groupId;
+        this.eventsTopic = eventsTopic;
+        this.tickMillis = tick.toMillis();
+        this.detector = new PhiAccrualFailureDetector(threshold, windowSize, minStdDev.toMillis(),
+                acceptablePause.toMillis(), expectedInterval.toMillis(), tickMillis, System.currentTimeMillis(), this);
+
+        this.heartbeats = Counter.builder("edge.detector.heartbeats")
+                .description("Heartbeats seen by the failure detector")
+                .register(meterRegistry);
+        this.suspectedEvents = eventCounter(meterRegistry, "suspected");
+        this.recoveredEvents = eventCounter(meterRegistry, "recovered");
+        this.consumerFailures = Counter.builder("edge.detector.consumer.failures")
+                .description("Heartbeat consumer failures after which the consumer was recreated")
+                .register(meterRegistry);
+        Gauge.builder("edge.detector.devices", monitoredDevices, AtomicInteger::get)
+                .description("Devices known to the failure detector")
+                .register(meterRegistry);
+        Gauge.builder("edge.detector.suspected", suspectedDevices, AtomicInteger::get)
+                .description("Devices currently suspected to have failed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::pollLoop, "heartbeat-monitor");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        KafkaConsumer<String, byte[]> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        if (worker != null) {
+            // Ends a backoff sleep
+            worker.interrupt();
+        }
+        try {
+            if (worker != null) {
+                worker.join(5_000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop() {
+        long backoffMillis = MIN_BACKOFF_MILLIS;
+        while (running) {
+            try {
+                consume();
+                return;
+            } catch (WakeupException e) {
+                // Raised by stop()
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                consumerFailures.increment();
+                logger.error("Heartbeat consumer failed, recreating it in {} ms", backoffMillis, e);
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    /**
+     * Polls until stop() or a consumer failure.
+     */
+    private void consume() {
+        Duration pollTimeout = Duration.ofMillis(tickMillis);
+        try (KafkaConsumer<String, byte[]> kafkaConsumer = new KafkaConsumer<>(consumerProperties())) {
+            consumer = kafkaConsumer;
+            kafkaConsumer.subscribe(List.of(topic));
+            while (running) {
+                ConsumerRecords<String, byte[]> records = kafkaConsumer.poll(pollTimeout);
+                long now = System.currentTimeMillis();
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    TelemetryMessage.Heartbeat heartbeat = parser.parseHeartbeat(record.value());
+                    if (heartbeat != null) {
+                        detector.heartbeat(heartbeat.deviceId(), heartbeat.machineType(),
+                                "off".equalsIgnoreCase(heartbeat.status()), heartbeat.timestampMillis(), now);
+                        heartbeats.increment();
+                    }
+                }
+                if (records.count() < MAX_POLL_RECORDS) {
+                    detector.poll(System.currentTimeMillis());
+                }
+                monitoredDevices.set(detector.deviceCount());
+            }
+        } finally {
+            consumer = null;
+        }
+    }
+
+    @Override
+    public void onSuspected(String deviceId, String machineType, double phi, long lastHeartbeatMillis, long nowMillis) {
+        suspectedDevices.incrementAndGet();
+        suspectedEvents.increment();
+        logger.info("Machine {} suspected (phi={}, silent for {} ms)", deviceId,
+                String.format("%.1f", phi), nowMillis - lastHeartbeatMillis);
+        publish(deviceId, machineType, "SUSPECTED", phi, lastHeartbeatMillis, 0, nowMillis);
+    }
+
+    @Override
+    public void onRecovered(String deviceId, String machineType, long downtimeMillis, long nowMillis) {
+        suspectedDevices.decrementAndGet();
+        recoveredEvents.increment();
+        logger.info("Machine {} recovered after {} ms", deviceId, downtimeMillis);
+        publish(deviceId, machineType, "RECOVERED", 0.0, nowMillis, downtimeMillis, nowMillis);
+    }
+
+    private void publish(String deviceId, String machineType, String event, double phi,
+                         long lastHeartbeatMillis, long downtimeMillis, long nowMillis) {
+        StringWriter json = new StringWriter(192);
+        try (JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            generator.writeStartObject();
+            generator.writeStringField("event", event);
+            generator.writeStringField("device_id", deviceId);
+            generator.writeStringField("machine_type", machineType);
+            generator.writeNumberField("phi", Double.isFinite(phi) ? phi : Double.MAX_VALUE);
+            generator.writeStringField("last_heartbeat", Instant.ofEpochMilli(lastHeartbeatMillis).toString());
+            if (downtimeMillis > 0) {
+                generator.writeNumberField("downtime_ms", downtimeMillis);
+            }
+            generator.writeStringField("timestamp", Instant.ofEpochMilli(nowMillis).toString());
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        kafkaTemplate.send(eventsTopic, deviceId, json.toString());
+    }
+
+    private Map<String, Object> consumerProperties() {
+        return Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, groupId,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class,
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest",
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true,
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, MAX_POLL_RECORDS);
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("edge.detector.events")
+                .description("Machine health events published by the failure detector")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,283 @@
+package org.advanced_architecture.edge.detector;
+
+import org.agrona.DeadlineTimerWheel;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.Object2IntHashMap;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Phi-accrual failure detector for machine heartbeats (Hayashibara et al., as used by Akka and Cassandra).
+ *
+ * Instead of "N missed heartbeats", each device gets a suspicion level
+ * phi = -log10(P(heartbeat arrives later than now)), based on the observed distribution of its
+ * heartbeat inter-arrival times. A device is suspected once phi crosses the threshold, which adapts
+ * automatically to broker jitter and to devices with faster or slower heartbeat intervals.
+ *
+ * Data layout:
+ * - Device ids are interned to dense int indices ({@link Object2IntHashMap}); per-device state lives in
+ *   parallel primitive arrays (last arrival, EWMA mean and variance of the interval, state, timer id)
+ * - Interval statistics are exponentially weighted, so memory per device is constant
+ *
+ * Timing:
+ * - Heartbeats are timed by the device's own timestamp, not by when the consumer read them, so consumer
+ *   lag neither compresses nor stretches the observed intervals
+ * - The device clock is mapped to local time with a per-device offset: the smallest observed
+ *   (arrival - sent), which follows a smaller value at once and a larger one (device clock set back)
+ *   by 1/{@value #OFFSET_RISE_DIVISOR} of the difference per heartbeat, so a burst of late heartbeats barely moves it
+ * - Heartbeats sent before the device's latest one (redeliveries, reordering) are ignored
+ *
+ * Scheduling:
+ * - The time at which phi would reach the threshold is computed on arrival; one timer per device is kept
+ *   in a hashed {@link DeadlineTimerWheel} ({@link Long2LongHashMap} maps timer id to device)
+ * - Timers are rescheduled lazily: when one fires and a newer heartbeat has moved the deadline, it is simply
+ *   scheduled again, so heartbeats never touch the wheel for devices that already have a timer
+ *
+ * Not thread-safe: owned by the single thread of {@link HeartbeatMonitor}.
+ */
+public class PhiAccrualFailureDetector implements DeadlineTimerWheel.TimerHandler {
+
+    /**
+     * Receives state transitions.
+     */
+    public interface Listener {
+
+        void onSuspected(String deviceId, String machineType, double phi, long lastHeartbeatMillis, long nowMillis);
+
+        void onRecovered(String deviceId, String machineType, long downtimeMillis, long nowMillis);
+    }
+
+    private static final byte ALIVE = 1;
+    private static final byte SUSPECTED = 2;
+    private static final byte OFF = 3;
+
+    private static final long NO_TIMER = DeadlineTimerWheel.NULL_DEADLINE;
+    private static final int MIN_SAMPLES = 3;
+    private static final int OFFSET_RISE_DIVISOR = 16;
+
+    private final double thresholdY;
+    private final double alpha;
+    private final double minStdDevMillis;
+    private final long acceptablePauseMillis;
+    private final double expectedIntervalMillis;
+    private final Listener listener;
+
+    private final Object2IntHashMap<String> deviceIndex = new Object2IntHashMap<>(1024, 0.65f, -1);
+    private final Long2LongHashMap timerToDevice = new Long2LongHashMap(-1L);
+    private final DeadlineTimerWheel wheel;
+
+    private int deviceCount;
+    private String[] deviceIds = new String[1024];
+    private String[] machineTypes = new String[1024];
+    private long[] lastArrival = new long[1024];
+    private long[] lastSent = new long[1024];
+    private long[] clockOffset = new long[1024];
+    private double[] meanInterval = new double[1024];
+    private double[] intervalVariance = new double[1024];
+    private int[] samples = new int[1024];
+    private long[] timers = new long[1024];
+    private byte[] states = new byte[1024];
+
+    public PhiAccrualFailureDetector(double threshold,
+                                     int windowSize,
+                                     long minStdDevMillis,
+                                     long acceptablePauseMillis,
+                                     long expectedIntervalMillis,
+                                     long tickMillis,
+                                     long nowMillis,
+                                     Listener listener) {
+        this.thresholdY = yForPhi(threshold);
+        this.alpha = 2.0 / (windowSize + 1);
+        this.minStdDevMillis = minStdDevMillis;
+        this.acceptablePauseMillis = acceptablePauseMillis;
+        this.expectedIntervalMillis = expectedIntervalMillis;
+        this.listener = listener;
+        this.wheel = new DeadlineTimerWheel(TimeUnit.MILLISECONDS, nowMillis, Long.highestOneBit(Math.max(1, tickMillis)), 1024);
+    }
+
+    /**
+     * Records a heartbeat. A heartbeat with status "off" is a clean shutdown: the device is no longer
+     * monitored until it reports again.
+     *
+     * @param sentMillis the heartbeat's own timestamp (device clock)
+     * @param nowMillis local time at which it was read
+     */
+    public void heartbeat(String deviceId, String machineType, boolean off, long sentMillis, long nowMillis) {
+        int device = deviceIndex.getValue(deviceId);
+        boolean known = device >= 0;
+        if (!known) {
+            device = register(deviceId);
+        } else if (sentMillis <= lastSent[device]) {
+            return;
+        }
+        machineTypes[device] = machineType;
+        lastSent[device] = sentMillis;
+
+        long observedOffset = nowMillis - sentMillis;
+        if (!known || observedOffset <= clockOffset[device]) {
+            clockOffset[device] = observedOffset;
+        } else {
+            clockOffset[device] += (observedOffset - clockOffset[device]) / OFFSET_RISE_DIVISOR;
+        }
+        long arrival = sentMillis + clockOffset[device];
+
+        byte previous = states[device];
+        if (previous == ALIVE) {
+            recordInterval(device, arrival - lastArrival[device]);
+        } else if (previous == SUSPECTED) {
+            listener.onRecovered(deviceId, machineType, arrival - lastArrival[device], nowMillis);
+        }
+        lastArrival[device] = Math.max(lastArrival[device], arrival);
+
+        if (off) {
+            states[device] = OFF;
+            return;
+        }
+        states[device] = ALIVE;
+        if (timers[device] == NO_TIMER) {
+            schedule(device, deadline(device));
+        }
+    }
+
+    /**
+     * Fires the checks that are due. Call regularly, at least once per tick.
+     */
+    public void poll(long nowMillis) {
+        do {
+            wheel.poll(nowMillis, this, Integer.MAX_VALUE);
+        } while (nowMillis >= wheel.currentTickTime());
+    }
+
+    /**
+     * Current suspicion level of a device, or NaN when it is unknown.
+     */
+    public double phi(String deviceId, long nowMillis) {
+        int device = deviceIndex.getValue(deviceId);
+        return device < 0 ? Double.NaN : phi(device, nowMillis);
+    }
+
+    public int deviceCount() {
+        return deviceCount;
+    }
+
+    @Override
+    public boolean onTimerExpiry(TimeUnit timeUnit, long now, long timerId) {
+        int device = (int) timerToDevice.remove(timerId);
+        if (device < 0) {
+            return true;
+        }
+        timers[device] = NO_TIMER;
+        if (states[device] != ALIVE) {
+            return true;
+        }
+        long deadline = deadline(device);
+        if (now < deadline) {
+            schedule(device, deadline);
+            return true;
+        }
+        states[device] = SUSPECTED;
+        listener.onSuspected(deviceIds[device], machineTypes[device], phi(device, now), lastArrival[device], now);
+        return true;
+    }
+
+    private int register(String deviceId) {
+        int device = deviceCount++;
+        if (device == deviceIds.length) {
+            grow(device * 2);
+        }
+        deviceIds[device] = deviceId;
+        meanInterval[device] = expectedIntervalMillis;
+        intervalVariance[device] = square(expectedIntervalMillis / 4.0);
+        samples[device] = 0;
+        timers[device] = NO_TIMER;
+        deviceIndex.put(deviceId, device);
+        return device;
+    }
+
+    private void recordInterval(int device, long intervalMillis) {
+        if (intervalMillis <= 0) {
+            return;
+        }
+        int n = ++samples[device];
+        double mean = meanInterval[device];
+        if (n <= MIN_SAMPLES) {
+            // Cumulative average while warming up, so the first intervals weigh in quickly
+            double weight = 1.0 / n;
+            double delta = intervalMillis - mean;
+            meanInterval[device] = mean + weight * delta;
+            intervalVariance[device] = (1 - weight) * (intervalVariance[device] + weight * delta * delta);
+            return;
+        }
+        double delta = intervalMillis - mean;
+        meanInterval[device] = mean + alpha * delta;
+        intervalVariance[device] = (1 - alpha) * (intervalVariance[device] + alpha * delta * delta);
+    }
+
+    private long deadline(int device) {
+        double mean = meanInterval[device] + acceptablePauseMillis;
+        double stdDev = Math.max(Math.sqrt(intervalVariance[device]), minStdDevMillis);
+        return lastArrival[device] + (long) Math.ceil(mean + thresholdY * stdDev);
+    }
+
+    private double phi(int device, long nowMillis) {
+        double mean = meanInterval[device] + acceptablePauseMillis;
+        double stdDev = Math.max(Math.sqrt(intervalVariance[device]), minStdDevMillis);
+        return phi(nowMillis - lastArrival[device], mean, stdDev);
+    }
+
+    private void schedule(int device, long deadline) {
+        long timerId = wheel.scheduleTimer(deadline);
+        timers[device] = timerId;
+        timerToDevice.put(timerId, device);
+    }
+
+    private void grow(int capacity) {
+        deviceIds = Arrays.copyOf(deviceIds, capacity);
+        machineTypes = Arrays.copyOf(machineTypes, capacity);
+        lastArrival = Arrays.copyOf(lastArrival, capacity);
+        lastSent = Arrays.copyOf(lastSent, capacity);
+        clockOffset = Arrays.copyOf(clockOffset, capacity);
+        meanInterval = Arrays.copyOf(meanInterval, capacity);
+        intervalVariance = Arrays.copyOf(intervalVariance, capacity);
+        samples = Arrays.copyOf(samples, capacity);
+        timers = Arrays.copyOf(timers, capacity);
+        states = Arrays.copyOf(states, capacity);
+    }
+
+    /**
+     * phi for an elapsed time, using the logistic approximation of the normal CDF from Akka's detector.
+     */
+    static double phi(long elapsedMillis, double mean, double stdDev) {
+        double y = (elapsedMillis - mean) / stdDev;
+        double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+        if (elapsedMillis > mean) {
+            return -Math.log10(e / (1.0 + e));
+        }
+        return -Math.log10(1.0 - 1.0 / (1.0 + e));
+    }
+
+    /**
+     * Inverts {@link #phi} for y >= 0 by Newton's method, so deadlines can be computed without iterating.
+     */
+    static double yForPhi(double phi) {
+        double target = -phi * Math.log(10);   // ln(e / (1 + e)) = ln(10^-phi)
+        double y = 1.0;
+        for (int i = 0; i < 50; i++) {
+            double e = Math.exp(-y * (1.5976 + 0.070566 * y * y));
+            double f = Math.log(e / (1.0 + e)) - target;
+            // d/dy ln(e/(1+e)) = (1/(1+e)) * d(ln e)/dy
+            double derivative = -(1.5976 + 3 * 0.070566 * y * y) / (1.0 + e);
+            double next = y - f / derivative;
+            if (Math.abs(next - y) < 1e-9) {
+                return next;
+            }
+            y = next;
+        }
+        return y;
+    }
+
+    private static double square(double value) {
+        return value * value;
+    }
+}
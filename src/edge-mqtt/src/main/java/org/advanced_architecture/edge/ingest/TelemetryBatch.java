@@ -0,0 +1,71 @@
+package org.advanced_architecture.edge.ingest;
+
+import org.advanced_architecture.edge.telemetry.TelemetryMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One poll's worth of telemetry, prepared for a single database round trip.
+ *
+ * Responsibilities:
+ * - Encodes raw payloads as PostgreSQL COPY text rows (escaping backslash, tab, newline and carriage return)
+ * - Keeps only the latest device, progress and reroute state per key, since one upsert statement
+ *   cannot touch the same row twice
+ * - A payload that is a heartbeat and a progress or reroute report at once updates each of them, as the
+ *   three telemetry_raw triggers did
+ */
+final class TelemetryBatch {
+
+    private final ByteArrayOutputStream copyRows = new ByteArrayOutputStream(64 * 1024);
+    private int rawCount;
+
+    final Map<String, TelemetryMessage.Heartbeat> devices = new LinkedHashMap<>();
+    final Map<String, TelemetryMessage.ProgressReport> progress = new LinkedHashMap<>();
+    final Map<String, TelemetryMessage.RerouteReport> reroutes = new LinkedHashMap<>();
+
+    void add(byte[] payload, List<TelemetryMessage> messages) {
+        if (messages.isEmpty()) {
+            // Unrecognised payload, possibly not even valid UTF-8: re-encode it so it cannot break the COPY
+            appendCopyRow(new String(payload, StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        appendCopyRow(payload);
+        for (TelemetryMessage message : messages) {
+            if (message instanceof TelemetryMessage.Heartbeat heartbeat) {
+                devices.merge(heartbeat.deviceId(), heartbeat,
+                        (current, next) -> next.timestampMillis() >= current.timestampMillis() ? next : current);
+            } else if (message instanceof TelemetryMessage.ProgressReport report) {
+                progress.put(report.deviceId(), report);
+            } else if (message instanceof TelemetryMessage.RerouteReport reroute) {
+                reroutes.put(reroute.orderId(), reroute);
+            }
+        }
+    }
+
+    int rawCount() {
+        return rawCount;
+    }
+
+    byte[] copyRows() {
+        return copyRows.toByteArray();
+    }
+
+    private void appendCopyRow(byte[] payload) {
+        for (byte b : payload) {
+            switch (b) {
+                case '\\' -> { copyRows.write('\\'); copyRows.write('\\'); }
+                case '\t' -> { copyRows.write('\\'); copyRows.write('t'); }
+                case '\n' -> { copyRows.write('\\'); copyRows.write('n'); }
+                case '\r' -> { copyRows.write('\\'); copyRows.write('r'); }
+                case 0 -> { /* NUL is not allowed in text columns */ }
+                default -> copyRows.write(b);
+            }
+        }
+        copyRows.write('\n');
+        rawCount++;
+    }
+}
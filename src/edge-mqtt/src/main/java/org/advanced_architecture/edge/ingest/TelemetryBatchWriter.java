@@ -0,0 +1,153 @@
+package org.advanced_architecture.edge.ingest;
+
+import org.advanced_architecture.edge.telemetry.TelemetryMessage;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Writes a {@link TelemetryBatch} to TimescaleDB in one transaction.
+ *
+ * Behavior:
+ * - Raw payloads go to telemetry_raw with a single COPY ... FROM STDIN
+ * - devices, progress and reroutes are upserted with one INSERT ... SELECT FROM unnest(...) statement each,
+ *   replacing the per-row PL/pgSQL triggers (see db/java-ingest.sql, which drops them)
+ * - devices.status only moves forward in time: an older heartbeat never overwrites a newer status
+ * - Heartbeat timestamps are sent as the payload's text and cast with ::timestamptz, so timestamps without
+ *   an offset are read in the session TimeZone exactly as the trigger read them
+ */
+@Component
+public class TelemetryBatchWriter {
+
+    private static final String COPY_RAW = "COPY telemetry_raw (payload) FROM STDIN";
+
+    private static final String UPSERT_DEVICES = """
+            INSERT INTO devices (device_id, machine_type, last_seen, status, updated_at)
+            SELECT d, m, l, s, now()
+            FROM unnest(?::text[], ?::text[], ?::timestamptz[], ?::text[]) AS t(d, m, l, s)
+            ON CONFLICT (device_id) DO UPDATE
+              SET machine_type = EXCLUDED.machine_type,
+                  status       = CASE WHEN devices.last_seen IS NULL OR EXCLUDED.last_seen >= devices.last_seen
+                                      THEN EXCLUDED.status ELSE devices.status END,
+                  last_seen    = GREATEST(devices.last_seen, EXCLUDED.last_seen),
+                  updated_at   = now()
+            """;
+
+    private static final String UPSERT_PROGRESS = """
+            INSERT INTO progress (device_id, target_id, order_id, units_pending, current_produced, unit_amount, updated_at)
+            SELECT d, t, o, p, c, a, now()
+            FROM unnest(?::text[], ?::text[], ?::text[], ?::text[], ?::text[], ?::text[]) AS u(d, t, o, p, c, a)
+            ON CONFLICT (device_id) DO UPDATE
+              SET target_id        = EXCLUDED.target_id,
+                  order_id         = EXCLUDED.order_id,
+                  units_pending    = EXCLUDED.units_pending,
+                  current_produced = EXCLUDED.current_produced,
+                  unit_amount      = EXCLUDED.unit_amount,
+                  updated_at       = now()
+            """;
+
+    private static final String UPSERT_REROUTES = """
+            INSERT INTO reroutes (order_id, reroute_time, successful, updated_at)
+            SELECT o, r, s, now()
+            FROM unnest(?::text[], ?::text[], ?::text[]) AS u(o, r, s)
+            ON CONFLICT (order_id) DO UPDATE
+              SET reroute_time = EXCLUDED.reroute_time,
+                  successful   = EXCLUDED.successful,
+                  updated_at   = now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TelemetryBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public void write(TelemetryBatch batch) {
+        jdbcTemplate.execute((Connection connection) -> {
+            copyRaw(connection, batch);
+            upsertDevices(connection, batch.devices.values());
+            upsertProgress(connection, batch.progress.values());
+            upsertReroutes(connection, batch.reroutes.values());
+            return null;
+        });
+    }
+
+    private void copyRaw(Connection connection, TelemetryBatch batch) throws SQLException {
+        if (batch.rawCount() == 0) {
+            return;
+        }
+        byte[] rows = batch.copyRows();
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_RAW);
+        try {
+            copyIn.writeToCopy(rows, 0, rows.length);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void upsertDevices(Connection connection, Collection<TelemetryMessage.Heartbeat> heartbeats)
+            throws SQLException {
+        if (heartbeats.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT_DEVICES)) {
+            statement.setArray(1, textArray(connection, heartbeats, TelemetryMessage.Heartbeat::deviceId));
+            statement.setArray(2, textArray(connection, heartbeats, TelemetryMessage.Heartbeat::machineType));
+            statement.setArray(3, textArray(connection, heartbeats, TelemetryMessage.Heartbeat::timestamp));
+            statement.setArray(4, textArray(connection, heartbeats, TelemetryMessage.Heartbeat::status));
+            statement.executeUpdate();
+        }
+    }
+
+    private void upsertProgress(Connection connection, Collection<TelemetryMessage.ProgressReport> reports)
+            throws SQLException {
+        if (reports.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT_PROGRESS)) {
+            statement.setArray(1, textArray(connection, reports, TelemetryMessage.ProgressReport::deviceId));
+            statement.setArray(2, textArray(connection, reports, TelemetryMessage.ProgressReport::targetId));
+            statement.setArray(3, textArray(connection, reports, TelemetryMessage.ProgressReport::orderId));
+            statement.setArray(4, textArray(connection, reports, TelemetryMessage.ProgressReport::unitsPending));
+            statement.setArray(5, textArray(connection, reports, TelemetryMessage.ProgressReport::currentProduced));
+            statement.setArray(6, textArray(connection, reports, TelemetryMessage.ProgressReport::unitAmount));
+            statement.executeUpdate();
+        }
+    }
+
+    private void upsertReroutes(Connection connection, Collection<TelemetryMessage.RerouteReport> reroutes)
+            throws SQLException {
+        if (reroutes.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT_REROUTES)) {
+            statement.setArray(1, textArray(connection, reroutes, TelemetryMessage.RerouteReport::orderId));
+            statement.setArray(2, textArray(connection, reroutes, TelemetryMessage.RerouteReport::rerouteTime));
+            statement.setArray(3, textArray(connection, reroutes, TelemetryMessage.RerouteReport::successful));
+            statement.executeUpdate();
+        }
+    }
+
+    private static <T> Array textArray(Connection connection, Collection<T> rows, Function<T, String> column)
+            throws SQLException {
+        String[] values = new String[rows.size()];
+        int i = 0;
+        for (T row : rows) {
+            values[i++] = column.apply(row);
+        }
+        return connection.createArrayOf("text", values);
+    }
+}
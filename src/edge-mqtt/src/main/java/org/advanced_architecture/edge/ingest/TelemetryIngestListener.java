@@ -0,0 +1,187 @@
+package org.advanced_architecture.edge.ingest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.advanced_architecture.edge.telemetry.TelemetryMessage;
+import org.advanced_architecture.edge.telemetry.TelemetryParser;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch consumer that ingests iot.mqtt.raw into TimescaleDB, replacing the timescale-sink-raw connector.
+ *
+ * Responsibilities:
+ * - Receives raw byte payloads in batches bounded by edge.ingest.max-batch-records and
+ *   edge.ingest.max-batch-wait (Kafka max.poll.records / fetch.max.wait.ms)
+ * - Parses each payload once with the streaming {@link TelemetryParser}
+ * - Hands the whole batch to {@link TelemetryBatchWriter}; offsets are committed only after it succeeds
+ *
+ * Exception handling:
+ * - Transient database errors (connection lost, database down, lock timeouts) are rethrown, so the container
+ *   retries the batch with backoff (see EdgeKafkaConfiguration)
+ * - Any other write failure is blamed on the payloads: the batch is split in halves until the failing
+ *   payloads are isolated, the rest is written and the failing ones go to edge.ingest.dead-letter-topic
+ * - If no payload of the batch can be written the error is rethrown like a transient one
+ * - A transient error during the split retries the whole batch, so the slices already written get their
+ *   telemetry_raw rows twice (the upserts are idempotent)
+ *
+ * Metrics:
+ * - edge.ingest.records (counter, tag type = heartbeat|progress|reroute|unparsed|dead_lettered)
+ * - edge.ingest.batch (timer covering parse and write)
+ */
+@Component
+@ConditionalOnProperty(prefix = "edge.ingest", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TelemetryIngestListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryIngestListener.class);
+
+    private final TelemetryParser parser;
+    private final TelemetryBatchWriter writer;
+    private final Counter heartbeats;
+    private final Counter progress;
+    private final Counter reroutes;
+    private final Counter unparsed;
+    private final Counter deadLettered;
+    private final Timer batchTimer;
+    private final ConsumerRecordRecoverer deadLetters;
+
+    public TelemetryIngestListener(TelemetryParser parser,
+                                   TelemetryBatchWriter writer,
+                                   MeterRegistry meterRegistry,
+                                   @Qualifier("ingestDeadLetterRecoverer") ConsumerRecordRecoverer deadLetters) {
+        this.parser = parser;
+        this.writer = writer;
+        this.deadLetters = deadLetters;
+        this.heartbeats = recordCounter(meterRegistry, "heartbeat");
+        this.progress = recordCounter(meterRegistry, "progress");
+        this.reroutes = recordCounter(meterRegistry, "reroute");
+        this.unparsed = recordCounter(meterRegistry, "unparsed");
+        this.deadLettered = recordCounter(meterRegistry, "dead_lettered");
+        this.batchTimer = Timer.builder("edge.ingest.batch")
+                .description("Time to parse and write one ingest batch")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            id = "telemetry-ingest",
+            topics = "${edge.ingest.topic:iot.mqtt.raw}",
+            groupId = "${edge.ingest.group-id:edge-telemetry-ingest}",
+            containerFactory = "ingestListenerContainerFactory")
+    public void onBatch(List<ConsumerRecord<String, byte[]>> records) {
+        batchTimer.record(() -> {
+            List<Parsed> parsed = new ArrayList<>(records.size());
+            for (ConsumerRecord<String, byte[]> record : records) {
+                byte[] payload = record.value();
+                if (payload == null) {
+                    continue;
+                }
+                List<TelemetryMessage> messages = parser.parse(payload);
+                count(messages);
+                parsed.add(new Parsed(record, messages));
+            }
+            try {
+                write(parsed);
+            } catch (RuntimeException e) {
+                if (isTransient(e) || parsed.size() <= 1) {
+                    throw e;
+                }
+                logger.warn("Ingest batch of {} payloads failed, isolating the failing payloads. Cause: {}",
+                        parsed.size(), e.toString());
+                List<Rejected> rejected = new ArrayList<>();
+                writeIsolating(parsed, rejected);
+                if (rejected.size() == parsed.size()) {
+                    throw e;
+                }
+                for (Rejected reject : rejected) {
+                    deadLetters.accept(reject.record(), reject.cause());
+                    deadLettered.increment();
+                }
+                logger.warn("Sent {} of {} payloads to the dead-letter topic", rejected.size(), parsed.size());
+            }
+        });
+    }
+
+    private void write(List<Parsed> parsed) {
+        TelemetryBatch batch = new TelemetryBatch();
+        for (Parsed entry : parsed) {
+            batch.add(entry.record().value(), entry.messages());
+        }
+        writer.write(batch);
+        logger.debug("Ingested {} payloads ({} devices, {} progress, {} reroutes)",
+                batch.rawCount(), batch.devices.size(), batch.progress.size(), batch.reroutes.size());
+    }
+
+    /**
+     * Writes the payloads in ever smaller slices (in their original order) and collects those that fail alone.
+     * Transient errors abort the split and are rethrown.
+     */
+    private void writeIsolating(List<Parsed> parsed, List<Rejected> rejected) {
+        int half = parsed.size() / 2;
+        for (List<Parsed> slice : List.of(parsed.subList(0, half), parsed.subList(half, parsed.size()))) {
+            if (slice.isEmpty()) {
+                continue;
+            }
+            try {
+                write(slice);
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    throw e;
+                }
+                if (slice.size() == 1) {
+                    rejected.add(new Rejected(slice.get(0).record(), e));
+                } else {
+                    writeIsolating(slice, rejected);
+                }
+            }
+        }
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransactionException;
+    }
+
+    private void count(List<TelemetryMessage> messages) {
+        if (messages.isEmpty()) {
+            unparsed.increment();
+        }
+        for (TelemetryMessage message : messages) {
+            if (message instanceof TelemetryMessage.Heartbeat) {
+                heartbeats.increment();
+            } else if (message instanceof TelemetryMessage.ProgressReport) {
+                progress.increment();
+            } else if (message instanceof TelemetryMessage.RerouteReport) {
+                reroutes.increment();
+            }
+        }
+    }
+
+    private static Counter recordCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("edge.ingest.records")
+                .description("Telemetry payloads ingested from iot.mqtt.raw")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private record Parsed(ConsumerRecord<String, byte[]> record, List<TelemetryMessage> messages) {
+    }
+
+    private record Rejected(ConsumerRecord<String, byte[]> record, Exception cause) {
+    }
+}
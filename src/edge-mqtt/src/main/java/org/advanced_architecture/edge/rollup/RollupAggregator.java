@@ -0,0 +1,277 @@
+package org.advanced_architecture.edge.rollup;
+
+import org.advanced_architecture.edge.telemetry.TelemetryMessage;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Event-time tumbling-window aggregation of machine heartbeats.
+ *
+ * Per device and window it accumulates:
+ * - busy / idle / off time: the gap between two heartbeats (capped at maxGap) is attributed to the status of
+ *   the earlier one, split across window boundaries
+ * - units completed: the first heartbeat reporting 100% progress for a unit
+ * - progress points: increase of the progress percentage within the same unit (rate = points per busy minute)
+ * - heartbeats received
+ * Machine type rows are the sum over the devices of that type, plus the number of distinct devices.
+ *
+ * Watermark:
+ * - watermark = highest event time seen - allowedLateness; a window closes once its end passes the watermark
+ * - an event that falls into a closed window is late: it is dropped for that resolution and counted
+ * - without any events for idleTimeout, the watermark follows the wall clock, so the last windows still close
+ *
+ * {@link #drain} emits the accumulated deltas of all windows and resets them, so partial results can be
+ * flushed often and merged additively in the database. Not thread-safe.
+ */
+public class RollupAggregator {
+
+    private static final byte BUSY = 0;
+    private static final byte IDLE = 1;
+    private static final byte OFF = 2;
+
+    private final List<RollupResolution> resolutions;
+    private final long allowedLatenessMillis;
+    private final long maxGapMillis;
+    private final long idleTimeoutMillis;
+
+    private final Map<RollupResolution, TreeMap<Long, Window>> windows = new EnumMap<>(RollupResolution.class);
+    private final Map<RollupResolution, long[]> lateEvents = new EnumMap<>(RollupResolution.class);
+    private final Map<String, DeviceCursor> cursors = new HashMap<>();
+
+    private long maxEventTime = Long.MIN_VALUE;
+    private long lastEventWallClock;
+
+    public RollupAggregator(List<RollupResolution> resolutions, long allowedLatenessMillis,
+                            long maxGapMillis, long idleTimeoutMillis) {
+        this.resolutions = List.copyOf(resolutions);
+        this.allowedLatenessMillis = allowedLatenessMillis;
+        this.maxGapMillis = maxGapMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        for (RollupResolution resolution : this.resolutions) {
+            windows.put(resolution, new TreeMap<>());
+            lateEvents.put(resolution, new long[1]);
+        }
+    }
+
+    public void add(TelemetryMessage.Heartbeat heartbeat, long wallClockMillis) {
+        long eventTime = heartbeat.timestampMillis();
+        long watermark = watermark();
+        String deviceId = heartbeat.deviceId();
+        String machineType = heartbeat.machineType();
+        DeviceCursor cursor = cursors.get(deviceId);
+
+        if (cursor != null && eventTime > cursor.lastEventTime) {
+            long gap = Math.min(eventTime - cursor.lastEventTime, maxGapMillis);
+            attributeState(deviceId, machineType, cursor.state, eventTime - gap, eventTime, watermark);
+        }
+
+        boolean inOrder = cursor == null || eventTime >= cursor.lastEventTime;
+        long progressDelta = 0;
+        boolean unitCompleted = false;
+        String unitId = heartbeat.unitId();
+        if (cursor != null && inOrder && unitId != null && unitId.equals(cursor.unitId)
+                && heartbeat.progress() > cursor.progress) {
+            progressDelta = heartbeat.progress() - Math.max(0, cursor.progress);
+        }
+        if (unitId != null && heartbeat.progress() >= 100 && (cursor == null || !unitId.equals(cursor.completedUnitId))) {
+            unitCompleted = true;
+        }
+
+        for (RollupResolution resolution : resolutions) {
+            long start = resolution.windowStart(eventTime);
+            if (start + resolution.millis() <= watermark) {
+                lateEvents.get(resolution)[0]++;
+                continue;
+            }
+            Accumulator accumulator = accumulator(resolution, start, deviceId, machineType);
+            accumulator.heartbeats++;
+            accumulator.progressPoints += progressDelta;
+            if (unitCompleted) {
+                accumulator.unitsCompleted++;
+            }
+        }
+
+        if (cursor == null) {
+            cursor = new DeviceCursor();
+            cursors.put(deviceId, cursor);
+        }
+        if (unitCompleted) {
+            cursor.completedUnitId = unitId;
+        }
+        if (inOrder) {
+            cursor.lastEventTime = eventTime;
+            cursor.state = stateOf(heartbeat.status());
+            cursor.unitId = unitId;
+            cursor.progress = heartbeat.progress();
+        }
+        maxEventTime = Math.max(maxEventTime, eventTime);
+        lastEventWallClock = wallClockMillis;
+    }
+
+    /**
+     * Lets the watermark follow the wall clock when no events have arrived for idleTimeout.
+     */
+    public void onIdle(long wallClockMillis) {
+        if (wallClockMillis - lastEventWallClock >= idleTimeoutMillis) {
+            maxEventTime = Math.max(maxEventTime, wallClockMillis - idleTimeoutMillis);
+        }
+    }
+
+    /**
+     * Emits and resets the accumulated deltas of every window, then drops windows closed by the watermark.
+     */
+    public List<RollupRow> drain() {
+        long watermark = watermark();
+        List<RollupRow> rows = new ArrayList<>();
+        for (RollupResolution resolution : resolutions) {
+            Iterator<Window> iterator = windows.get(resolution).values().iterator();
+            while (iterator.hasNext()) {
+                Window window = iterator.next();
+                window.drainInto(rows);
+                if (window.start + resolution.millis() <= watermark) {
+                    iterator.remove();
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Returns and resets the number of late events per resolution.
+     */
+    public long drainLateEvents(RollupResolution resolution) {
+        long[] counter = lateEvents.get(resolution);
+        long late = counter[0];
+        counter[0] = 0;
+        return late;
+    }
+
+    public long watermark() {
+        return maxEventTime == Long.MIN_VALUE ? Long.MIN_VALUE : maxEventTime - allowedLatenessMillis;
+    }
+
+    public int openWindows() {
+        int open = 0;
+        for (TreeMap<Long, Window> byStart : windows.values()) {
+            open += byStart.size();
+        }
+        return open;
+    }
+
+    private void attributeState(String deviceId, String machineType, byte state, long from, long to, long watermark) {
+        for (RollupResolution resolution : resolutions) {
+            long time = from;
+            while (time < to) {
+                long start = resolution.windowStart(time);
+                long end = start + resolution.millis();
+                long sliceEnd = Math.min(end, to);
+                if (end > watermark) {
+                    accumulator(resolution, start, deviceId, machineType).addState(state, sliceEnd - time);
+                }
+                time = sliceEnd;
+            }
+        }
+    }
+
+    private Accumulator accumulator(RollupResolution resolution, long start, String deviceId, String machineType) {
+        Window window = windows.get(resolution).computeIfAbsent(start, s -> new Window(resolution, s));
+        Accumulator accumulator = window.devices.computeIfAbsent(deviceId, id -> new Accumulator());
+        accumulator.machineType = machineType;
+        return accumulator;
+    }
+
+    private static byte stateOf(String status) {
+        if ("running".equalsIgnoreCase(status) || "busy".equalsIgnoreCase(status)) {
+            return BUSY;
+        }
+        if ("idle".equalsIgnoreCase(status)) {
+            return IDLE;
+        }
+        return OFF;
+    }
+
+    private static final class DeviceCursor {
+        long lastEventTime;
+        byte state = OFF;
+        String unitId;
+        int progress = -1;
+        String completedUnitId;
+    }
+
+    private static final class Accumulator {
+        String machineType;
+        long busyMillis;
+        long idleMillis;
+        long offMillis;
+        int unitsCompleted;
+        long progressPoints;
+        int heartbeats;
+
+        void addState(byte state, long millis) {
+            switch (state) {
+                case BUSY -> busyMillis += millis;
+                case IDLE -> idleMillis += millis;
+                default -> offMillis += millis;
+            }
+        }
+
+        boolean isEmpty() {
+            return busyMillis == 0 && idleMillis == 0 && offMillis == 0
+                    && unitsCompleted == 0 && progressPoints == 0 && heartbeats == 0;
+        }
+
+        void reset() {
+            busyMillis = 0;
+            idleMillis = 0;
+            offMillis = 0;
+            unitsCompleted = 0;
+            progressPoints = 0;
+            heartbeats = 0;
+        }
+    }
+
+    private static final class Window {
+
+        final RollupResolution resolution;
+        final long start;
+        /** Device accumulators are reset on drain but kept, so their count stays the distinct device count. */
+        final Map<String, Accumulator> devices = new HashMap<>();
+
+        Window(RollupResolution resolution, long start) {
+            this.resolution = resolution;
+            this.start = start;
+        }
+
+        void drainInto(List<RollupRow> rows) {
+            Map<String, RollupRow> byType = new LinkedHashMap<>();
+            Map<String, Integer> devicesPerType = new HashMap<>();
+            for (Accumulator accumulator : devices.values()) {
+                devicesPerType.merge(accumulator.machineType, 1, Integer::sum);
+            }
+            for (Map.Entry<String, Accumulator> entry : devices.entrySet()) {
+                Accumulator accumulator = entry.getValue();
+                if (accumulator.isEmpty()) {
+                    continue;
+                }
+                RollupRow deviceRow = new RollupRow(resolution, true, start, entry.getKey(), accumulator.machineType,
+                        accumulator.busyMillis, accumulator.idleMillis, accumulator.offMillis,
+                        accumulator.unitsCompleted, accumulator.progressPoints, accumulator.heartbeats, 1);
+                rows.add(deviceRow);
+                RollupRow typeRow = new RollupRow(resolution, false, start, accumulator.machineType,
+                        accumulator.machineType, deviceRow.busyMillis(), deviceRow.idleMillis(), deviceRow.offMillis(),
+                        deviceRow.unitsCompleted(), deviceRow.progressPoints(), deviceRow.heartbeats(),
+                        devicesPerType.get(accumulator.machineType));
+                byType.merge(accumulator.machineType, typeRow, RollupRow::merge);
+                accumulator.reset();
+            }
+            rows.addAll(byType.values());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.advanced_architecture.edge.rollup;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consumed offsets of the rollup stage, stored in the rollup_offsets table (db/rollups.sql).
+ *
+ * Written by {@link RollupWriter} in the same transaction as the rollup deltas, so the stage resumes
+ * exactly behind the last records whose deltas were added, whatever happened to the Kafka offset commit.
+ */
+@Component
+public class RollupOffsetStore {
+
+    private static final String UPSERT = """
+            INSERT INTO rollup_offsets (group_id, topic, partition, next_offset)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (group_id, topic, partition) DO UPDATE
+                SET next_offset = EXCLUDED.next_offset, updated_at = now()""";
+
+    private static final String FIND = """
+            SELECT topic, partition, next_offset FROM rollup_offsets WHERE group_id = ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RollupOffsetStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records the next offset to consume per partition; joins the caller's transaction.
+     */
+    public void save(String groupId, Map<TopicPartition, Long> nextOffsets) {
+        List<Object[]> rows = new ArrayList<>(nextOffsets.size());
+        nextOffsets.forEach((partition, offset) ->
+                rows.add(new Object[]{groupId, partition.topic(), partition.partition(), offset}));
+        jdbcTemplate.batchUpdate(UPSERT, rows);
+    }
+
+    /**
+     * Stored next offsets of the given partitions; partitions without a stored offset are left out.
+     */
+    public Map<TopicPartition, Long> find(String groupId, Collection<TopicPartition> partitions) {
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        jdbcTemplate.query(FIND, row -> {
+            TopicPartition partition = new TopicPartition(row.getString("topic"), row.getInt("partition"));
+            if (partitions.contains(partition)) {
+                offsets.put(partition, row.getLong("next_offset"));
+            }
+        }, groupId);
+        return offsets;
+    }
+}
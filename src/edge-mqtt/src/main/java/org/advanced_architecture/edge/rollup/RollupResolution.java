@@ -0,0 +1,30 @@
+package org.advanced_architecture.edge.rollup;
+
+/**
+ * Tumbling window sizes for telemetry rollups, each backed by its own pair of TimescaleDB tables
+ * (device_rollup_&lt;suffix&gt; and machine_type_rollup_&lt;suffix&gt;, see db/rollups.sql).
+ */
+public enum RollupResolution {
+    MINUTE("1m", 60_000L),
+    HOUR("1h", 3_600_000L);
+
+    private final String suffix;
+    private final long millis;
+
+    RollupResolution(String suffix, long millis) {
+        this.suffix = suffix;
+        this.millis = millis;
+    }
+
+    public String suffix() {
+        return suffix;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    public long windowStart(long epochMillis) {
+        return Math.floorDiv(epochMillis, millis) * millis;
+    }
+}
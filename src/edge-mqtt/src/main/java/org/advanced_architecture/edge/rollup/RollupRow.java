@@ -0,0 +1,35 @@
+package org.advanced_architecture.edge.rollup;
+
+/**
+ * Partial aggregate for one window and one device or machine type, written additively.
+ *
+ * @param key      device id for device rollups, machine type for machine type rollups
+ * @param devices  distinct devices seen in the window so far (machine type rollups only)
+ */
+public record RollupRow(RollupResolution resolution,
+                        boolean perDevice,
+                        long bucketStart,
+                        String key,
+                        String machineType,
+                        long busyMillis,
+                        long idleMillis,
+                        long offMillis,
+                        int unitsCompleted,
+                        long progressPoints,
+                        int heartbeats,
+                        int devices) {
+
+    /**
+     * Combines two partial aggregates of the same window and key.
+     */
+    public RollupRow merge(RollupRow other) {
+        return new RollupRow(resolution, perDevice, bucketStart, key, other.machineType,
+                busyMillis + other.busyMillis,
+                idleMillis + other.idleMillis,
+                offMillis + other.offMillis,
+                unitsCompleted + other.unitsCompleted,
+                progressPoints + other.progressPoints,
+                heartbeats + other.heartbeats,
+                Math.max(devices, other.devices));
+    }
+}
@@ -0,0 +1,141 @@
+package org.advanced_architecture.edge.rollup;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes rollup deltas to the device_rollup_* and machine_type_rollup_* tables (db/rollups.sql).
+ *
+ * Behavior:
+ * - Rows for the same table, key and bucket are merged first, as one upsert cannot touch a row twice
+ * - Each table is written with a single INSERT ... SELECT FROM unnest(...) statement
+ * - Counters and durations are added to the stored values; the distinct device count keeps its maximum
+ * - The next offsets of the records the deltas came from are stored in the same transaction
+ *   ({@link RollupOffsetStore}), so a batch of deltas is added exactly once
+ */
+@Component
+public class RollupWriter {
+
+    private static final String UPSERT_DEVICE = """
+            INSERT INTO device_rollup_%1$s
+              (bucket, device_id, machine_type, busy_ms, idle_ms, off_ms, units_completed, progress_points, heartbeats)
+            SELECT * FROM unnest(?::timestamptz[], ?::text[], ?::text[], ?::int8[], ?::int8[], ?::int8[],
+                                 ?::int4[], ?::int8[], ?::int4[])
+            ON CONFLICT (device_id, bucket) DO UPDATE
+              SET machine_type    = EXCLUDED.machine_type,
+                  busy_ms         = device_rollup_%1$s.busy_ms + EXCLUDED.busy_ms,
+                  idle_ms         = device_rollup_%1$s.idle_ms + EXCLUDED.idle_ms,
+                  off_ms          = device_rollup_%1$s.off_ms + EXCLUDED.off_ms,
+                  units_completed = device_rollup_%1$s.units_completed + EXCLUDED.units_completed,
+                  progress_points = device_rollup_%1$s.progress_points + EXCLUDED.progress_points,
+                  heartbeats      = device_rollup_%1$s.heartbeats + EXCLUDED.heartbeats
+            """;
+
+    private static final String UPSERT_MACHINE_TYPE = """
+            INSERT INTO machine_type_rollup_%1$s
+              (bucket, machine_type, devices, busy_ms, idle_ms, off_ms, units_completed, progress_points, heartbeats)
+            SELECT * FROM unnest(?::timestamptz[], ?::text[], ?::int4[], ?::int8[], ?::int8[], ?::int8[],
+                                 ?::int4[], ?::int8[], ?::int4[])
+            ON CONFLICT (machine_type, bucket) DO UPDATE
+              SET devices         = GREATEST(machine_type_rollup_%1$s.devices, EXCLUDED.devices),
+                  busy_ms         = machine_type_rollup_%1$s.busy_ms + EXCLUDED.busy_ms,
+                  idle_ms         = machine_type_rollup_%1$s.idle_ms + EXCLUDED.idle_ms,
+                  off_ms          = machine_type_rollup_%1$s.off_ms + EXCLUDED.off_ms,
+                  units_completed = machine_type_rollup_%1$s.units_completed + EXCLUDED.units_completed,
+                  progress_points = machine_type_rollup_%1$s.progress_points + EXCLUDED.progress_points,
+                  heartbeats      = machine_type_rollup_%1$s.heartbeats + EXCLUDED.heartbeats
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RollupOffsetStore offsetStore;
+
+    public RollupWriter(JdbcTemplate jdbcTemplate, RollupOffsetStore offsetStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.offsetStore = offsetStore;
+    }
+
+    /**
+     * Adds the deltas and stores the next offsets to consume after the records they came from.
+     */
+    @Transactional
+    public void write(List<RollupRow> rows, String groupId, Map<TopicPartition, Long> nextOffsets) {
+        offsetStore.save(groupId, nextOffsets);
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<String, Map<String, RollupRow>> byTable = new LinkedHashMap<>();
+        for (RollupRow row : rows) {
+            String table = (row.perDevice() ? "device_" : "type_") + row.resolution().suffix();
+            byTable.computeIfAbsent(table, t -> new LinkedHashMap<>())
+                    .merge(row.key() + '\u0000' + row.bucketStart(), row, RollupRow::merge);
+        }
+        jdbcTemplate.execute((Connection connection) -> {
+            for (Map<String, RollupRow> table : byTable.values()) {
+                upsert(connection, table.values());
+            }
+            return null;
+        });
+    }
+
+    private void upsert(Connection connection, Collection<RollupRow> rows) throws SQLException {
+        RollupRow first = rows.iterator().next();
+        String sql = String.format(first.perDevice() ? UPSERT_DEVICE : UPSERT_MACHINE_TYPE,
+                first.resolution().suffix());
+        int size = rows.size();
+        String[] buckets = new String[size];
+        String[] keys = new String[size];
+        String[] machineTypes = new String[size];
+        Integer[] devices = new Integer[size];
+        Long[] busy = new Long[size];
+        Long[] idle = new Long[size];
+        Long[] off = new Long[size];
+        Integer[] units = new Integer[size];
+        Long[] points = new Long[size];
+        Integer[] heartbeats = new Integer[size];
+
+        List<RollupRow> ordered = new ArrayList<>(rows);
+        for (int i = 0; i < size; i++) {
+            RollupRow row = ordered.get(i);
+            buckets[i] = Instant.ofEpochMilli(row.bucketStart()).toString();
+            keys[i] = row.key();
+            machineTypes[i] = row.machineType();
+            devices[i] = row.devices();
+            busy[i] = row.busyMillis();
+            idle[i] = row.idleMillis();
+            off[i] = row.offMillis();
+            units[i] = row.unitsCompleted();
+            points[i] = row.progressPoints();
+            heartbeats[i] = row.heartbeats();
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int index = 1;
+            statement.setArray(index++, connection.createArrayOf("text", buckets));
+            statement.setArray(index++, connection.createArrayOf("text", keys));
+            if (first.perDevice()) {
+                statement.setArray(index++, connection.createArrayOf("text", machineTypes));
+            } else {
+                statement.setArray(index++, connection.createArrayOf("int4", devices));
+            }
+            statement.setArray(index++, connection.createArrayOf("int8", busy));
+            statement.setArray(index++, connection.createArrayOf("int8", idle));
+            statement.setArray(index++, connection.createArrayOf("int8", off));
+            statement.setArray(index++, connection.createArrayOf("int4", units));
+            statement.setArray(index++, connection.createArrayOf("int8", points));
+            statement.setArray(index, connection.createArrayOf("int4", heartbeats));
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package org.advanced_architecture.edge.rollup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.advanced_architecture.edge.telemetry.TelemetryMessage;
+import org.advanced_architecture.edge.telemetry.TelemetryParser;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming aggregation stage that turns the heartbeat stream into 1 min / 1 h rollups.
+ *
+ * Responsibilities:
+ * - Polls iot.mqtt.raw with its own consumer group on a single thread and feeds a {@link RollupAggregator}
+ * - Every flush interval writes the accumulated deltas through {@link RollupWriter}, together with the
+ *   consumer positions they cover
+ *
+ * Behavior:
+ * - Deltas are added exactly once: assigned partitions are resumed from the offsets stored with the
+ *   deltas ({@link RollupOffsetStore}); the Kafka offset commit after each write only keeps consumer
+ *   lag visible and is the fallback for partitions without a stored offset
+ * - A failed write keeps its rows and retries them with the next flush; nothing is stored meanwhile
+ * - Deltas are flushed before partitions are revoked and on shutdown. If that flush fails, the pending
+ *   rows are dropped and the partitions still assigned are rewound to their stored offsets, so the
+ *   records are aggregated again, here or by the partition's new owner
+ * - While the stored offsets cannot be read, assignment waits and retries every flush interval
+ *
+ * Metrics:
+ * - edge.rollup.late (counter, tag resolution), edge.rollup.rows (counter)
+ * - edge.rollup.watermark.lag (gauge, ms between wall clock and watermark), edge.rollup.windows (gauge)
+ */
+@Component
+@ConditionalOnProperty(prefix = "edge.rollup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TelemetryRollupStage implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryRollupStage.class);
+    private static final int MAX_PENDING_ROWS = 200_000;
+
+    private final TelemetryParser parser;
+    private final RollupWriter writer;
+    private final RollupOffsetStore offsetStore;
+    private final RollupAggregator aggregator;
+    private final String bootstrapServers;
+    private final String topic;
+    private final String groupId;
+    private final long flushIntervalMillis;
+
+    private final Map<RollupResolution, Counter> lateCounters = new EnumMap<>(RollupResolution.class);
+    private final Counter rowsWritten;
+    private final AtomicLong watermark = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger openWindows = new AtomicInteger();
+
+    private final List<RollupRow> pendingRows = new ArrayList<>();
+    private volatile boolean running;
+    private volatile KafkaConsumer<String, byte[]> consumer;
+    private Thread worker;
+
+    public TelemetryRollupStage(TelemetryParser parser,
+                                RollupWriter writer,
+                                RollupOffsetStore offsetStore,
+                                MeterRegistry meterRegistry,
+                                @Value("${spring.kafka.bootstrap-servers:localhost:9092}") String bootstrapServers,
+                                @Value("${edge.rollup.topic:iot.mqtt.raw}") String topic,
+                                @Value("${edge.rollup.group-id:edge-telemetry-rollup}") String groupId,
+                                @Value("${edge.rollup.allowed-lateness:30s}") Duration allowedLateness,
+                                @Value("${edge.rollup.max-gap:5s}") Duration maxGap,
+                                @Value("${edge.rollup.idle-timeout:60s}") Duration idleTimeout,
+                                @Value("${edge.rollup.flush-interval:10s}") Duration flushInterval) {
+        this.parser = parser;
+        this.writer = writer;
+        this.offsetStore = offsetStore;
+        this.bootstrapServers = bootstrapServers;
+        this.topic = topic;
+        this.groupId = groupId;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.aggregator = new RollupAggregator(List.of(RollupResolution.values()),
+                allowedLateness.toMillis(), maxGap.toMillis(), idleTimeout.toMillis());
+
+        for (RollupResolution resolution : RollupResolution.values()) {
+            lateCounters.put(resolution, Counter.builder("edge.rollup.late")
+                    .description("Events dropped because their window had already closed")
+                    .tag("resolution", resolution.suffix())
+                    .register(meterRegistry));
+        }
+        this.rowsWritten = Counter.builder("edge.rollup.rows")
+                .description("Rollup rows upserted")
+                .register(meterRegistry);
+        Gauge.builder("edge.rollup.watermark.lag", watermark,
+                        value -> value.get() == Long.MIN_VALUE ? 0 : System.currentTimeMillis() - value.get())
+                .description("Milliseconds between wall clock and the event-time watermark")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("edge.rollup.windows", openWindows, AtomicInteger::get)
+                .description("Open rollup windows")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::pollLoop, "telemetry-rollup");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        KafkaConsumer<String, byte[]> current = consumer;
+        if (current != null) {
+            current.wakeup();
+        }
+        try {
+            if (worker != null) {
+                worker.join(10_000);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void pollLoop() {
+        Duration pollTimeout = Duration.ofMillis(Math.min(500, flushIntervalMillis));
+        long nextFlush = System.currentTimeMillis() + flushIntervalMillis;
+        try (KafkaConsumer<String, byte[]> kafkaConsumer = new KafkaConsumer<>(consumerProperties())) {
+            consumer = kafkaConsumer;
+            kafkaConsumer.subscribe(List.of(topic), new ConsumerRebalanceListener() {
+                @Override
+                public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+                    if (!flush(kafkaConsumer)) {
+                        Set<TopicPartition> retained = new HashSet<>(kafkaConsumer.assignment());
+                        retained.removeAll(partitions);
+                        logger.warn("Dropping {} rollup rows of revoked partitions, {} retained partition(s) are rewound",
+                                pendingRows.size(), retained.size());
+                        pendingRows.clear();
+                        seekToStoredOffsets(kafkaConsumer, retained);
+                    }
+                }
+
+                @Override
+                public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+                    seekToStoredOffsets(kafkaConsumer, partitions);
+                }
+            });
+            try {
+                while (running) {
+                    ConsumerRecords<String, byte[]> records = kafkaConsumer.poll(pollTimeout);
+                    long now = System.currentTimeMillis();
+                    for (ConsumerRecord<String, byte[]> record : records) {
+                        TelemetryMessage.Heartbeat heartbeat = parser.parseHeartbeat(record.value());
+                        if (heartbeat != null) {
+                            aggregator.add(heartbeat, now);
+                        }
+                    }
+                    if (records.isEmpty()) {
+                        aggregator.onIdle(now);
+                    }
+                    if (now >= nextFlush) {
+                        flush(kafkaConsumer);
+                        nextFlush = now + flushIntervalMillis;
+                    }
+                }
+            } catch (WakeupException e) {
+                // Raised by stop()
+            }
+            flush(kafkaConsumer);
+        } catch (RuntimeException e) {
+            logger.error("Telemetry rollup stage stopped", e);
+        } finally {
+            consumer = null;
+        }
+    }
+
+    /**
+     * Writes the pending deltas with the current positions; returns false if they are still pending.
+     */
+    private boolean flush(KafkaConsumer<String, byte[]> kafkaConsumer) {
+        pendingRows.addAll(aggregator.drain());
+        for (RollupResolution resolution : RollupResolution.values()) {
+            lateCounters.get(resolution).increment(aggregator.drainLateEvents(resolution));
+        }
+        watermark.set(aggregator.watermark());
+        openWindows.set(aggregator.openWindows());
+
+        try {
+            Map<TopicPartition, Long> positions = new HashMap<>();
+            for (TopicPartition partition : kafkaConsumer.assignment()) {
+                positions.put(partition, kafkaConsumer.position(partition));
+            }
+            writer.write(pendingRows, groupId, positions);
+            rowsWritten.increment(pendingRows.size());
+            pendingRows.clear();
+        } catch (RuntimeException e) {
+            logger.warn("Rollup flush of {} rows failed, retrying with the next flush: {}", pendingRows.size(), e.getMessage());
+            if (pendingRows.size() > MAX_PENDING_ROWS) {
+                logger.error("Dropping {} pending rollup rows", pendingRows.size());
+                pendingRows.clear();
+            }
+            return false;
+        }
+        try {
+            kafkaConsumer.commitSync();
+        } catch (RuntimeException e) {
+            logger.debug("Kafka offset commit of the rollup stage failed: {}", e.getMessage());
+        }
+        return true;
+    }
+
+    private void seekToStoredOffsets(KafkaConsumer<String, byte[]> kafkaConsumer, Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        while (true) {
+            try {
+                offsetStore.find(groupId, partitions).forEach(kafkaConsumer::seek);
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    throw e;
+                }
+                logger.warn("Could not read stored rollup offsets, retrying: {}", e.getMessage());
+                try {
+                    Thread.sleep(flushIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Map<String, Object> consumerProperties() {
+        return Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, groupId,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class,
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 10_000);
+    }
+}
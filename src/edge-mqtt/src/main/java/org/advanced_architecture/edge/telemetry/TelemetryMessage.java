@@ -0,0 +1,38 @@
+package org.advanced_architecture.edge.telemetry;
+
+/**
+ * A machine message read from iot.mqtt.raw, classified the same way the telemetry_raw triggers did.
+ *
+ * - {@link Heartbeat}: payloads with a status field
+ * - {@link ProgressReport}: payloads with a units_pending field
+ * - {@link RerouteReport}: payloads with a reroute_time field
+ *
+ * The triggers ran independently, so one payload can yield more than one message.
+ */
+public sealed interface TelemetryMessage
+        permits TelemetryMessage.Heartbeat, TelemetryMessage.ProgressReport, TelemetryMessage.RerouteReport {
+
+    /**
+     * Machine heartbeat as published by simulator/machine.py.
+     *
+     * @param progress unit progress in percent, or -1 when the machine is not running
+     * @param timestamp the ts/timestamp field as sent, cast to timestamptz by the database like the trigger did
+     * @param timestampMillis the same instant; timestamps without an offset are read in the configured zone
+     */
+    record Heartbeat(String deviceId, String machineType, String status, String unitId,
+                     int progress, String timestamp, long timestampMillis) implements TelemetryMessage {
+    }
+
+    /**
+     * Order progress reported by a machine ("from") for a target device.
+     */
+    record ProgressReport(String deviceId, String targetId, String orderId, String unitsPending,
+                          String currentProduced, String unitAmount) implements TelemetryMessage {
+    }
+
+    /**
+     * Outcome of rerouting an order to another machine.
+     */
+    record RerouteReport(String orderId, String rerouteTime, String successful) implements TelemetryMessage {
+    }
+}
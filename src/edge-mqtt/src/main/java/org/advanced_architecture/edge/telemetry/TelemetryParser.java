@@ -0,0 +1,215 @@
+package org.advanced_architecture.edge.telemetry;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming parser for raw MQTT payloads from iot.mqtt.raw.
+ *
+ * Behavior:
+ * - Walks the top-level fields once with a Jackson {@link JsonParser}; no tree or map is built
+ * - Nested objects and arrays are skipped
+ * - {@link #parse} accepts exactly the field aliases of the old telemetry_raw triggers (device_id/deviceId,
+ *   ts/timestamp, ...) and, like the three independent triggers, returns every message a payload qualifies for
+ * - {@link #parseHeartbeat} additionally accepts machine_id/machineId, which is what simulator/machine.py sends;
+ *   it feeds the failure detector and the rollups, which have no trigger to stay compatible with
+ * - Payloads that are not JSON objects or lack the fields of any known message yield no message
+ * - Timestamps without an offset are read in edge.telemetry.local-zone; set it to the database TimeZone so the
+ *   in-memory instants agree with what PostgreSQL stores for the same text
+ *
+ * Thread-safe: all state is local to a parse call.
+ */
+@Component
+public class TelemetryParser {
+
+    private final JsonFactory jsonFactory = JsonFactory.builder().build();
+    private final ZoneId localZone;
+
+    public TelemetryParser(@Value("${edge.telemetry.local-zone:UTC}") ZoneId localZone) {
+        this.localZone = localZone;
+    }
+
+    /**
+     * @return the heartbeat, progress and reroute messages of the payload, empty if it has none
+     */
+    public List<TelemetryMessage> parse(byte[] payload) {
+        Fields fields = readFields(payload);
+        if (fields == null) {
+            return List.of();
+        }
+        List<TelemetryMessage> messages = new ArrayList<>(1);
+        TelemetryMessage.Heartbeat heartbeat = fields.toHeartbeat(fields.deviceId);
+        if (heartbeat != null) {
+            messages.add(heartbeat);
+        }
+        TelemetryMessage.ProgressReport progress = fields.toProgressReport();
+        if (progress != null) {
+            messages.add(progress);
+        }
+        TelemetryMessage.RerouteReport reroute = fields.toRerouteReport();
+        if (reroute != null) {
+            messages.add(reroute);
+        }
+        return messages;
+    }
+
+    /**
+     * @return the payload's heartbeat, identified by device_id or machine_id, or null
+     */
+    public TelemetryMessage.Heartbeat parseHeartbeat(byte[] payload) {
+        Fields fields = readFields(payload);
+        if (fields == null) {
+            return null;
+        }
+        return fields.toHeartbeat(fields.deviceId != null ? fields.deviceId : fields.machineId);
+    }
+
+    private Fields readFields(byte[] payload) {
+        if (payload == null || payload.length == 0) {
+            return null;
+        }
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            Fields fields = new Fields(localZone);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                fields.accept(name, token, parser);
+            }
+            return fields;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses ISO-8601 timestamps (also with a space instead of the "T"), with or without an offset;
+     * timestamps without one are taken as local time in {@code zone}.
+     */
+    static long parseTimestamp(String text, ZoneId zone) {
+        String iso = text.length() > 10 && text.charAt(10) == ' ' ? text.substring(0, 10) + 'T' + text.substring(11) : text;
+        if (iso.endsWith("Z")) {
+            return Instant.parse(iso).toEpochMilli();
+        }
+        try {
+            return OffsetDateTime.parse(iso).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(iso).atZone(zone).toInstant().toEpochMilli();
+        }
+    }
+
+    /**
+     * Field values collected while walking one payload.
+     */
+    private static final class Fields {
+
+        private final ZoneId localZone;
+
+        String deviceId;
+        String machineId;
+        String machineType;
+        String status;
+        boolean hasStatus;
+        String unitId;
+        int progress = -1;
+        String timestamp;
+
+        String from;
+        String orderId;
+        String unitsPending;
+        boolean hasUnitsPending;
+        String currentProduced;
+        String unitAmount;
+
+        String rerouteTime;
+        boolean hasRerouteTime;
+        String successful;
+
+        Fields(ZoneId localZone) {
+            this.localZone = localZone;
+        }
+
+        void accept(String name, JsonToken token, JsonParser parser) throws IOException {
+            String text = token == JsonToken.VALUE_NULL ? null : parser.getText();
+            switch (name) {
+                case "device_id", "deviceId" -> deviceId = firstNonNull(deviceId, text);
+                case "machine_id", "machineId" -> machineId = firstNonNull(machineId, text);
+                case "machine_type", "machineType" -> machineType = firstNonNull(machineType, text);
+                case "status" -> {
+                    hasStatus = true;
+                    status = text;
+                }
+                case "current_unit_id", "currentUnitId" -> unitId = firstNonNull(unitId, text);
+                case "progress" -> progress = token == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : -1;
+                case "ts", "timestamp" -> timestamp = firstNonNull(timestamp, text);
+                case "from" -> from = text;
+                case "order_id", "orderId" -> orderId = firstNonNull(orderId, text);
+                case "units_pending", "unitsPending" -> {
+                    hasUnitsPending = true;
+                    unitsPending = firstNonNull(unitsPending, text);
+                }
+                case "current_produced", "currentProduced" -> currentProduced = firstNonNull(currentProduced, text);
+                case "unit_amount", "unitAmount" -> unitAmount = firstNonNull(unitAmount, text);
+                case "reroute_time" -> {
+                    hasRerouteTime = true;
+                    rerouteTime = text;
+                }
+                case "successful" -> successful = text;
+                default -> {
+                    // Unknown fields are ignored
+                }
+            }
+        }
+
+        TelemetryMessage.Heartbeat toHeartbeat(String id) {
+            if (!hasStatus || id == null || machineType == null || status == null || timestamp == null) {
+                return null;
+            }
+            long timestampMillis;
+            try {
+                timestampMillis = parseTimestamp(timestamp, localZone);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+            return new TelemetryMessage.Heartbeat(id, machineType, status, unitId, progress, timestamp, timestampMillis);
+        }
+
+        TelemetryMessage.ProgressReport toProgressReport() {
+            if (!hasUnitsPending || from == null || deviceId == null || orderId == null || unitsPending == null
+                    || currentProduced == null || unitAmount == null) {
+                return null;
+            }
+            return new TelemetryMessage.ProgressReport(from, deviceId, orderId, unitsPending,
+                    currentProduced, unitAmount);
+        }
+
+        TelemetryMessage.RerouteReport toRerouteReport() {
+            if (!hasRerouteTime || orderId == null || rerouteTime == null) {
+                return null;
+            }
+            return new TelemetryMessage.RerouteReport(orderId, rerouteTime, successful);
+        }
+
+        private static String firstNonNull(String current, String candidate) {
+            return current != null ? current : candidate;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+#!/usr/bin/env bash
+# Compares order ingestion throughput and CPU per order for the Orchestrator's ingest paths:
+#   rest         - POST /api/v1/orchestrator/orders (JSON + Bean Validation, one HTTP request per order)
+#   grpc         - OrderIngestService/CreateOrder (one unary call per order)
+#   grpc-stream  - OrderIngestService/CreateOrders (client stream of <batch> orders per call)
+#
+# Usage: src/scripts/bench_ingest_grpc.sh <rest|grpc|grpc-stream> [orders] [concurrency] [batch]
+# Needs a running Orchestrator (local process, HTTP on ORCH_HTTP, gRPC on ORCH_GRPC) with its infrastructure,
+# plus `hey` and `ghz`. Start it with LOGGING_LEVEL_ORG_ADVANCED_ARCHITECTURE=INFO and SPRING_JPA_SHOW_SQL=false,
+# otherwise log output dominates the CPU time of every path.
+# Orders are counted with GET /orders/stats, CPU time from /proc of the Orchestrator process (Linux).
+# Results are appended as a table to RESULTS (default src/scripts/results/ingest_grpc.md); run all three modes
+# against the same Orchestrator for a comparison.
+set -euo pipefail
+
+MODE="${1:?usage: $0 <rest|grpc|grpc-stream> [orders] [concurrency] [batch]}"
+ORDERS="${2:-20000}"
+CONCURRENCY="${3:-16}"
+BATCH="${4:-500}"
+ORCH_HTTP="${ORCH_HTTP:-localhost:8081}"
+ORCH_GRPC="${ORCH_GRPC:-localhost:9090}"
+ORCH_PID="${ORCH_PID:-$(pgrep -f org.advanced_architecture.OrchestratorApplication || pgrep -f 'Orchestrator.*\.jar' | head -n 1)}"
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+RESULTS="${RESULTS:-${ROOT}/src/scripts/results/ingest_grpc.md}"
+PROTO="${ROOT}/src/Orchestrator/src/main/proto/order_ingest.proto"
+SERVICE=advanced_architecture.orchestrator.v1.OrderIngestService
+ORDER='{"title":"Bench","author":"Author","pages":300,"coverType":"HARDCOVER","pageType":"GLOSSY","quantity":10}'
+
+command -v hey >/dev/null || { echo "hey is required (go install github.com/rakyll/hey@latest)" >&2; exit 1; }
+command -v ghz >/dev/null || { echo "ghz is required (https://ghz.sh/docs/install)" >&2; exit 1; }
+[ -n "${ORCH_PID}" ] || { echo "Orchestrator process not found; set ORCH_PID" >&2; exit 1; }
+
+total_orders() {
+  curl -fsS "http://${ORCH_HTTP}/api/v1/orchestrator/orders/stats" | grep -o '"totalOrders":[0-9]*' | cut -d: -f2
+}
+
+cpu_ticks() {
+  # utime + stime of the whole process (fields 14 and 15; the command name in field 2 has no spaces)
+  awk '{print $14 + $15}' "/proc/${ORCH_PID}/stat"
+}
+
+before=$(total_orders)
+ticks_before=$(cpu_ticks)
+start=$(date +%s.%N)
+
+case "${MODE}" in
+  rest)
+    hey -n "${ORDERS}" -c "${CONCURRENCY}" -m POST -T application/json -d "${ORDER}" \
+      "http://${ORCH_HTTP}/api/v1/orchestrator/orders" >/dev/null
+    ;;
+  grpc)
+    ghz --insecure --proto "${PROTO}" --call "${SERVICE}/CreateOrder" \
+      -n "${ORDERS}" -c "${CONCURRENCY}" -d "${ORDER}" "${ORCH_GRPC}" >/dev/null
+    ;;
+  grpc-stream)
+    # ghz sends each element of a JSON array as one message of the request stream
+    messages="[${ORDER}$(printf ",${ORDER}%.0s" $(seq 2 "${BATCH}"))]"
+    calls=$(( (ORDERS + BATCH - 1) / BATCH ))
+    ghz --insecure --proto "${PROTO}" --call "${SERVICE}/CreateOrders" \
+      -n "${calls}" -c "$(( CONCURRENCY < calls ? CONCURRENCY : calls ))" -d "${messages}" "${ORCH_GRPC}" >/dev/null
+    ;;
+  *) echo "unknown mode: ${MODE}" >&2; exit 1 ;;
+esac
+
+end=$(date +%s.%N)
+ticks_after=$(cpu_ticks)
+after=$(total_orders)
+
+created=$((after - before))
+[ "${created}" -gt 0 ] || { echo "[${MODE}] no orders were created" >&2; exit 1; }
+elapsed=$(echo "${end} - ${start}" | bc -l)
+cpu_seconds=$(echo "(${ticks_after} - ${ticks_before}) / $(getconf CLK_TCK)" | bc -l)
+rate=$(printf '%.0f' "$(echo "${created} / ${elapsed}" | bc -l)")
+cpu_per_order=$(printf '%.0f' "$(echo "${cpu_seconds} * 1000000 / ${created}" | bc -l)")
+printf '[%s] %d orders in %.2fs = %s orders/s, %s us CPU per order (concurrency %d)\n' \
+  "${MODE}" "${created}" "${elapsed}" "${rate}" "${cpu_per_order}" "${CONCURRENCY}"
+
+mkdir -p "$(dirname "${RESULTS}")"
+if [ ! -s "${RESULTS}" ]; then
+  echo "| date | mode | orders | concurrency | batch | seconds | orders/s | us CPU per order |" >"${RESULTS}"
+  echo "|---|---|---|---|---|---|---|---|" >>"${RESULTS}"
+fi
+printf '| %s | %s | %d | %d | %s | %.2f | %s | %s |\n' "$(date -u +%F)" "${MODE}" "${created}" "${CONCURRENCY}" \
+  "$([ "${MODE}" = grpc-stream ] && echo "${BATCH}" || echo -)" "${elapsed}" "${rate}" "${cpu_per_order}" >>"${RESULTS}"
+echo "Results appended to ${RESULTS}"
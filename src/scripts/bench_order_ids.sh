@@ -0,0 +1,91 @@
+#!/usr/bin/env bash
+# Measures order inserts through the Orchestrator's own Hibernate save path, to compare database-assigned
+# ids (IDENTITY, the Orchestrator before snowflake ids) with pre-assigned snowflake ids:
+#   single  - POST /api/v1/orchestrator/orders, one order and one transaction per request
+#   import  - POST /api/v1/orchestrator/orders/import (NDJSON), orders saved in chunks, where pre-assigned
+#             ids let Hibernate send JDBC batches. The IDENTITY baseline predates the import endpoint, so
+#             this column is n/a there and compares against its single-order rate instead
+#
+# Usage: src/scripts/bench_order_ids.sh <orchestrator-jar> <label> [orders] [concurrency] [import-rows]
+# Run it once per build, e.g. for the IDENTITY baseline:
+#   git worktree add /tmp/ids-baseline <commit introducing snowflake ids>^
+#   (cd /tmp/ids-baseline && ./gradlew :src:Orchestrator:bootJar)
+#   src/scripts/bench_order_ids.sh /tmp/ids-baseline/src/Orchestrator/build/libs/<jar> identity
+#   src/scripts/bench_order_ids.sh src/Orchestrator/build/libs/<jar> snowflake
+# Needs the stack from src/API-Gateway/docker-compose.yml (postgres, kafka) and `hey`. Every run gets a fresh
+# database (bench_ids_<label>, schema created by Hibernate), so both id strategies start from empty tables.
+# Results are appended as a table to RESULTS (default src/scripts/results/order_ids.md).
+set -euo pipefail
+
+JAR="${1:?usage: $0 <orchestrator-jar> <label> [orders] [concurrency] [import-rows]}"
+LABEL="${2:?usage: $0 <orchestrator-jar> <label> [orders] [concurrency] [import-rows]}"
+ORDERS="${3:-20000}"
+CONCURRENCY="${4:-16}"
+IMPORT_ROWS="${5:-200000}"
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+RESULTS="${RESULTS:-${ROOT}/src/scripts/results/order_ids.md}"
+COMPOSE="${ROOT}/src/API-Gateway/docker-compose.yml"
+PORT=8082
+BASE="http://localhost:${PORT}/api/v1/orchestrator"
+DATABASE="bench_ids_${LABEL//[^a-zA-Z0-9_]/_}"
+ORDER='{"title":"Bench","author":"Author","pages":300,"coverType":"HARDCOVER","pageType":"GLOSSY","quantity":10}'
+
+command -v hey >/dev/null || { echo "hey is required (go install github.com/rakyll/hey@latest)" >&2; exit 1; }
+
+WORK="$(mktemp -d)"
+trap '[ -n "${PID:-}" ] && kill "${PID}" 2>/dev/null; rm -rf "${WORK}"' EXIT
+
+psql_db() {
+  docker compose -f "${COMPOSE}" exec -T postgres psql -U postgres -d postgres -q -c "$1"
+}
+
+psql_db "DROP DATABASE IF EXISTS ${DATABASE};"
+psql_db "CREATE DATABASE ${DATABASE};"
+
+echo "[${LABEL}] starting ${JAR}..."
+SPRING_CONFIG_NAME=orchestrator SERVER_PORT="${PORT}" JPA_DDL_AUTO=create SPRING_JPA_SHOW_SQL=false \
+  DB_URL="jdbc:postgresql://localhost:5432/${DATABASE}?reWriteBatchedInserts=true" \
+  LOGGING_LEVEL_ORG_ADVANCED_ARCHITECTURE=WARN \
+  java -jar "${JAR}" >"${WORK}/orchestrator.log" 2>&1 &
+PID=$!
+until curl -fs -o /dev/null "http://localhost:${PORT}/actuator/health/readiness"; do
+  kill -0 "${PID}" 2>/dev/null || { echo "Orchestrator exited, see log:" >&2; tail -n 40 "${WORK}/orchestrator.log" >&2; exit 1; }
+  sleep 0.5
+done
+
+# JIT warm-up, not measured
+hey -n 2000 -c "${CONCURRENCY}" -m POST -T application/json -d "${ORDER}" "${BASE}/orders" >/dev/null
+
+single=$(hey -n "${ORDERS}" -c "${CONCURRENCY}" -m POST -T application/json -d "${ORDER}" "${BASE}/orders")
+single_rps=$(echo "${single}" | awk '/Requests\/sec/ {printf "%.0f", $2}')
+single_p50=$(echo "${single}" | awk '/ 50% in/ {printf "%.1f", $3 * 1000}')
+single_p99=$(echo "${single}" | awk '/ 99% in/ {printf "%.1f", $3 * 1000}')
+single_errors=$(echo "${single}" | awk '/^\s*\[[0-9]+\]/ && $1 != "[201]" {sum += $2} END {print sum + 0}')
+echo "[${LABEL}] single: ${single_rps} orders/s, p50 ${single_p50} ms, p99 ${single_p99} ms, ${single_errors} non-201"
+
+import_rps="n/a"
+# An empty upload completes at once (202) where the import endpoint exists, older builds answer 404/405
+if [ "$(curl -s -o /dev/null -w '%{http_code}' -X POST -H 'Content-Type: application/x-ndjson' --data-binary '' "${BASE}/orders/import")" = 202 ]; then
+  for _ in $(seq 1 "${IMPORT_ROWS}"); do echo "${ORDER}"; done >"${WORK}/orders.ndjson"
+  job=$(curl -fsS -X POST -H 'Content-Type: application/x-ndjson' --data-binary @"${WORK}/orders.ndjson" "${BASE}/orders/import" \
+        | grep -o '"jobId":"[^"]*"' | cut -d'"' -f4)
+  while :; do
+    status=$(curl -fsS "${BASE}/imports/${job}")
+    echo "${status}" | grep -q '"status":"RUNNING"' || break
+    sleep 1
+  done
+  import_rps=$(echo "${status}" | grep -o '"rowsPerSecond":[0-9.]*' | cut -d: -f2 | awk '{printf "%.0f", $1}')
+  echo "[${LABEL}] import: ${import_rps} orders/s ($(echo "${status}" | grep -o '"status":"[A-Z]*"'))"
+fi
+
+kill "${PID}" && wait "${PID}" 2>/dev/null || true
+PID=""
+psql_db "DROP DATABASE IF EXISTS ${DATABASE};"
+
+mkdir -p "$(dirname "${RESULTS}")"
+if [ ! -s "${RESULTS}" ]; then
+  echo "| date | build | orders | concurrency | single orders/s | single p50 ms | single p99 ms | non-201 | import rows | import orders/s |" >"${RESULTS}"
+  echo "|---|---|---|---|---|---|---|---|---|---|" >>"${RESULTS}"
+fi
+echo "| $(date -u +%F) | ${LABEL} | ${ORDERS} | ${CONCURRENCY} | ${single_rps} | ${single_p50} | ${single_p99} | ${single_errors} | ${IMPORT_ROWS} | ${import_rps} |" >>"${RESULTS}"
+echo "Results appended to ${RESULTS}"
@@ -0,0 +1,85 @@
+#!/usr/bin/env bash
+# Compares the gateway's upstream pool modes for the orchestrator-service route:
+#   ELASTIC      - shared spring.cloud.gateway.httpclient pool (previous behaviour)
+#   HTTP1_FIXED  - dedicated fixed-size HTTP/1.1 pool
+#   H2C          - dedicated pool of multiplexed HTTP/2 cleartext connections
+#
+# Usage: src/scripts/bench_upstream_pools.sh [requests] [concurrency] [modes...]
+# Needs a running Orchestrator (instances from gateway.loadbalancer.instances) with its infrastructure,
+# redis for the gateway, the gateway fat jar (./gradlew :src:API-Gateway:bootJar) and `hey`.
+# The gateway is started once per mode with the route's rate limiter removed, warmed up, then loaded with
+# GET /api/v1/orchestrator/orders/stats. Results are appended as a table to RESULTS (default
+# src/scripts/results/upstream_pools.md) together with the pool's pending-acquire time.
+set -euo pipefail
+
+REQUESTS="${1:-50000}"
+CONCURRENCY="${2:-64}"
+shift $(( $# < 2 ? $# : 2 ))
+if [ $# -gt 0 ]; then MODES=("$@"); else MODES=(ELASTIC HTTP1_FIXED H2C); fi
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+RESULTS="${RESULTS:-${ROOT}/src/scripts/results/upstream_pools.md}"
+PORT=8080
+PROBE_PATH=/api/v1/orchestrator/orders/stats
+
+command -v hey >/dev/null || { echo "hey is required (go install github.com/rakyll/hey@latest)" >&2; exit 1; }
+
+JAR="$(ls "${ROOT}"/src/API-Gateway/build/libs/*.jar | grep -v -- '-plain.jar' | head -n 1)"
+WORK="$(mktemp -d)"
+trap '[ -n "${PID:-}" ] && kill "${PID}" 2>/dev/null; rm -rf "${WORK}"' EXIT
+
+# Same route as application.yml without RequestRateLimiter (10 req/s per client IP)
+cat >"${WORK}/bench-routes.yml" <<'YAML'
+spring:
+  cloud:
+    gateway:
+      routes:
+        - id: orchestrator-service
+          uri: lb://orchestrator-service
+          predicates:
+            - Path=/api/v1/orchestrator/**
+          filters:
+            - name: CircuitBreaker
+              args:
+                name: orchestratorCircuitBreaker
+                fallbackUri: forward:/fallback/orchestrator
+YAML
+
+metric() {
+  # First measurement of an actuator metric, e.g. metric reactor.netty.connection.provider.pending.connections.time TOTAL_TIME
+  curl -fsS "http://localhost:${PORT}/actuator/metrics/$1" 2>/dev/null \
+    | grep -o "\"statistic\":\"$2\",\"value\":[0-9.E-]*" | cut -d: -f3 || true
+}
+
+mkdir -p "$(dirname "${RESULTS}")"
+if [ ! -s "${RESULTS}" ]; then
+  echo "| date | mode | requests | concurrency | req/s | p50 ms | p99 ms | non-2xx | pending acquire s |" >"${RESULTS}"
+  echo "|---|---|---|---|---|---|---|---|---|" >>"${RESULTS}"
+fi
+
+for MODE in "${MODES[@]}"; do
+  LOG="${WORK}/gateway-${MODE}.log"
+  # Hedging off so every request is one upstream call in each mode
+  ORCHESTRATOR_UPSTREAM_MODE="${MODE}" \
+    java -jar "${JAR}" --spring.config.additional-location="file:${WORK}/bench-routes.yml" \
+      --gateway.hedging.enabled=false --logging.level.org.springframework.cloud.gateway=INFO \
+      >"${LOG}" 2>&1 &
+  PID=$!
+  until curl -fs -o /dev/null "http://localhost:${PORT}/actuator/health/readiness"; do
+    kill -0 "${PID}" 2>/dev/null || { echo "gateway exited, see log:" >&2; tail -n 40 "${LOG}" >&2; exit 1; }
+    sleep 0.2
+  done
+
+  hey -n 5000 -c "${CONCURRENCY}" "http://localhost:${PORT}${PROBE_PATH}" >/dev/null
+  out="$(hey -n "${REQUESTS}" -c "${CONCURRENCY}" "http://localhost:${PORT}${PROBE_PATH}")"
+  rps=$(echo "${out}" | awk '/Requests\/sec/ {printf "%.0f", $2}')
+  p50=$(echo "${out}" | awk '/ 50% in / {printf "%.1f", $3 * 1000}')
+  p99=$(echo "${out}" | awk '/ 99% in / {printf "%.1f", $3 * 1000}')
+  non2xx=$(echo "${out}" | awk '/^  \[[0-9]+\]/ { code = substr($1, 2, 3); if (code !~ /^2/) n += $2 } END { print n + 0 }')
+  pending=$(metric reactor.netty.connection.provider.pending.connections.time TOTAL_TIME)
+
+  echo "[${MODE}] ${rps} req/s, p50 ${p50} ms, p99 ${p99} ms, ${non2xx} non-2xx"
+  echo "| $(date -u +%F) | ${MODE} | ${REQUESTS} | ${CONCURRENCY} | ${rps} | ${p50} | ${p99} | ${non2xx} | ${pending:-n/a} |" >>"${RESULTS}"
+
+  kill "${PID}"; wait "${PID}" 2>/dev/null || true; PID=""
+done
+echo "Results appended to ${RESULTS}"
@@ -0,0 +1,112 @@
+#!/usr/bin/env bash
+# Measures startup and warm-up behaviour of a service in each launch mode:
+#   jit     - plain fat jar (java -jar)
+#   aot     - fat jar with the build-time AOT bean definitions (-Dspring.aot.enabled=true)
+#   cds     - aot + an AppCDS archive from a training run on the exploded jar (as in Dockerfile.faststart)
+#   native  - GraalVM native executable (./gradlew :src:<service>:nativeCompile -Pnative)
+#
+# Usage: src/scripts/measure_startup.sh <orchestrator|api-gateway> <jit|aot|cds|native> [window-seconds]
+# Needs the infrastructure from src/API-Gateway/docker-compose.yml (postgres, kafka, redis) and `hey`.
+# Reports launch -> first successful request, launch -> readiness, the latency of the first requests after
+# readiness, and time until requests/s is stable. The gateway is probed through its loopback gateway-warmup
+# route, so the numbers include the route filters and the proxy.
+# Results are appended as a table to RESULTS (default src/scripts/results/startup.md). For the before/after
+# of the warm-up, run a mode twice: with GATEWAY_WARMUP_ENABLED=false (or ORCHESTRATOR_WARMUP_ENABLED=false)
+# and with the default.
+set -euo pipefail
+
+SERVICE="${1:?usage: $0 <orchestrator|api-gateway> <jit|aot|cds|native> [window-seconds]}"
+MODE="${2:?usage: $0 <orchestrator|api-gateway> <jit|aot|cds|native> [window-seconds]}"
+WINDOW="${3:-2}"
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+RESULTS="${RESULTS:-${ROOT}/src/scripts/results/startup.md}"
+
+case "${SERVICE}" in
+  orchestrator)
+    DIR="${ROOT}/src/Orchestrator"; PORT=8082
+    MAIN=org.advanced_architecture.OrchestratorApplication
+    PROBE_PATH=/api/v1/orchestrator/orders/stats
+    WARMUP="${ORCHESTRATOR_WARMUP_ENABLED:-true}"
+    export SPRING_CONFIG_NAME=orchestrator SERVER_PORT=8082 JPA_DDL_AUTO="${JPA_DDL_AUTO:-none}"
+    ;;
+  api-gateway)
+    DIR="${ROOT}/src/API-Gateway"; PORT=8080
+    MAIN=org.advanced_architecture.gateway.APIGatewayApplication
+    PROBE_PATH=/__warmup/route/orders/1
+    WARMUP="${GATEWAY_WARMUP_ENABLED:-true}"
+    ;;
+  *) echo "unknown service: ${SERVICE}" >&2; exit 1 ;;
+esac
+
+command -v hey >/dev/null || { echo "hey is required (go install github.com/rakyll/hey@latest)" >&2; exit 1; }
+
+JAR="$(ls "${DIR}"/build/libs/*.jar | grep -v -- '-plain.jar' | head -n 1)"
+WORK="$(mktemp -d)"
+LOG="${WORK}/${SERVICE}-${MODE}.log"
+trap '[ -n "${PID:-}" ] && kill "${PID}" 2>/dev/null; rm -rf "${WORK}"' EXIT
+
+now_ms() { date +%s%3N; }
+
+if [ "${MODE}" = cds ]; then
+  mkdir "${WORK}/exploded"
+  (cd "${WORK}/exploded" && unzip -q "${JAR}")
+  CP="${WORK}/exploded/BOOT-INF/classes$(printf ':%s' "${WORK}"/exploded/BOOT-INF/lib/*.jar)"
+  echo "Training run for the CDS archive..."
+  ORCHESTRATOR_STATS_REBUILD=false java -XX:ArchiveClassesAtExit="${WORK}/app.jsa" \
+    -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+    -Dspring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false \
+    -cp "${CP}" "${MAIN}" >"${WORK}/training.log" 2>&1
+fi
+
+start=$(now_ms)
+case "${MODE}" in
+  jit)    java -jar "${JAR}" >"${LOG}" 2>&1 & ;;
+  aot)    java -Dspring.aot.enabled=true -jar "${JAR}" >"${LOG}" 2>&1 & ;;
+  cds)    java -XX:SharedArchiveFile="${WORK}/app.jsa" -Dspring.aot.enabled=true -cp "${CP}" "${MAIN}" >"${LOG}" 2>&1 & ;;
+  native) "$(ls "${DIR}"/build/native/nativeCompile/* | head -n 1)" >"${LOG}" 2>&1 & ;;
+  *) echo "unknown mode: ${MODE}" >&2; exit 1 ;;
+esac
+PID=$!
+
+first=""; ready=""
+while [ -z "${ready}" ]; do
+  kill -0 "${PID}" 2>/dev/null || { echo "service exited, see log:" >&2; tail -n 40 "${LOG}" >&2; exit 1; }
+  [ -z "${first}" ] && curl -fs -o /dev/null "http://localhost:${PORT}${PROBE_PATH}" && first=$(now_ms)
+  curl -fs -o /dev/null "http://localhost:${PORT}/actuator/health/readiness" && ready=$(now_ms)
+  sleep 0.05
+done
+[ -z "${first}" ] && first="${ready}"
+
+# Latency of the first requests a freshly ready instance serves (what the warm-up is for)
+early=$(hey -n 200 -c 1 "http://localhost:${PORT}${PROBE_PATH}")
+early_p50=$(echo "${early}" | awk '/ 50% in/ {printf "%.1f", $3 * 1000}')
+early_p99=$(echo "${early}" | awk '/ 99% in/ {printf "%.1f", $3 * 1000}')
+
+# Throughput windows until two consecutive windows are within 5% of each other
+previous=0; stable=0; elapsed=0
+while [ "${stable}" -lt 2 ] && [ "${elapsed}" -lt 120 ]; do
+  rps=$(hey -z "${WINDOW}s" -c 32 "http://localhost:${PORT}${PROBE_PATH}" | awk '/Requests\/sec/ {printf "%.0f", $2}')
+  elapsed=$((elapsed + WINDOW))
+  echo "  t+${elapsed}s: ${rps} req/s"
+  if [ "${previous}" -gt 0 ] && [ $((rps * 100)) -ge $((previous * 95)) ] && [ $((rps * 100)) -le $((previous * 105)) ]; then
+    stable=$((stable + 1))
+  else
+    stable=0
+  fi
+  previous="${rps}"
+done
+steady=$(now_ms)
+
+rss=$(awk '/VmRSS/ {print $2}' "/proc/${PID}/status")
+
+printf '[%s/%s warmup=%s] first request %d ms, ready %d ms, first 200 after ready p50 %s ms p99 %s ms, steady state %d ms at %s req/s, RSS %s kB\n' \
+  "${SERVICE}" "${MODE}" "${WARMUP}" $((first - start)) $((ready - start)) "${early_p50}" "${early_p99}" \
+  $((steady - start)) "${previous}" "${rss}"
+
+mkdir -p "$(dirname "${RESULTS}")"
+if [ ! -s "${RESULTS}" ]; then
+  echo "| date | service | mode | warm-up | first request ms | ready ms | first 200 p50 ms | first 200 p99 ms | steady ms | steady req/s | RSS kB |" >"${RESULTS}"
+  echo "|---|---|---|---|---|---|---|---|---|---|---|" >>"${RESULTS}"
+fi
+echo "| $(date -u +%F) | ${SERVICE} | ${MODE} | ${WARMUP} | $((first - start)) | $((ready - start)) | ${early_p50} | ${early_p99} | $((steady - start)) | ${previous} | ${rss} |" >>"${RESULTS}"
+echo "Results appended to ${RESULTS}"